@@ -0,0 +1,135 @@
+package com.udacity.webcrawler;
+
+import com.google.inject.Guice;
+import com.udacity.webcrawler.benchmark.LatencyModel;
+import com.udacity.webcrawler.benchmark.NoOpProfilerModule;
+import com.udacity.webcrawler.benchmark.SiteGraph;
+import com.udacity.webcrawler.benchmark.SiteServer;
+import com.udacity.webcrawler.benchmark.SyntheticSite;
+import com.udacity.webcrawler.benchmark.TestData;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures complete crawls, end to end, over the test fixtures and over generated sites.
+ *
+ * <p>The {@code site} parameter selects the pages to crawl: {@code "fixtures"} crawls the HTML
+ * files from the webcrawler module's tests, {@code "synthetic"} crawls a generated site with
+ * {@code pages} pages, each with {@code linksPerPage} links and {@code wordsPerPage} words, from
+ * the filesystem, and {@code "http"} crawls a generated site with the same parameters from a local
+ * {@link SiteServer} that delays every response by {@code latencyMillis}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelWebCrawlerBenchmark {
+
+  @Param({"fixtures", "synthetic", "http"})
+  public String site;
+
+  @Param({"com.udacity.webcrawler.ParallelWebCrawler"})
+  public String implementation;
+
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  @Param({"1000"})
+  public int pages;
+
+  @Param({"10"})
+  public int linksPerPage;
+
+  @Param({"500"})
+  public int wordsPerPage;
+
+  @Param({"10"})
+  public int maxDepth;
+
+  @Param({"5"})
+  public int latencyMillis;
+
+  @Param({"0"})
+  public double errorFraction;
+
+  private SyntheticSite syntheticSite;
+  private SiteServer siteServer;
+  private List<String> startPages;
+  private WebCrawler crawler;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    if (site.equals("fixtures")) {
+      startPages = List.of(
+          TestData.uri("test-page.html"),
+          TestData.uri("link-1.html"),
+          TestData.uri("infinite-loop.html"));
+    } else if (site.equals("http")) {
+      SiteGraph graph =
+          new SiteGraph.Builder()
+              .setPageCount(pages)
+              .setLinksPerPage(linksPerPage)
+              .setWordsPerPage(wordsPerPage)
+              .setErrorFraction(errorFraction)
+              .build();
+      Duration latency = Duration.ofMillis(latencyMillis);
+      siteServer = SiteServer.start(graph, 0, 64, LatencyModel.fixed(latency, latency));
+      startPages = List.of(siteServer.getPageUrl(0));
+    } else {
+      syntheticSite =
+          new SyntheticSite.Builder()
+              .setPageCount(pages)
+              .setLinksPerPage(linksPerPage)
+              .setWordsPerPage(wordsPerPage)
+              .build();
+      startPages = List.of(syntheticSite.getPageUri(0));
+    }
+
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(implementation)
+            .setParallelism(parallelism)
+            .setMaxDepth(maxDepth)
+            .setPopularWordCount(100)
+            .setTimeoutSeconds(60)
+            .build();
+    crawler =
+        Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+            .getInstance(WebCrawler.class);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (syntheticSite != null) {
+      syntheticSite.close();
+    }
+    if (siteServer != null) {
+      siteServer.close();
+    }
+  }
+
+  @Benchmark
+  public CrawlResult crawl() {
+    return crawler.crawl(startPages);
+  }
+}
@@ -0,0 +1,74 @@
+package com.udacity.webcrawler;
+
+import com.udacity.webcrawler.benchmark.SyntheticSite;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link WordCounts#sort(Map, int)} and its parallel variants over word count maps of
+ * different sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WordCountsBenchmark {
+
+  @Param({"1000", "100000", "1000000"})
+  public int vocabularySize;
+
+  @Param({"10", "1000"})
+  public int popularWordCount;
+
+  private Map<String, Integer> wordCounts;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    wordCounts = new ConcurrentHashMap<>();  // What the parallel crawler ranks
+    for (int i = 0; i < vocabularySize; i++) {
+      // Roughly Zipfian counts, with plenty of ties for the comparator to break.
+      wordCounts.put(SyntheticSite.word(i), 1 + vocabularySize / (i + 1) + random.nextInt(3));
+    }
+    pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Map<String, Integer> sort() {
+    return WordCounts.sort(wordCounts, popularWordCount);
+  }
+
+  @Benchmark
+  public Map<String, Integer> sortOnPool() {
+    return WordCounts.sort(wordCounts, popularWordCount, pool);
+  }
+
+  @Benchmark
+  public Map<String, Integer> sortParallelStream() {
+    return WordCounts.sortParallel(wordCounts, popularWordCount);
+  }
+}
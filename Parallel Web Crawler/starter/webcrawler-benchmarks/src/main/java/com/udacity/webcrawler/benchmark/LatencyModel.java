@@ -0,0 +1,33 @@
+package com.udacity.webcrawler.benchmark;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Decides how long the {@link SiteServer} waits before responding to a request for a page.
+ */
+@FunctionalInterface
+public interface LatencyModel {
+
+  /**
+   * Returns the delay before the given page is served.
+   */
+  Duration latency(int page, SiteGraph.PageKind kind);
+
+  /**
+   * A {@link LatencyModel} that serves every page immediately.
+   */
+  static LatencyModel none() {
+    return (page, kind) -> Duration.ZERO;
+  }
+
+  /**
+   * A {@link LatencyModel} that serves {@link SiteGraph.PageKind#SLOW slow} pages after
+   * {@code slow}, and every other page after {@code normal}.
+   */
+  static LatencyModel fixed(Duration normal, Duration slow) {
+    Objects.requireNonNull(normal);
+    Objects.requireNonNull(slow);
+    return (page, kind) -> kind == SiteGraph.PageKind.SLOW ? slow : normal;
+  }
+}
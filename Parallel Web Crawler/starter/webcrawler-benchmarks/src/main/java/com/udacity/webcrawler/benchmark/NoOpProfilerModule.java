@@ -0,0 +1,37 @@
+package com.udacity.webcrawler.benchmark;
+
+import com.google.inject.AbstractModule;
+import com.udacity.webcrawler.profiler.Profiler;
+
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Guice module that installs a {@link Profiler} that does nothing, so that benchmarks measure the
+ * crawler itself rather than the dynamic proxies of the profiler.
+ */
+public final class NoOpProfilerModule extends AbstractModule {
+  @Override
+  protected void configure() {
+    bind(Profiler.class).toInstance(new NoOpProfiler());
+  }
+
+  private static final class NoOpProfiler implements Profiler {
+    @Override
+    public <T> T wrap(Class<T> klass, T delegate) {
+      Objects.requireNonNull(klass);
+      return Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public void writeData(Path path) {
+      Objects.requireNonNull(path);
+    }
+
+    @Override
+    public void writeData(Writer writer) {
+      Objects.requireNonNull(writer);
+    }
+  }
+}
@@ -0,0 +1,261 @@
+package com.udacity.webcrawler.benchmark;
+
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * A deterministic, generated web graph whose pages are rendered on demand.
+ *
+ * <p>Nothing is stored per page: the links and words of a page are derived from the graph's seed
+ * and the page number every time the page is rendered, so graphs with millions of pages cost no
+ * memory at all and can be served (see {@link SiteServer}) or written to disk page by page.
+ *
+ * <p>Out-degrees follow a Pareto (power-law) distribution, link targets favor a small set of
+ * popular pages, and words are drawn from a skewed vocabulary. A configurable fraction of pages are
+ * marked as {@link PageKind#SLOW slow} or {@link PageKind#ERROR erroring}; page 0, the natural
+ * starting point of a crawl, is always {@link PageKind#NORMAL normal}.
+ */
+public final class SiteGraph {
+
+  /**
+   * How a page should behave when it is served.
+   */
+  public enum PageKind {
+    /**
+     * The page is served with the normal latency.
+     */
+    NORMAL,
+    /**
+     * The page is served with the extra latency of slow pages.
+     */
+    SLOW,
+    /**
+     * The page responds with an HTTP error.
+     */
+    ERROR
+  }
+
+  private final int pageCount;
+  private final int linksPerPage;
+  private final int maxLinksPerPage;
+  private final double powerLawExponent;
+  private final int wordsPerPage;
+  private final int vocabularySize;
+  private final double slowFraction;
+  private final double errorFraction;
+  private final long seed;
+
+  private SiteGraph(Builder builder) {
+    this.pageCount = builder.pageCount;
+    this.linksPerPage = builder.linksPerPage;
+    this.maxLinksPerPage = builder.maxLinksPerPage;
+    this.powerLawExponent = builder.powerLawExponent;
+    this.wordsPerPage = builder.wordsPerPage;
+    this.vocabularySize = builder.vocabularySize;
+    this.slowFraction = builder.slowFraction;
+    this.errorFraction = builder.errorFraction;
+    this.seed = builder.seed;
+  }
+
+  /**
+   * Returns the number of pages in the graph.
+   */
+  public int getPageCount() {
+    return pageCount;
+  }
+
+  /**
+   * Returns how the given page should behave when it is served.
+   */
+  public PageKind kind(int page) {
+    checkPage(page);
+    if (page == 0) {
+      return PageKind.NORMAL;
+    }
+    double r = random(page).nextDouble();
+    if (r < errorFraction) {
+      return PageKind.ERROR;
+    }
+    if (r < errorFraction + slowFraction) {
+      return PageKind.SLOW;
+    }
+    return PageKind.NORMAL;
+  }
+
+  /**
+   * Returns the pages the given page links to. The same target may appear more than once.
+   */
+  public int[] links(int page) {
+    checkPage(page);
+    SplittableRandom random = random(page);
+    random.nextDouble(); // Consumed by kind().
+    int[] links = new int[outDegree(random)];
+    for (int i = 0; i < links.length; i++) {
+      if (random.nextInt(5) == 0) {
+        links[i] = random.nextInt(pageCount);
+      } else {
+        // Cubing a uniform value concentrates most links on a few popular pages.
+        double r = random.nextDouble();
+        links[i] = (int) (r * r * r * pageCount);
+      }
+    }
+    return links;
+  }
+
+  /**
+   * Renders the given page as HTML, using {@code href} to turn page numbers into link targets.
+   */
+  public String render(int page, IntFunction<String> href) {
+    int[] links = links(page);
+    // Use a separate stream of random numbers for the text, so that it does not depend on links.
+    SplittableRandom random = random(~page);
+
+    StringBuilder html = new StringBuilder(wordsPerPage * 8 + links.length * 40 + 100);
+    html.append("<html><head><title>Page ").append(page).append("</title></head><body>\n<p>");
+    for (int i = 0; i < wordsPerPage; i++) {
+      // Squaring a uniform value skews the distribution towards the low word indices.
+      double r = random.nextDouble();
+      html.append(SyntheticSite.word((int) (r * r * vocabularySize)));
+      html.append(i % 20 == 19 ? "</p>\n<p>" : " ");
+    }
+    html.append("</p>\n");
+    for (int link : links) {
+      String target = href.apply(link);
+      html.append("<a href=\"").append(target).append("\">").append(target).append("</a>\n");
+    }
+    html.append("</body></html>\n");
+    return html.toString();
+  }
+
+  private int outDegree(SplittableRandom random) {
+    if (powerLawExponent <= 1) {
+      return linksPerPage;
+    }
+    // Pareto distribution with the configured mean: mean = alpha * minimum / (alpha - 1).
+    double minimum = linksPerPage * (powerLawExponent - 1) / powerLawExponent;
+    double u = 1.0 - random.nextDouble(); // In (0, 1], to avoid dividing by zero.
+    double degree = minimum / Math.pow(u, 1 / powerLawExponent);
+    return (int) Math.min(maxLinksPerPage, Math.floor(degree));
+  }
+
+  private SplittableRandom random(int page) {
+    return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + page);
+  }
+
+  private void checkPage(int page) {
+    if (page < 0 || page >= pageCount) {
+      throw new IndexOutOfBoundsException("No such page: " + page);
+    }
+  }
+
+  /**
+   * A builder class for {@link SiteGraph}.
+   */
+  public static final class Builder {
+    private int pageCount = 1_000_000;
+    private int linksPerPage = 10;
+    private int maxLinksPerPage = 1000;
+    private double powerLawExponent = 2.1;
+    private int wordsPerPage = 500;
+    private int vocabularySize = 100_000;
+    private double slowFraction = 0;
+    private double errorFraction = 0;
+    private long seed = 42;
+
+    /**
+     * Sets the number of pages in the graph.
+     */
+    public Builder setPageCount(int pageCount) {
+      this.pageCount = pageCount;
+      return this;
+    }
+
+    /**
+     * Sets the mean number of outgoing links per page.
+     */
+    public Builder setLinksPerPage(int linksPerPage) {
+      this.linksPerPage = linksPerPage;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of outgoing links on any single page.
+     */
+    public Builder setMaxLinksPerPage(int maxLinksPerPage) {
+      this.maxLinksPerPage = maxLinksPerPage;
+      return this;
+    }
+
+    /**
+     * Sets the exponent of the power-law out-degree distribution. Values of 1 or less give every
+     * page exactly {@link #setLinksPerPage(int) linksPerPage} links.
+     */
+    public Builder setPowerLawExponent(double powerLawExponent) {
+      this.powerLawExponent = powerLawExponent;
+      return this;
+    }
+
+    /**
+     * Sets the number of words of text on each page.
+     */
+    public Builder setWordsPerPage(int wordsPerPage) {
+      this.wordsPerPage = wordsPerPage;
+      return this;
+    }
+
+    /**
+     * Sets the number of distinct words the pages are generated from.
+     */
+    public Builder setVocabularySize(int vocabularySize) {
+      this.vocabularySize = vocabularySize;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of pages, between 0 and 1, that are {@link PageKind#SLOW slow}.
+     */
+    public Builder setSlowFraction(double slowFraction) {
+      this.slowFraction = slowFraction;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of pages, between 0 and 1, that respond with an
+     * {@link PageKind#ERROR error}.
+     */
+    public Builder setErrorFraction(double errorFraction) {
+      this.errorFraction = errorFraction;
+      return this;
+    }
+
+    /**
+     * Sets the random seed. The same seed always generates the same graph.
+     */
+    public Builder setSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Constructs a {@link SiteGraph} from this builder.
+     */
+    public SiteGraph build() {
+      if (pageCount <= 0) {
+        throw new IllegalArgumentException("pageCount must be positive");
+      }
+      if (linksPerPage < 0 || wordsPerPage < 0) {
+        throw new IllegalArgumentException("linksPerPage and wordsPerPage cannot be negative");
+      }
+      if (maxLinksPerPage < linksPerPage) {
+        throw new IllegalArgumentException("maxLinksPerPage cannot be less than linksPerPage");
+      }
+      if (vocabularySize <= 0) {
+        throw new IllegalArgumentException("vocabularySize must be positive");
+      }
+      if (slowFraction < 0 || errorFraction < 0 || slowFraction + errorFraction > 1) {
+        throw new IllegalArgumentException("slowFraction and errorFraction must add up to [0, 1]");
+      }
+      return new SiteGraph(this);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.udacity.webcrawler.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A local HTTP server that serves the pages of a {@link SiteGraph}, standing in for a real web
+ * site during load tests.
+ *
+ * <p>Page {@code n} is served at {@code /page/n.html}. Every response is delayed according to the
+ * current {@link LatencyModel}, which can be replaced while the server is running to simulate a
+ * site whose responsiveness changes. {@link SiteGraph.PageKind#ERROR Erroring} pages respond with
+ * an HTTP 500 or 503 status.
+ *
+ * <p>The server only listens on the loopback interface.
+ */
+public final class SiteServer implements AutoCloseable {
+
+  private static final Pattern PAGE_PATH = Pattern.compile("/page/(\\d+)\\.html");
+
+  private final SiteGraph graph;
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final AtomicLong requestCount = new AtomicLong();
+  private volatile LatencyModel latencyModel;
+
+  private SiteServer(SiteGraph graph, HttpServer server, ExecutorService executor,
+                     LatencyModel latencyModel) {
+    this.graph = graph;
+    this.server = server;
+    this.executor = executor;
+    this.latencyModel = latencyModel;
+  }
+
+  /**
+   * Starts a server for the given graph on the given port, handling up to {@code threads} requests
+   * at the same time. A port of 0 picks any free port.
+   */
+  public static SiteServer start(SiteGraph graph, int port, int threads, LatencyModel latencyModel)
+      throws IOException {
+    Objects.requireNonNull(graph);
+    Objects.requireNonNull(latencyModel);
+    HttpServer httpServer =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+    ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+      Thread thread = new Thread(r, "site-server");
+      thread.setDaemon(true);
+      return thread;
+    });
+    SiteServer siteServer = new SiteServer(graph, httpServer, executor, latencyModel);
+    httpServer.createContext("/", siteServer::handle);
+    httpServer.setExecutor(executor);
+    httpServer.start();
+    return siteServer;
+  }
+
+  /**
+   * Returns the URL of the given page on this server.
+   */
+  public String getPageUrl(int page) {
+    return "http://" + getHost() + ":" + getPort() + pagePath(page);
+  }
+
+  /**
+   * Returns the port this server is listening on.
+   */
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /**
+   * Returns the number of requests this server has received so far.
+   */
+  public long getRequestCount() {
+    return requestCount.get();
+  }
+
+  /**
+   * Replaces the {@link LatencyModel} used for all subsequent requests.
+   */
+  public void setLatencyModel(LatencyModel latencyModel) {
+    this.latencyModel = Objects.requireNonNull(latencyModel);
+  }
+
+  /**
+   * Stops the server, abandoning any requests that are still being served.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdownNow();
+    try {
+      executor.awaitTermination(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private String getHost() {
+    return server.getAddress().getAddress().getHostAddress();
+  }
+
+  private static String pagePath(int page) {
+    return "/page/" + page + ".html";
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    requestCount.incrementAndGet();
+    try (exchange) {
+      Matcher matcher = PAGE_PATH.matcher(exchange.getRequestURI().getPath());
+      int page = -1;
+      if (matcher.matches()) {
+        try {
+          page = Integer.parseInt(matcher.group(1));
+        } catch (NumberFormatException e) {
+          // Too large to be a page number; handled as not found below.
+        }
+      }
+      if (page < 0 || page >= graph.getPageCount()) {
+        exchange.sendResponseHeaders(404, -1);
+        return;
+      }
+
+      SiteGraph.PageKind kind = graph.kind(page);
+      Duration latency = latencyModel.latency(page, kind);
+      if (!latency.isZero() && !latency.isNegative()) {
+        try {
+          Thread.sleep(latency.toMillis());
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return;
+        }
+      }
+
+      if (kind == SiteGraph.PageKind.ERROR) {
+        exchange.sendResponseHeaders(page % 2 == 0 ? 500 : 503, -1);
+        return;
+      }
+      byte[] body = graph.render(page, SiteServer::pagePath).getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "text/html; charset=utf-8");
+      exchange.sendResponseHeaders(200, body.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(body);
+      }
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package com.udacity.webcrawler.benchmark;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command-line entry point that serves a generated {@link SiteGraph} over HTTP, or writes a small
+ * one to disk as a {@link SyntheticSite}.
+ *
+ * <p>Options are given as {@code --name=value}:
+ *
+ * <pre>
+ *   --pages=1000000        number of pages
+ *   --links=10             mean number of links per page
+ *   --exponent=2.1         power-law exponent of the out-degree (1 or less: fixed out-degree)
+ *   --words=500            number of words per page
+ *   --vocabulary=100000    number of distinct words
+ *   --slow=0.01            fraction of slow pages
+ *   --errors=0.01          fraction of pages that respond with an HTTP error
+ *   --latency-ms=20        latency of normal pages
+ *   --slow-latency-ms=2000 latency of slow pages
+ *   --port=8080            port to listen on (0 picks a free port)
+ *   --threads=64           number of requests served at the same time
+ *   --seed=42              random seed
+ *   --write-to=DIR         write the pages to DIR instead of serving them
+ * </pre>
+ */
+public final class SiteServerMain {
+
+  public static void main(String[] args) throws Exception {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        System.out.println("Usage: SiteServerMain [--name=value]...");
+        return;
+      }
+      int equals = arg.indexOf('=');
+      options.put(arg.substring(2, equals), arg.substring(equals + 1));
+    }
+
+    int pages = Integer.parseInt(options.getOrDefault("pages", "1000000"));
+    int links = Integer.parseInt(options.getOrDefault("links", "10"));
+    double exponent = Double.parseDouble(options.getOrDefault("exponent", "2.1"));
+    int words = Integer.parseInt(options.getOrDefault("words", "500"));
+    int vocabulary = Integer.parseInt(options.getOrDefault("vocabulary", "100000"));
+    long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+    if (options.containsKey("write-to")) {
+      Path root = Path.of(options.get("write-to"));
+      new SyntheticSite.Builder()
+          .setPageCount(pages)
+          .setLinksPerPage(links)
+          .setPowerLawExponent(exponent)
+          .setWordsPerPage(words)
+          .setVocabularySize(vocabulary)
+          .setSeed(seed)
+          .build(root);
+      System.out.println("Wrote " + pages + " pages to " + root.toAbsolutePath());
+      return;
+    }
+
+    SiteGraph graph =
+        new SiteGraph.Builder()
+            .setPageCount(pages)
+            .setLinksPerPage(links)
+            .setPowerLawExponent(exponent)
+            .setWordsPerPage(words)
+            .setVocabularySize(vocabulary)
+            .setSlowFraction(Double.parseDouble(options.getOrDefault("slow", "0.01")))
+            .setErrorFraction(Double.parseDouble(options.getOrDefault("errors", "0.01")))
+            .setSeed(seed)
+            .build();
+    LatencyModel latency = LatencyModel.fixed(
+        Duration.ofMillis(Long.parseLong(options.getOrDefault("latency-ms", "20"))),
+        Duration.ofMillis(Long.parseLong(options.getOrDefault("slow-latency-ms", "2000"))));
+    SiteServer server = SiteServer.start(
+        graph,
+        Integer.parseInt(options.getOrDefault("port", "8080")),
+        Integer.parseInt(options.getOrDefault("threads", "64")),
+        latency);
+    Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+    System.out.println("Serving " + pages + " pages; start at " + server.getPageUrl(0));
+  }
+
+  private SiteServerMain() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,193 @@
+package com.udacity.webcrawler.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * A deterministic, generated web site that is written to the local filesystem so that it can be
+ * crawled through {@code file://} URIs.
+ *
+ * <p>The pages are rendered from a {@link SiteGraph}. By default every page links to a fixed number
+ * of other pages and contains a fixed number of words drawn from a skewed vocabulary, so that a few
+ * words are very popular and most are rare, which is roughly what real pages look like. The same
+ * parameters and seed always produce the same site.
+ */
+public final class SyntheticSite implements AutoCloseable {
+
+  private final Path root;
+  private final int pageCount;
+
+  private SyntheticSite(Path root, int pageCount) {
+    this.root = root;
+    this.pageCount = pageCount;
+  }
+
+  /**
+   * Returns the directory the site was written to.
+   */
+  public Path getRoot() {
+    return root;
+  }
+
+  /**
+   * Returns the number of pages in the site.
+   */
+  public int getPageCount() {
+    return pageCount;
+  }
+
+  /**
+   * Returns the {@code file://} URI of the page with the given index.
+   */
+  public String getPageUri(int page) {
+    return root.resolve(pageName(page)).toUri().toString();
+  }
+
+  /**
+   * Returns the {@code file://} URIs of every page in the site.
+   */
+  public List<String> getPageUris() {
+    List<String> uris = new ArrayList<>(pageCount);
+    for (int i = 0; i < pageCount; i++) {
+      uris.add(getPageUri(i));
+    }
+    return uris;
+  }
+
+  /**
+   * Deletes the site from the filesystem.
+   */
+  @Override
+  public void close() {
+    try (Stream<Path> files = Files.walk(root)) {
+      for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+        Files.delete(file);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the synthetic vocabulary word with the given index. Words only contain the letters
+   * a-z, so they survive the crawler's word normalization unchanged.
+   */
+  public static String word(int index) {
+    StringBuilder word = new StringBuilder();
+    int n = index;
+    do {
+      word.append((char) ('a' + n % 26));
+      n /= 26;
+    } while (n > 0);
+    // Pad short words so that they are not dropped by the usual "^.{1,3}$" ignored word pattern.
+    while (word.length() < 4) {
+      word.append('x');
+    }
+    return word.toString();
+  }
+
+  private static String pageName(int page) {
+    return "page-" + page + ".html";
+  }
+
+  /**
+   * A builder class for {@link SyntheticSite}.
+   */
+  public static final class Builder {
+    private int pageCount = 100;
+    private int linksPerPage = 10;
+    private double powerLawExponent = 0;
+    private int wordsPerPage = 500;
+    private int vocabularySize = 10_000;
+    private long seed = 42;
+
+    /**
+     * Sets the number of pages in the site.
+     */
+    public Builder setPageCount(int pageCount) {
+      this.pageCount = pageCount;
+      return this;
+    }
+
+    /**
+     * Sets the number of outgoing links on each page.
+     */
+    public Builder setLinksPerPage(int linksPerPage) {
+      this.linksPerPage = linksPerPage;
+      return this;
+    }
+
+    /**
+     * Sets the exponent of the power-law out-degree distribution. See
+     * {@link SiteGraph.Builder#setPowerLawExponent(double)}. Defaults to a fixed out-degree.
+     */
+    public Builder setPowerLawExponent(double powerLawExponent) {
+      this.powerLawExponent = powerLawExponent;
+      return this;
+    }
+
+    /**
+     * Sets the number of words of text on each page.
+     */
+    public Builder setWordsPerPage(int wordsPerPage) {
+      this.wordsPerPage = wordsPerPage;
+      return this;
+    }
+
+    /**
+     * Sets the number of distinct words the pages are generated from.
+     */
+    public Builder setVocabularySize(int vocabularySize) {
+      this.vocabularySize = vocabularySize;
+      return this;
+    }
+
+    /**
+     * Sets the random seed. The same seed always generates the same site.
+     */
+    public Builder setSeed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Writes the site into a new temporary directory.
+     */
+    public SyntheticSite build() throws IOException {
+      return build(Files.createTempDirectory("synthetic-site"));
+    }
+
+    /**
+     * Writes the site into the given directory, which is created if it does not exist.
+     */
+    public SyntheticSite build(Path root) throws IOException {
+      Objects.requireNonNull(root);
+      SiteGraph graph =
+          new SiteGraph.Builder()
+              .setPageCount(pageCount)
+              .setLinksPerPage(linksPerPage)
+              .setMaxLinksPerPage(Math.max(linksPerPage, 1000))
+              .setPowerLawExponent(powerLawExponent)
+              .setWordsPerPage(wordsPerPage)
+              .setVocabularySize(vocabularySize)
+              .setSeed(seed)
+              .build();
+
+      Files.createDirectories(root);
+      for (int page = 0; page < pageCount; page++) {
+        try (Writer writer = Files.newBufferedWriter(root.resolve(pageName(page)))) {
+          writer.write(graph.render(page, SyntheticSite::pageName));
+        }
+      }
+      return new SyntheticSite(root, pageCount);
+    }
+  }
+}
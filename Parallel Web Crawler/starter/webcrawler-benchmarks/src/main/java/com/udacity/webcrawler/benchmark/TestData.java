@@ -0,0 +1,31 @@
+package com.udacity.webcrawler.benchmark;
+
+import java.nio.file.Path;
+
+/**
+ * Locates the HTML fixtures of the webcrawler module's tests.
+ *
+ * <p>The directory defaults to the fixtures next to this module, and can be changed with the same
+ * {@code testDataDir} system property that the webcrawler module's tests use.
+ */
+public final class TestData {
+
+  /**
+   * Returns the {@code file://} URI of the given test fixture, such as {@code "test-page.html"}.
+   */
+  public static String uri(String fileName) {
+    return directory().resolve(fileName).toUri().toString();
+  }
+
+  /**
+   * Returns the directory that contains the test fixtures.
+   */
+  public static Path directory() {
+    String dir = System.getProperty("testDataDir", "../webcrawler/src/test/data");
+    return Path.of(dir).toAbsolutePath().normalize();
+  }
+
+  private TestData() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,94 @@
+package com.udacity.webcrawler.parser;
+
+import com.udacity.webcrawler.benchmark.SyntheticSite;
+import com.udacity.webcrawler.benchmark.TestData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures {@link PageParserImpl#parse()} on local {@code file://} pages, and the cost of
+ * {@link PageParser.Result.Builder#addWord(String)} on its own.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageParserBenchmark {
+
+  /**
+   * Number of words on the generated page. Zero parses the {@code test-page.html} fixture instead.
+   */
+  @Param({"0", "500", "5000"})
+  public int wordsPerPage;
+
+  /**
+   * Whether the parser is configured with the ignored word pattern from the sample configuration.
+   */
+  @Param({"false", "true"})
+  public boolean ignoreShortWords;
+
+  private SyntheticSite site;
+  private String pageUri;
+  private List<Pattern> ignoredWords;
+  private String[] words;
+
+  @Setup(Level.Trial)
+  public void setUp() throws IOException {
+    if (wordsPerPage == 0) {
+      pageUri = TestData.uri("test-page.html");
+    } else {
+      site = new SyntheticSite.Builder()
+          .setPageCount(1)
+          .setLinksPerPage(20)
+          .setWordsPerPage(wordsPerPage)
+          .build();
+      pageUri = site.getPageUri(0);
+    }
+    ignoredWords = ignoreShortWords ? List.of(Pattern.compile("^.{1,3}$")) : List.of();
+
+    words = new String[1024];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = SyntheticSite.word(i % 256);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    if (site != null) {
+      site.close();
+    }
+  }
+
+  @Benchmark
+  public PageParser.Result parse() {
+    return new PageParserImpl(pageUri, Duration.ofSeconds(10), ignoredWords).parse();
+  }
+
+  @Benchmark
+  public PageParser.Result addWord() {
+    PageParser.Result.Builder builder = new PageParser.Result.Builder();
+    for (String word : words) {
+      builder.addWord(word);
+    }
+    return builder.build();
+  }
+}
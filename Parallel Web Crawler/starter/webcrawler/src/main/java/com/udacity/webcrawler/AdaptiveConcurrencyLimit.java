@@ -0,0 +1,156 @@
+package com.udacity.webcrawler;
+
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Limits how many pages the crawler fetches at once, and adjusts that limit to how quickly the
+ * sites being crawled respond.
+ *
+ * <p>The limit follows the additive-increase, multiplicative-decrease rule of TCP congestion
+ * control. Each fetch that succeeds while at least half of the limit is in use raises the limit by
+ * one divided by the limit, so the limit grows by about one for each round of as many fetches as
+ * the limit allows. A fetch that fails, or a short-term average latency of more than twice the
+ * long-term average, is taken as a sign of overload, and cuts the limit by ten percent. Only
+ * fetches that started after the last cut can cut it again, so that a burst of slow fetches that
+ * were all in flight together counts as a single sign.
+ *
+ * <p>This class is thread-safe.
+ */
+final class AdaptiveConcurrencyLimit {
+
+  private static final double BACKOFF_RATIO = 0.9;
+  private static final double LATENCY_TOLERANCE = 2.0;
+
+  /**
+   * The weights of a new latency sample in the short-term and long-term averages.
+   */
+  private static final double SHORT_TERM_WEIGHT = 0.1;
+  private static final double LONG_TERM_WEIGHT = 0.01;
+
+  private final int maxLimit;
+  private final LongSupplier nanoTime;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition released = lock.newCondition();
+  private double limit;
+  private int inFlight;
+  private double shortTermLatency;
+  private double longTermLatency;
+  private boolean decreased;
+  private long lastDecrease;
+
+  /**
+   * Creates a concurrency limit.
+   *
+   * @param initialLimit the number of fetches allowed at once before any have completed.
+   * @param maxLimit     the largest number of fetches ever allowed at once.
+   * @param nanoTime     the source of the times that latencies are measured with, such as
+   *                     {@link System#nanoTime()}.
+   */
+  AdaptiveConcurrencyLimit(int initialLimit, int maxLimit, LongSupplier nanoTime) {
+    if (maxLimit < 1) {
+      throw new IllegalArgumentException("maxLimit must be positive");
+    }
+    this.maxLimit = maxLimit;
+    this.limit = Math.max(1, Math.min(initialLimit, maxLimit));
+    this.nanoTime = Objects.requireNonNull(nanoTime);
+  }
+
+  /**
+   * Waits until another fetch is allowed to start.
+   *
+   * @param timeoutNanos how long to wait at most.
+   * @return a permit that must be {@link Permit#release(boolean) released} once the fetch has
+   *     completed, or {@code null} if the timeout passed first.
+   */
+  Permit acquire(long timeoutNanos) throws InterruptedException {
+    lock.lock();
+    try {
+      long remaining = timeoutNanos;
+      while (inFlight >= (int) limit) {
+        if (remaining <= 0) {
+          return null;
+        }
+        remaining = released.awaitNanos(remaining);
+      }
+      inFlight++;
+      return new Permit(nanoTime.getAsLong());
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the current number of fetches allowed at once.
+   */
+  int getLimit() {
+    lock.lock();
+    try {
+      return (int) limit;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void release(long start, boolean failed) {
+    long now = nanoTime.getAsLong();
+    lock.lock();
+    try {
+      int concurrency = inFlight--;
+      if (!failed) {
+        // Failed fetches often end in a timeout, which says nothing about normal latency.
+        long latency = now - start;
+        if (longTermLatency == 0) {
+          shortTermLatency = latency;
+          longTermLatency = latency;
+        } else {
+          shortTermLatency += SHORT_TERM_WEIGHT * (latency - shortTermLatency);
+          longTermLatency += LONG_TERM_WEIGHT * (latency - longTermLatency);
+        }
+      }
+      boolean overloaded = failed || shortTermLatency > LATENCY_TOLERANCE * longTermLatency;
+      if (overloaded) {
+        if (!decreased || start - lastDecrease >= 0) {
+          limit = Math.max(1, limit * BACKOFF_RATIO);
+          decreased = true;
+          lastDecrease = now;
+        }
+      } else if (concurrency * 2 >= (int) limit) {
+        // A limit that is mostly unused says nothing about whether a higher one would work.
+        limit = Math.min(maxLimit, limit + 1 / limit);
+      }
+      released.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The right to run one fetch.
+   */
+  final class Permit {
+    private final long start;
+    private boolean released;
+
+    private Permit(long start) {
+      this.start = start;
+    }
+
+    /**
+     * Records that the fetch has completed, and lets another one start.
+     *
+     * @param failed whether the fetch failed in a way that suggests overload, such as a timeout.
+     *               Errors about the page itself, such as a missing page, are not failures.
+     */
+    void release(boolean failed) {
+      if (released) {
+        throw new IllegalStateException("Permit already released");
+      }
+      released = true;
+      AdaptiveConcurrencyLimit.this.release(start, failed);
+    }
+  }
+}
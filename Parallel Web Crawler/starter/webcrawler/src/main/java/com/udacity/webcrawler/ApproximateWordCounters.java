@@ -0,0 +1,18 @@
+package com.udacity.webcrawler;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the number of counters the web crawler should approximate word counts
+ * with.
+ *
+ * <p>The value bound to this annotation is the value of the {@code "approximateWordCounters"}
+ * option from the crawler configuration JSON if the {@code "wordCountMode"} option is
+ * {@code "approximate"}, and zero, meaning that words are counted exactly, otherwise.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ApproximateWordCounters {
+}
@@ -0,0 +1,415 @@
+package com.udacity.webcrawler;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The set of pages waiting to be crawled, shared by all the worker threads of a single crawl.
+ *
+ * <p>Pages are handed out in priority order:
+ *
+ * <ol>
+ *   <li>Pages closer to the start pages first, so that a time-bounded crawl explores the site
+ *       breadth-first instead of spending its budget deep inside one subtree.</li>
+ *   <li>Then pages from hosts that have had fewer pages handed out so far, so that one large host
+ *       does not starve the others. The count is the one at the time the page is handed out, not
+ *       when it was offered, so pages offered together from two hosts are handed out in turn.
+ *       </li>
+ *   <li>Then pages with a higher {@link LinkScorer} score.</li>
+ *   <li>Finally, pages discovered earlier.</li>
+ * </ol>
+ *
+ * <p>A recrawl puts the score first instead, so that the pages most likely to have changed are
+ * revisited first, whatever their depth. Depth, host and discovery order then break ties.
+ *
+ * <p>A URL may be offered many times, for example because several crawled pages link to it. It
+ * is queued once: a later offer moves its entry to the priority the URL has at that moment, with
+ * the greater of the two remaining depths. The URL is handed out once, and offers made after that
+ * are ignored.
+ *
+ * <p>A page whose fetch failed may be {@link #retry(Entry, Instant) retried}, and a page that could
+ * not be fetched yet may be {@link #defer(Entry, Instant) deferred}. It is held back until the
+ * given time, and then handed out again even though its URL has already been visited. The frontier
+ * is not exhausted while such pages are still waiting.
+ *
+ * <p>To keep the host counts live, the queue is split by host: each host keeps its own pages in
+ * order, and the hosts are ordered by their first page and their count.
+ *
+ * <p>Workers that wait for pages tell their {@link ForkJoinPool} that they are blocked, so that
+ * the pool can run other tasks, such as the workers of other crawls, in the meantime.
+ */
+final class CrawlFrontier {
+
+  /**
+   * Upper bound on a single wait for new pages, so that the deadline is re-checked regularly even
+   * if the {@link Clock} does not follow the system time.
+   */
+  private static final long MAX_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  // The pages of one host, all of which have the same host count.
+  private static final Comparator<Entry> PRIORITY =
+      Comparator.<Entry>comparingInt(e -> -e.depth)
+          .thenComparingDouble(e -> -e.score)
+          .thenComparingLong(e -> e.sequence);
+
+  private static final Comparator<Entry> SCORE_FIRST =
+      Comparator.<Entry>comparingDouble(e -> -e.score)
+          .thenComparingInt(e -> -e.depth)
+          .thenComparingLong(e -> e.sequence);
+
+  // The hosts, by their first page, with the host count in its place in the order above.
+  private static final Comparator<HostQueue> HOST_PRIORITY =
+      Comparator.<HostQueue>comparingInt(h -> -h.first().depth)
+          .thenComparingInt(h -> h.handedOut)
+          .thenComparing(HostQueue::first, PRIORITY);
+
+  private static final Comparator<HostQueue> HOST_SCORE_FIRST =
+      Comparator.<HostQueue>comparingDouble(h -> -h.first().score)
+          .thenComparingInt(h -> -h.first().depth)
+          .thenComparingInt(h -> h.handedOut)
+          .thenComparing(HostQueue::first, SCORE_FIRST);
+
+  private final Clock clock;
+  private final Instant deadline;
+  private final LinkScorer scorer;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private final Comparator<Entry> order;
+  private final NavigableSet<HostQueue> queue;  // Of hosts with pages waiting
+  private final Map<String, HostQueue> hostQueues = new HashMap<>();
+  private final Map<String, Entry> queuedUrls = new HashMap<>();
+  private final PriorityQueue<Entry> retries =
+      new PriorityQueue<>(Comparator.comparing((Entry e) -> e.notBefore));  // Also deferred pages
+  private final Set<String> visitedUrls = new HashSet<>();
+  private final Map<String, Integer> inboundLinks = new HashMap<>();  // Of URLs not yet visited
+  private long sequence;
+  private int queuedCount;
+  private int inProgress;
+
+  /**
+   * Creates an empty frontier.
+   *
+   * @param clock      the clock used to check the deadline.
+   * @param deadline   the time after which no more pages are handed out.
+   * @param scorer     the {@link LinkScorer} that scores pages.
+   * @param scoreFirst whether the score comes before the depth in the order pages are handed out
+   *                   in, as in a recrawl.
+   */
+  CrawlFrontier(Clock clock, Instant deadline, LinkScorer scorer, boolean scoreFirst) {
+    this.clock = Objects.requireNonNull(clock);
+    this.deadline = Objects.requireNonNull(deadline);
+    this.scorer = Objects.requireNonNull(scorer);
+    this.order = scoreFirst ? SCORE_FIRST : PRIORITY;
+    this.queue = new TreeSet<>(scoreFirst ? HOST_SCORE_FIRST : HOST_PRIORITY);
+  }
+
+  /**
+   * Queues the given URL, to be crawled with the given remaining depth.
+   */
+  void offer(String url, int depth) {
+    Objects.requireNonNull(url);
+    String host = hostOf(url);
+    lock.lock();
+    try {
+      if (visitedUrls.contains(url)) {
+        return;
+      }
+      int inbound = inboundLinks.merge(url, 1, Integer::sum);
+      Entry queued = queuedUrls.remove(url);
+      if (queued != null) {
+        // Keep the place in line of the first offer, in case the priority is otherwise the same.
+        remove(queued);
+        depth = Math.max(depth, queued.depth);
+      }
+      Entry entry = new Entry(url, host, depth, scorer.score(url, inbound),
+          queued != null ? queued.sequence : sequence++, 0, null);
+      add(entry);
+      queuedUrls.put(url, entry);
+      if (queued == null) {
+        changed.signal();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queues another attempt at the given page, which was returned by {@link #poll()}, to be handed
+   * out no earlier than the given time. The caller must still call {@link #done()} for the failed
+   * attempt.
+   */
+  void retry(Entry entry, Instant notBefore) {
+    holdBack(entry, entry.attempt + 1, notBefore);
+  }
+
+  /**
+   * Puts off the given page, which was returned by {@link #poll()} but not fetched, until the given
+   * time. Unlike {@link #retry(Entry, Instant)}, this does not count as another attempt. The caller
+   * must still call {@link #done()}.
+   */
+  void defer(Entry entry, Instant notBefore) {
+    holdBack(entry, entry.attempt, notBefore);
+  }
+
+  private void holdBack(Entry entry, int attempt, Instant notBefore) {
+    Objects.requireNonNull(notBefore);
+    lock.lock();
+    try {
+      retries.add(new Entry(
+          entry.url, entry.host, entry.depth, entry.score, sequence++, attempt, notBefore));
+      changed.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the next page to crawl, waiting for one to be offered if needed, and marks its URL as
+   * visited.
+   *
+   * <p>Every page returned by this method must be followed by a call to {@link #done()} once it
+   * has been crawled and its links have been {@link #offer(String, int) offered}.
+   *
+   * @return the next page, or {@code null} if the deadline has passed, or if there is nothing left
+   *     to crawl: the queue is empty, no retries are waiting, and no other thread is still crawling
+   *     a page.
+   */
+  Entry poll() throws InterruptedException {
+    lock.lock();
+    try {
+      while (true) {
+        if (clock.instant().isAfter(deadline)) {
+          // Wake up the other workers, so that they notice the deadline too.
+          changed.signalAll();
+          return null;
+        }
+        Instant now = clock.instant();
+        while (!retries.isEmpty() && !retries.peek().notBefore.isAfter(now)) {
+          add(retries.poll());
+        }
+        HostQueue hostQueue = queue.pollFirst();
+        if (hostQueue != null) {
+          Entry entry = hostQueue.entries.pollFirst();
+          queuedCount--;
+          if (entry.notBefore == null) {
+            // Handed out for the first time, not after being held back.
+            queuedUrls.remove(entry.url);
+            inboundLinks.remove(entry.url);
+            visitedUrls.add(entry.url);
+            hostQueue.handedOut++;
+          }
+          if (!hostQueue.entries.isEmpty()) {
+            queue.add(hostQueue);
+          }
+          inProgress++;
+          return entry;
+        }
+        if (inProgress == 0 && retries.isEmpty()) {
+          changed.signalAll();
+          return null;
+        }
+        long remaining = Duration.between(now, deadline).toNanos();
+        if (!retries.isEmpty()) {
+          Duration untilRetry = Duration.between(now, retries.peek().notBefore);
+          remaining = Math.min(remaining, untilRetry.toNanos());
+        }
+        await(Math.max(1, Math.min(remaining, MAX_WAIT_NANOS)));
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Adds the given page to the queue of its host. The lock must be held.
+   */
+  private void add(Entry entry) {
+    HostQueue hostQueue =
+        hostQueues.computeIfAbsent(entry.host, host -> new HostQueue(new TreeSet<>(order)));
+    // The host's place in line depends on its first page, so it is taken out while that changes.
+    if (!hostQueue.entries.isEmpty()) {
+      queue.remove(hostQueue);
+    }
+    hostQueue.entries.add(entry);
+    queue.add(hostQueue);
+    queuedCount++;
+  }
+
+  /**
+   * Removes the given page, which must be queued, from the queue of its host. The lock must be
+   * held.
+   */
+  private void remove(Entry entry) {
+    HostQueue hostQueue = hostQueues.get(entry.host);
+    queue.remove(hostQueue);
+    hostQueue.entries.remove(entry);
+    if (!hostQueue.entries.isEmpty()) {
+      queue.add(hostQueue);
+    }
+    queuedCount--;
+  }
+
+  /**
+   * Waits for a change to the frontier, for at most the given time. The lock must be held.
+   */
+  private void await(long nanos) throws InterruptedException {
+    ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+      private boolean waited;
+
+      @Override
+      public boolean block() throws InterruptedException {
+        changed.awaitNanos(nanos);
+        waited = true;
+        return true;
+      }
+
+      @Override
+      public boolean isReleasable() {
+        return waited;
+      }
+    });
+  }
+
+  /**
+   * Records that a page returned by {@link #poll()} has been crawled.
+   */
+  void done() {
+    lock.lock();
+    try {
+      inProgress--;
+      if (inProgress == 0) {
+        changed.signalAll();
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of pages waiting to be handed out by {@link #poll()}, retries included.
+   */
+  int getQueuedCount() {
+    lock.lock();
+    try {
+      return queuedCount + retries.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the number of distinct URLs handed out by {@link #poll()}.
+   */
+  int getVisitedCount() {
+    lock.lock();
+    try {
+      return visitedUrls.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Returns the host of the given URL, or the empty string if it has none.
+   */
+  static String hostOf(String url) {
+    try {
+      String host = new URI(url).getHost();
+      return host == null ? "" : host;
+    } catch (URISyntaxException e) {
+      return "";
+    }
+  }
+
+  /**
+   * The pages of one host waiting to be handed out, and the number of pages of the host handed
+   * out so far.
+   */
+  private static final class HostQueue {
+    private final NavigableSet<Entry> entries;
+    private int handedOut;
+
+    HostQueue(NavigableSet<Entry> entries) {
+      this.entries = entries;
+    }
+
+    Entry first() {
+      return entries.first();
+    }
+  }
+
+  /**
+   * A page waiting to be crawled.
+   */
+  static final class Entry {
+    private final String url;
+    private final String host;
+    private final int depth;
+    private final double score;
+    private final long sequence;
+    private final int attempt;
+    private final Instant notBefore;
+
+    private Entry(
+        String url,
+        String host,
+        int depth,
+        double score,
+        long sequence,
+        int attempt,
+        Instant notBefore) {
+      this.url = url;
+      this.host = host;
+      this.depth = depth;
+      this.score = score;
+      this.sequence = sequence;
+      this.attempt = attempt;
+      this.notBefore = notBefore;
+    }
+
+    /**
+     * The URL of the page.
+     */
+    String getUrl() {
+      return url;
+    }
+
+    /**
+     * The remaining depth of the crawl at this page. See {@link MaxDepth}.
+     */
+    int getDepth() {
+      return depth;
+    }
+
+    /**
+     * The host of the page, or the empty string if it has none.
+     */
+    String getHost() {
+      return host;
+    }
+
+    /**
+     * The number of earlier attempts at crawling the page; zero for the first attempt.
+     */
+    int getAttempt() {
+      return attempt;
+    }
+  }
+}
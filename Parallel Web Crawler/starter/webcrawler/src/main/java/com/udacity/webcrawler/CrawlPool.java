@@ -0,0 +1,18 @@
+package com.udacity.webcrawler;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the {@link java.util.concurrent.ForkJoinPool} that the parallel web
+ * crawler runs its workers on.
+ *
+ * <p>By default, each injector gets its own pool, sized from the {@link TargetParallelism}. A
+ * process that runs many crawls can share one pool between them by binding this key in a parent
+ * injector; see {@link CrawlResourcesModule}.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CrawlPool {
+}
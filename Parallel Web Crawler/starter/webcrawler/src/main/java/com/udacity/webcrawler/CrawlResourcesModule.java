@@ -0,0 +1,56 @@
+package com.udacity.webcrawler;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Provides;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.robots.RobotsCaches;
+
+import javax.inject.Singleton;
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.util.Objects;
+
+/**
+ * Guice dependency injection module that installs what every crawl in a process can share: the
+ * {@link HttpClient} that downloads pages and keeps the connections to their hosts open, and the
+ * {@link RobotsCaches} that keep the {@code robots.txt} rules of each host.
+ *
+ * <p>{@link WebCrawlerModule} installs this module in its own injector. A process that runs many
+ * crawls installs it once in a parent injector instead, together with a {@link CrawlPool}
+ * binding, and gives every crawl a child injector with
+ * {@link WebCrawlerModule#forChildInjector(CrawlerConfiguration)}.
+ */
+public final class CrawlResourcesModule extends AbstractModule {
+
+  private final Clock clock;
+
+  /**
+   * Installs the shared resources, with cached {@code robots.txt} rules that expire by the system
+   * clock.
+   */
+  public CrawlResourcesModule() {
+    this(Clock.systemUTC());
+  }
+
+  /**
+   * Installs the shared resources, with cached {@code robots.txt} rules that expire by the given
+   * clock.
+   */
+  public CrawlResourcesModule(Clock clock) {
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  @Provides
+  @Singleton
+  HttpClient provideHttpClient() {
+    // The client has no connect timeout of its own. Each crawl's request timeout also limits the
+    // time it takes to connect.
+    return HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL).build();
+  }
+
+  @Provides
+  @Singleton
+  RobotsCaches provideRobotsCaches() {
+    return new RobotsCaches(clock);
+  }
+}
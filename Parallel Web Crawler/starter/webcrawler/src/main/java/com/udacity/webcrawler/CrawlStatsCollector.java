@@ -0,0 +1,161 @@
+package com.udacity.webcrawler;
+
+import com.udacity.webcrawler.json.CrawlStats;
+import com.udacity.webcrawler.parser.PageParser;
+import org.jsoup.HttpStatusException;
+
+import java.io.UncheckedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the {@link CrawlStats} of one crawl while its workers run.
+ *
+ * <p>Every count is a {@link LongAdder}, which spreads concurrent increments over several cells
+ * instead of having all workers contend for one. Counters that are keyed, such as the pages per
+ * host, are created once per key and then only incremented. The counts are only added up when
+ * {@link #snapshot()} is called at the end of the crawl.
+ *
+ * <p>This class is thread-safe.
+ */
+final class CrawlStatsCollector {
+
+  /**
+   * The reasons that a page is not crawled.
+   */
+  enum SkipReason {
+    /** The page matches one of the ignored URL patterns. */
+    IGNORED_URL("ignoredUrl"),
+    /** The site's {@code robots.txt} file disallows the page. */
+    DISALLOWED_BY_ROBOTS("disallowedByRobots"),
+    /** The page is linked from a page at the maximum depth. */
+    MAX_DEPTH("maxDepth"),
+    /** The crawl ran out of time before the page was queued. */
+    DEADLINE("deadline"),
+    /** The page is a near-duplicate of a page crawled earlier. */
+    NEAR_DUPLICATE("nearDuplicate"),
+    /** The page's host stayed paused after as many failed trial fetches as a page gets retries. */
+    HOST_PAUSED("hostPaused"),
+    /** The page failed too many times to be tried again. */
+    RETRIES_EXHAUSTED("retriesExhausted"),
+    /** The page has probably not changed since an earlier crawl fetched it. */
+    UNCHANGED("unchanged");
+
+    private final String key;
+
+    SkipReason(String key) {
+      this.key = key;
+    }
+  }
+
+  private final Clock clock;
+  private final Instant start;
+  private final ConcurrentMap<Integer, LongAdder> pagesByDepth = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, LongAdder> pagesByHost = new ConcurrentHashMap<>();
+  private final LongAdder bytesFetched = new LongAdder();
+  private final ConcurrentMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+  private final LongAdder parseFailures = new LongAdder();
+  private final ConcurrentMap<SkipReason, LongAdder> skipped = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Long, LongAdder> pagesPerSecond = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a collector for a crawl that starts now.
+   */
+  CrawlStatsCollector(Clock clock) {
+    this.clock = Objects.requireNonNull(clock);
+    this.start = clock.instant();
+  }
+
+  /**
+   * Records a page that was fetched, successfully or not.
+   *
+   * @param depth  the number of links between a start page and the page.
+   * @param host   the host of the page.
+   * @param result the outcome of fetching and parsing the page.
+   */
+  void recordPage(int depth, String host, PageParser.Result result) {
+    increment(pagesByDepth, depth);
+    increment(pagesByHost, host);
+    bytesFetched.add(result.getBytes());
+    int status =
+        result.getError().map(CrawlStatsCollector::statusOf).orElse(result.getStatusCode());
+    if (status > 0) {
+      increment(statusCodes, status);
+    } else if (result.getError().isPresent()) {
+      parseFailures.increment();
+    }
+    long second = Duration.between(start, clock.instant()).getSeconds();
+    increment(pagesPerSecond, Math.max(0, second));
+  }
+
+  /**
+   * Records a page that was not crawled.
+   */
+  void recordSkip(SkipReason reason) {
+    increment(skipped, reason);
+  }
+
+  /**
+   * Adds up the counts collected so far.
+   */
+  CrawlStats snapshot() {
+    Map<String, Long> hosts = new LinkedHashMap<>();
+    sum(pagesByHost).entrySet().stream()
+        .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey()))
+        .forEach(e -> hosts.put(e.getKey(), e.getValue()));
+    Map<String, Long> skips = new TreeMap<>();
+    skipped.forEach((reason, count) -> skips.put(reason.key, count.sum()));
+    List<Long> throughput = new ArrayList<>();
+    long seconds = pagesPerSecond.keySet().stream().mapToLong(Long::longValue).max().orElse(-1);
+    for (long second = 0; second <= seconds; second++) {
+      LongAdder count = pagesPerSecond.get(second);
+      throughput.add(count == null ? 0 : count.sum());
+    }
+    return new CrawlStats.Builder()
+        .setPagesByDepth(new TreeMap<>(sum(pagesByDepth)))
+        .setPagesByHost(hosts)
+        .setBytesFetched(bytesFetched.sum())
+        .setStatusCodes(new TreeMap<>(sum(statusCodes)))
+        .setParseFailures(parseFailures.sum())
+        .setSkipped(skips)
+        .setPagesPerSecond(throughput)
+        .build();
+  }
+
+  /**
+   * Returns the HTTP status code of the given fetch error, or zero if it has none.
+   */
+  private static int statusOf(Exception error) {
+    Throwable cause = error instanceof UncheckedIOException ? error.getCause() : error;
+    return cause instanceof HttpStatusException
+        ? ((HttpStatusException) cause).getStatusCode()
+        : 0;
+  }
+
+  private static <K> void increment(ConcurrentMap<K, LongAdder> counts, K key) {
+    // get() first, since computeIfAbsent() may lock the bin even if the key is present.
+    LongAdder count = counts.get(key);
+    if (count == null) {
+      count = counts.computeIfAbsent(key, k -> new LongAdder());
+    }
+    count.increment();
+  }
+
+  private static <K> Map<K, Long> sum(ConcurrentMap<K, LongAdder> counts) {
+    Map<K, Long> sums = new LinkedHashMap<>();
+    counts.forEach((key, count) -> sums.put(key, count.sum()));
+    return sums;
+  }
+}
@@ -0,0 +1,94 @@
+package com.udacity.webcrawler;
+
+import org.jsoup.HttpStatusException;
+import org.jsoup.UnsupportedMimeTypeException;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.nio.file.FileSystemException;
+
+/**
+ * The kinds of errors that can keep the crawler from fetching a page, and what the crawler does
+ * about each kind.
+ */
+enum FetchErrorKind {
+
+  /**
+   * The fetch might succeed if it is tried again later: it timed out, the connection was refused
+   * or dropped, or the server answered with a status such as 429 or 503.
+   */
+  TRANSIENT(true, true),
+
+  /**
+   * The host does not exist or cannot be routed to. Trying again is unlikely to help, but other
+   * pages on the same host will fail the same way.
+   */
+  UNREACHABLE(false, true),
+
+  /**
+   * The page itself cannot be crawled, for example because it does not exist or is not HTML. The
+   * host is working as it should.
+   */
+  PERMANENT(false, false);
+
+  private final boolean retryable;
+  private final boolean hostFailure;
+
+  FetchErrorKind(boolean retryable, boolean hostFailure) {
+    this.retryable = retryable;
+    this.hostFailure = hostFailure;
+  }
+
+  /**
+   * Returns whether a fetch that failed with this kind of error should be tried again.
+   */
+  boolean isRetryable() {
+    return retryable;
+  }
+
+  /**
+   * Returns whether this kind of error is a sign that the host is unhealthy.
+   */
+  boolean isHostFailure() {
+    return hostFailure;
+  }
+
+  /**
+   * Returns the kind of the given error, as reported by {@link
+   * com.udacity.webcrawler.parser.PageParser.Result#getError()}.
+   */
+  static FetchErrorKind classify(Exception error) {
+    Throwable cause = error;
+    while (cause instanceof UncheckedIOException && cause.getCause() != null) {
+      cause = cause.getCause();
+    }
+    if (cause instanceof HttpStatusException) {
+      return classifyStatus(((HttpStatusException) cause).getStatusCode());
+    }
+    if (cause instanceof UnknownHostException || cause instanceof NoRouteToHostException) {
+      return UNREACHABLE;
+    }
+    if (cause instanceof FileNotFoundException
+        || cause instanceof FileSystemException
+        || cause instanceof MalformedURLException
+        || cause instanceof UnsupportedMimeTypeException) {
+      return PERMANENT;
+    }
+    // Timeouts, refused and reset connections, and other I/O errors are worth another try.
+    return cause instanceof IOException ? TRANSIENT : PERMANENT;
+  }
+
+  /**
+   * Returns the kind of error that the given HTTP status stands for.
+   */
+  static FetchErrorKind classifyStatus(int status) {
+    if (status == 408 || status == 429 || status >= 500) {
+      return TRANSIENT;
+    }
+    return PERMANENT;
+  }
+}
@@ -0,0 +1,152 @@
+package com.udacity.webcrawler;
+
+import com.udacity.webcrawler.log.Log;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One circuit breaker per host, which stops the crawler from fetching pages of hosts that keep
+ * failing.
+ *
+ * <p>A host's breaker opens after a number of fetches from the host have failed in a row with a
+ * {@link FetchErrorKind#isHostFailure() host failure}. While it is open, fetches from the host fail
+ * fast, without using up a worker for the whole timeout. Once the open period has passed, a single
+ * trial fetch is let through: if it succeeds, the breaker closes again, and if it fails, the
+ * breaker stays open for another period. Pages of the host that come up while the trial is running
+ * are put off for another period too, since the trial may fail.
+ *
+ * <p>This class is thread-safe.
+ */
+final class HostCircuitBreakers {
+
+  private static final Log LOG = Log.forClass(HostCircuitBreakers.class);
+
+  private final Clock clock;
+  private final int failureThreshold;
+  private final Duration openDuration;
+  private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+  /**
+   * Creates circuit breakers.
+   *
+   * @param clock            the clock used to time open periods.
+   * @param failureThreshold the number of failures in a row that opens a host's breaker.
+   * @param openDuration     how long a breaker stays open before a trial fetch is let through.
+   */
+  HostCircuitBreakers(Clock clock, int failureThreshold, Duration openDuration) {
+    if (failureThreshold < 1) {
+      throw new IllegalArgumentException("failureThreshold must be positive");
+    }
+    this.clock = Objects.requireNonNull(clock);
+    this.failureThreshold = failureThreshold;
+    this.openDuration = Objects.requireNonNull(openDuration);
+  }
+
+  /**
+   * Returns whether a page of the given host may be fetched now. If this returns {@code true}, the
+   * outcome of the fetch must be reported to {@link #recordSuccess(String)} or
+   * {@link #recordFailure(String)}.
+   */
+  boolean tryAcquire(String host) {
+    return breaker(host).tryAcquire(clock.instant());
+  }
+
+  /**
+   * Returns the time at which a page of the given host that was not let through should be tried
+   * again: the end of the open period, or another open period from now while a trial fetch is
+   * running. Returns the current time if the breaker is closed.
+   */
+  Instant getRetryTime(String host) {
+    return breaker(host).getRetryTime(clock.instant());
+  }
+
+  /**
+   * Returns the number of trial fetches in a row that have failed since the breaker of the given
+   * host last closed.
+   */
+  int getFailedTrials(String host) {
+    return breaker(host).getFailedTrials();
+  }
+
+  /**
+   * Records that the host answered, even if only with an error about the page.
+   */
+  void recordSuccess(String host) {
+    breaker(host).recordSuccess();
+  }
+
+  /**
+   * Records that a fetch failed because of a problem with the host.
+   */
+  void recordFailure(String host) {
+    if (breaker(host).recordFailure(clock.instant())) {
+      LOG.warning("Too many failures; pausing fetches from host: %s", host);
+    }
+  }
+
+  private Breaker breaker(String host) {
+    return breakers.computeIfAbsent(host, h -> new Breaker());
+  }
+
+  private final class Breaker {
+    private int failures;
+    private int failedTrials;
+    private Instant openUntil;
+    private boolean trialInFlight;
+
+    synchronized boolean tryAcquire(Instant now) {
+      if (openUntil == null) {
+        return true;
+      }
+      if (now.isBefore(openUntil) || trialInFlight) {
+        return false;
+      }
+      trialInFlight = true;
+      return true;
+    }
+
+    synchronized Instant getRetryTime(Instant now) {
+      if (openUntil == null) {
+        return now;
+      }
+      if (trialInFlight) {
+        return now.plus(openDuration);
+      }
+      return now.isAfter(openUntil) ? now : openUntil;
+    }
+
+    synchronized int getFailedTrials() {
+      return failedTrials;
+    }
+
+    synchronized void recordSuccess() {
+      failures = 0;
+      failedTrials = 0;
+      openUntil = null;
+      trialInFlight = false;
+    }
+
+    /**
+     * Returns whether the breaker went from closed to open.
+     */
+    synchronized boolean recordFailure(Instant now) {
+      if (trialInFlight) {
+        trialInFlight = false;
+        failedTrials++;
+        openUntil = now.plus(openDuration);
+        return false;
+      }
+      failures++;
+      if (openUntil == null && failures >= failureThreshold) {
+        openUntil = now.plus(openDuration);
+        return true;
+      }
+      return false;
+    }
+  }
+}
@@ -0,0 +1,18 @@
+package com.udacity.webcrawler;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the number of fetches from a host that must fail in a row before the
+ * web crawler stops fetching from that host for a while.
+ *
+ * <p>The value bound to this annotation is the value of the {@code "hostFailureThreshold"} option
+ * from the crawler configuration JSON. Zero means that the crawler never stops fetching from a
+ * host.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+public @interface HostFailureThreshold {
+}
@@ -0,0 +1,125 @@
+package com.udacity.webcrawler;
+
+import com.udacity.webcrawler.parser.PageParser;
+import com.udacity.webcrawler.parser.WordDictionary;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A {@link WordCountAccumulator} for pages whose words were counted by id in a
+ * {@link WordDictionary}.
+ *
+ * <p>Since ids are dense, the counts are kept in an array indexed by id, and adding a page is one
+ * atomic increment per distinct word on it. Words are only decoded back into strings when the
+ * popular words are ranked. Each id is normalized once; the id of its normalized word is
+ * remembered in a second array.
+ */
+final class InternedWordCounts implements WordCountAccumulator {
+
+  private final WordDictionary dictionary;
+  private final UnaryOperator<String> normalizer;
+  private final IntArray counts = new IntArray();
+
+  /**
+   * For each id, zero if it has not been normalized yet, the id of its normalized word plus one,
+   * or -1 if the normalized word is empty.
+   */
+  private final IntArray normalizedIds = new IntArray();
+
+  InternedWordCounts(WordDictionary dictionary, UnaryOperator<String> normalizer) {
+    this.dictionary = Objects.requireNonNull(dictionary);
+    this.normalizer = Objects.requireNonNull(normalizer);
+  }
+
+  @Override
+  public void add(PageParser.Result page) {
+    page.getWordIdCounts().forEach((id, count) -> {
+      int normalizedId = normalize(id);
+      if (normalizedId >= 0) {
+        counts.add(normalizedId, count);
+      }
+    });
+  }
+
+  @Override
+  public Map<String, Integer> getPopularWords(int popularWordCount, ForkJoinPool pool) {
+    int size = dictionary.size();
+    Stream<Map.Entry<String, Integer>> entries = IntStream.range(0, size)
+        .filter(id -> counts.get(id) > 0)
+        .mapToObj(id -> Map.entry(dictionary.wordOf(id), counts.get(id)));
+    if (size < WordCounts.PARALLEL_THRESHOLD) {
+      return WordCounts.sort(entries, popularWordCount);
+    }
+    // A parallel stream runs on the pool of the task that starts it.
+    return pool.submit(() -> WordCounts.sort(entries.parallel(), popularWordCount)).join();
+  }
+
+  @Override
+  public long getErrorBound() {
+    return 0;
+  }
+
+  /**
+   * Returns the id of the normalized form of the word with the given id, or -1 if it is empty.
+   * Threads that race to normalize the same id compute the same value.
+   */
+  private int normalize(int id) {
+    int value = normalizedIds.get(id);
+    if (value == 0) {
+      String normalized = normalizer.apply(dictionary.wordOf(id));
+      value = normalized.isEmpty() ? -1 : dictionary.idOf(normalized) + 1;
+      normalizedIds.set(id, value);
+    }
+    return value > 0 ? value - 1 : -1;
+  }
+
+  /**
+   * An array of ints that grows as needed, in chunks that are updated atomically.
+   */
+  private static final class IntArray {
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_MASK = (1 << CHUNK_BITS) - 1;
+
+    private volatile AtomicIntegerArray[] chunks = new AtomicIntegerArray[0];
+
+    int get(int index) {
+      AtomicIntegerArray[] current = chunks;
+      int chunk = index >>> CHUNK_BITS;
+      return chunk < current.length ? current[chunk].get(index & CHUNK_MASK) : 0;
+    }
+
+    void set(int index, int value) {
+      chunk(index >>> CHUNK_BITS).set(index & CHUNK_MASK, value);
+    }
+
+    void add(int index, int delta) {
+      chunk(index >>> CHUNK_BITS).addAndGet(index & CHUNK_MASK, delta);
+    }
+
+    private AtomicIntegerArray chunk(int chunk) {
+      AtomicIntegerArray[] current = chunks;
+      if (chunk < current.length) {
+        return current[chunk];
+      }
+      synchronized (this) {
+        current = chunks;
+        if (chunk >= current.length) {
+          AtomicIntegerArray[] grown =
+              new AtomicIntegerArray[Math.max(chunk + 1, current.length * 2)];
+          System.arraycopy(current, 0, grown, 0, current.length);
+          for (int i = current.length; i < grown.length; i++) {
+            grown[i] = new AtomicIntegerArray(1 << CHUNK_BITS);
+          }
+          chunks = current = grown;
+        }
+        return current[chunk];
+      }
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.udacity.webcrawler;
+
+/**
+ * Scores discovered links, so that the {@link ParallelWebCrawler} can crawl the most valuable
+ * pages first when it runs out of time.
+ *
+ * <p>Scores only break ties between pages at the same depth from the start pages, from hosts that
+ * have had the same number of pages crawled; shallow pages and under-crawled hosts always come
+ * first. Higher scores are crawled earlier. In a recrawl, the score comes first instead; see
+ * {@link CrawlFrontier}.
+ */
+@FunctionalInterface
+public interface LinkScorer {
+
+  /**
+   * Returns the score of the given URL.
+   *
+   * @param url          the discovered URL.
+   * @param inboundLinks the number of times a link to this URL has been discovered so far during
+   *                     the crawl, including this one.
+   */
+  double score(String url, int inboundLinks);
+
+  /**
+   * A {@link LinkScorer} that prefers the pages that most other crawled pages link to.
+   */
+  static LinkScorer inboundLinks() {
+    return (url, inboundLinks) -> inboundLinks;
+  }
+}
@@ -0,0 +1,18 @@
+package com.udacity.webcrawler;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the largest number of pages the web crawler may fetch at once when it
+ * adapts its concurrency to how quickly sites respond.
+ *
+ * <p>The value bound to this annotation is the value of the {@code "maxConcurrentFetches"} option
+ * from the crawler configuration JSON if the {@code "adaptiveConcurrency"} option is set, and 0,
+ * meaning that the crawler runs a fixed number of fetches at once, otherwise.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxConcurrentFetches {
+}
@@ -0,0 +1,17 @@
+package com.udacity.webcrawler;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the number of times the web crawler tries again to fetch a page whose
+ * fetch failed with a transient error.
+ *
+ * <p>The value bound to this annotation is the value of the {@code "maxRetries"} option from the
+ * crawler configuration JSON.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+public @interface MaxRetries {
+}
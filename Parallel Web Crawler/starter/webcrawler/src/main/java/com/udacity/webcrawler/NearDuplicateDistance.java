@@ -0,0 +1,18 @@
+package com.udacity.webcrawler;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the largest fingerprint distance at which the web crawler treats two
+ * pages as near-duplicates, skipping the later one.
+ *
+ * <p>The value bound to this annotation is the value of the {@code "nearDuplicateDistance"} option
+ * from the crawler configuration JSON if the {@code "skipNearDuplicates"} option is set, and -1,
+ * meaning that no pages are skipped, otherwise.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+public @interface NearDuplicateDistance {
+}
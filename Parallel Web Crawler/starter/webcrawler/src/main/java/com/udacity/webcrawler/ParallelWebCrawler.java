@@ -1,10 +1,21 @@
 package com.udacity.webcrawler;
 
+import com.udacity.webcrawler.analysis.Words;
+import com.udacity.webcrawler.graph.LinkGraph;
+import com.udacity.webcrawler.graph.LinkRanking;
+import com.udacity.webcrawler.index.IndexWriter;
 import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.log.Log;
 import com.udacity.webcrawler.parser.PageParser;
 import com.udacity.webcrawler.parser.PageParserFactory;
+import com.udacity.webcrawler.parser.WordDictionary;
+import com.udacity.webcrawler.recrawl.PageHistory;
+import com.udacity.webcrawler.recrawl.RecrawlStore;
+import com.udacity.webcrawler.robots.SitePolicy;
+import com.udacity.webcrawler.sketch.NearDuplicateIndex;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
@@ -15,15 +26,57 @@ import java.util.regex.Pattern;
 /**
  * A concrete implementation of {@link WebCrawler} that runs multiple threads on a
  * {@link ForkJoinPool} to fetch and process multiple web pages in parallel.
+ *
+ * <p>The worker threads take pages from a shared {@link CrawlFrontier}, which hands out pages
+ * closest to the start pages first. When the crawl runs out of time, it has therefore covered the
+ * shallow pages of every start page instead of a single deep subtree.
+ *
+ * <p>By default, each worker runs one fetch at a time. With adaptive concurrency, there are as many
+ * workers as the most fetches allowed at once, and an {@link AdaptiveConcurrencyLimit} decides how
+ * many of them may fetch at a time. Fetches then run as {@link ForkJoinPool.ManagedBlocker managed
+ * blocking} calls, so that the pool can add threads while others wait for slow sites.
+ *
+ * <p>Pages whose fetch fails with a {@link FetchErrorKind#TRANSIENT transient} error go back to the
+ * frontier, to be tried again after a randomized, exponentially growing delay. No worker sleeps in
+ * the meantime. Hosts that keep failing are paused by {@link HostCircuitBreakers}.
  */
 final class ParallelWebCrawler implements WebCrawler {
+
+  private static final Log LOG = Log.forClass(ParallelWebCrawler.class);
+
+  /**
+   * The delay before the first retry of a page. Each further retry waits up to twice as long.
+   */
+  private static final Duration RETRY_BASE_DELAY = Duration.ofMillis(500);
+  private static final Duration RETRY_MAX_DELAY = Duration.ofSeconds(30);
+
+  /**
+   * How long a host that keeps failing is paused before a trial fetch is let through.
+   */
+  private static final Duration HOST_PAUSE = Duration.ofSeconds(30);
+
   private final Clock clock;  // Clock for managing timeout
   private final Duration timeout;  // Maximum allowed crawl duration
   private final int popularWordCount;  // Number of popular words to return in results
+  private final int popularPhraseCount;  // Number of popular phrases to return, if any
+  private final int approximateWordCounters;  // Zero if words are counted exactly
+  private final Optional<WordDictionary> dictionary;  // Word ids used by the page parsers, if any
+  private final int nearDuplicateDistance;  // -1 if near-duplicate pages are not skipped
   private final ForkJoinPool pool;  // ForkJoinPool for parallel crawling
+  private final int parallelism;  // Number of worker tasks taking pages from the frontier
+  private final int maxConcurrentFetches;  // 0 if there is one fetch per worker at a time
+  private final int maxRetries;  // Retries of a page after transient errors
+  private final int hostFailureThreshold;  // 0 if failing hosts are never paused
   private final List<Pattern> ignoredUrls;  // Regex patterns for URLs to ignore
   private final int maxDepth;  // Maximum depth for recursive crawling
   private final PageParserFactory parserFactory;  // Factory for page parsers
+  private final LinkScorer linkScorer;  // Orders pages in the frontier
+  private final SitePolicy sitePolicy;  // robots.txt rules and sitemaps of the crawled sites
+  private final Optional<Provider<LinkGraph>> linkGraphs;  // A graph per crawl, if kept
+  private final int topPageCount;  // Number of top-ranked pages to return, if any
+  private final LinkRanking ranking;  // Ranks pages by the links between them
+  private final Optional<IndexWriter> index;  // Indexes the words of crawled pages, if kept
+  private final Optional<RecrawlStore> recrawl;  // What earlier crawls found, in recrawl mode
 
   /**
    * Constructs a {@link ParallelWebCrawler} with injected dependencies.
@@ -33,17 +86,47 @@ final class ParallelWebCrawler implements WebCrawler {
       Clock clock,
       @Timeout Duration timeout,
       @PopularWordCount int popularWordCount,
+      @PopularPhraseCount int popularPhraseCount,
+      @ApproximateWordCounters int approximateWordCounters,
+      @NearDuplicateDistance int nearDuplicateDistance,
       @TargetParallelism int threadCount,
+      @MaxConcurrentFetches int maxConcurrentFetches,
+      @MaxRetries int maxRetries,
+      @HostFailureThreshold int hostFailureThreshold,
       @IgnoredUrls List<Pattern> ignoredUrls,
       @MaxDepth int maxDepth,
-      PageParserFactory parserFactory) {
+      PageParserFactory parserFactory,
+      LinkScorer linkScorer,
+      @CrawlPool ForkJoinPool pool,
+      Optional<WordDictionary> dictionary,
+      SitePolicy sitePolicy,
+      Optional<Provider<LinkGraph>> linkGraphs,
+      @TopPageCount int topPageCount,
+      LinkRanking ranking,
+      Optional<IndexWriter> index,
+      Optional<RecrawlStore> recrawl) {
     this.clock = clock;
     this.timeout = timeout;
     this.popularWordCount = popularWordCount;
-    this.pool = new ForkJoinPool(Math.min(threadCount, getMaxParallelism()));  // Thread pool size is capped at max parallelism
+    this.popularPhraseCount = popularPhraseCount;
+    this.approximateWordCounters = approximateWordCounters;
+    this.nearDuplicateDistance = nearDuplicateDistance;
+    this.parallelism = Math.max(1, Math.min(threadCount, getMaxParallelism()));  // Capped at max parallelism
+    this.maxConcurrentFetches = maxConcurrentFetches;
+    this.maxRetries = maxRetries;
+    this.hostFailureThreshold = hostFailureThreshold;
+    this.pool = pool;  // May be shared with other crawls running in the same process
     this.ignoredUrls = ignoredUrls;
     this.maxDepth = maxDepth;
     this.parserFactory = parserFactory;
+    this.linkScorer = linkScorer;
+    this.dictionary = dictionary;
+    this.sitePolicy = sitePolicy;
+    this.linkGraphs = linkGraphs;
+    this.topPageCount = topPageCount;
+    this.ranking = ranking;
+    this.index = index;
+    this.recrawl = recrawl;
   }
 
   /**
@@ -54,108 +137,366 @@ final class ParallelWebCrawler implements WebCrawler {
    */
   @Override
   public CrawlResult crawl(List<String> startingUrls) {
-    Instant deadline = clock.instant().plus(timeout);
-    ConcurrentMap<String, Integer> wordCounts = new ConcurrentHashMap<>();
-    ConcurrentSkipListSet<String> visitedUrls = new ConcurrentSkipListSet<>();
+    Instant start = clock.instant();
+    Instant deadline = start.plus(timeout);
+    WordCountAccumulator wordCounts = WordCountAccumulator.create(
+        approximateWordCounters, dictionary, Words::normalize);
+    PopularPhrases phrases = new PopularPhrases(popularPhraseCount);
+    NearDuplicateIndex nearDuplicates =
+        nearDuplicateDistance < 0 ? null : new NearDuplicateIndex(nearDuplicateDistance);
+    CrawlFrontier frontier =
+        new CrawlFrontier(clock, deadline, linkScorer, recrawl.isPresent());
+    AdaptiveConcurrencyLimit concurrencyLimit = maxConcurrentFetches == 0
+        ? null
+        : new AdaptiveConcurrencyLimit(parallelism, maxConcurrentFetches, System::nanoTime);
+    int workerCount = concurrencyLimit == null ? parallelism : maxConcurrentFetches;
+    HostCircuitBreakers breakers = hostFailureThreshold == 0
+        ? null
+        : new HostCircuitBreakers(clock, hostFailureThreshold, HOST_PAUSE);
+    CrawlStatsCollector stats = new CrawlStatsCollector(clock);
+    LinkGraph linkGraph = linkGraphs.map(Provider::get).orElse(null);
 
-    System.out.println("[INFO] Starting crawl with " + startingUrls.size() + " URLs.");
+    LOG.info("Starting crawl with %d URLs.", startingUrls.size());
 
-    List<ForkJoinTask<Void>> tasks = new ArrayList<>();
-    for (String url : startingUrls) {
+    // Local directories among the start pages are expanded into the HTML files they contain.
+    for (String url : StartPages.expand(startingUrls, pool)) {
       if (url != null && !url.trim().isEmpty()) {  // Check for null or blank URLs
-        tasks.add(pool.submit(createCrawlTask(url, maxDepth, deadline, wordCounts, visitedUrls)));
+        offer(frontier, url, maxDepth, start, deadline, stats);
       } else {
-        System.out.println("[WARNING] Ignoring null or blank URL.");
+        LOG.warning("Ignoring null or blank URL.");
+      }
+    }
+
+    // Pages listed in sitemaps are crawled as if they were start pages.
+    for (String url : sitePolicy.discoverPages(startingUrls)) {
+      offer(frontier, url, maxDepth, start, deadline, stats);
+    }
+
+    // A recrawl also revisits the pages of earlier crawls that are due, at the depth they were
+    // crawled at. The frontier hands out the pages most likely to have changed first.
+    if (recrawl.isPresent()) {
+      for (PageHistory page : recrawl.get().duePages(start)) {
+        int depth = Math.min(page.getDepth(), maxDepth);
+        offer(frontier, page.getUrl(), depth, start, deadline, stats);
       }
     }
 
-    for (ForkJoinTask<Void> task : tasks) {
+    // Every worker takes pages from the frontier until it is exhausted or the deadline passes.
+    List<ForkJoinTask<?>> workers = new ArrayList<>();
+    for (int i = 0; i < workerCount; i++) {
+      workers.add(pool.submit(() -> work(frontier, start, deadline, concurrencyLimit, breakers,
+          wordCounts, phrases, nearDuplicates, linkGraph, stats)));
+    }
+
+    for (ForkJoinTask<?> worker : workers) {
       try {
-        task.join();  // Ensure all tasks finish
+        worker.join();  // Ensure all workers finish
       } catch (Exception e) {
-        System.err.println("[ERROR] Exception while joining task: " + e.getMessage());
+        LOG.error("Exception while joining task: %s", e.getMessage());
       }
     }
 
-    System.out.println("[INFO] Crawl completed. Visited " + visitedUrls.size() + " URLs.");
+    int visitedCount = frontier.getVisitedCount();
+    LOG.info("Crawl completed. Visited %d URLs.", visitedCount);
+    if (concurrencyLimit != null) {
+      LOG.info("Final concurrency limit: %d", concurrencyLimit.getLimit());
+    }
 
-    // Handle empty word counts to avoid IllegalArgumentException
-    Map<String, Integer> sortedWordCounts = wordCounts.isEmpty() ? Collections.emptyMap() : WordCounts.sort(wordCounts, popularWordCount);
+    // Large vocabularies are ranked in parallel on the crawl pool.
+    Map<String, Integer> sortedWordCounts = wordCounts.getPopularWords(popularWordCount, pool);
 
     return new CrawlResult.Builder()
       .setWordCounts(sortedWordCounts)
-      .setUrlsVisited(visitedUrls.size())
+      .setWordCountErrorBound(wordCounts.getErrorBound())
+      .setUrlsVisited(visitedCount)
+      .setPhraseCounts(phrases.getPopularPhrases())
+      .setStats(stats.snapshot())
+      .setTopPages(topPageCount > 0
+          ? ranking.topPages(linkGraph, topPageCount, pool)
+          : Map.of())
+      .setLinkGraph(linkGraph)
       .build();
   }
 
   /**
-   * Creates a {@link RecursiveTask} to crawl the given URL.
+   * Adds the given URL to the frontier, unless the crawl should not follow it.
    *
-   * @param url         the URL to crawl
-   * @param depth       the remaining crawl depth
-   * @param deadline    the time limit for the crawl
-   * @param wordCounts  the map of word counts to update
-   * @param visitedUrls the set of visited URLs
-   * @return a {@link RecursiveTask} representing the crawl task for the URL
+   * @param frontier the frontier of the crawl
+   * @param url      the URL to crawl
+   * @param depth    the remaining crawl depth
+   * @param start    the time the crawl started, which recrawl decisions are based on
+   * @param deadline the time limit for the crawl
+   * @param stats    the statistics to count skipped URLs in
    */
-  private RecursiveTask<Void> createCrawlTask(
+  private void offer(
+      CrawlFrontier frontier,
       String url,
       int depth,
+      Instant start,
       Instant deadline,
-      ConcurrentMap<String, Integer> wordCounts,
-      ConcurrentSkipListSet<String> visitedUrls) {
-
-    return new RecursiveTask<>() {
-      @Override
-      protected Void compute() {
-        // Terminate if max depth reached or the deadline has passed
-        if (depth == 0 || clock.instant().isAfter(deadline)) {
-          System.out.println("[DEBUG] Skipping URL due to depth 0 or timeout: " + url);
-          return null;
-        }
+      CrawlStatsCollector stats) {
+    // Skip the URL if max depth is reached or the deadline has passed
+    if (depth == 0) {
+      stats.recordSkip(CrawlStatsCollector.SkipReason.MAX_DEPTH);
+      return;
+    }
+    if (clock.instant().isAfter(deadline)) {
+      stats.recordSkip(CrawlStatsCollector.SkipReason.DEADLINE);
+      return;
+    }
+
+    // Ignore the URL if it matches any ignored pattern
+    for (Pattern pattern : ignoredUrls) {
+      if (pattern.matcher(url).matches()) {
+        LOG.debug("Ignoring URL due to matching pattern: %s", url);
+        stats.recordSkip(CrawlStatsCollector.SkipReason.IGNORED_URL);
+        return;
+      }
+    }
 
-        // Ignore the URL if it matches any ignored pattern
-        for (Pattern pattern : ignoredUrls) {
-          if (pattern.matcher(url).matches()) {
-            System.out.println("[DEBUG] Ignoring URL due to matching pattern: " + url);
-            return null;
+    // Skip the URL if the site's robots.txt file disallows it
+    if (!sitePolicy.isAllowed(url)) {
+      LOG.debug("Ignoring URL disallowed by robots.txt: %s", url);
+      stats.recordSkip(CrawlStatsCollector.SkipReason.DISALLOWED_BY_ROBOTS);
+      return;
+    }
+
+    // In a recrawl, skip the URL if it has probably not changed since it was last fetched
+    if (recrawl.isPresent() && !recrawl.get().isDue(url, start)) {
+      LOG.debug("Skipping unchanged URL: %s", url);
+      stats.recordSkip(CrawlStatsCollector.SkipReason.UNCHANGED);
+      return;
+    }
+
+    frontier.offer(url, depth);
+  }
+
+  /**
+   * Crawls pages from the frontier until there are none left, or the deadline has passed.
+   *
+   * @param frontier   the frontier of the crawl
+   * @param start      the time the crawl started
+   * @param deadline   the time limit for the crawl
+   * @param concurrencyLimit the limit on fetches at once, or {@code null} if there is none
+   * @param breakers   the circuit breakers of the hosts, or {@code null} if there are none
+   * @param wordCounts the word counts to update
+   * @param phrases    the popular phrases to update
+   * @param nearDuplicates the fingerprints of the pages crawled so far, or {@code null} if
+   *                       near-duplicate pages are not skipped
+   * @param linkGraph  the link graph to record pages in, or {@code null} if none is kept
+   * @param stats      the statistics of the crawl
+   */
+  private void work(
+      CrawlFrontier frontier,
+      Instant start,
+      Instant deadline,
+      AdaptiveConcurrencyLimit concurrencyLimit,
+      HostCircuitBreakers breakers,
+      WordCountAccumulator wordCounts,
+      PopularPhrases phrases,
+      NearDuplicateIndex nearDuplicates,
+      LinkGraph linkGraph,
+      CrawlStatsCollector stats) {
+    while (true) {
+      CrawlFrontier.Entry entry;
+      try {
+        entry = frontier.poll();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (entry == null) {
+        return;
+      }
+
+      try {
+        String url = entry.getUrl();
+        LOG.debug("Crawling URL: %s at depth %d", url, entry.getDepth());
+
+        // Fail fast, without a fetch, while the page's host is paused. Waiting for the host does
+        // not use up the page's own retries: the page is only given up on once the host has failed
+        // as many trial fetches as a page gets retries.
+        String host = entry.getHost();
+        if (breakers != null && !breakers.tryAcquire(host)) {
+          if (breakers.getFailedTrials(host) >= maxRetries) {
+            LOG.warning("Giving up on URL of paused host: %s", url);
+            stats.recordSkip(CrawlStatsCollector.SkipReason.HOST_PAUSED);
+          } else {
+            LOG.debug("Host is paused after repeated failures: %s", url);
+            frontier.defer(entry, breakers.getRetryTime(host));
           }
+          continue;
         }
 
-        // If the URL was already visited, skip it
-        if (!visitedUrls.add(url)) {
-          System.out.println("[DEBUG] URL already visited: " + url);
-          return null;
+        // Parse the page and get the result (word counts and links).
+        PageParser.Result result = fetch(url, deadline, concurrencyLimit);
+        if (result == null) {
+          continue;  // The deadline passed while waiting to fetch the page
         }
+        stats.recordPage(maxDepth - entry.getDepth(), host, result);
 
-        System.out.println("[INFO] Crawling URL: " + url + " at depth " + depth);
+        // A page that failed for a transient reason is tried again later.
+        if (result.getError().isPresent()) {
+          FetchErrorKind kind = FetchErrorKind.classify(result.getError().get());
+          recordOutcome(breakers, host, kind.isHostFailure());
+          if (kind.isRetryable()) {
+            retryLater(frontier, entry, clock.instant().plus(retryDelay(entry.getAttempt())),
+                stats);
+          }
+          continue;
+        }
+        recordOutcome(breakers, host, false);
+        recrawl.ifPresent(store ->
+            store.recordFetch(url, entry.getDepth(), result.getContentHash(), clock.instant()));
 
-        // Parse the page and get the result (word counts and links).
-        PageParser.Result result = parserFactory.get(url).parse();
+        // A near-duplicate of a page crawled earlier, such as a mirror, adds nothing new.
+        if (isNearDuplicate(result, nearDuplicates)) {
+          LOG.debug("Skipping near-duplicate page: %s", url);
+          stats.recordSkip(CrawlStatsCollector.SkipReason.NEAR_DUPLICATE);
+          continue;
+        }
 
-        // Merge word counts into the shared map.
-        result.getWordCounts().forEach((word, count) -> {
-          String normalizedWord = word.trim().toLowerCase().replaceAll("[^a-z]", "");  // Normalize and remove non-alphabetic characters
-          if (!normalizedWord.isEmpty()) {  // Skip blank words after normalization
-            wordCounts.merge(normalizedWord, count, Integer::sum);  // Merge word counts atomically
-          } else {
-            System.out.println("[DEBUG] Skipping empty or invalid word during merge.");
+        // Merge word counts into the crawl's counts, normalized by Words.normalize().
+        wordCounts.add(result);
+
+        // Phrases are normalized word by word, the same way.
+        result.getPhraseCounts().forEach((phrase, count) -> {
+          String normalizedPhrase = Words.normalizePhrase(phrase);
+          if (normalizedPhrase != null) {
+            phrases.add(normalizedPhrase, count);
           }
         });
 
-        // Create crawl tasks for each link found on the page
-        List<RecursiveTask<Void>> subtasks = new ArrayList<>();
+        if (linkGraph != null) {
+          linkGraph.addPage(url, result.getLinks());
+        }
+        index.ifPresent(writer -> writer.add(url, result));
+
+        // Queue each link found on the page, one level deeper.
         for (String link : result.getLinks()) {
-          subtasks.add(createCrawlTask(link, depth - 1, deadline, wordCounts, visitedUrls));
+          offer(frontier, link, entry.getDepth() - 1, start, deadline, stats);
         }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } finally {
+        frontier.done();
+      }
+    }
+  }
+
+  /**
+   * Queues another attempt at the given page, no earlier than the given time, unless it has already
+   * been tried {@link #maxRetries} times. A page that is given up on is counted as skipped once;
+   * attempts that are put off are not counted.
+   */
+  private void retryLater(
+      CrawlFrontier frontier,
+      CrawlFrontier.Entry entry,
+      Instant notBefore,
+      CrawlStatsCollector stats) {
+    if (entry.getAttempt() >= maxRetries) {
+      LOG.warning(
+          "Giving up on URL after %d attempts: %s", entry.getAttempt() + 1, entry.getUrl());
+      stats.recordSkip(CrawlStatsCollector.SkipReason.RETRIES_EXHAUSTED);
+      return;
+    }
+    LOG.debug("Will retry URL at %s: %s", notBefore, entry.getUrl());
+    frontier.retry(entry, notBefore);
+  }
 
-        // Execute all subtasks in parallel
-        invokeAll(subtasks);
+  /**
+   * Reports the outcome of a fetch to the host's circuit breaker, if there is one.
+   */
+  private static void recordOutcome(HostCircuitBreakers breakers, String host, boolean failed) {
+    if (breakers == null) {
+      return;
+    }
+    if (failed) {
+      breakers.recordFailure(host);
+    } else {
+      breakers.recordSuccess(host);
+    }
+  }
 
-        System.out.println("[INFO] Finished crawling URL: " + url);
-        return null;
-      }
-    };
+  /**
+   * Returns how long to wait before retrying a page that has been tried the given number of times
+   * before. The delay is drawn at random, between half of an exponentially growing bound and the
+   * bound itself, so that pages that failed together are not all retried at the same moment.
+   */
+  private static Duration retryDelay(int attempt) {
+    long bound = RETRY_BASE_DELAY.toMillis() << Math.min(attempt, 16);
+    long millis = Math.min(RETRY_MAX_DELAY.toMillis(), bound);
+    return Duration.ofMillis(ThreadLocalRandom.current().nextLong(millis / 2, millis + 1));
+  }
+
+  /**
+   * Downloads and parses the page at the given URL, within the given concurrency limit, if any.
+   *
+   * @return the parse result, or {@code null} if the deadline passed before the page could be
+   *     fetched.
+   */
+  private PageParser.Result fetch(
+      String url, Instant deadline, AdaptiveConcurrencyLimit concurrencyLimit)
+      throws InterruptedException {
+    PageParser parser = parserFactory.get(url);
+    if (concurrencyLimit == null) {
+      return parser.parse();
+    }
+    AdaptiveConcurrencyLimit.Permit permit =
+        concurrencyLimit.acquire(Duration.between(clock.instant(), deadline).toNanos());
+    if (permit == null) {
+      return null;
+    }
+    boolean failed = true;
+    try {
+      ParseBlocker blocker = new ParseBlocker(parser);
+      ForkJoinPool.managedBlock(blocker);
+      // Only errors that suggest the sites are overloaded count against the limit. A missing page
+      // or a link to an image says nothing about how many fetches the sites can take.
+      failed = blocker.result.getError()
+          .map(FetchErrorKind::classify)
+          .map(kind -> kind.isHostFailure() || kind.isRetryable())
+          .orElse(false);
+      return blocker.result;
+    } finally {
+      permit.release(failed);
+    }
+  }
+
+  /**
+   * Runs a page parser as a blocking call, so that the pool can make up for the thread it blocks.
+   */
+  private static final class ParseBlocker implements ForkJoinPool.ManagedBlocker {
+    private final PageParser parser;
+    private PageParser.Result result;
+
+    ParseBlocker(PageParser parser) {
+      this.parser = parser;
+    }
+
+    @Override
+    public boolean block() {
+      result = parser.parse();
+      return true;
+    }
+
+    @Override
+    public boolean isReleasable() {
+      return result != null;
+    }
+  }
+
+  /**
+   * Returns whether the given page is a near-duplicate of a page crawled earlier, and adds its
+   * fingerprint to the index if not. Pages without words are never near-duplicates.
+   */
+  private static boolean isNearDuplicate(PageParser.Result result, NearDuplicateIndex nearDuplicates) {
+    if (nearDuplicates == null) {
+      return false;
+    }
+    long fingerprint = result.getFingerprint();
+    return fingerprint != 0 && nearDuplicates.addAndCheck(fingerprint);
   }
 
   /**
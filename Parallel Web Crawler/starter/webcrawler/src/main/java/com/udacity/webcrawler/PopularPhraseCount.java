@@ -0,0 +1,16 @@
+package com.udacity.webcrawler;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the number of popular phrases the web crawler should output.
+ *
+ * <p>The value bound to this annotation is the value of the {@code "popularPhraseCount"} option
+ * from the crawler configuration JSON, or zero if the {@code "phraseLength"} option is not set.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PopularPhraseCount {
+}
@@ -0,0 +1,69 @@
+package com.udacity.webcrawler;
+
+import com.udacity.webcrawler.sketch.CountMinSketch;
+import com.udacity.webcrawler.sketch.HeavyHitters;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Keeps track of the most frequent phrases of a crawl in a fixed amount of memory.
+ *
+ * <p>A crawl sees far more distinct phrases than distinct words, so phrases are not counted
+ * exactly. Instead, their counts go into a {@link CountMinSketch} of about 2 MiB, and a
+ * {@link HeavyHitters} candidate set remembers the phrases most likely to end up on top.
+ *
+ * <p>This class is thread-safe.
+ */
+final class PopularPhrases {
+
+  private static final int SKETCH_WIDTH = 1 << 16;
+  private static final int SKETCH_DEPTH = 4;
+
+  /**
+   * The smallest number of candidates to track, however few phrases are reported.
+   */
+  private static final int MIN_CANDIDATES = 256;
+
+  private final int popularPhraseCount;
+  private final HeavyHitters heavyHitters;
+
+  /**
+   * Creates a tracker for the given number of popular phrases. If the number is zero, phrases are
+   * not tracked at all, and no memory is set aside for them.
+   */
+  PopularPhrases(int popularPhraseCount) {
+    this.popularPhraseCount = popularPhraseCount;
+    this.heavyHitters = popularPhraseCount == 0
+        ? null
+        : new HeavyHitters(
+            new CountMinSketch(SKETCH_WIDTH, SKETCH_DEPTH),
+            Math.max(MIN_CANDIDATES, 8 * popularPhraseCount));
+  }
+
+  /**
+   * Adds the given count to the given phrase.
+   */
+  void add(String phrase, int count) {
+    if (heavyHitters != null) {
+      heavyHitters.add(phrase, count);
+    }
+  }
+
+  /**
+   * Returns the most popular phrases and their estimated counts, ordered like the popular words of
+   * a {@link com.udacity.webcrawler.json.CrawlResult}.
+   */
+  Map<String, Integer> getPopularPhrases() {
+    if (heavyHitters == null) {
+      return Collections.emptyMap();
+    }
+    Map<String, Integer> candidates = new HashMap<>();
+    heavyHitters.getCandidates().forEach(
+        (phrase, estimate) -> candidates.put(phrase, (int) Math.min(estimate, Integer.MAX_VALUE)));
+    return candidates.isEmpty()
+        ? Collections.emptyMap()
+        : WordCounts.sort(candidates, popularPhraseCount);
+  }
+}
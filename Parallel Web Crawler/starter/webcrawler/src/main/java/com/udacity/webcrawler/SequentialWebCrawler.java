@@ -1,18 +1,30 @@
 package com.udacity.webcrawler;
 
+import com.udacity.webcrawler.analysis.Words;
+import com.udacity.webcrawler.graph.LinkGraph;
+import com.udacity.webcrawler.graph.LinkRanking;
+import com.udacity.webcrawler.index.IndexWriter;
 import com.udacity.webcrawler.json.CrawlResult;
 import com.udacity.webcrawler.parser.PageParser;
 import com.udacity.webcrawler.parser.PageParserFactory;
+import com.udacity.webcrawler.parser.WordDictionary;
+import com.udacity.webcrawler.recrawl.PageHistory;
+import com.udacity.webcrawler.recrawl.RecrawlStore;
+import com.udacity.webcrawler.robots.SitePolicy;
+import com.udacity.webcrawler.sketch.NearDuplicateIndex;
 
 import javax.inject.Inject;
+import javax.inject.Provider;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashMap;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
 
 /**
@@ -24,8 +36,18 @@ final class SequentialWebCrawler implements WebCrawler {
   private final PageParserFactory parserFactory;
   private final Duration timeout;
   private final int popularWordCount;
+  private final int popularPhraseCount;
+  private final int approximateWordCounters;
+  private final Optional<WordDictionary> dictionary;
+  private final int nearDuplicateDistance;
   private final int maxDepth;
   private final List<Pattern> ignoredUrls;
+  private final SitePolicy sitePolicy;
+  private final Optional<Provider<LinkGraph>> linkGraphs;
+  private final int topPageCount;
+  private final LinkRanking ranking;
+  private final Optional<IndexWriter> index;
+  private final Optional<RecrawlStore> recrawl;
 
   @Inject
   SequentialWebCrawler(
@@ -33,66 +55,139 @@ final class SequentialWebCrawler implements WebCrawler {
       PageParserFactory parserFactory,
       @Timeout Duration timeout,
       @PopularWordCount int popularWordCount,
+      @PopularPhraseCount int popularPhraseCount,
+      @ApproximateWordCounters int approximateWordCounters,
+      @NearDuplicateDistance int nearDuplicateDistance,
       @MaxDepth int maxDepth,
-      @IgnoredUrls List<Pattern> ignoredUrls) {
+      @IgnoredUrls List<Pattern> ignoredUrls,
+      Optional<WordDictionary> dictionary,
+      SitePolicy sitePolicy,
+      Optional<Provider<LinkGraph>> linkGraphs,
+      @TopPageCount int topPageCount,
+      LinkRanking ranking,
+      Optional<IndexWriter> index,
+      Optional<RecrawlStore> recrawl) {
     this.clock = clock;
     this.parserFactory = parserFactory;
     this.timeout = timeout;
     this.popularWordCount = popularWordCount;
+    this.popularPhraseCount = popularPhraseCount;
+    this.approximateWordCounters = approximateWordCounters;
+    this.nearDuplicateDistance = nearDuplicateDistance;
     this.maxDepth = maxDepth;
     this.ignoredUrls = ignoredUrls;
+    this.dictionary = dictionary;
+    this.sitePolicy = sitePolicy;
+    this.linkGraphs = linkGraphs;
+    this.topPageCount = topPageCount;
+    this.ranking = ranking;
+    this.index = index;
+    this.recrawl = recrawl;
   }
 
   @Override
   public CrawlResult crawl(List<String> startingUrls) {
-    Instant deadline = clock.instant().plus(timeout);
-    Map<String, Integer> counts = new HashMap<>();
+    // Recrawl decisions are all made as of the start of the crawl, as the parallel crawler does.
+    Instant start = clock.instant();
+    Instant deadline = start.plus(timeout);
+    WordCountAccumulator counts = WordCountAccumulator.create(
+        approximateWordCounters, dictionary, Words::normalize);
     Set<String> visitedUrls = new HashSet<>();
-    for (String url : startingUrls) {
-      crawlInternal(url, deadline, maxDepth, counts, visitedUrls);
+    PopularPhrases phrases = new PopularPhrases(popularPhraseCount);
+    NearDuplicateIndex nearDuplicates =
+        nearDuplicateDistance < 0 ? null : new NearDuplicateIndex(nearDuplicateDistance);
+    LinkGraph linkGraph = linkGraphs.map(Provider::get).orElse(null);
+    CrawlStatsCollector stats = new CrawlStatsCollector(clock);
+    List<String> pages =
+        new ArrayList<>(StartPages.expand(startingUrls, ForkJoinPool.commonPool()));
+    pages.addAll(sitePolicy.discoverPages(startingUrls));
+    List<PageHistory> duePages =
+        recrawl.isPresent() ? recrawl.get().duePages(start) : List.of();
+    for (String url : pages) {
+      crawlInternal(url, start, deadline, maxDepth, counts, phrases, nearDuplicates, linkGraph,
+          stats, visitedUrls);
     }
-
-    if (counts.isEmpty()) {
-      return new CrawlResult.Builder()
-          .setWordCounts(counts)
-          .setUrlsVisited(visitedUrls.size())
-          .build();
+    for (PageHistory page : duePages) {
+      crawlInternal(page.getUrl(), start, deadline, Math.min(page.getDepth(), maxDepth), counts,
+          phrases, nearDuplicates, linkGraph, stats, visitedUrls);
     }
 
     return new CrawlResult.Builder()
-        .setWordCounts(WordCounts.sort(counts, popularWordCount))
+        .setWordCounts(counts.getPopularWords(popularWordCount, ForkJoinPool.commonPool()))
+        .setWordCountErrorBound(counts.getErrorBound())
         .setUrlsVisited(visitedUrls.size())
+        .setPhraseCounts(phrases.getPopularPhrases())
+        .setStats(stats.snapshot())
+        .setTopPages(topPageCount > 0
+            ? ranking.topPages(linkGraph, topPageCount, ForkJoinPool.commonPool())
+            : Map.of())
+        .setLinkGraph(linkGraph)
         .build();
   }
 
   private void crawlInternal(
       String url,
+      Instant start,
       Instant deadline,
       int maxDepth,
-      Map<String, Integer> counts,
+      WordCountAccumulator counts,
+      PopularPhrases phrases,
+      NearDuplicateIndex nearDuplicates,
+      LinkGraph linkGraph,
+      CrawlStatsCollector stats,
       Set<String> visitedUrls) {
-    if (maxDepth == 0 || clock.instant().isAfter(deadline)) {
+    if (maxDepth == 0) {
+      stats.recordSkip(CrawlStatsCollector.SkipReason.MAX_DEPTH);
+      return;
+    }
+    if (clock.instant().isAfter(deadline)) {
+      stats.recordSkip(CrawlStatsCollector.SkipReason.DEADLINE);
       return;
     }
     for (Pattern pattern : ignoredUrls) {
       if (pattern.matcher(url).matches()) {
+        stats.recordSkip(CrawlStatsCollector.SkipReason.IGNORED_URL);
         return;
       }
     }
+    if (!sitePolicy.isAllowed(url)) {
+      stats.recordSkip(CrawlStatsCollector.SkipReason.DISALLOWED_BY_ROBOTS);
+      return;
+    }
     if (visitedUrls.contains(url)) {
       return;
     }
+    if (recrawl.isPresent() && !recrawl.get().isDue(url, start)) {
+      stats.recordSkip(CrawlStatsCollector.SkipReason.UNCHANGED);
+      return;
+    }
     visitedUrls.add(url);
     PageParser.Result result = parserFactory.get(url).parse();
-    for (Map.Entry<String, Integer> e : result.getWordCounts().entrySet()) {
-      if (counts.containsKey(e.getKey())) {
-        counts.put(e.getKey(), e.getValue() + counts.get(e.getKey()));
-      } else {
-        counts.put(e.getKey(), e.getValue());
+    stats.recordPage(this.maxDepth - maxDepth, CrawlFrontier.hostOf(url), result);
+    if (recrawl.isPresent() && result.getError().isEmpty()) {
+      recrawl.get().recordFetch(url, maxDepth, result.getContentHash(), clock.instant());
+    }
+    if (nearDuplicates != null
+        && result.getFingerprint() != 0
+        && nearDuplicates.addAndCheck(result.getFingerprint())) {
+      stats.recordSkip(CrawlStatsCollector.SkipReason.NEAR_DUPLICATE);
+      return;
+    }
+    // Words and phrases are normalized the same way as in the parallel crawler.
+    counts.add(result);
+    result.getPhraseCounts().forEach((phrase, count) -> {
+      String normalizedPhrase = Words.normalizePhrase(phrase);
+      if (normalizedPhrase != null) {
+        phrases.add(normalizedPhrase, count);
       }
+    });
+    if (linkGraph != null) {
+      linkGraph.addPage(url, result.getLinks());
     }
+    index.ifPresent(writer -> writer.add(url, result));
     for (String link : result.getLinks()) {
-      crawlInternal(link, deadline, maxDepth - 1, counts, visitedUrls);
+      crawlInternal(link, start, deadline, maxDepth - 1, counts, phrases, nearDuplicates,
+          linkGraph, stats, visitedUrls);
     }
   }
 }
@@ -0,0 +1,111 @@
+package com.udacity.webcrawler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Expands local directories among a crawl's start pages into the HTML files they contain.
+ *
+ * <p>This makes it possible to crawl a local mirror of a site by pointing the crawler at the
+ * mirror's root directory. Directory trees are scanned in parallel, one task per directory.
+ */
+final class StartPages {
+
+  /**
+   * Returns the given start pages, with every {@code file:} URL that names a directory replaced by
+   * the URLs of all {@code .html} and {@code .htm} files below it, in path order.
+   *
+   * @param startingUrls the start pages of the crawl.
+   * @param pool         the pool to scan directories on.
+   */
+  static List<String> expand(List<String> startingUrls, ForkJoinPool pool) {
+    List<String> expanded = new ArrayList<>(startingUrls.size());
+    for (String url : startingUrls) {
+      Path directory = localDirectory(url);
+      if (directory == null) {
+        expanded.add(url);
+        continue;
+      }
+      List<Path> files = pool.invoke(new ScanTask(directory));
+      files.sort(Comparator.naturalOrder());
+      for (Path file : files) {
+        expanded.add(file.toUri().toString());
+      }
+    }
+    return expanded;
+  }
+
+  /**
+   * Returns the directory the given URL names, or {@code null} if it does not name a local
+   * directory.
+   */
+  private static Path localDirectory(String url) {
+    if (url == null || !url.startsWith("file:")) {
+      return null;
+    }
+    try {
+      Path path = Path.of(new URI(url));
+      return Files.isDirectory(path) ? path : null;
+    } catch (Exception e) {
+      // Not a valid file URL; leave it to the crawler to skip it.
+      return null;
+    }
+  }
+
+  private static boolean isHtml(Path file) {
+    String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+    return name.endsWith(".html") || name.endsWith(".htm");
+  }
+
+  /**
+   * Lists the HTML files in one directory, and forks a task for each of its subdirectories.
+   * Symbolic links to directories are not followed, so that link cycles cannot hang the scan.
+   */
+  private static final class ScanTask extends RecursiveTask<List<Path>> {
+    private static final long serialVersionUID = 1L;
+
+    private final Path directory;
+
+    ScanTask(Path directory) {
+      this.directory = directory;
+    }
+
+    @Override
+    protected List<Path> compute() {
+      List<Path> files = new ArrayList<>();
+      List<ScanTask> subtasks = new ArrayList<>();
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+        for (Path entry : entries) {
+          if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+            ScanTask subtask = new ScanTask(entry);
+            subtask.fork();
+            subtasks.add(subtask);
+          } else if (isHtml(entry) && Files.isRegularFile(entry)) {
+            files.add(entry);
+          }
+        }
+      } catch (IOException e) {
+        throw new UncheckedIOException("Error scanning directory: " + directory, e);
+      }
+      for (ScanTask subtask : subtasks) {
+        files.addAll(subtask.join());
+      }
+      return files;
+    }
+  }
+
+  private StartPages() {
+    // This class cannot be instantiated
+  }
+}
@@ -0,0 +1,17 @@
+package com.udacity.webcrawler;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the number of top-ranked pages the web crawler should output.
+ *
+ * <p>The value bound to this annotation is the value of the {@code "topPageCount"} option from the
+ * crawler configuration JSON. If it is positive, a {@link com.udacity.webcrawler.graph.LinkGraph}
+ * is bound as well.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+public @interface TopPageCount {
+}
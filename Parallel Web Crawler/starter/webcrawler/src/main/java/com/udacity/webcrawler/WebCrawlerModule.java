@@ -4,21 +4,41 @@ import com.google.inject.AbstractModule;
 import com.google.inject.Key;
 import com.google.inject.Provides;
 import com.google.inject.ProvisionException;
-import com.google.inject.multibindings.Multibinder;
+import com.google.inject.multibindings.MapBinder;
+import com.google.inject.multibindings.OptionalBinder;
+import com.udacity.webcrawler.graph.LinkGraph;
+import com.udacity.webcrawler.graph.LinkRanking;
+import com.udacity.webcrawler.index.IndexWriter;
 import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.parser.PageSink;
+import com.udacity.webcrawler.parser.PageSource;
 import com.udacity.webcrawler.parser.ParserModule;
+import com.udacity.webcrawler.parser.WordDictionary;
 import com.udacity.webcrawler.profiler.Profiler;
+import com.udacity.webcrawler.recrawl.RecrawlStore;
+import com.udacity.webcrawler.robots.Fetcher;
+import com.udacity.webcrawler.robots.RobotsCache;
+import com.udacity.webcrawler.robots.RobotsCaches;
+import com.udacity.webcrawler.robots.SitePolicy;
+import com.udacity.webcrawler.warc.WarcPageSource;
+import com.udacity.webcrawler.warc.WarcWriter;
 
+import javax.inject.Provider;
 import javax.inject.Qualifier;
 import javax.inject.Singleton;
+import java.io.IOException;
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
+import java.nio.file.Path;
 import java.time.Clock;
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 /**
  * Guice dependency injection module that installs all the required dependencies to run the web
@@ -30,37 +50,123 @@ import java.util.regex.Pattern;
  *       Guice.createInjector(new WebCrawlerModule(config))
  *           .getInstance(WebCrawler.class);
  * }</pre>
+ *
+ * <p>A process that runs many crawls can share their pool and other resources instead; see
+ * {@link #forChildInjector(CrawlerConfiguration)}.
  */
 public final class WebCrawlerModule extends AbstractModule {
 
   private final CrawlerConfiguration config;
+  private final boolean sharedResources;
 
   /**
    * Installs a web crawler that conforms to the given {@link CrawlerConfiguration}.
    */
   public WebCrawlerModule(CrawlerConfiguration config) {
+    this(config, true);
+  }
+
+  private WebCrawlerModule(CrawlerConfiguration config, boolean sharedResources) {
     this.config = Objects.requireNonNull(config);
+    this.sharedResources = sharedResources;
+  }
+
+  /**
+   * Returns a module that installs a web crawler for the given {@link CrawlerConfiguration} in a
+   * child injector. The module leaves out the {@link CrawlPool} and the
+   * {@link CrawlResourcesModule}, which the parent injector binds once for all of its children.
+   */
+  public static WebCrawlerModule forChildInjector(CrawlerConfiguration config) {
+    return new WebCrawlerModule(config, false);
   }
 
   @Override
   protected void configure() {
-    // Multibinder provides a way to implement the strategy pattern through dependency injection.
-    Multibinder<WebCrawler> multibinder =
-        Multibinder.newSetBinder(binder(), WebCrawler.class, Internal.class);
-    multibinder.addBinding().to(SequentialWebCrawler.class);
-    multibinder.addBinding().to(ParallelWebCrawler.class);
+    // MapBinder provides a way to implement the strategy pattern through dependency injection.
+    // Implementations are keyed by class name and only constructed once they are selected.
+    MapBinder<String, WebCrawler> mapBinder =
+        MapBinder.newMapBinder(binder(), String.class, WebCrawler.class, Internal.class);
+    mapBinder.addBinding(SequentialWebCrawler.class.getName()).to(SequentialWebCrawler.class);
+    mapBinder.addBinding(ParallelWebCrawler.class.getName()).to(ParallelWebCrawler.class);
 
+    bind(CrawlerConfiguration.class).toInstance(config);
     bind(Clock.class).toInstance(Clock.systemUTC());
     bind(Key.get(Integer.class, MaxDepth.class)).toInstance(config.getMaxDepth());
     bind(Key.get(Integer.class, PopularWordCount.class)).toInstance(config.getPopularWordCount());
+    bind(Key.get(Integer.class, PopularPhraseCount.class))
+        .toInstance(config.getPhraseLength() == 0 ? 0 : config.getPopularPhraseCount());
+    bind(Key.get(Integer.class, ApproximateWordCounters.class))
+        .toInstance(config.getWordCountMode().equals("approximate")
+            ? config.getApproximateWordCounters()
+            : 0);
+    bind(Key.get(Integer.class, NearDuplicateDistance.class))
+        .toInstance(config.getSkipNearDuplicates() ? config.getNearDuplicateDistance() : -1);
+    bind(Key.get(Integer.class, MaxConcurrentFetches.class))
+        .toInstance(config.getAdaptiveConcurrency() ? config.getMaxConcurrentFetches() : 0);
+    bind(Key.get(Integer.class, MaxRetries.class)).toInstance(config.getMaxRetries());
+    bind(Key.get(Integer.class, HostFailureThreshold.class))
+        .toInstance(config.getHostFailureThreshold());
+    bind(Key.get(Integer.class, TopPageCount.class)).toInstance(config.getTopPageCount());
+    bind(LinkRanking.class).toInstance(LinkRanking.forName(config.getRankingAlgorithm()));
     bind(Key.get(Duration.class, Timeout.class)).toInstance(config.getTimeout());
     bind(new Key<List<Pattern>>(IgnoredUrls.class) {
     }).toInstance(config.getIgnoredUrls());
 
+    // Processes that run many crawls bind the pool and the shared resources in a parent injector.
+    if (sharedResources) {
+      bind(Key.get(ForkJoinPool.class, CrawlPool.class))
+          .to(Key.get(ForkJoinPool.class, Internal.class));
+      install(new CrawlResourcesModule());
+    }
+
+    // Pages are read from and archived to WARC files only if the configuration asks for it.
+    if (!config.getWarcInputs().isEmpty()) {
+      OptionalBinder.newOptionalBinder(binder(), PageSource.class)
+          .setBinding()
+          .to(Key.get(PageSource.class, Internal.class));
+    }
+    if (!config.getWarcOutputDirectory().isEmpty()) {
+      OptionalBinder.newOptionalBinder(binder(), PageSink.class)
+          .setBinding()
+          .to(Key.get(PageSink.class, Internal.class));
+    }
+
+    // Exact word counts are kept by word id. Approximate counts have to stay within a fixed amount
+    // of memory, which a dictionary of every word seen would not.
+    if (!config.getWordCountMode().equals("approximate")) {
+      OptionalBinder.newOptionalBinder(binder(), WordDictionary.class)
+          .setBinding()
+          .to(Key.get(WordDictionary.class, Internal.class));
+    }
+
+    // The link graph is only kept if it is written out or ranked at the end of the crawl.
+    OptionalBinder<LinkGraph> linkGraph =
+        OptionalBinder.newOptionalBinder(binder(), LinkGraph.class);
+    if (!config.getLinkGraphPath().isEmpty() || config.getTopPageCount() > 0) {
+      linkGraph.setBinding().to(Key.get(LinkGraph.class, Internal.class));
+    }
+
+    // Crawled pages are indexed only if the configuration names a directory for the index.
+    OptionalBinder<IndexWriter> index =
+        OptionalBinder.newOptionalBinder(binder(), IndexWriter.class);
+    if (!config.getIndexDirectory().isEmpty()) {
+      index.setBinding().to(Key.get(IndexWriter.class, Internal.class));
+    }
+
+    // Pages are remembered from one crawl to the next only in recrawl mode.
+    OptionalBinder<RecrawlStore> recrawl =
+        OptionalBinder.newOptionalBinder(binder(), RecrawlStore.class);
+    if (!config.getRecrawlStatePath().isEmpty()) {
+      recrawl.setBinding().to(Key.get(RecrawlStore.class, Internal.class));
+    }
+
     install(
         new ParserModule.Builder()
             .setTimeout(config.getTimeout())
             .setIgnoredWords(config.getIgnoredWords())
+            .setPhraseLength(config.getPhraseLength())
+            .setUserAgent(config.getUserAgent())
+            .setAnalyzer(config.getAnalyzer())
             .build());
   }
 
@@ -68,18 +174,20 @@ public final class WebCrawlerModule extends AbstractModule {
   @Singleton
   @Internal
   WebCrawler provideRawWebCrawler(
-      @Internal Set<WebCrawler> implementations,
+      @Internal Map<String, Provider<WebCrawler>> implementations,
       @TargetParallelism int targetParallelism) {
     String override = config.getImplementationOverride();
     if (!override.isEmpty()) {
-      return implementations
-          .stream()
-          .filter(impl -> impl.getClass().getName().equals(override))
-          .findFirst()
-          .orElseThrow(() -> new ProvisionException("Implementation not found: " + override));
+      Provider<WebCrawler> implementation = implementations.get(override);
+      if (implementation == null) {
+        throw new ProvisionException("Implementation not found: " + override);
+      }
+      return implementation.get();
     }
     return implementations
+        .values()
         .stream()
+        .map(Provider::get)
         .filter(impl -> targetParallelism <= impl.getMaxParallelism())
         .findFirst()
         .orElseThrow(
@@ -98,6 +206,99 @@ public final class WebCrawlerModule extends AbstractModule {
     return Runtime.getRuntime().availableProcessors();
   }
 
+  @Provides
+  @Singleton
+  @Internal
+  ForkJoinPool provideDefaultCrawlPool(@TargetParallelism int targetParallelism) {
+    int cores = Runtime.getRuntime().availableProcessors();
+    return new ForkJoinPool(Math.max(1, Math.min(targetParallelism, cores)));
+  }
+
+  @Provides
+  @Singleton
+  @Internal
+  WordDictionary provideWordDictionary() {
+    return new WordDictionary();
+  }
+
+  // Not a singleton: every crawl records its links in a graph of its own.
+  @Provides
+  @Internal
+  LinkGraph provideLinkGraph() {
+    return new LinkGraph();
+  }
+
+  @Provides
+  @Singleton
+  @Internal
+  IndexWriter provideIndexWriter() {
+    try {
+      return new IndexWriter(
+          Path.of(config.getIndexDirectory()), config.getIndexSegmentPostings());
+    } catch (IOException e) {
+      throw new RuntimeException("Error creating index", e);
+    }
+  }
+
+  @Provides
+  @Singleton
+  @Internal
+  RecrawlStore provideRecrawlStore() {
+    try {
+      return RecrawlStore.load(
+          Path.of(config.getRecrawlStatePath()),
+          config.getRecrawlChangeThreshold(),
+          Duration.ofDays(config.getRecrawlMaxAgeDays()));
+    } catch (IOException e) {
+      throw new RuntimeException("Error loading recrawl state", e);
+    }
+  }
+
+  @Provides
+  @Singleton
+  LinkScorer provideLinkScorer(Optional<RecrawlStore> recrawl, Clock clock) {
+    // A recrawl revisits the pages most likely to have changed first. New pages count as changed.
+    return recrawl.isPresent()
+        ? (url, inboundLinks) -> recrawl.get().changeProbability(url, clock.instant())
+        : LinkScorer.inboundLinks();
+  }
+
+  @Provides
+  @Singleton
+  SitePolicy provideSitePolicy(RobotsCaches robotsCaches) {
+    // Sitemaps may be up to 50 MiB.
+    Optional<RobotsCache> robots = config.getRespectRobotsTxt()
+        ? Optional.of(robotsCaches.forUserAgent(config.getUserAgent(), config.getTimeout()))
+        : Optional.empty();
+    Fetcher fetcher =
+        Fetcher.forUrlConnection(config.getUserAgent(), config.getTimeout(), 50 * 1024 * 1024);
+    return new SitePolicy(robots, fetcher, config.getSitemaps(), config.getMaxSitemapUrls());
+  }
+
+  @Provides
+  @Singleton
+  @Internal
+  PageSource provideWarcPageSource() {
+    try {
+      return WarcPageSource.open(
+          config.getWarcInputs().stream().map(Path::of).collect(Collectors.toList()));
+    } catch (IOException e) {
+      throw new RuntimeException("Error opening WARC inputs", e);
+    }
+  }
+
+  @Provides
+  @Singleton
+  @Internal
+  PageSink provideWarcWriter(Clock clock) {
+    try {
+      return new WarcWriter(
+          Path.of(config.getWarcOutputDirectory()), "crawl", config.getWarcMaxFileBytes(), clock);
+    } catch (IOException e) {
+      throw new RuntimeException("Error creating WARC output", e);
+    }
+  }
+
   @Provides
   @Singleton
   WebCrawler provideWebCrawlerProxy(Profiler wrapper, @Internal WebCrawler delegate) {
@@ -0,0 +1,152 @@
+package com.udacity.webcrawler;
+
+import com.udacity.webcrawler.parser.PageParser;
+import com.udacity.webcrawler.parser.WordDictionary;
+import com.udacity.webcrawler.sketch.CountMinSketch;
+import com.udacity.webcrawler.sketch.SpaceSaving;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.UnaryOperator;
+
+/**
+ * Adds up the word counts of the pages of a crawl, and ranks the most popular words at the end.
+ *
+ * <p>Every word is passed through a normalizer before it is counted. Words that the normalizer
+ * turns into the empty string are dropped.
+ *
+ * <p>Implementations are thread-safe.
+ */
+interface WordCountAccumulator {
+
+  /**
+   * Adds the word counts of one page.
+   */
+  void add(PageParser.Result page);
+
+  /**
+   * Returns the most popular words, ordered as described by
+   * {@link com.udacity.webcrawler.json.CrawlResult#getWordCounts()}.
+   *
+   * @param popularWordCount the number of words to return.
+   * @param pool             the pool that large rankings may be done on.
+   */
+  Map<String, Integer> getPopularWords(int popularWordCount, ForkJoinPool pool);
+
+  /**
+   * Returns how much higher than the true count any count returned by the last call to
+   * {@link #getPopularWords(int, ForkJoinPool)} may be. Zero if the counts are exact.
+   */
+  long getErrorBound();
+
+  /**
+   * Returns an accumulator that approximates word counts with the given number of counters. If
+   * that number is zero, words are counted exactly: by id if the pages are parsed with the given
+   * dictionary, and by the words themselves otherwise.
+   */
+  static WordCountAccumulator create(
+      int counters, Optional<WordDictionary> dictionary, UnaryOperator<String> normalizer) {
+    if (counters > 0) {
+      return approximate(counters, normalizer);
+    }
+    return dictionary.isPresent()
+        ? new InternedWordCounts(dictionary.get(), normalizer)
+        : exact(normalizer);
+  }
+
+  /**
+   * Returns an accumulator that counts every word exactly. Its memory use grows with the number of
+   * distinct words in the crawl.
+   */
+  static WordCountAccumulator exact(UnaryOperator<String> normalizer) {
+    return new WordCountAccumulator() {
+      private final ConcurrentMap<String, Integer> counts = new ConcurrentHashMap<>();
+
+      @Override
+      public void add(PageParser.Result page) {
+        page.getWordCounts().forEach((word, count) -> {
+          String normalized = normalizer.apply(word);
+          if (!normalized.isEmpty()) {
+            counts.merge(normalized, count, Integer::sum);
+          }
+        });
+      }
+
+      @Override
+      public Map<String, Integer> getPopularWords(int popularWordCount, ForkJoinPool pool) {
+        // WordCounts cannot rank an empty map.
+        return counts.isEmpty()
+            ? Collections.emptyMap()
+            : WordCounts.sort(counts, popularWordCount, pool);
+      }
+
+      @Override
+      public long getErrorBound() {
+        return 0;
+      }
+    };
+  }
+
+  /**
+   * Returns an accumulator that uses the same, fixed amount of memory however many distinct words
+   * the crawl finds.
+   *
+   * <p>Popular words are tracked by a {@link SpaceSaving} structure with the given number of
+   * counters. Its counts are never too low, but a word that took over another word's counter
+   * inherits that word's count. A {@link CountMinSketch} with four times as many counters per row
+   * gives a second, independent upper bound, and the lower of the two is reported. The reported
+   * error bound is the largest gap between that count and the count Space-Saving guarantees.
+   *
+   * @param counters the number of Space-Saving counters. It should be a good deal larger than the
+   *                 number of popular words to report.
+   */
+  static WordCountAccumulator approximate(int counters, UnaryOperator<String> normalizer) {
+    SpaceSaving spaceSaving = new SpaceSaving(counters);
+    CountMinSketch sketch = new CountMinSketch(Math.multiplyExact(counters, 4), 4);
+    return new WordCountAccumulator() {
+      private long errorBound;
+
+      @Override
+      public void add(PageParser.Result page) {
+        // Normalize first, so that Space-Saving takes its lock only once per page.
+        Map<String, Integer> wordCounts = new HashMap<>();
+        page.getWordCounts().forEach((word, count) -> {
+          String normalized = normalizer.apply(word);
+          if (!normalized.isEmpty()) {
+            wordCounts.merge(normalized, count, Integer::sum);
+          }
+        });
+        wordCounts.forEach(sketch::add);
+        spaceSaving.addAll(wordCounts);
+      }
+
+      @Override
+      public synchronized Map<String, Integer> getPopularWords(
+          int popularWordCount, ForkJoinPool pool) {
+        Map<String, Integer> estimates = new HashMap<>();
+        Map<String, Long> errors = new HashMap<>();
+        spaceSaving.getCounters().forEach((word, counter) -> {
+          long count = Math.min(counter.getCount(), sketch.estimate(word));
+          estimates.put(word, (int) Math.min(count, Integer.MAX_VALUE));
+          errors.put(word, count - counter.getGuaranteedCount());
+        });
+        if (estimates.isEmpty()) {
+          return Collections.emptyMap();
+        }
+        Map<String, Integer> popularWords = WordCounts.sort(estimates, popularWordCount);
+        errorBound = popularWords.keySet().stream().mapToLong(errors::get).max().orElse(0);
+        return popularWords;
+      }
+
+      @Override
+      public synchronized long getErrorBound() {
+        return errorBound;
+      }
+    };
+  }
+}
@@ -1,29 +1,44 @@
 package com.udacity.webcrawler;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Utility class that sorts the map of word counts.
  */
-final class WordCounts {
+public final class WordCounts {
+
+  /**
+   * Maps with fewer words than this are sorted on the calling thread; splitting them up costs more
+   * than it saves.
+   */
+  static final int PARALLEL_THRESHOLD = 1 << 14;
+
+  /**
+   * The number of words each parallel task ranks on its own.
+   */
+  private static final int SHARD_SIZE = 1 << 12;
+
+  private static final Comparator<Map.Entry<String, Integer>> COMPARATOR =
+      new WordCountComparator();
 
   /**
    * Given an unsorted map of word counts, returns a new map whose word counts are sorted according
    * to the provided {@link WordCountComparator}, and includes only the top
    * {@param popluarWordCount} words and counts.
    *
-   * <p>TODO: Reimplement this method using only the Stream API and lambdas and/or method
-   *          references.
-   *
    * @param wordCounts       the unsorted map of word counts.
    * @param popularWordCount the number of popular words to include in the result map.
    * @return a map containing the top {@param popularWordCount} words and counts in the right order.
    */
-  static Map<String, Integer> sort(Map<String, Integer> wordCounts, int popularWordCount) {
+  public static Map<String, Integer> sort(Map<String, Integer> wordCounts, int popularWordCount) {
     // Convert the entry set to a stream, sort using the custom comparator, limit the result, and collect to a LinkedHashMap
     return wordCounts.entrySet().stream()
-        .sorted(new WordCountComparator()) // Sort entries based on word frequency, length, and alphabetical order
+        .sorted(COMPARATOR)                 // Sort entries based on word frequency, length, and alphabetical order
         .limit(popularWordCount)            // Limit to the top popularWordCount entries
         .collect(Collectors.toMap(
             Map.Entry::getKey,              // Key mapper: word
@@ -33,6 +48,136 @@ final class WordCounts {
         ));
   }
 
+  /**
+   * Returns the same result as {@link #sort(Map, int)}, but ranks the words in parallel on the
+   * given pool.
+   *
+   * <p>The map is split into shards, each shard keeps only its own top {@code popularWordCount}
+   * words, and the shard results are merged pairwise. This never sorts the whole map, and the
+   * shards are ranked by all threads of the pool at once.
+   *
+   * @param wordCounts       the unsorted map of word counts. It may be a
+   *                         {@link java.util.concurrent.ConcurrentHashMap}, which splits evenly.
+   * @param popularWordCount the number of popular words to include in the result map.
+   * @param pool             the pool to rank the shards on.
+   */
+  public static Map<String, Integer> sort(
+      Map<String, Integer> wordCounts, int popularWordCount, ForkJoinPool pool) {
+    if (wordCounts.size() < PARALLEL_THRESHOLD || popularWordCount == 0) {
+      return sort(wordCounts, popularWordCount);
+    }
+    return pool
+        .invoke(new TopWordsTask(wordCounts.entrySet().spliterator(), popularWordCount))
+        .toSortedMap();
+  }
+
+  /**
+   * Returns the same result as {@link #sort(Map, int)}, using a parallel stream.
+   *
+   * <p>This is for callers that do not have a pool of their own, such as the sequential crawler.
+   * The stream runs on the common pool.
+   */
+  public static Map<String, Integer> sortParallel(
+      Map<String, Integer> wordCounts, int popularWordCount) {
+    if (wordCounts.size() < PARALLEL_THRESHOLD || popularWordCount == 0) {
+      return sort(wordCounts, popularWordCount);
+    }
+    return wordCounts.entrySet()
+        .parallelStream()
+        .collect(Collector.of(
+            () -> new TopWords(popularWordCount),
+            TopWords::add,
+            TopWords::merge,
+            TopWords::toSortedMap));
+  }
+
+  /**
+   * Returns the top {@code popularWordCount} of the given word count pairs, ordered like
+   * {@link #sort(Map, int)}. The stream may be parallel; it is never sorted as a whole.
+   */
+  static Map<String, Integer> sort(
+      Stream<Map.Entry<String, Integer>> wordCounts, int popularWordCount) {
+    if (popularWordCount == 0) {
+      return new LinkedHashMap<>();
+    }
+    return wordCounts.collect(Collector.of(
+        () -> new TopWords(popularWordCount),
+        TopWords::add,
+        TopWords::merge,
+        TopWords::toSortedMap));
+  }
+
+  /**
+   * Ranks one shard of a word count map, after splitting off and forking the rest of it.
+   */
+  private static final class TopWordsTask extends RecursiveTask<TopWords> {
+    private static final long serialVersionUID = 1L;
+
+    private final Spliterator<Map.Entry<String, Integer>> entries;
+    private final int popularWordCount;
+
+    TopWordsTask(Spliterator<Map.Entry<String, Integer>> entries, int popularWordCount) {
+      this.entries = entries;
+      this.popularWordCount = popularWordCount;
+    }
+
+    @Override
+    protected TopWords compute() {
+      List<TopWordsTask> forked = new ArrayList<>();
+      Spliterator<Map.Entry<String, Integer>> split;
+      while (entries.estimateSize() > SHARD_SIZE && (split = entries.trySplit()) != null) {
+        TopWordsTask task = new TopWordsTask(split, popularWordCount);
+        task.fork();
+        forked.add(task);
+      }
+
+      TopWords top = new TopWords(popularWordCount);
+      entries.forEachRemaining(top::add);
+      for (TopWordsTask task : forked) {
+        top = top.merge(task.join());
+      }
+      return top;
+    }
+  }
+
+  /**
+   * The best {@code popularWordCount} words seen so far, kept in a heap with the worst of them on
+   * top, so that each new word is compared against the word it would replace.
+   */
+  private static final class TopWords {
+    private final int popularWordCount;
+    private final PriorityQueue<Map.Entry<String, Integer>> heap;
+
+    TopWords(int popularWordCount) {
+      this.popularWordCount = popularWordCount;
+      this.heap = new PriorityQueue<>(popularWordCount + 1, COMPARATOR.reversed());
+    }
+
+    void add(Map.Entry<String, Integer> entry) {
+      if (heap.size() < popularWordCount) {
+        heap.add(Map.entry(entry.getKey(), entry.getValue()));
+      } else if (COMPARATOR.compare(entry, heap.peek()) < 0) {
+        heap.poll();
+        heap.add(Map.entry(entry.getKey(), entry.getValue()));
+      }
+    }
+
+    TopWords merge(TopWords other) {
+      TopWords larger = heap.size() >= other.heap.size() ? this : other;
+      TopWords smaller = larger == this ? other : this;
+      smaller.heap.forEach(larger::add);
+      return larger;
+    }
+
+    Map<String, Integer> toSortedMap() {
+      List<Map.Entry<String, Integer>> entries = new ArrayList<>(heap);
+      entries.sort(COMPARATOR);
+      Map<String, Integer> sorted = new LinkedHashMap<>();
+      entries.forEach(e -> sorted.put(e.getKey(), e.getValue()));
+      return sorted;
+    }
+  }
+
   /**
    * A {@link Comparator} that sorts word count pairs correctly:
    *
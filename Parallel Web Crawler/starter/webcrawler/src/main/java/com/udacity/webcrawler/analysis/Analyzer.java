@@ -0,0 +1,98 @@
+package com.udacity.webcrawler.analysis;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Turns text into the terms that are counted and indexed: splits it into words, and passes each
+ * word through a chain of {@link TermFilter}s that may change or drop it.
+ *
+ * <p>The analyzers made by this interface's factory methods are thread-safe, and apart from the
+ * legacy one, stream through the text with a single reused {@link Term}: they allocate nothing per
+ * word unless a word has combining marks, or its case folds into a different number of chars.
+ */
+public interface Analyzer {
+
+  /**
+   * Passes each term of the given text to the given consumer, in order. The term passed to the
+   * consumer is only valid until the consumer returns. An empty term marks a break between
+   * phrases, which only the {@link #legacy(List) legacy} analyzer produces.
+   */
+  void analyze(CharSequence text, Consumer<Term> consumer);
+
+  /**
+   * Returns the terms of the given text as strings, in order.
+   */
+  default List<String> terms(CharSequence text) {
+    List<String> terms = new ArrayList<>();
+    analyze(text, term -> terms.add(term.toString()));
+    return terms;
+  }
+
+  /**
+   * Returns an analyzer that splits text into words of letters, digits and combining marks, and
+   * passes them through the given filters in order.
+   *
+   * <p>Apostrophes inside a word are dropped, so "don't" becomes "dont". Ideographs, as used in
+   * Chinese and Japanese, which are written without spaces, each form a word of their own. Words
+   * longer than 255 chars are dropped, since they are usually encoded data rather than text. Words
+   * with combining marks are put in Unicode normalization form C, so that an accented letter is
+   * the same term however it was encoded.
+   */
+  static Analyzer unicode(TermFilter... filters) {
+    return new UnicodeAnalyzer(List.of(filters));
+  }
+
+  /**
+   * Returns the analyzer that the page parser has always used: text is split at whitespace, words
+   * that fully match any of the given patterns are dropped, and the remaining words are stripped
+   * of characters other than ASCII letters, digits and underscores, and put in lower case. Words
+   * that were only punctuation become empty, and break phrases.
+   */
+  static Analyzer legacy(List<Pattern> ignoredWords) {
+    return new LegacyAnalyzer(ignoredWords);
+  }
+
+  /**
+   * Returns the analyzer with the given name, ignoring case:
+   *
+   * <ul>
+   *   <li>{@code legacy}: the {@link #legacy(List) legacy} analyzer.</li>
+   *   <li>{@code standard}: the {@link #unicode(TermFilter...) Unicode} analyzer, with
+   *       {@link TermFilter#lowerCase() case folding}, then the ignored words.</li>
+   *   <li>{@code english}: the standard analyzer, followed by
+   *       {@link TermFilter#englishStopWords() English stop words}.</li>
+   *   <li>{@code porter}: the english analyzer, followed by the
+   *       {@link TermFilter#porterStemmer() Porter stemmer}.</li>
+   * </ul>
+   *
+   * <p>Apart from the legacy analyzer, ignored words are matched after case folding, and before
+   * stemming.
+   *
+   * @throws IllegalArgumentException if there is no such analyzer.
+   */
+  static Analyzer forName(String name, List<Pattern> ignoredWords) {
+    switch (name.toLowerCase(Locale.ROOT)) {
+      case "legacy":
+        return legacy(ignoredWords);
+      case "standard":
+        return unicode(TermFilter.lowerCase(), TermFilter.ignoring(ignoredWords));
+      case "english":
+        return unicode(
+            TermFilter.lowerCase(),
+            TermFilter.ignoring(ignoredWords),
+            TermFilter.englishStopWords());
+      case "porter":
+        return unicode(
+            TermFilter.lowerCase(),
+            TermFilter.ignoring(ignoredWords),
+            TermFilter.englishStopWords(),
+            TermFilter.porterStemmer());
+      default:
+        throw new IllegalArgumentException("Unknown analyzer: " + name);
+    }
+  }
+}
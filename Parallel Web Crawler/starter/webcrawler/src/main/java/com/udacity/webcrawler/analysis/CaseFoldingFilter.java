@@ -0,0 +1,37 @@
+package com.udacity.webcrawler.analysis;
+
+import java.util.Locale;
+
+/**
+ * Folds the case of terms code point by code point, the same way in every locale. Upper-casing
+ * first maps variant forms such as the final sigma onto the same lower-case letter.
+ */
+final class CaseFoldingFilter implements TermFilter {
+
+  static final CaseFoldingFilter INSTANCE = new CaseFoldingFilter();
+
+  private CaseFoldingFilter() {
+  }
+
+  @Override
+  public boolean accept(Term term) {
+    char[] buffer = term.buffer();
+    int length = term.length();
+    for (int i = 0; i < length; ) {
+      int codePoint = Character.codePointAt(buffer, i, length);
+      int folded = Character.toLowerCase(Character.toUpperCase(codePoint));
+      int count = Character.charCount(codePoint);
+      if (folded != codePoint) {
+        if (Character.charCount(folded) != count) {
+          // Rare enough that it is not worth shifting the buffer.
+          String text = term.toString();
+          term.set(text.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT));
+          return true;
+        }
+        Character.toChars(folded, buffer, i);
+      }
+      i += count;
+    }
+    return true;
+  }
+}
@@ -0,0 +1,40 @@
+package com.udacity.webcrawler.analysis;
+
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * The analyzer made by {@link Analyzer#legacy(List)}, which keeps the words of existing crawls
+ * exactly as they were.
+ */
+final class LegacyAnalyzer implements Analyzer {
+
+  /**
+   * Matches whitespace characters.
+   */
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  /**
+   * Matches non-word characters.
+   */
+  private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("\\W");
+
+  private final List<Pattern> ignoredWords;
+
+  LegacyAnalyzer(List<Pattern> ignoredWords) {
+    this.ignoredWords = List.copyOf(ignoredWords);
+  }
+
+  @Override
+  public void analyze(CharSequence text, Consumer<Term> consumer) {
+    Term term = new Term(32);
+    for (String word : WHITESPACE.split(text.toString().strip())) {
+      if (word.isBlank() || ignoredWords.stream().anyMatch(p -> p.matcher(word).matches())) {
+        continue;
+      }
+      term.set(NON_WORD_CHARACTERS.matcher(word).replaceAll("").toLowerCase());
+      consumer.accept(term);
+    }
+  }
+}
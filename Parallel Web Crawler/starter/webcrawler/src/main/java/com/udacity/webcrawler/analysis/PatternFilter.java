@@ -0,0 +1,34 @@
+package com.udacity.webcrawler.analysis;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Drops the terms that fully match any of a list of patterns. Each thread keeps its own matchers
+ * and resets them for every term, instead of creating new ones.
+ */
+final class PatternFilter implements TermFilter {
+
+  private final List<Pattern> patterns;
+  private final ThreadLocal<Matcher[]> matchers;
+
+  PatternFilter(List<Pattern> patterns) {
+    this.patterns = List.copyOf(patterns);
+    this.matchers = ThreadLocal.withInitial(() ->
+        this.patterns.stream().map(pattern -> pattern.matcher("")).toArray(Matcher[]::new));
+  }
+
+  @Override
+  public boolean accept(Term term) {
+    if (patterns.isEmpty()) {
+      return true;
+    }
+    for (Matcher matcher : matchers.get()) {
+      if (matcher.reset(term).matches()) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
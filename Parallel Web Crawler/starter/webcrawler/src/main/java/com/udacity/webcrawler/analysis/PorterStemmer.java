@@ -0,0 +1,429 @@
+package com.udacity.webcrawler.analysis;
+
+/**
+ * The Porter stemming algorithm for English, as published by Martin Porter in "An algorithm for
+ * suffix stripping" (1980), including the changes of his reference implementation.
+ *
+ * <p>The word is stemmed in place in the term's buffer. A stem is never longer than the word, so
+ * the buffer never grows. Each thread keeps its own {@link Stemmer} to hold the state of the
+ * word being stemmed.
+ */
+final class PorterStemmer implements TermFilter {
+
+  static final PorterStemmer INSTANCE = new PorterStemmer();
+
+  private static final ThreadLocal<Stemmer> STEMMERS = ThreadLocal.withInitial(Stemmer::new);
+
+  private PorterStemmer() {
+  }
+
+  @Override
+  public boolean accept(Term term) {
+    char[] buffer = term.buffer();
+    int length = term.length();
+    if (length <= 2) {
+      return true;
+    }
+    for (int i = 0; i < length; i++) {
+      if (buffer[i] < 'a' || buffer[i] > 'z') {
+        return true;
+      }
+    }
+    term.setLength(STEMMERS.get().stem(buffer, length));
+    return true;
+  }
+
+  /**
+   * Stems one word at a time. The word is {@code b[0..k]}, and {@code j} marks the end of the
+   * stem that is left when a suffix found by {@link #ends(String)} is removed.
+   */
+  private static final class Stemmer {
+    private char[] b;
+    private int k;
+    private int j;
+
+    /**
+     * Stems the word in the first {@code length} characters of the given buffer, and returns the
+     * length of the stem.
+     */
+    int stem(char[] buffer, int length) {
+      b = buffer;
+      k = length - 1;
+      step1ab();
+      step1c();
+      step2();
+      step3();
+      step4();
+      step5();
+      b = null;
+      return k + 1;
+    }
+
+    /**
+     * Returns whether {@code b[i]} is a consonant. A 'y' is a consonant unless it follows one.
+     */
+    private boolean cons(int i) {
+      switch (b[i]) {
+        case 'a':
+        case 'e':
+        case 'i':
+        case 'o':
+        case 'u':
+          return false;
+        case 'y':
+          return i == 0 || !cons(i - 1);
+        default:
+          return true;
+      }
+    }
+
+    /**
+     * Returns the number of vowel-consonant sequences in {@code b[0..j]}, the "measure" m of the
+     * stem in {@code [C](VC)^m[V]}.
+     */
+    private int m() {
+      int n = 0;
+      int i = 0;
+      while (true) {
+        if (i > j) {
+          return n;
+        }
+        if (!cons(i)) {
+          break;
+        }
+        i++;
+      }
+      i++;
+      while (true) {
+        while (true) {
+          if (i > j) {
+            return n;
+          }
+          if (cons(i)) {
+            break;
+          }
+          i++;
+        }
+        i++;
+        n++;
+        while (true) {
+          if (i > j) {
+            return n;
+          }
+          if (!cons(i)) {
+            break;
+          }
+          i++;
+        }
+        i++;
+      }
+    }
+
+    /**
+     * Returns whether {@code b[0..j]} contains a vowel.
+     */
+    private boolean vowelInStem() {
+      for (int i = 0; i <= j; i++) {
+        if (!cons(i)) {
+          return true;
+        }
+      }
+      return false;
+    }
+
+    /**
+     * Returns whether {@code b[i-1..i]} is a double consonant.
+     */
+    private boolean doubleConsonant(int i) {
+      return i >= 1 && b[i] == b[i - 1] && cons(i);
+    }
+
+    /**
+     * Returns whether {@code b[i-2..i]} is consonant-vowel-consonant, and the last consonant is
+     * not w, x or y. Short words like "hop" end like this, and get an 'e' back after a suffix is
+     * removed: "hoping" becomes "hope".
+     */
+    private boolean cvc(int i) {
+      if (i < 2 || !cons(i) || cons(i - 1) || !cons(i - 2)) {
+        return false;
+      }
+      char c = b[i];
+      return c != 'w' && c != 'x' && c != 'y';
+    }
+
+    /**
+     * Returns whether {@code b[0..k]} ends with the given suffix, and if so sets {@code j} to the
+     * end of the stem before it.
+     */
+    private boolean ends(String suffix) {
+      int length = suffix.length();
+      int offset = k - length + 1;
+      if (offset < 0) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (b[offset + i] != suffix.charAt(i)) {
+          return false;
+        }
+      }
+      j = k - length;
+      return true;
+    }
+
+    /**
+     * Replaces {@code b[j+1..k]} with the given suffix.
+     */
+    private void setTo(String suffix) {
+      int length = suffix.length();
+      for (int i = 0; i < length; i++) {
+        b[j + 1 + i] = suffix.charAt(i);
+      }
+      k = j + length;
+    }
+
+    /**
+     * Replaces the suffix found by {@link #ends(String)} if the stem before it has a measure
+     * greater than zero.
+     */
+    private void replace(String suffix) {
+      if (m() > 0) {
+        setTo(suffix);
+      }
+    }
+
+    /**
+     * Removes plurals and -ed or -ing: "caresses" becomes "caress", "ponies" "poni", "agreed"
+     * "agree", "hopping" "hop" and "filing" "file".
+     */
+    private void step1ab() {
+      if (b[k] == 's') {
+        if (ends("sses")) {
+          k -= 2;
+        } else if (ends("ies")) {
+          setTo("i");
+        } else if (b[k - 1] != 's') {
+          k--;
+        }
+      }
+      if (ends("eed")) {
+        if (m() > 0) {
+          k--;
+        }
+      } else if ((ends("ed") || ends("ing")) && vowelInStem()) {
+        k = j;
+        if (ends("at")) {
+          setTo("ate");
+        } else if (ends("bl")) {
+          setTo("ble");
+        } else if (ends("iz")) {
+          setTo("ize");
+        } else if (doubleConsonant(k)) {
+          char c = b[k];
+          if (c != 'l' && c != 's' && c != 'z') {
+            k--;
+          }
+        } else if (m() == 1 && cvc(k)) {
+          setTo("e");
+        }
+      }
+    }
+
+    /**
+     * Turns a final 'y' into 'i' when there is another vowel in the stem: "happy" becomes
+     * "happi".
+     */
+    private void step1c() {
+      if (ends("y") && vowelInStem()) {
+        b[k] = 'i';
+      }
+    }
+
+    /**
+     * Maps double suffixes to single ones: "relational" becomes "relate", "conditional"
+     * "condition".
+     */
+    private void step2() {
+      if (k == 0) {
+        return;
+      }
+      switch (b[k - 1]) {
+        case 'a':
+          if (ends("ational")) {
+            replace("ate");
+          } else if (ends("tional")) {
+            replace("tion");
+          }
+          break;
+        case 'c':
+          if (ends("enci")) {
+            replace("ence");
+          } else if (ends("anci")) {
+            replace("ance");
+          }
+          break;
+        case 'e':
+          if (ends("izer")) {
+            replace("ize");
+          }
+          break;
+        case 'l':
+          if (ends("bli")) {
+            replace("ble");
+          } else if (ends("alli")) {
+            replace("al");
+          } else if (ends("entli")) {
+            replace("ent");
+          } else if (ends("eli")) {
+            replace("e");
+          } else if (ends("ousli")) {
+            replace("ous");
+          }
+          break;
+        case 'o':
+          if (ends("ization")) {
+            replace("ize");
+          } else if (ends("ation")) {
+            replace("ate");
+          } else if (ends("ator")) {
+            replace("ate");
+          }
+          break;
+        case 's':
+          if (ends("alism")) {
+            replace("al");
+          } else if (ends("iveness")) {
+            replace("ive");
+          } else if (ends("fulness")) {
+            replace("ful");
+          } else if (ends("ousness")) {
+            replace("ous");
+          }
+          break;
+        case 't':
+          if (ends("aliti")) {
+            replace("al");
+          } else if (ends("iviti")) {
+            replace("ive");
+          } else if (ends("biliti")) {
+            replace("ble");
+          }
+          break;
+        case 'g':
+          if (ends("logi")) {
+            replace("log");
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    /**
+     * Deals with -ic-, -full and -ness: "electrical" becomes "electric", "hopeful" "hope".
+     */
+    private void step3() {
+      switch (b[k]) {
+        case 'e':
+          if (ends("icate")) {
+            replace("ic");
+          } else if (ends("ative")) {
+            replace("");
+          } else if (ends("alize")) {
+            replace("al");
+          }
+          break;
+        case 'i':
+          if (ends("iciti")) {
+            replace("ic");
+          }
+          break;
+        case 'l':
+          if (ends("ical")) {
+            replace("ic");
+          } else if (ends("ful")) {
+            replace("");
+          }
+          break;
+        case 's':
+          if (ends("ness")) {
+            replace("");
+          }
+          break;
+        default:
+          break;
+      }
+    }
+
+    /**
+     * Removes -ant, -ence and the like from stems with a measure greater than one: "adjustment"
+     * becomes "adjust".
+     */
+    private void step4() {
+      if (k == 0) {
+        return;
+      }
+      boolean found;
+      switch (b[k - 1]) {
+        case 'a':
+          found = ends("al");
+          break;
+        case 'c':
+          found = ends("ance") || ends("ence");
+          break;
+        case 'e':
+          found = ends("er");
+          break;
+        case 'i':
+          found = ends("ic");
+          break;
+        case 'l':
+          found = ends("able") || ends("ible");
+          break;
+        case 'n':
+          found = ends("ant") || ends("ement") || ends("ment") || ends("ent");
+          break;
+        case 'o':
+          found = (ends("ion") && j >= 0 && (b[j] == 's' || b[j] == 't')) || ends("ou");
+          break;
+        case 's':
+          found = ends("ism");
+          break;
+        case 't':
+          found = ends("ate") || ends("iti");
+          break;
+        case 'u':
+          found = ends("ous");
+          break;
+        case 'v':
+          found = ends("ive");
+          break;
+        case 'z':
+          found = ends("ize");
+          break;
+        default:
+          found = false;
+          break;
+      }
+      if (found && m() > 1) {
+        k = j;
+      }
+    }
+
+    /**
+     * Removes a final 'e' and a double 'l' from long enough stems: "probate" becomes "probat",
+     * "controll" "control".
+     */
+    private void step5() {
+      j = k;
+      if (b[k] == 'e') {
+        int measure = m();
+        if (measure > 1 || (measure == 1 && !cvc(k - 1))) {
+          k--;
+        }
+      }
+      if (b[k] == 'l' && doubleConsonant(k) && m() > 1) {
+        k--;
+      }
+    }
+  }
+}
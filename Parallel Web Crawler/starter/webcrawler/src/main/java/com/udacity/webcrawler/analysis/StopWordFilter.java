@@ -0,0 +1,53 @@
+package com.udacity.webcrawler.analysis;
+
+import java.util.List;
+
+/**
+ * Drops the terms in a fixed set of stop words. The words are kept in an open-addressing hash
+ * table of character arrays, so a term is looked up straight from its buffer.
+ */
+final class StopWordFilter implements TermFilter {
+
+  /**
+   * The English stop words that most search engines leave out.
+   */
+  static final StopWordFilter ENGLISH = new StopWordFilter(List.of(
+      "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "if", "in", "into", "is",
+      "it", "no", "not", "of", "on", "or", "such", "that", "the", "their", "then", "there",
+      "these", "they", "this", "to", "was", "will", "with"));
+
+  private final char[][] table;
+
+  StopWordFilter(List<String> words) {
+    // At most a quarter full, so that probe sequences stay short.
+    table = new char[Integer.highestOneBit(Math.max(1, words.size()) * 4) * 2][];
+    for (String word : words) {
+      char[] characters = word.toCharArray();
+      int slot = hash(characters, characters.length);
+      while (table[slot] != null && !word.equals(new String(table[slot]))) {
+        slot = (slot + 1) & (table.length - 1);
+      }
+      table[slot] = characters;
+    }
+  }
+
+  @Override
+  public boolean accept(Term term) {
+    for (int slot = hash(term.buffer(), term.length());
+        table[slot] != null;
+        slot = (slot + 1) & (table.length - 1)) {
+      if (term.contentEquals(table[slot])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int hash(char[] characters, int length) {
+    int hash = 0;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + characters[i];
+    }
+    return (hash ^ (hash >>> 16)) & (table.length - 1);
+  }
+}
@@ -0,0 +1,103 @@
+package com.udacity.webcrawler.analysis;
+
+import java.util.Arrays;
+
+/**
+ * The term an {@link Analyzer} is working on: a growable buffer of characters that is reused for
+ * every term of a text, and that {@link TermFilter}s change in place.
+ *
+ * <p>A term is only valid until the consumer it was passed to returns. Consumers that keep it must
+ * copy it with {@link #toString()}.
+ */
+public final class Term implements CharSequence {
+
+  private char[] buffer;
+  private int length;
+
+  Term(int capacity) {
+    buffer = new char[capacity];
+  }
+
+  /**
+   * Returns the buffer that holds the characters of the term, which may be longer than the term.
+   * Filters may change the characters in it.
+   */
+  public char[] buffer() {
+    return buffer;
+  }
+
+  @Override
+  public int length() {
+    return length;
+  }
+
+  /**
+   * Shortens the term to the given length, after a filter has changed it in its buffer.
+   *
+   * @throws IndexOutOfBoundsException if the term is not that long.
+   */
+  public void setLength(int length) {
+    if (length < 0 || length > this.length) {
+      throw new IndexOutOfBoundsException("Term length out of range: " + length);
+    }
+    this.length = length;
+  }
+
+  /**
+   * Replaces the term with the given characters.
+   */
+  public void set(CharSequence characters) {
+    length = 0;
+    ensureCapacity(characters.length());
+    for (int i = 0; i < characters.length(); i++) {
+      buffer[i] = characters.charAt(i);
+    }
+    length = characters.length();
+  }
+
+  /**
+   * Appends the given code point to the term.
+   */
+  void append(int codePoint) {
+    ensureCapacity(length + 2);
+    length += Character.toChars(codePoint, buffer, length);
+  }
+
+  /**
+   * Empties the term for the next one.
+   */
+  void clear() {
+    length = 0;
+  }
+
+  @Override
+  public char charAt(int index) {
+    if (index < 0 || index >= length) {
+      throw new IndexOutOfBoundsException("Index out of range: " + index);
+    }
+    return buffer[index];
+  }
+
+  @Override
+  public CharSequence subSequence(int start, int end) {
+    return toString().substring(start, end);
+  }
+
+  /**
+   * Returns whether the term consists of exactly the given characters.
+   */
+  public boolean contentEquals(char[] characters) {
+    return Arrays.equals(buffer, 0, length, characters, 0, characters.length);
+  }
+
+  @Override
+  public String toString() {
+    return new String(buffer, 0, length);
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity > buffer.length) {
+      buffer = Arrays.copyOf(buffer, Math.max(capacity, buffer.length * 2));
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package com.udacity.webcrawler.analysis;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * One step of an {@link Analyzer}'s chain, which changes a term in place or drops it.
+ *
+ * <p>Filters are shared by every thread that analyzes text, so they must be thread-safe. The ones
+ * made by this interface's factory methods allocate nothing for a term they are given.
+ */
+@FunctionalInterface
+public interface TermFilter {
+
+  /**
+   * Changes the given term in place, if needed.
+   *
+   * @return {@code false} if the term should be dropped, {@code true} if it should be passed on.
+   */
+  boolean accept(Term term);
+
+  /**
+   * Returns a filter that folds the case of terms, so that words that differ only in case become
+   * the same term.
+   */
+  static TermFilter lowerCase() {
+    return CaseFoldingFilter.INSTANCE;
+  }
+
+  /**
+   * Returns a filter that drops the terms that fully match any of the given patterns.
+   */
+  static TermFilter ignoring(List<Pattern> patterns) {
+    return new PatternFilter(patterns);
+  }
+
+  /**
+   * Returns a filter that drops common English words, which occur on nearly every page and tell
+   * little about any of them. It expects terms in lower case.
+   */
+  static TermFilter englishStopWords() {
+    return StopWordFilter.ENGLISH;
+  }
+
+  /**
+   * Returns a filter that reduces English words to their stems with the Porter stemming
+   * algorithm, so that "connected", "connecting" and "connections" all become "connect". It
+   * expects terms in lower case, and leaves terms with characters other than a to z alone.
+   */
+  static TermFilter porterStemmer() {
+    return PorterStemmer.INSTANCE;
+  }
+}
@@ -0,0 +1,87 @@
+package com.udacity.webcrawler.analysis;
+
+import java.text.Normalizer;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * The analyzer made by {@link Analyzer#unicode(TermFilter...)}. It reads the text one code point
+ * at a time and builds each word in a single {@link Term}, which the filters then change in place.
+ */
+final class UnicodeAnalyzer implements Analyzer {
+
+  /**
+   * The longest word that is not dropped, in chars.
+   */
+  static final int MAX_WORD_LENGTH = 255;
+
+  private final TermFilter[] filters;
+
+  UnicodeAnalyzer(List<TermFilter> filters) {
+    this.filters = filters.toArray(new TermFilter[0]);
+  }
+
+  @Override
+  public void analyze(CharSequence text, Consumer<Term> consumer) {
+    Term term = new Term(32);
+    boolean marks = false;
+    int length = text.length();
+    for (int i = 0; i < length; ) {
+      int codePoint = Character.codePointAt(text, i);
+      int next = i + Character.charCount(codePoint);
+      if (Character.isIdeographic(codePoint)) {
+        emit(term, marks, consumer);
+        term.append(codePoint);
+        emit(term, false, consumer);
+        marks = false;
+      } else if (isWordCharacter(codePoint)) {
+        term.append(codePoint);
+      } else if (Words.isMark(codePoint) && term.length() > 0) {
+        term.append(codePoint);
+        marks = true;
+      } else if (!(isApostrophe(codePoint)
+          && term.length() > 0
+          && next < length
+          && isWordCharacter(Character.codePointAt(text, next)))) {
+        emit(term, marks, consumer);
+        marks = false;
+      }
+      i = next;
+    }
+    emit(term, marks, consumer);
+  }
+
+  /**
+   * Passes the word built so far through the filters and on to the consumer, and empties the
+   * term for the next word.
+   */
+  private void emit(Term term, boolean marks, Consumer<Term> consumer) {
+    if (term.length() == 0) {
+      return;
+    }
+    if (term.length() <= MAX_WORD_LENGTH && accept(term, marks)) {
+      consumer.accept(term);
+    }
+    term.clear();
+  }
+
+  private boolean accept(Term term, boolean marks) {
+    if (marks) {
+      term.set(Normalizer.normalize(term, Normalizer.Form.NFC));
+    }
+    for (TermFilter filter : filters) {
+      if (!filter.accept(term) || term.length() == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isWordCharacter(int codePoint) {
+    return Character.isLetterOrDigit(codePoint) && !Character.isIdeographic(codePoint);
+  }
+
+  private static boolean isApostrophe(int codePoint) {
+    return codePoint == '\'' || codePoint == '\u2019';
+  }
+}
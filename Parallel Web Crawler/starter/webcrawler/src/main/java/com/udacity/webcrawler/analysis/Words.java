@@ -0,0 +1,63 @@
+package com.udacity.webcrawler.analysis;
+
+/**
+ * Normalizes words that have already been analyzed, before they are counted or indexed.
+ */
+public final class Words {
+
+  /**
+   * Returns the given word in lower case, without characters other than letters and the marks
+   * that combine with them. Words that are left blank are not counted.
+   *
+   * <p>Words of the letters a to z only, which are most words in most crawls, are returned as
+   * they are, without copying.
+   */
+  public static String normalize(String word) {
+    int length = word.length();
+    int i = 0;
+    while (i < length && word.charAt(i) >= 'a' && word.charAt(i) <= 'z') {
+      i++;
+    }
+    if (i == length) {
+      return word;
+    }
+    StringBuilder normalized = new StringBuilder(length).append(word, 0, i);
+    while (i < length) {
+      int codePoint = word.codePointAt(i);
+      if (Character.isLetter(codePoint) || isMark(codePoint)) {
+        normalized.appendCodePoint(Character.toLowerCase(codePoint));
+      }
+      i += Character.charCount(codePoint);
+    }
+    return normalized.toString();
+  }
+
+  /**
+   * Normalizes every word of the given phrase like a single word, or returns {@code null} if one of
+   * them is left blank.
+   */
+  public static String normalizePhrase(String phrase) {
+    String[] words = phrase.split(" ");
+    for (int i = 0; i < words.length; i++) {
+      words[i] = normalize(words[i]);
+      if (words[i].isEmpty()) {
+        return null;
+      }
+    }
+    return String.join(" ", words);
+  }
+
+  /**
+   * Returns whether the given code point is a mark that combines with the letter before it.
+   */
+  static boolean isMark(int codePoint) {
+    int type = Character.getType(codePoint);
+    return type == Character.NON_SPACING_MARK
+        || type == Character.COMBINING_SPACING_MARK
+        || type == Character.ENCLOSING_MARK;
+  }
+
+  private Words() {
+    // This class cannot be instantiated
+  }
+}
@@ -0,0 +1,374 @@
+package com.udacity.webcrawler.distributed;
+
+import com.udacity.webcrawler.WordCounts;
+import com.udacity.webcrawler.analysis.Words;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.log.Log;
+import com.udacity.webcrawler.parser.PageParser;
+import com.udacity.webcrawler.parser.PageParserFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+
+/**
+ * One process of a distributed web crawl.
+ *
+ * <p>The URL space is split across the nodes with a {@link HostPartitioner}: every node only
+ * crawls the URLs of its own partition, and forwards links that belong to another partition to the
+ * node that owns it. Since each URL has exactly one owner, the nodes never crawl the same page
+ * twice and their visited URL counts simply add up.
+ *
+ * <p>Node 0 is the coordinator. It repeatedly asks every node whether it is idle and how many URLs
+ * it has sent and received, and decides that the crawl is over once two consecutive rounds report
+ * the same totals, with every node idle and every sent URL received. It then collects each node's
+ * word counts and merges them into the final {@link CrawlResult}.
+ *
+ * <p>If a node cannot forward a URL to another node, it reports the failure in its status, and
+ * the coordinator stops every node and aborts the crawl.
+ *
+ * <p>Each node applies the crawl's timeout on its own, so the crawl winds down at the deadline even
+ * if pages are still queued.
+ */
+public final class CrawlNode implements AutoCloseable {
+
+  private static final Log LOG = Log.forClass(CrawlNode.class);
+
+  private static final long POLL_INTERVAL_MILLIS = 50;
+
+  private final CrawlerConfiguration config;
+  private final PageParserFactory parserFactory;
+  private final Clock clock;
+  private final int index;
+  private final HostPartitioner partitioner;
+  private final ServerSocket serverSocket;
+  private final List<PeerClient> peers = new ArrayList<>();
+  private final ForkJoinPool pool;
+
+  private final ConcurrentMap<String, Integer> wordCounts = new ConcurrentHashMap<>();
+  private final Set<String> visitedUrls = ConcurrentHashMap.newKeySet();
+  private final AtomicLong pending = new AtomicLong();
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong received = new AtomicLong();
+  private final AtomicReference<String> failure = new AtomicReference<>();
+  private final CountDownLatch finished = new CountDownLatch(1);
+  private volatile Instant deadline;
+
+  /**
+   * Creates a crawler node.
+   *
+   * @param config        the configuration of the crawl, which must be the same on every node.
+   * @param parserFactory the factory for the parsers of this node.
+   * @param clock         the clock used to enforce the crawl timeout.
+   * @param index         the index of this node in {@code addresses}; it crawls that partition.
+   * @param addresses     the addresses of all nodes, in the same order on every node.
+   * @param serverSocket  a server socket, bound to {@code addresses.get(index)}, on which this node
+   *                      accepts connections from the other nodes.
+   */
+  public CrawlNode(
+      CrawlerConfiguration config,
+      PageParserFactory parserFactory,
+      Clock clock,
+      int index,
+      List<InetSocketAddress> addresses,
+      ServerSocket serverSocket) {
+    this.config = Objects.requireNonNull(config);
+    this.parserFactory = Objects.requireNonNull(parserFactory);
+    this.clock = Objects.requireNonNull(clock);
+    this.serverSocket = Objects.requireNonNull(serverSocket);
+    if (index < 0 || index >= addresses.size()) {
+      throw new IllegalArgumentException("index must be a position in addresses");
+    }
+    this.index = index;
+    this.partitioner = new HostPartitioner(addresses.size());
+    for (int i = 0; i < addresses.size(); i++) {
+      peers.add(i == index ? null : new PeerClient(addresses.get(i)));
+    }
+    int cores = Runtime.getRuntime().availableProcessors();
+    int parallelism = config.getParallelism() >= 1 ? config.getParallelism() : cores;
+    this.pool = new ForkJoinPool(Math.min(parallelism, cores));
+  }
+
+  /**
+   * Starts crawling the start pages that belong to this node's partition, and starts accepting
+   * URLs from the other nodes.
+   */
+  public void start(List<String> startingUrls) {
+    deadline = clock.instant().plus(config.getTimeout());
+    for (String url : startingUrls) {
+      // Every node is given all start pages, and each one seeds only the pages it owns.
+      if (partitioner.partitionOf(url) == index) {
+        schedule(url, config.getMaxDepth());
+      }
+    }
+    // Only accept connections after seeding, so the coordinator never sees this node idle before
+    // it had a chance to queue its start pages.
+    Thread acceptor = new Thread(this::acceptConnections, "crawl-node-" + index + "-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  /**
+   * Waits until every node has finished crawling, stops them all, and returns the merged result.
+   *
+   * <p>Must only be called on the coordinator, node 0, after {@link #start(List)}.
+   *
+   * @throws IOException if a node failed or could not be reached. Every node that can still be
+   *                     reached is stopped before this is thrown.
+   */
+  public CrawlResult awaitResult() throws InterruptedException, IOException {
+    if (index != 0) {
+      throw new IllegalStateException("Only node 0 coordinates the crawl");
+    }
+
+    long previousSent = -1;
+    long previousReceived = -1;
+    while (true) {
+      Thread.sleep(POLL_INTERVAL_MILLIS);
+      boolean idle = true;
+      long totalSent = 0;
+      long totalReceived = 0;
+      for (int i = 0; i < peers.size(); i++) {
+        PeerClient.NodeStatus status;
+        try {
+          status = (i == index) ? status() : peers.get(i).status();
+        } catch (UncheckedIOException e) {
+          throw abort(e.getMessage());
+        }
+        if (status.getFailure() != null) {
+          throw abort(status.getFailure());
+        }
+        idle &= status.isIdle();
+        totalSent += status.getSent();
+        totalReceived += status.getReceived();
+      }
+      boolean quiet = idle && totalSent == totalReceived;
+      if (quiet && totalSent == previousSent && totalReceived == previousReceived) {
+        break;
+      }
+      previousSent = quiet ? totalSent : -1;
+      previousReceived = quiet ? totalReceived : -1;
+    }
+
+    Map<String, Integer> merged = new HashMap<>(wordCounts);
+    int urlsVisited = visitedUrls.size();
+    for (int i = 0; i < peers.size(); i++) {
+      if (i == index) {
+        continue;
+      }
+      PeerClient.PartialResult partial = peers.get(i).finish();
+      partial.getWordCounts().forEach((word, count) -> merged.merge(word, count, Integer::sum));
+      urlsVisited += partial.getUrlsVisited();
+    }
+    finish();
+
+    return new CrawlResult.Builder()
+        .setWordCounts(
+            merged.isEmpty()
+                ? Collections.emptyMap()
+                : WordCounts.sort(merged, config.getPopularWordCount()))
+        .setUrlsVisited(urlsVisited)
+        .build();
+  }
+
+  /**
+   * Waits until the coordinator has collected this node's results and stopped it.
+   */
+  public void awaitFinished() throws InterruptedException {
+    finished.await();
+  }
+
+  @Override
+  public void close() {
+    finish();
+  }
+
+  private void schedule(String url, int depth) {
+    if (depth == 0 || clock.instant().isAfter(deadline)) {
+      return;
+    }
+    for (Pattern pattern : config.getIgnoredUrls()) {
+      if (pattern.matcher(url).matches()) {
+        return;
+      }
+    }
+    int owner = partitioner.partitionOf(url);
+    if (owner != index) {
+      try {
+        peers.get(owner).forward(url, depth);
+      } catch (UncheckedIOException e) {
+        // Thrown from a pool task, the error would be lost, and the coordinator would wait for the
+        // URL until the timeout. Report it in this node's status instead.
+        LOG.error("Crawl node %d failed: %s", index, e.getMessage());
+        failure.compareAndSet(null, "Node " + index + ": " + e.getMessage());
+        return;
+      }
+      sent.incrementAndGet();
+      return;
+    }
+    if (!visitedUrls.add(url)) {
+      return;
+    }
+    pending.incrementAndGet();
+    pool.execute(() -> {
+      try {
+        crawl(url, depth);
+      } finally {
+        pending.decrementAndGet();
+      }
+    });
+  }
+
+  private void crawl(String url, int depth) {
+    if (clock.instant().isAfter(deadline)) {
+      return;
+    }
+    PageParser.Result result = parserFactory.get(url).parse();
+    // Normalize words the same way as the single-process ParallelWebCrawler does.
+    result.getWordCounts().forEach((word, count) -> {
+      String normalizedWord = Words.normalize(word);
+      if (!normalizedWord.isEmpty()) {
+        wordCounts.merge(normalizedWord, count, Integer::sum);
+      }
+    });
+    for (String link : result.getLinks()) {
+      schedule(link, depth - 1);
+    }
+  }
+
+  private PeerClient.NodeStatus status() {
+    // Read the counters before checking for idleness, so that a URL received in between is never
+    // reported as received by an idle node that has not scheduled it.
+    long receivedSoFar = received.get();
+    long sentSoFar = sent.get();
+    return new PeerClient.NodeStatus(
+        pending.get() == 0, sentSoFar, receivedSoFar, failure.get());
+  }
+
+  private void acceptConnections() {
+    while (!serverSocket.isClosed()) {
+      Socket socket;
+      try {
+        socket = serverSocket.accept();
+      } catch (IOException e) {
+        // The server socket was closed because the node finished.
+        return;
+      }
+      Thread reader = new Thread(() -> serve(socket), "crawl-node-" + index + "-peer");
+      reader.setDaemon(true);
+      reader.start();
+    }
+  }
+
+  private void serve(Socket socket) {
+    try (socket) {
+      socket.setTcpNoDelay(true);
+      DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+      DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+      while (true) {
+        byte type;
+        try {
+          type = in.readByte();
+        } catch (EOFException e) {
+          return;
+        }
+        switch (type) {
+          case Protocol.FORWARD -> {
+            int depth = in.readInt();
+            String url = Protocol.readString(in);
+            schedule(url, depth);
+            received.incrementAndGet();
+          }
+          case Protocol.STATUS -> {
+            PeerClient.NodeStatus status = status();
+            out.writeBoolean(status.isIdle());
+            out.writeLong(status.getSent());
+            out.writeLong(status.getReceived());
+            out.writeBoolean(status.getFailure() != null);
+            if (status.getFailure() != null) {
+              Protocol.writeString(out, status.getFailure());
+            }
+            out.flush();
+          }
+          case Protocol.FINISH -> {
+            out.writeInt(visitedUrls.size());
+            out.writeInt(wordCounts.size());
+            for (Map.Entry<String, Integer> e : wordCounts.entrySet()) {
+              Protocol.writeString(out, e.getKey());
+              out.writeInt(e.getValue());
+            }
+            out.flush();
+            finish();
+            return;
+          }
+          default -> throw new IOException("Unknown message type: " + type);
+        }
+      }
+    } catch (IOException e) {
+      if (finished.getCount() > 0) {
+        LOG.error("Connection to crawl node failed: %s", e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Stops every node that can still be reached, and returns the error that ends the crawl.
+   */
+  private IOException abort(String reason) {
+    for (PeerClient peer : peers) {
+      if (peer == null) {
+        continue;
+      }
+      try {
+        peer.finish();
+      } catch (UncheckedIOException e) {
+        // The node cannot be reached, so it cannot be stopped from here either.
+      }
+    }
+    finish();
+    return new IOException("Distributed crawl aborted: " + reason);
+  }
+
+  private void finish() {
+    if (finished.getCount() == 0) {
+      return;
+    }
+    finished.countDown();
+    pool.shutdownNow();
+    for (PeerClient peer : peers) {
+      if (peer != null) {
+        peer.close();
+      }
+    }
+    try {
+      serverSocket.close();
+    } catch (IOException e) {
+      // The node is shutting down anyway.
+    }
+  }
+}
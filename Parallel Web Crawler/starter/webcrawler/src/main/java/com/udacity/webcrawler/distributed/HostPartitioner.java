@@ -0,0 +1,66 @@
+package com.udacity.webcrawler.distributed;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+
+/**
+ * Assigns every URL to one of a fixed number of partitions, based on a hash of the URL's host.
+ *
+ * <p>All URLs of the same host land in the same partition, so each crawler process owns a disjoint
+ * set of hosts. URLs without a host, such as {@code file://} URLs, are partitioned by their full
+ * path instead.
+ *
+ * <p>The assignment only depends on the URL and the number of partitions, so it is the same in
+ * every crawler process.
+ */
+public final class HostPartitioner {
+
+  private final int partitionCount;
+
+  /**
+   * Creates a {@link HostPartitioner} for the given number of partitions.
+   */
+  public HostPartitioner(int partitionCount) {
+    if (partitionCount <= 0) {
+      throw new IllegalArgumentException("partitionCount must be positive");
+    }
+    this.partitionCount = partitionCount;
+  }
+
+  /**
+   * Returns the number of partitions.
+   */
+  public int getPartitionCount() {
+    return partitionCount;
+  }
+
+  /**
+   * Returns the partition, between 0 (inclusive) and {@link #getPartitionCount()} (exclusive), that
+   * owns the given URL.
+   */
+  public int partitionOf(String url) {
+    // String.hashCode() is fully specified, so this is stable across processes and JVM versions.
+    int hash = partitionKey(url).hashCode();
+    // Spread the bits, since host names often only differ in their last few characters.
+    hash ^= (hash >>> 16);
+    hash *= 0x85EBCA6B;
+    hash ^= (hash >>> 13);
+    return Math.floorMod(hash, partitionCount);
+  }
+
+  private static String partitionKey(String url) {
+    try {
+      URI uri = new URI(url);
+      if (uri.getHost() != null) {
+        return uri.getHost().toLowerCase(Locale.ROOT);
+      }
+      if (uri.getPath() != null) {
+        return uri.getPath();
+      }
+    } catch (URISyntaxException e) {
+      // Fall through: invalid URLs are partitioned by their text, and fail later when parsed.
+    }
+    return url;
+  }
+}
@@ -0,0 +1,196 @@
+package com.udacity.webcrawler.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The client side of a connection to another crawler node.
+ *
+ * <p>The connection is opened on first use, retrying for a while so that nodes can be started in
+ * any order. All methods are synchronized, so that requests and their replies never interleave.
+ */
+final class PeerClient implements AutoCloseable {
+
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(30);
+
+  private final InetSocketAddress address;
+  private Socket socket;
+  private DataInputStream in;
+  private DataOutputStream out;
+
+  PeerClient(InetSocketAddress address) {
+    this.address = Objects.requireNonNull(address);
+  }
+
+  /**
+   * Sends a URL to the peer, which crawls it with the given remaining depth.
+   */
+  synchronized void forward(String url, int depth) {
+    try {
+      connect();
+      out.writeByte(Protocol.FORWARD);
+      out.writeInt(depth);
+      Protocol.writeString(out, url);
+      // Flush eagerly: the coordinator must not see the URL as sent while it sits in the buffer.
+      out.flush();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error forwarding URL to node at " + address, e);
+    }
+  }
+
+  /**
+   * Asks the peer for its current {@link NodeStatus}.
+   */
+  synchronized NodeStatus status() {
+    try {
+      connect();
+      out.writeByte(Protocol.STATUS);
+      out.flush();
+      boolean idle = in.readBoolean();
+      long sent = in.readLong();
+      long received = in.readLong();
+      String failure = in.readBoolean() ? Protocol.readString(in) : null;
+      return new NodeStatus(idle, sent, received, failure);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error reading status of node at " + address, e);
+    }
+  }
+
+  /**
+   * Stops the peer and returns the part of the crawl result it computed.
+   */
+  synchronized PartialResult finish() {
+    try {
+      connect();
+      out.writeByte(Protocol.FINISH);
+      out.flush();
+      int urlsVisited = in.readInt();
+      int size = in.readInt();
+      Map<String, Integer> wordCounts = new HashMap<>();
+      for (int i = 0; i < size; i++) {
+        wordCounts.put(Protocol.readString(in), in.readInt());
+      }
+      return new PartialResult(wordCounts, urlsVisited);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Error reading result of node at " + address, e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    if (socket != null) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        // Nothing left to do with this connection.
+      }
+    }
+  }
+
+  private void connect() throws IOException {
+    if (socket != null) {
+      return;
+    }
+    Instant giveUp = Instant.now().plus(CONNECT_TIMEOUT);
+    while (true) {
+      Socket candidate = new Socket();
+      try {
+        candidate.setTcpNoDelay(true);
+        candidate.connect(address);
+        socket = candidate;
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        return;
+      } catch (IOException e) {
+        candidate.close();
+        if (Instant.now().isAfter(giveUp)) {
+          throw e;
+        }
+      }
+      try {
+        // The peer has probably not been started yet.
+        Thread.sleep(100);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while connecting to " + address, e);
+      }
+    }
+  }
+
+  /**
+   * A snapshot of a node's activity.
+   */
+  static final class NodeStatus {
+    private final boolean idle;
+    private final long sent;
+    private final long received;
+    private final String failure;
+
+    NodeStatus(boolean idle, long sent, long received, String failure) {
+      this.idle = idle;
+      this.sent = sent;
+      this.received = received;
+      this.failure = failure;
+    }
+
+    /**
+     * Whether the node has no pages queued or being crawled.
+     */
+    boolean isIdle() {
+      return idle;
+    }
+
+    /**
+     * The number of URLs the node has forwarded to other nodes so far.
+     */
+    long getSent() {
+      return sent;
+    }
+
+    /**
+     * The number of URLs the node has received from other nodes so far.
+     */
+    long getReceived() {
+      return received;
+    }
+
+    /**
+     * Why the node could not crawl its part of the URLs, or {@code null} if nothing went wrong.
+     */
+    String getFailure() {
+      return failure;
+    }
+  }
+
+  /**
+   * The unsorted word counts and the number of URLs visited by a single node.
+   */
+  static final class PartialResult {
+    private final Map<String, Integer> wordCounts;
+    private final int urlsVisited;
+
+    PartialResult(Map<String, Integer> wordCounts, int urlsVisited) {
+      this.wordCounts = Objects.requireNonNull(wordCounts);
+      this.urlsVisited = urlsVisited;
+    }
+
+    Map<String, Integer> getWordCounts() {
+      return wordCounts;
+    }
+
+    int getUrlsVisited() {
+      return urlsVisited;
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package com.udacity.webcrawler.distributed;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Message types of the protocol that crawler nodes use to talk to each other.
+ *
+ * <p>Every message starts with one of the type bytes below and is encoded with
+ * {@link DataOutputStream}, with strings written by {@link #writeString}:
+ *
+ * <ul>
+ *   <li>{@link #FORWARD}: {@code int depth, string url}. Asks the receiving node to crawl a URL in
+ *       its partition. There is no reply.</li>
+ *   <li>{@link #STATUS}: no payload. The reply is {@code boolean idle, long sent, long received,
+ *       boolean failed}, followed by {@code string failure} if the node failed. The coordinator
+ *       uses it to detect that the whole crawl has finished, or must be aborted.</li>
+ *   <li>{@link #FINISH}: no payload. The reply is {@code int urlsVisited, int size} followed by
+ *       {@code size} pairs of {@code string word, int count} with the node's unsorted word counts.
+ *       The node stops after replying.</li>
+ * </ul>
+ */
+final class Protocol {
+
+  static final byte FORWARD = 'F';
+  static final byte STATUS = 'S';
+  static final byte FINISH = 'X';
+
+  /**
+   * The most bytes a string may have. Far more than any URL or word, but small enough that a
+   * corrupt length does not make the reader allocate gigabytes.
+   */
+  static final int MAX_STRING_BYTES = 4 * 1024 * 1024;
+
+  /**
+   * Writes a string as an {@code int} byte count followed by its UTF-8 bytes. Unlike
+   * {@link DataOutputStream#writeUTF(String)}, this is not limited to 64 KiB, which long URLs can
+   * exceed, but to {@link #MAX_STRING_BYTES}.
+   */
+  static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length > MAX_STRING_BYTES) {
+      throw new IOException("String too long: " + bytes.length + " bytes");
+    }
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  /**
+   * Reads a string written by {@link #writeString}.
+   */
+  static String readString(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0 || length > MAX_STRING_BYTES) {
+      throw new IOException("Invalid string length: " + length);
+    }
+    byte[] bytes = new byte[length];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private Protocol() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,121 @@
+package com.udacity.webcrawler.graph;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Encodes adjacency lists of node ids as compactly as a simple byte format allows.
+ *
+ * <p>The ids of a list are sorted, and each is stored as the difference from the one before it, in
+ * the variable-length format of Protocol Buffers: seven bits per byte, with the high bit set on
+ * every byte but the last. Pages mostly link to pages that were discovered around the same time,
+ * which have nearby ids, so most differences fit in one or two bytes instead of four.
+ */
+final class AdjacencyCodec {
+
+  private static final int[] NO_IDS = new int[0];
+  private static final byte[] NO_BYTES = new byte[0];
+
+  /**
+   * Encodes the given ids, which must be sorted and distinct.
+   */
+  static byte[] encode(int[] ids) {
+    if (ids.length == 0) {
+      return NO_BYTES;
+    }
+    byte[] buffer = new byte[ids.length * 5];
+    int position = 0;
+    int previous = 0;
+    for (int id : ids) {
+      position = put(buffer, position, id - previous);
+      previous = id;
+    }
+    return Arrays.copyOf(buffer, position);
+  }
+
+  /**
+   * Returns the ids encoded by {@link #encode(int[])}, in ascending order.
+   */
+  static int[] decode(byte[] bytes) {
+    if (bytes.length == 0) {
+      return NO_IDS;
+    }
+    int[] ids = new int[count(bytes)];
+    int position = 0;
+    int previous = 0;
+    for (int i = 0; i < ids.length; i++) {
+      int value = 0;
+      int shift = 0;
+      byte b;
+      do {
+        b = bytes[position++];
+        value |= (b & 0x7F) << shift;
+        shift += 7;
+      } while (b < 0);
+      previous += value;
+      ids[i] = previous;
+    }
+    return ids;
+  }
+
+  /**
+   * Returns the number of ids in the given encoded list, which is the number of bytes that end a
+   * value.
+   */
+  static int count(byte[] bytes) {
+    int count = 0;
+    for (byte b : bytes) {
+      if (b >= 0) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Writes a non-negative int in the variable-length format.
+   */
+  static void writeVarInt(OutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+
+  /**
+   * Reads a non-negative int written by {@link #writeVarInt(OutputStream, int)}.
+   *
+   * @throws EOFException if the stream ends first.
+   */
+  static int readVarInt(InputStream in) throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      int b = in.read();
+      if (b < 0) {
+        throw new EOFException("Unexpected end of link graph");
+      }
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length int in link graph");
+  }
+
+  private static int put(byte[] buffer, int position, int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    buffer[position++] = (byte) value;
+    return position;
+  }
+
+  private AdjacencyCodec() {
+    // This class cannot be instantiated
+  }
+}
@@ -0,0 +1,132 @@
+package com.udacity.webcrawler.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * A {@link LinkGraph} unpacked into compressed sparse row arrays, for algorithms that visit every
+ * link many times.
+ *
+ * <p>The links of node {@code u} are {@code targets[offsets[u]]} up to, but not including,
+ * {@code targets[offsets[u + 1]]}. The transposed graph, with every link reversed, is kept the same
+ * way in {@code inOffsets} and {@code sources}. Apart from those five arrays, which take four bytes
+ * per node or link each, there are no objects per node.
+ */
+final class CsrGraph {
+
+  /**
+   * The number of nodes that one task of a parallel loop handles.
+   */
+  static final int CHUNK_SIZE = 4096;
+
+  final int size;
+  final int[] offsets;
+  final int[] targets;
+  final int[] inOffsets;
+  final int[] sources;
+
+  private CsrGraph(int size, int[] offsets, int[] targets, int[] inOffsets, int[] sources) {
+    this.size = size;
+    this.offsets = offsets;
+    this.targets = targets;
+    this.inOffsets = inOffsets;
+    this.sources = sources;
+  }
+
+  /**
+   * Unpacks the given graph, decoding its adjacency lists in parallel on the given pool.
+   *
+   * @throws IllegalArgumentException if the graph has too many links to index with an int.
+   */
+  static CsrGraph of(LinkGraph graph, ForkJoinPool pool) {
+    int size = graph.size();
+    int[] offsets = new int[size + 1];
+    long edges = 0;
+    for (int id = 0; id < size; id++) {
+      offsets[id] = (int) edges;
+      edges += graph.outDegree(id);
+      if (edges > Integer.MAX_VALUE - 8) {
+        throw new IllegalArgumentException("Link graph has too many links: " + graph.edgeCount());
+      }
+    }
+    offsets[size] = (int) edges;
+
+    // Every node owns its own range of the array, so the lists can be decoded in parallel.
+    int[] targets = new int[(int) edges];
+    forEachChunk(size, pool, (from, to) -> {
+      for (int id = from; id < to; id++) {
+        int[] links = graph.linksOf(id);
+        System.arraycopy(links, 0, targets, offsets[id], links.length);
+      }
+    });
+
+    // Transposing is a counting sort by target. Walking the sources in order keeps each node's
+    // incoming links sorted by source.
+    int[] inOffsets = new int[size + 1];
+    for (int target : targets) {
+      inOffsets[target + 1]++;
+    }
+    for (int id = 0; id < size; id++) {
+      inOffsets[id + 1] += inOffsets[id];
+    }
+    int[] next = new int[size];
+    System.arraycopy(inOffsets, 0, next, 0, size);
+    int[] sources = new int[targets.length];
+    for (int source = 0; source < size; source++) {
+      for (int e = offsets[source]; e < offsets[source + 1]; e++) {
+        sources[next[targets[e]]++] = source;
+      }
+    }
+    return new CsrGraph(size, offsets, targets, inOffsets, sources);
+  }
+
+  /**
+   * Returns the number of links of the given node.
+   */
+  int outDegree(int node) {
+    return offsets[node + 1] - offsets[node];
+  }
+
+  /**
+   * A loop body that handles the nodes from {@code from}, inclusive, to {@code to}, exclusive.
+   */
+  interface RangeAction {
+    void run(int from, int to);
+  }
+
+  /**
+   * A loop body that handles a range of nodes and returns a partial sum.
+   */
+  interface RangeSum {
+    double run(int from, int to);
+  }
+
+  /**
+   * Runs the given action over all nodes, split into chunks of {@link #CHUNK_SIZE} nodes that run
+   * in parallel on the given pool.
+   */
+  static void forEachChunk(int size, ForkJoinPool pool, RangeAction action) {
+    sumChunks(size, pool, (from, to) -> {
+      action.run(from, to);
+      return 0;
+    });
+  }
+
+  /**
+   * Runs the given action over all nodes like {@link #forEachChunk}, and returns the sum of its
+   * results.
+   */
+  static double sumChunks(int size, ForkJoinPool pool, RangeSum action) {
+    int chunks = (size + CHUNK_SIZE - 1) / CHUNK_SIZE;
+    if (chunks <= 1) {
+      return action.run(0, size);
+    }
+    // A parallel stream runs on the pool of the task that starts it.
+    return pool.submit(() -> IntStream.range(0, chunks)
+            .parallel()
+            .mapToDouble(chunk ->
+                action.run(chunk * CHUNK_SIZE, Math.min(size, (chunk + 1) * CHUNK_SIZE)))
+            .sum())
+        .join();
+  }
+}
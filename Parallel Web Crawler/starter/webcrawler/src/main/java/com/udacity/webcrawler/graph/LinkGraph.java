@@ -0,0 +1,173 @@
+package com.udacity.webcrawler.graph;
+
+import com.udacity.webcrawler.parser.WordDictionary;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The hyperlink graph of a crawl: which pages link to which.
+ *
+ * <p>Every URL, whether crawled or only linked to, is a node with a dense int id, handed out in the
+ * order URLs are first seen. The links of each crawled page are kept as one
+ * {@link AdjacencyCodec delta- and varint-encoded} byte array, which usually takes one or two bytes
+ * per link instead of the two strings of a naive edge list.
+ *
+ * <p>This class is thread-safe. Workers may add pages concurrently while others read the graph.
+ */
+public final class LinkGraph {
+
+  private static final int CHUNK_BITS = 12;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  // URLs are interned exactly like words: a dense id per distinct string.
+  private final WordDictionary urls = new WordDictionary();
+  private final LongAdder edgeCount = new LongAdder();
+  private final LongAdder encodedBytes = new LongAdder();
+
+  /**
+   * The encoded links by node id, in chunks of {@link #CHUNK_SIZE}. {@code null} for nodes that
+   * were not crawled. Growing only copies the outer array.
+   */
+  private volatile AtomicReferenceArray<byte[]>[] links = newChunks(0);
+
+  /**
+   * Records the links found on the page with the given URL. Repeated links are recorded once. If
+   * the page was recorded before, its links are replaced.
+   */
+  public void addPage(String url, Collection<String> pageLinks) {
+    int source = urls.idOf(url);
+    int[] targets = new int[pageLinks.size()];
+    int count = 0;
+    for (String link : pageLinks) {
+      targets[count++] = urls.idOf(link);
+    }
+    Arrays.sort(targets, 0, count);
+    int distinct = 0;
+    for (int i = 0; i < count; i++) {
+      if (distinct == 0 || targets[i] != targets[distinct - 1]) {
+        targets[distinct++] = targets[i];
+      }
+    }
+    setLinks(source, Arrays.copyOf(targets, distinct));
+  }
+
+  /**
+   * Returns the number of nodes: every URL that was crawled or linked to. All ids are smaller than
+   * this number.
+   */
+  public int size() {
+    return urls.size();
+  }
+
+  /**
+   * Returns the id of the given URL, giving it a new id if it is not in the graph yet.
+   */
+  public int idOf(String url) {
+    return urls.idOf(url);
+  }
+
+  /**
+   * Returns the URL of the node with the given id.
+   *
+   * @throws IllegalArgumentException if there is no such node.
+   */
+  public String urlOf(int id) {
+    return urls.wordOf(id);
+  }
+
+  /**
+   * Returns whether the links of the node with the given id were recorded, which is whether the
+   * page was crawled.
+   */
+  public boolean isCrawled(int id) {
+    return encodedLinksOf(id) != null;
+  }
+
+  /**
+   * Returns the ids of the nodes that the node with the given id links to, in ascending order.
+   * Empty if the page has no links, or was not crawled.
+   */
+  public int[] linksOf(int id) {
+    byte[] encoded = encodedLinksOf(id);
+    return encoded == null ? new int[0] : AdjacencyCodec.decode(encoded);
+  }
+
+  /**
+   * Returns the number of links of the node with the given id, without decoding them.
+   */
+  public int outDegree(int id) {
+    byte[] encoded = encodedLinksOf(id);
+    return encoded == null ? 0 : AdjacencyCodec.count(encoded);
+  }
+
+  /**
+   * Returns the number of links recorded.
+   */
+  public long edgeCount() {
+    return edgeCount.sum();
+  }
+
+  /**
+   * Returns the number of bytes the encoded links take up, not counting array headers or URLs.
+   */
+  public long encodedBytes() {
+    return encodedBytes.sum();
+  }
+
+  /**
+   * Returns the encoded links of the node with the given id, or {@code null} if it was not crawled.
+   */
+  byte[] encodedLinksOf(int id) {
+    AtomicReferenceArray<byte[]>[] chunks = links;
+    int chunk = id >>> CHUNK_BITS;
+    return id < 0 || chunk >= chunks.length ? null : chunks[chunk].get(id & CHUNK_MASK);
+  }
+
+  /**
+   * Sets the links of the node with the given id, which must be sorted and distinct.
+   */
+  void setLinks(int id, int[] targets) {
+    setEncodedLinks(id, AdjacencyCodec.encode(targets));
+  }
+
+  /**
+   * Sets the encoded links of the node with the given id.
+   */
+  void setEncodedLinks(int id, byte[] encoded) {
+    byte[] previous = chunk(id >>> CHUNK_BITS).getAndSet(id & CHUNK_MASK, encoded);
+    if (previous != null) {
+      edgeCount.add(-AdjacencyCodec.count(previous));
+      encodedBytes.add(-previous.length);
+    }
+    edgeCount.add(AdjacencyCodec.count(encoded));
+    encodedBytes.add(encoded.length);
+  }
+
+  private AtomicReferenceArray<byte[]> chunk(int index) {
+    AtomicReferenceArray<byte[]>[] chunks = links;
+    if (index < chunks.length) {
+      return chunks[index];
+    }
+    synchronized (this) {
+      chunks = links;
+      if (index >= chunks.length) {
+        AtomicReferenceArray<byte[]>[] grown = newChunks(Math.max(index + 1, chunks.length * 2));
+        System.arraycopy(chunks, 0, grown, 0, chunks.length);
+        for (int i = chunks.length; i < grown.length; i++) {
+          grown[i] = new AtomicReferenceArray<>(CHUNK_SIZE);
+        }
+        links = chunks = grown;
+      }
+      return chunks[index];
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static AtomicReferenceArray<byte[]>[] newChunks(int length) {
+    return (AtomicReferenceArray<byte[]>[]) new AtomicReferenceArray<?>[length];
+  }
+}
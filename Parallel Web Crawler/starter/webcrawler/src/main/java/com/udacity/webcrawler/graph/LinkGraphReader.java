@@ -0,0 +1,78 @@
+package com.udacity.webcrawler.graph;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a {@link LinkGraph} written in the {@link LinkGraphWriter.Format#BINARY binary} format, for
+ * example to rank the pages of a crawl after it has finished.
+ */
+public final class LinkGraphReader {
+
+  /**
+   * Reads the graph in the file at the given path, which is gzip-compressed if its name ends with
+   * {@code ".gz"}.
+   */
+  public static LinkGraph read(Path path) throws IOException {
+    try (InputStream in = open(path)) {
+      return read(in);
+    }
+  }
+
+  /**
+   * Reads a graph from the given stream, which is not closed.
+   *
+   * @throws IOException if the stream does not hold a link graph, or cannot be read.
+   */
+  public static LinkGraph read(InputStream in) throws IOException {
+    byte[] magic = in.readNBytes(LinkGraphWriter.MAGIC.length);
+    if (!Arrays.equals(magic, LinkGraphWriter.MAGIC)) {
+      throw new IOException("Not a link graph file");
+    }
+    LinkGraph graph = new LinkGraph();
+    int size = AdjacencyCodec.readVarInt(in);
+    for (int id = 0; id < size; id++) {
+      String url = new String(readBytes(in, AdjacencyCodec.readVarInt(in)), StandardCharsets.UTF_8);
+      if (graph.idOf(url) != id) {
+        throw new IOException("Duplicate URL in link graph: " + url);
+      }
+      int length = AdjacencyCodec.readVarInt(in);
+      if (length > 0) {
+        graph.setEncodedLinks(id, readBytes(in, length - 1));
+      }
+    }
+    return graph;
+  }
+
+  private static byte[] readBytes(InputStream in, int length) throws IOException {
+    byte[] bytes = in.readNBytes(length);
+    if (bytes.length < length) {
+      throw new EOFException("Unexpected end of link graph");
+    }
+    return bytes;
+  }
+
+  private static InputStream open(Path path) throws IOException {
+    InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+    if (!path.getFileName().toString().endsWith(".gz")) {
+      return in;
+    }
+    try {
+      return new GZIPInputStream(in, 64 * 1024);
+    } catch (IOException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  private LinkGraphReader() {
+    // This class cannot be instantiated
+  }
+}
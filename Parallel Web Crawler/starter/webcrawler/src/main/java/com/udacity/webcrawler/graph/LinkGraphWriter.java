@@ -0,0 +1,144 @@
+package com.udacity.webcrawler.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes a {@link LinkGraph} to a file.
+ */
+public final class LinkGraphWriter {
+
+  /**
+   * The first bytes of a {@link Format#BINARY binary} link graph file.
+   */
+  static final byte[] MAGIC = {'L', 'G', 'R', 'F', 0, 1};
+
+  /**
+   * The file formats supported by {@link LinkGraphWriter}.
+   */
+  public enum Format {
+    /**
+     * A compact binary format that {@link LinkGraphReader} can read back. After {@link #MAGIC},
+     * it holds the number of nodes, followed by each node in order of id: the length of its URL
+     * in UTF-8 bytes, those bytes, the length of its encoded links plus one (zero if the page was
+     * not crawled), and the links as encoded by {@link AdjacencyCodec}. All numbers are
+     * variable-length ints.
+     */
+    BINARY,
+
+    /**
+     * A text edge list: one {@code source<TAB>target} line per link, with both pages given by URL.
+     * Readable by most graph tools, but many times larger than the binary format.
+     */
+    TSV;
+
+    /**
+     * Returns the format with the given name, ignoring case.
+     *
+     * @throws IllegalArgumentException if there is no format with that name.
+     */
+    public static Format forName(String name) {
+      try {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unknown link graph format: " + name, e);
+      }
+    }
+  }
+
+  private final LinkGraph graph;
+  private final Format format;
+
+  /**
+   * Creates a writer that will write the given graph in the given format.
+   */
+  public LinkGraphWriter(LinkGraph graph, Format format) {
+    this.graph = Objects.requireNonNull(graph);
+    this.format = Objects.requireNonNull(format);
+  }
+
+  /**
+   * Writes the graph to the given path. If the path ends with {@code ".gz"}, the output is
+   * gzip-compressed.
+   *
+   * @throws RuntimeException if an I/O error occurs while writing.
+   */
+  public void write(Path path) {
+    Objects.requireNonNull(path);
+    try (OutputStream out = open(path)) {
+      write(out);
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing link graph to file: " + path, e);
+    }
+  }
+
+  /**
+   * Writes the graph to the given stream, which is flushed but not closed.
+   */
+  public void write(OutputStream out) throws IOException {
+    if (format == Format.TSV) {
+      writeTsv(out);
+    } else {
+      writeBinary(out);
+    }
+  }
+
+  private void writeBinary(OutputStream out) throws IOException {
+    out.write(MAGIC);
+    int size = graph.size();
+    AdjacencyCodec.writeVarInt(out, size);
+    for (int id = 0; id < size; id++) {
+      byte[] url = graph.urlOf(id).getBytes(StandardCharsets.UTF_8);
+      AdjacencyCodec.writeVarInt(out, url.length);
+      out.write(url);
+      byte[] links = graph.encodedLinksOf(id);
+      AdjacencyCodec.writeVarInt(out, links == null ? 0 : links.length + 1);
+      if (links != null) {
+        out.write(links);
+      }
+    }
+    out.flush();
+  }
+
+  private void writeTsv(OutputStream out) throws IOException {
+    Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+    int size = graph.size();
+    for (int id = 0; id < size; id++) {
+      int[] links = graph.linksOf(id);
+      if (links.length == 0) {
+        continue;
+      }
+      String source = graph.urlOf(id);
+      for (int target : links) {
+        writer.write(source);
+        writer.write('\t');
+        writer.write(graph.urlOf(target));
+        writer.write('\n');
+      }
+    }
+    writer.flush();
+  }
+
+  private static OutputStream open(Path path) throws IOException {
+    OutputStream out = new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024);
+    if (!path.getFileName().toString().endsWith(".gz")) {
+      return out;
+    }
+    try {
+      return new GZIPOutputStream(out, 64 * 1024);
+    } catch (IOException e) {
+      out.close();
+      throw e;
+    }
+  }
+}
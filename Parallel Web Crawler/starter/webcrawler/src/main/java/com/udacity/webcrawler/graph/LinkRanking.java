@@ -0,0 +1,211 @@
+package com.udacity.webcrawler.graph;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Ranks the pages of a {@link LinkGraph} by the links between them.
+ *
+ * <p>Both algorithms are power iterations over a {@link CsrGraph}. Each iteration pulls the scores
+ * of every node's neighbors along its incoming (or outgoing) links, so that each node's new score
+ * is written by exactly one task and no locks or atomics are needed. The nodes are split into
+ * ranges of {@link CsrGraph#CHUNK_SIZE} that run in parallel on a {@link ForkJoinPool}. Iteration
+ * stops when the scores change by less than {@link #TOLERANCE} in total, or after
+ * {@link #MAX_ITERATIONS} iterations.
+ */
+public enum LinkRanking {
+  /**
+   * PageRank, with a damping factor of {@link #DAMPING}. Pages without links, including pages that
+   * were not crawled, spread their rank evenly over all pages. Ranks add up to one.
+   */
+  PAGERANK {
+    @Override
+    double[] scores(CsrGraph graph, ForkJoinPool pool) {
+      int n = graph.size;
+      double[] rank = new double[n];
+      double[] next = new double[n];
+      double[] share = new double[n];
+      Arrays.fill(rank, 1.0 / n);
+      for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+        double[] current = rank;
+        // Each node's share of its rank per link, and the total rank of nodes without links.
+        double dangling = CsrGraph.sumChunks(n, pool, (from, to) -> {
+          double sum = 0;
+          for (int u = from; u < to; u++) {
+            int degree = graph.outDegree(u);
+            if (degree == 0) {
+              share[u] = 0;
+              sum += current[u];
+            } else {
+              share[u] = current[u] / degree;
+            }
+          }
+          return sum;
+        });
+        double base = (1 - DAMPING) / n + DAMPING * dangling / n;
+        double[] updated = next;
+        double change = CsrGraph.sumChunks(n, pool, (from, to) -> {
+          double sum = 0;
+          for (int v = from; v < to; v++) {
+            double incoming = 0;
+            for (int e = graph.inOffsets[v]; e < graph.inOffsets[v + 1]; e++) {
+              incoming += share[graph.sources[e]];
+            }
+            updated[v] = base + DAMPING * incoming;
+            sum += Math.abs(updated[v] - current[v]);
+          }
+          return sum;
+        });
+        next = rank;
+        rank = updated;
+        if (change < TOLERANCE) {
+          break;
+        }
+      }
+      return rank;
+    }
+  },
+
+  /**
+   * The authority scores of Kleinberg's HITS: pages linked to by good hubs, which are pages that
+   * link to good authorities. Scores are normalized to a Euclidean length of one.
+   */
+  HITS {
+    @Override
+    double[] scores(CsrGraph graph, ForkJoinPool pool) {
+      int n = graph.size;
+      double[] hubs = new double[n];
+      double[] authorities = new double[n];
+      double[] previous = new double[n];
+      Arrays.fill(hubs, 1.0 / Math.sqrt(n));
+      for (int iteration = 0; iteration < MAX_ITERATIONS; iteration++) {
+        double[] before = previous;
+        System.arraycopy(authorities, 0, before, 0, n);
+        // Authorities pull from the hubs that link to them, and hubs from the authorities they
+        // link to.
+        double authorityNorm = Math.sqrt(CsrGraph.sumChunks(n, pool, (from, to) -> {
+          double sum = 0;
+          for (int v = from; v < to; v++) {
+            double score = 0;
+            for (int e = graph.inOffsets[v]; e < graph.inOffsets[v + 1]; e++) {
+              score += hubs[graph.sources[e]];
+            }
+            authorities[v] = score;
+            sum += score * score;
+          }
+          return sum;
+        }));
+        if (authorityNorm == 0) {
+          break;  // There are no links
+        }
+        normalize(authorities, authorityNorm, pool);
+        double hubNorm = Math.sqrt(CsrGraph.sumChunks(n, pool, (from, to) -> {
+          double sum = 0;
+          for (int u = from; u < to; u++) {
+            double score = 0;
+            for (int e = graph.offsets[u]; e < graph.offsets[u + 1]; e++) {
+              score += authorities[graph.targets[e]];
+            }
+            hubs[u] = score;
+            sum += score * score;
+          }
+          return sum;
+        }));
+        normalize(hubs, hubNorm, pool);
+        double change = CsrGraph.sumChunks(n, pool, (from, to) -> {
+          double sum = 0;
+          for (int v = from; v < to; v++) {
+            sum += Math.abs(authorities[v] - before[v]);
+          }
+          return sum;
+        });
+        if (change < TOLERANCE) {
+          break;
+        }
+      }
+      return authorities;
+    }
+  };
+
+  /**
+   * The probability that a random surfer follows a link rather than jumping to a random page.
+   */
+  public static final double DAMPING = 0.85;
+
+  /**
+   * The total change in scores below which the iteration has converged.
+   */
+  public static final double TOLERANCE = 1e-9;
+
+  /**
+   * The largest number of iterations to run.
+   */
+  public static final int MAX_ITERATIONS = 100;
+
+  /**
+   * Returns the algorithm with the given name, ignoring case.
+   *
+   * @throws IllegalArgumentException if there is no such algorithm.
+   */
+  public static LinkRanking forName(String name) {
+    try {
+      return valueOf(name.toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown ranking algorithm: " + name, e);
+    }
+  }
+
+  /**
+   * Returns the score of every node of the given graph, indexed by id.
+   */
+  public double[] scores(LinkGraph graph, ForkJoinPool pool) {
+    Objects.requireNonNull(pool);
+    if (graph.size() == 0) {
+      return new double[0];
+    }
+    return scores(CsrGraph.of(graph, pool), pool);
+  }
+
+  /**
+   * Returns the URLs of the given number of pages with the highest scores, with their scores, from
+   * the highest to the lowest. Equal scores are ordered by URL.
+   */
+  public Map<String, Double> topPages(LinkGraph graph, int count, ForkJoinPool pool) {
+    double[] scores = scores(graph, pool);
+    // The queue keeps the best pages seen so far, with the worst of them at its head.
+    Comparator<Integer> byScore = Comparator.<Integer>comparingDouble(id -> scores[id])
+        .thenComparing(graph::urlOf, Comparator.reverseOrder());
+    PriorityQueue<Integer> best = new PriorityQueue<>(byScore);
+    for (int id = 0; id < scores.length && count > 0; id++) {
+      if (best.size() < count) {
+        best.add(id);
+      } else if (scores[id] >= scores[best.peek()] && byScore.compare(id, best.peek()) > 0) {
+        best.poll();
+        best.add(id);
+      }
+    }
+    Integer[] ranked = best.toArray(new Integer[0]);
+    Arrays.sort(ranked, byScore.reversed());
+    Map<String, Double> pages = new LinkedHashMap<>();
+    for (int id : ranked) {
+      pages.put(graph.urlOf(id), scores[id]);
+    }
+    return pages;
+  }
+
+  abstract double[] scores(CsrGraph graph, ForkJoinPool pool);
+
+  private static void normalize(double[] scores, double norm, ForkJoinPool pool) {
+    CsrGraph.forEachChunk(scores.length, pool, (from, to) -> {
+      for (int i = from; i < to; i++) {
+        scores[i] /= norm;
+      }
+    });
+  }
+}
@@ -0,0 +1,180 @@
+package com.udacity.webcrawler.index;
+
+import com.udacity.webcrawler.analysis.Analyzer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Searches an index written by {@link IndexWriter}.
+ *
+ * <p>The files of every segment are memory-mapped when the reader is opened, and stay mapped until
+ * the reader is garbage collected. Only the pages of the files that a query touches are read from
+ * disk. The reader sees the index as it was when it was opened.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class IndexReader {
+
+  private final List<Segment> segments;
+  private final int documentCount;
+
+  private IndexReader(List<Segment> segments) {
+    this.segments = segments;
+    this.documentCount = segments.stream().mapToInt(Segment::getDocCount).sum();
+  }
+
+  /**
+   * Opens the index in the given directory.
+   *
+   * @throws IOException if the directory holds no index, or its files cannot be read.
+   */
+  public static IndexReader open(Path directory) throws IOException {
+    List<Segment> segments = new ArrayList<>();
+    for (String name : Files.readAllLines(directory.resolve(IndexWriter.SEGMENTS_FILE))) {
+      if (!name.isBlank()) {
+        segments.add(Segment.open(directory, name.strip()));
+      }
+    }
+    return new IndexReader(segments);
+  }
+
+  /**
+   * Returns the number of documents in the index.
+   */
+  public int documentCount() {
+    return documentCount;
+  }
+
+  /**
+   * Returns the number of documents that contain the given word, after it is normalized the same
+   * way as indexed words.
+   */
+  public int documentFrequency(String word) {
+    byte[] term = Terms.normalize(word).getBytes(StandardCharsets.UTF_8);
+    int frequency = 0;
+    for (Segment segment : segments) {
+      int position = segment.find(term);
+      if (position >= 0) {
+        frequency += segment.documentFrequency(position);
+      }
+    }
+    return frequency;
+  }
+
+  /**
+   * Returns the URLs of the documents that best match the given query, with their scores.
+   *
+   * <p>The query is split into words at whitespace, and a document matches if it contains any of
+   * them. Its score is the sum, over the words it contains, of {@code (1 + ln(tf)) * ln(1 + N /
+   * df)}, where {@code tf} is the number of times the word occurs in the document, {@code N} is
+   * the number of documents in the index and {@code df} the number of documents that contain the
+   * word. Rare words thus count for more than common ones, and repeating a word has diminishing
+   * returns.
+   *
+   * @param query the words to search for.
+   * @param count the largest number of documents to return.
+   * @return the best matches, ordered from the highest score to the lowest. Equal scores are
+   *     ordered by URL.
+   */
+  public Map<String, Double> search(String query, int count) {
+    return search(Terms.ofQuery(query), count);
+  }
+
+  /**
+   * Returns the URLs of the documents that best match the given query, with their scores, like
+   * {@link #search(String, int)}, but splits the query into words with the given analyzer. Pass
+   * the analyzer the pages were crawled with, so that the query's words are stemmed and filtered
+   * the same way as the indexed ones.
+   */
+  public Map<String, Double> search(String query, Analyzer analyzer, int count) {
+    return search(Terms.ofQuery(query, analyzer), count);
+  }
+
+  private Map<String, Double> search(Set<String> words, int count) {
+    if (count <= 0 || words.isEmpty()) {
+      return Map.of();
+    }
+
+    // Find each term once per segment, and weigh it by its frequency in the whole index.
+    int[][] positions = new int[words.size()][segments.size()];
+    double[] weights = new double[words.size()];
+    int index = 0;
+    for (String word : words) {
+      byte[] term = word.getBytes(StandardCharsets.UTF_8);
+      int frequency = 0;
+      for (int s = 0; s < segments.size(); s++) {
+        positions[index][s] = segments.get(s).find(term);
+        if (positions[index][s] >= 0) {
+          frequency += segments.get(s).documentFrequency(positions[index][s]);
+        }
+      }
+      weights[index++] = frequency == 0 ? 0 : Math.log1p((double) documentCount / frequency);
+    }
+
+    // The queue keeps the best documents seen so far, with the worst of them at its head.
+    Comparator<Hit> byScore = Comparator.<Hit>comparingDouble(hit -> hit.score)
+        .thenComparing(hit -> hit.url, Comparator.reverseOrder());
+    PriorityQueue<Hit> best = new PriorityQueue<>(byScore);
+    for (int s = 0; s < segments.size(); s++) {
+      Segment segment = segments.get(s);
+      double[] scores = null;
+      for (int t = 0; t < weights.length; t++) {
+        if (positions[t][s] < 0) {
+          continue;
+        }
+        if (scores == null) {
+          scores = new double[segment.getDocCount()];
+        }
+        double weight = weights[t];
+        double[] accumulators = scores;
+        segment.forEachPosting(positions[t][s], (doc, frequency) ->
+            accumulators[doc] += (1 + Math.log(frequency)) * weight);
+      }
+      if (scores == null) {
+        continue;
+      }
+      for (int doc = 0; doc < scores.length; doc++) {
+        double score = scores[doc];
+        if (score <= 0 || (best.size() == count && score < best.peek().score)) {
+          continue;
+        }
+        Hit hit = new Hit(segment.urlOf(doc), score);
+        if (best.size() < count) {
+          best.add(hit);
+        } else if (byScore.compare(hit, best.peek()) > 0) {
+          best.poll();
+          best.add(hit);
+        }
+      }
+    }
+
+    Hit[] ranked = best.toArray(new Hit[0]);
+    Arrays.sort(ranked, byScore.reversed());
+    Map<String, Double> results = new LinkedHashMap<>();
+    for (Hit hit : ranked) {
+      results.put(hit.url, hit.score);
+    }
+    return results;
+  }
+
+  private static final class Hit {
+    final String url;
+    final double score;
+
+    Hit(String url, double score) {
+      this.url = url;
+      this.score = score;
+    }
+  }
+}
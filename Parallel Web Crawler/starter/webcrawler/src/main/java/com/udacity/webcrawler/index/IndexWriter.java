@@ -0,0 +1,268 @@
+package com.udacity.webcrawler.index;
+
+import com.udacity.webcrawler.log.Log;
+import com.udacity.webcrawler.parser.PageParser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Builds an inverted index of crawled pages in a directory, to be searched with
+ * {@link IndexReader}.
+ *
+ * <p>Pages are collected in memory until they hold a given number of postings, and are then
+ * flushed to disk as a new {@link Segment}. Flushes happen outside the lock, so other threads keep
+ * adding pages while a segment is written. The index only becomes visible when the writer is
+ * closed: the list of segments is written to a {@code segments} file, which replaces that of any
+ * index that was in the directory before, and the files of the old index are deleted.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class IndexWriter implements Closeable {
+
+  /**
+   * The number of postings that are collected in memory by default before they are flushed.
+   */
+  public static final int DEFAULT_SEGMENT_POSTINGS = 1 << 20;
+
+  static final String SEGMENTS_FILE = "segments";
+
+  private static final Log LOG = Log.forClass(IndexWriter.class);
+  private static final Pattern SEGMENT_FILE = Pattern.compile("_(\\d+)\\.(doc|tdx|pst)");
+
+  private final Path directory;
+  private final int segmentPostings;
+
+  // Guarded by this.
+  private Buffer buffer = new Buffer(0);
+  private int nextDoc;
+  private int nextSegment;
+  private int flushing;
+  private boolean closed;
+  private IOException failure;
+  private final Map<Integer, String> segments = new TreeMap<>();  // Keyed by first document
+
+  /**
+   * Creates a writer for an index in the given directory, which is created if it does not exist.
+   *
+   * @param segmentPostings the number of postings to collect in memory before they are written out
+   *                        as a segment.
+   */
+  public IndexWriter(Path directory, int segmentPostings) throws IOException {
+    if (segmentPostings < 1) {
+      throw new IllegalArgumentException("segmentPostings must be positive");
+    }
+    this.directory = Objects.requireNonNull(directory);
+    this.segmentPostings = segmentPostings;
+    Files.createDirectories(directory);
+    // Number new segments after any that are already there, so that the old index stays intact
+    // until this one replaces it.
+    try (Stream<Path> files = Files.list(directory)) {
+      nextSegment = files
+          .map(file -> SEGMENT_FILE.matcher(file.getFileName().toString()))
+          .filter(Matcher::matches)
+          .mapToInt(matcher -> Integer.parseInt(matcher.group(1)) + 1)
+          .max()
+          .orElse(0);
+    }
+  }
+
+  /**
+   * Adds the words of the page at the given URL to the index.
+   */
+  public void add(String url, PageParser.Result page) {
+    add(url, page.getWordCounts());
+  }
+
+  /**
+   * Adds a document with the given URL and word counts to the index. Words are normalized into
+   * terms first, and words that are left blank are not indexed.
+   *
+   * @throws IllegalStateException if the writer has been closed.
+   */
+  public void add(String url, Map<String, Integer> wordCounts) {
+    Objects.requireNonNull(url);
+    Map<String, Integer> termCounts = new HashMap<>();
+    wordCounts.forEach((word, count) -> {
+      String term = Terms.normalize(word);
+      if (!term.isEmpty()) {
+        termCounts.merge(term, count, Integer::sum);
+      }
+    });
+
+    Buffer full;
+    String name;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Index writer is closed");
+      }
+      int doc = nextDoc++;
+      buffer.add(url, doc, termCounts);
+      if (buffer.postingCount < segmentPostings) {
+        return;
+      }
+      full = buffer;
+      buffer = new Buffer(nextDoc);
+      name = "_" + nextSegment++;
+      flushing++;
+    }
+    flush(full, name);
+  }
+
+  /**
+   * Returns the number of documents added so far.
+   */
+  public synchronized int documentCount() {
+    return nextDoc;
+  }
+
+  /**
+   * Writes out the remaining documents, waits for other flushes to finish and commits the index.
+   * Closing a writer again has no effect.
+   *
+   * @throws IOException if a segment or the list of segments could not be written.
+   */
+  @Override
+  public void close() throws IOException {
+    Buffer last;
+    String name;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      last = buffer;
+      name = "_" + nextSegment++;
+      flushing++;
+    }
+    flush(last, name);
+
+    List<String> names;
+    int documents;
+    synchronized (this) {
+      boolean interrupted = false;
+      while (flushing > 0) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+      if (failure != null) {
+        throw failure;
+      }
+      names = new ArrayList<>(segments.values());
+      documents = nextDoc;
+    }
+
+    // Replacing the list of segments atomically commits the new index.
+    Path temporary = directory.resolve(SEGMENTS_FILE + ".tmp");
+    Files.write(temporary, names, StandardCharsets.UTF_8);
+    Files.move(temporary, directory.resolve(SEGMENTS_FILE),
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    deleteSegmentsOtherThan(names);
+    LOG.info("Index of %d documents in %d segments written to: %s",
+        documents, names.size(), directory);
+  }
+
+  private void flush(Buffer full, String name) {
+    IOException error = null;
+    if (full.urls.size() > 0) {
+      try {
+        Segment.write(directory, name, full.baseDoc, full.urls, full.postings());
+      } catch (IOException e) {
+        error = e;
+      }
+    }
+    synchronized (this) {
+      if (error != null) {
+        LOG.error("Error writing index segment %s: %s", name, error.getMessage());
+        if (failure == null) {
+          failure = error;
+        } else {
+          failure.addSuppressed(error);
+        }
+      } else if (full.urls.size() > 0) {
+        segments.put(full.baseDoc, name);
+      }
+      flushing--;
+      notifyAll();
+    }
+  }
+
+  private void deleteSegmentsOtherThan(List<String> names) throws IOException {
+    List<Path> stale;
+    try (Stream<Path> files = Files.list(directory)) {
+      stale = files
+          .filter(file -> {
+            Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+            return matcher.matches() && !names.contains("_" + matcher.group(1));
+          })
+          .collect(Collectors.toList());
+    }
+    for (Path file : stale) {
+      Files.deleteIfExists(file);
+    }
+  }
+
+  /**
+   * The documents that have not been written out yet, with their postings grouped by term.
+   */
+  private static final class Buffer {
+    final int baseDoc;
+    final List<String> urls = new ArrayList<>();
+    final Map<String, PostingList> postings = new HashMap<>();
+    int postingCount;
+
+    Buffer(int baseDoc) {
+      this.baseDoc = baseDoc;
+    }
+
+    void add(String url, int doc, Map<String, Integer> termCounts) {
+      urls.add(url);
+      termCounts.forEach((term, count) ->
+          postings.computeIfAbsent(term, t -> new PostingList()).add(doc - baseDoc, count));
+      postingCount += termCounts.size();
+    }
+
+    Map<String, int[]> postings() {
+      Map<String, int[]> lists = new HashMap<>();
+      postings.forEach((term, list) -> lists.put(term, Arrays.copyOf(list.values, list.size)));
+      return lists;
+    }
+  }
+
+  /**
+   * Pairs of document number and term frequency, in a growable array.
+   */
+  private static final class PostingList {
+    int[] values = new int[4];
+    int size;
+
+    void add(int doc, int frequency) {
+      if (size + 2 > values.length) {
+        values = Arrays.copyOf(values, values.length * 2);
+      }
+      values[size++] = doc;
+      values[size++] = frequency;
+    }
+  }
+}
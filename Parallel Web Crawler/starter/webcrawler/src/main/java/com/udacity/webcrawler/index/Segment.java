@@ -0,0 +1,283 @@
+package com.udacity.webcrawler.index;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * One immutable segment of an inverted index: the documents added between two flushes, stored in
+ * three files that are memory-mapped when the segment is opened.
+ *
+ * <ul>
+ *   <li>{@code <name>.doc} holds the number of documents, the global id of the first one, a table
+ *       of offsets and then the URLs of the documents in UTF-8. Documents are numbered from zero
+ *       within the segment.</li>
+ *   <li>{@code <name>.tdx} is the term dictionary: the number of terms, a table with the offset of
+ *       each term's UTF-8 bytes, its document frequency and the offset of its postings, and then
+ *       the bytes of all terms. Terms are sorted by their bytes, so a term is found by binary
+ *       search without decoding the dictionary.</li>
+ *   <li>{@code <name>.pst} holds the postings of each term: for every document that contains it,
+ *       in ascending order, the difference from the previous document number and the term's
+ *       frequency in the document, both as variable-length ints.</li>
+ * </ul>
+ *
+ * <p>Each file starts with its own magic number, and all fixed-width numbers are big-endian.
+ * Reads use absolute positions only, so one segment can be searched by many threads at once.
+ */
+final class Segment {
+
+  static final String DOCS = ".doc";
+  static final String TERMS = ".tdx";
+  static final String POSTINGS = ".pst";
+
+  private static final int DOCS_MAGIC = 0x55495844;  // "UIXD"
+  private static final int TERMS_MAGIC = 0x55495854;  // "UIXT"
+  private static final int POSTINGS_MAGIC = 0x55495850;  // "UIXP"
+
+  private final String name;
+  private final MappedByteBuffer docs;
+  private final MappedByteBuffer terms;
+  private final MappedByteBuffer postings;
+  private final int docCount;
+  private final int baseDoc;
+  private final int termCount;
+
+  private Segment(
+      String name, MappedByteBuffer docs, MappedByteBuffer terms, MappedByteBuffer postings)
+      throws IOException {
+    this.name = name;
+    this.docs = docs;
+    this.terms = terms;
+    this.postings = postings;
+    checkMagic(docs, DOCS_MAGIC);
+    checkMagic(terms, TERMS_MAGIC);
+    checkMagic(postings, POSTINGS_MAGIC);
+    this.docCount = docs.getInt(4);
+    this.baseDoc = docs.getInt(8);
+    this.termCount = terms.getInt(4);
+  }
+
+  /**
+   * Maps the files of the segment with the given name in the given directory.
+   */
+  static Segment open(Path directory, String name) throws IOException {
+    return new Segment(
+        name,
+        map(directory.resolve(name + DOCS)),
+        map(directory.resolve(name + TERMS)),
+        map(directory.resolve(name + POSTINGS)));
+  }
+
+  /**
+   * Writes a segment with the given name to the given directory.
+   *
+   * @param baseDoc  the global id of the first document.
+   * @param urls     the URLs of the documents, in order of id.
+   * @param postings for each term, pairs of the number of a document that contains it and the
+   *                 term's frequency in that document, in ascending order of document number.
+   */
+  static void write(
+      Path directory, String name, int baseDoc, List<String> urls, Map<String, int[]> postings)
+      throws IOException {
+    try (DataOutputStream out = create(directory.resolve(name + DOCS))) {
+      byte[][] encoded = new byte[urls.size()][];
+      out.writeInt(DOCS_MAGIC);
+      out.writeInt(urls.size());
+      out.writeInt(baseDoc);
+      int offset = 0;
+      for (int i = 0; i < encoded.length; i++) {
+        encoded[i] = urls.get(i).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(offset);
+        offset += encoded[i].length;
+      }
+      for (byte[] url : encoded) {
+        out.write(url);
+      }
+    }
+
+    List<Map.Entry<byte[], int[]>> sorted = postings.entrySet().stream()
+        .map(e -> Map.entry(e.getKey().getBytes(StandardCharsets.UTF_8), e.getValue()))
+        .sorted((a, b) -> Arrays.compareUnsigned(a.getKey(), b.getKey()))
+        .collect(Collectors.toList());
+    int[] postingsOffsets = new int[sorted.size()];
+    try (DataOutputStream out = create(directory.resolve(name + POSTINGS))) {
+      out.writeInt(POSTINGS_MAGIC);
+      for (int i = 0; i < sorted.size(); i++) {
+        postingsOffsets[i] = out.size();
+        int[] list = sorted.get(i).getValue();
+        int previous = 0;
+        for (int j = 0; j < list.length; j += 2) {
+          writeVarInt(out, list[j] - previous);
+          writeVarInt(out, list[j + 1]);
+          previous = list[j];
+        }
+      }
+    }
+    try (DataOutputStream out = create(directory.resolve(name + TERMS))) {
+      out.writeInt(TERMS_MAGIC);
+      out.writeInt(sorted.size());
+      int offset = 0;
+      for (int i = 0; i < sorted.size(); i++) {
+        out.writeInt(offset);
+        out.writeInt(sorted.get(i).getValue().length / 2);
+        out.writeInt(postingsOffsets[i]);
+        offset += sorted.get(i).getKey().length;
+      }
+      for (Map.Entry<byte[], int[]> entry : sorted) {
+        out.write(entry.getKey());
+      }
+    }
+  }
+
+  /**
+   * Returns the name of the segment, which its files start with.
+   */
+  String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the number of documents in the segment.
+   */
+  int getDocCount() {
+    return docCount;
+  }
+
+  /**
+   * Returns the global id of the first document in the segment.
+   */
+  int getBaseDoc() {
+    return baseDoc;
+  }
+
+  /**
+   * Returns the URL of the document with the given number in this segment.
+   */
+  String urlOf(int doc) {
+    int table = 12;
+    int blob = table + 4 * docCount;
+    int start = blob + docs.getInt(table + 4 * doc);
+    int end = doc + 1 < docCount ? blob + docs.getInt(table + 4 * (doc + 1)) : docs.limit();
+    byte[] bytes = new byte[end - start];
+    docs.get(start, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Returns the position of the given term in the dictionary, or -1 if no document in this
+   * segment contains it.
+   */
+  int find(byte[] term) {
+    int low = 0;
+    int high = termCount - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int comparison = compareTerm(middle, term);
+      if (comparison < 0) {
+        low = middle + 1;
+      } else if (comparison > 0) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the number of documents in this segment that contain the term at the given position.
+   */
+  int documentFrequency(int term) {
+    return terms.getInt(8 + 12 * term + 4);
+  }
+
+  /**
+   * Passes each document that contains the term at the given position to the given consumer,
+   * together with the term's frequency in it.
+   */
+  void forEachPosting(int term, PostingConsumer consumer) {
+    int position = terms.getInt(8 + 12 * term + 8);
+    int count = documentFrequency(term);
+    int doc = 0;
+    for (int i = 0; i < count; i++) {
+      int delta = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = postings.get(position++);
+        delta |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          break;
+        }
+      }
+      int frequency = 0;
+      for (int shift = 0; ; shift += 7) {
+        byte b = postings.get(position++);
+        frequency |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          break;
+        }
+      }
+      doc += delta;
+      consumer.accept(doc, frequency);
+    }
+  }
+
+  /**
+   * Receives the postings of one term.
+   */
+  @FunctionalInterface
+  interface PostingConsumer {
+    void accept(int doc, int frequency);
+  }
+
+  /**
+   * Compares the term at the given position with the given bytes, as unsigned bytes.
+   */
+  private int compareTerm(int index, byte[] term) {
+    int blob = 8 + 12 * termCount;
+    int start = blob + terms.getInt(8 + 12 * index);
+    int end = index + 1 < termCount ? blob + terms.getInt(8 + 12 * (index + 1)) : terms.limit();
+    int length = Math.min(end - start, term.length);
+    for (int i = 0; i < length; i++) {
+      int comparison = Byte.compareUnsigned(terms.get(start + i), term[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return Integer.compare(end - start, term.length);
+  }
+
+  private static void checkMagic(MappedByteBuffer buffer, int magic) throws IOException {
+    if (buffer.limit() < 4 || buffer.getInt(0) != magic) {
+      throw new IOException("Not an index segment file");
+    }
+  }
+
+  private static MappedByteBuffer map(Path path) throws IOException {
+    // The mapping stays valid after the channel is closed.
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+  }
+
+  private static DataOutputStream create(Path path) throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024));
+  }
+
+  private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+}
@@ -0,0 +1,58 @@
+package com.udacity.webcrawler.index;
+
+import com.udacity.webcrawler.analysis.Analyzer;
+import com.udacity.webcrawler.analysis.Words;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Turns words into index terms. Documents and queries go through the same rules, so that a query
+ * finds every form of a word that was indexed.
+ */
+final class Terms {
+
+  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+  /**
+   * Returns the term for the given word: the word in lower case, without characters other than
+   * letters. Words that are left blank are not indexed.
+   */
+  static String normalize(String word) {
+    return Words.normalize(word);
+  }
+
+  /**
+   * Returns the distinct terms of the given query, in the order they first appear.
+   */
+  static Set<String> ofQuery(String query) {
+    Set<String> terms = new LinkedHashSet<>();
+    for (String word : WHITESPACE.split(query)) {
+      String term = normalize(word);
+      if (!term.isEmpty()) {
+        terms.add(term);
+      }
+    }
+    return terms;
+  }
+
+  /**
+   * Returns the distinct terms of the given query, as split into words by the given analyzer, in
+   * the order they first appear.
+   */
+  static Set<String> ofQuery(String query, Analyzer analyzer) {
+    Set<String> terms = new LinkedHashSet<>();
+    analyzer.analyze(query, word -> {
+      String term = normalize(word.toString());
+      if (!term.isEmpty()) {
+        terms.add(term);
+      }
+    });
+    return terms;
+  }
+
+  private Terms() {
+    // This class cannot be instantiated
+  }
+}
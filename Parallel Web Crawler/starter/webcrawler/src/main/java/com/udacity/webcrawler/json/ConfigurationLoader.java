@@ -2,6 +2,7 @@ package com.udacity.webcrawler.json;
 
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 
 import java.io.BufferedReader;
 import java.io.IOException;
@@ -15,6 +16,12 @@ import java.util.Objects;
  */
 public final class ConfigurationLoader {
 
+  // Building an ObjectMapper is expensive, so every load shares this preconfigured reader.
+  private static final ObjectReader CONFIGURATION_READER =
+      new ObjectMapper()
+          .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE)  // Leave closing the reader to the caller
+          .readerFor(CrawlerConfiguration.Builder.class);
+
   private final Path path;
 
   /**
@@ -50,15 +57,10 @@ public final class ConfigurationLoader {
   public static CrawlerConfiguration read(Reader reader) {
     // Ensure the reader is not null to avoid null pointer exceptions.
     Objects.requireNonNull(reader);
-    
-    // Create Jackson ObjectMapper for JSON deserialization.
-    ObjectMapper objectMapper = new ObjectMapper();
-    // Prevent the ObjectMapper from closing the reader automatically.
-    objectMapper.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
 
     try {
       // Deserialize the JSON string from the reader into a CrawlerConfiguration.Builder object.
-      CrawlerConfiguration.Builder builder = objectMapper.readValue(reader, CrawlerConfiguration.Builder.class);
+      CrawlerConfiguration.Builder builder = CONFIGURATION_READER.readValue(reader);
       // Build the final CrawlerConfiguration object from the builder.
       return builder.build();
     } catch (IOException e) {
@@ -1,9 +1,12 @@
 package com.udacity.webcrawler.json;
 
+import com.udacity.webcrawler.graph.LinkGraph;
+
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 
 /**
  * Data class representing the final result of a web crawl.
@@ -12,13 +15,31 @@ public final class CrawlResult {
 
   private final Map<String, Integer> wordCounts;
   private final int urlsVisited;
+  private final Map<String, Integer> phraseCounts;
+  private final long wordCountErrorBound;
+  private final CrawlStats stats;
+  private final Map<String, Double> topPages;
+  private final Optional<LinkGraph> linkGraph;
 
   /**
-   * Constructs a {@link CrawlResult} with the given word counts and visited URL count.
+   * Constructs a {@link CrawlResult} with the given word counts, visited URL count, phrase counts,
+   * word count error bound, statistics, top pages and link graph.
    */
-  private CrawlResult(Map<String, Integer> wordCounts, int urlsVisited) {
+  private CrawlResult(
+      Map<String, Integer> wordCounts,
+      int urlsVisited,
+      Map<String, Integer> phraseCounts,
+      long wordCountErrorBound,
+      CrawlStats stats,
+      Map<String, Double> topPages,
+      Optional<LinkGraph> linkGraph) {
     this.wordCounts = wordCounts;
     this.urlsVisited = urlsVisited;
+    this.phraseCounts = phraseCounts;
+    this.wordCountErrorBound = wordCountErrorBound;
+    this.stats = stats;
+    this.topPages = topPages;
+    this.linkGraph = linkGraph;
   }
 
   /**
@@ -52,12 +73,69 @@ public final class CrawlResult {
     return urlsVisited;
   }
 
+  /**
+   * Returns an unmodifiable {@link Map} of the most frequent phrases encountered during the web
+   * crawl, ordered like {@link #getWordCounts()}.
+   *
+   * <p>Phrases are only counted if the {@code "phraseLength"} option in the crawler configuration
+   * is set; otherwise, the map is empty. The counts are estimates: they are never too low, and
+   * may be slightly too high on very large crawls. The size of the map is at most the
+   * {@code "popularPhraseCount"} option.
+   */
+  public Map<String, Integer> getPhraseCounts() {
+    return phraseCounts;
+  }
+
+  /**
+   * Returns how much higher than the true count each of the {@link #getWordCounts() word counts}
+   * may be.
+   *
+   * <p>This is zero, unless the {@code "wordCountMode"} option in the crawler configuration is
+   * {@code "approximate"}. The bound holds with high probability, not with certainty.
+   */
+  public long getWordCountErrorBound() {
+    return wordCountErrorBound;
+  }
+
+  /**
+   * Returns statistics about the crawl, such as the number of pages crawled per host. These are
+   * {@link CrawlStats#isEmpty() empty} if the crawler does not collect them.
+   */
+  public CrawlStats getStats() {
+    return stats;
+  }
+
+  /**
+   * Returns an unmodifiable {@link Map} of the pages with the highest link-based rank, from the
+   * highest rank to the lowest, with their ranks.
+   *
+   * <p>Pages are only ranked if the {@code "topPageCount"} option in the crawler configuration is
+   * set; otherwise, the map is empty. Ranked pages include pages that were linked to but not
+   * crawled. The {@code "rankingAlgorithm"} option decides what the ranks mean.
+   */
+  public Map<String, Double> getTopPages() {
+    return topPages;
+  }
+
+  /**
+   * Returns the link graph of this crawl, if the crawler was configured to keep one. It is not
+   * part of the JSON result; it is written to its own file.
+   */
+  public Optional<LinkGraph> getLinkGraph() {
+    return linkGraph;
+  }
+
   /**
    * A package-private builder class for constructing web crawl {@link CrawlResult}s.
    */
   public static final class Builder {
     private Map<String, Integer> wordFrequencies = new HashMap<>();
     private int pageCount;
+    private Map<String, Integer> phraseCounts = new HashMap<>();
+    private long wordCountErrorBound;
+    private CrawlStats stats = CrawlStats.empty();
+    private Map<String, Double> topPages = new HashMap<>();
+    private LinkGraph linkGraph;
 
     /**
      * Sets the word counts. See {@link #getWordCounts()}
@@ -75,11 +153,58 @@ public final class CrawlResult {
       return this;
     }
 
+    /**
+     * Sets the phrase counts. See {@link #getPhraseCounts()}.
+     */
+    public Builder setPhraseCounts(Map<String, Integer> phraseCounts) {
+      this.phraseCounts = Objects.requireNonNull(phraseCounts);
+      return this;
+    }
+
+    /**
+     * Sets the word count error bound. See {@link #getWordCountErrorBound()}.
+     */
+    public Builder setWordCountErrorBound(long wordCountErrorBound) {
+      this.wordCountErrorBound = wordCountErrorBound;
+      return this;
+    }
+
+    /**
+     * Sets the crawl statistics. See {@link #getStats()}.
+     */
+    public Builder setStats(CrawlStats stats) {
+      this.stats = Objects.requireNonNull(stats);
+      return this;
+    }
+
+    /**
+     * Sets the top pages. See {@link #getTopPages()}.
+     */
+    public Builder setTopPages(Map<String, Double> topPages) {
+      this.topPages = Objects.requireNonNull(topPages);
+      return this;
+    }
+
+    /**
+     * Sets the link graph, or {@code null} if none was kept. See {@link #getLinkGraph()}.
+     */
+    public Builder setLinkGraph(LinkGraph linkGraph) {
+      this.linkGraph = linkGraph;
+      return this;
+    }
+
     /**
      * Constructs a {@link CrawlResult} from this builder.
      */
     public CrawlResult build() {
-      return new CrawlResult(Collections.unmodifiableMap(wordFrequencies), pageCount);
+      return new CrawlResult(
+          Collections.unmodifiableMap(wordFrequencies),
+          pageCount,
+          Collections.unmodifiableMap(phraseCounts),
+          wordCountErrorBound,
+          stats,
+          Collections.unmodifiableMap(topPages),
+          Optional.ofNullable(linkGraph));
     }
   }
 }
\ No newline at end of file
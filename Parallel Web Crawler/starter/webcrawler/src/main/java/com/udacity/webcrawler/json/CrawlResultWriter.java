@@ -1,32 +1,101 @@
 package com.udacity.webcrawler.json;
 
 import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility class to write a {@link CrawlResult} to file.
+ *
+ * <p>The result is streamed out entry by entry with a {@link JsonGenerator}, so that writing a
+ * result with a very large vocabulary does not build a second copy of it in memory.
  */
 public final class CrawlResultWriter {
+
+  /**
+   * Shared by all writers, since {@link ObjectWriter}s are immutable, thread-safe, and expensive
+   * to create.
+   */
+  private static final ObjectWriter OBJECT_WRITER =
+      new ObjectMapper().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writer();
+
+  private static final SerializedString NEWLINE = new SerializedString("\n");
+
+  /**
+   * The output formats supported by {@link CrawlResultWriter}.
+   */
+  public enum Format {
+    /**
+     * A single JSON object: {@code {"wordCounts": {"word": count, ...}, "urlsVisited": n}}. If the
+     * result has phrase counts, they follow in a {@code "phraseCounts"} object of the same shape.
+     * Approximate word counts add a {@code "wordCountErrorBound"} field. Top pages, if any, follow
+     * in a {@code "topPages"} object of URLs and ranks, and crawl statistics, if any, are written
+     * to a {@code "stats"} object at the end.
+     */
+    JSON,
+
+    /**
+     * Newline-delimited JSON: a first line {@code {"urlsVisited": n}}, followed by one
+     * {@code {"word": "...", "count": n}} line per word, in order. Phrase counts, if any, follow
+     * as {@code {"phrase": "...", "count": n}} lines, and top pages as
+     * {@code {"page": "...", "rank": r}} lines. Approximate word counts add a
+     * {@code "wordCountErrorBound"} field to the first line. Crawl statistics, if any, are written
+     * as a second {@code {"stats": {...}}} line.
+     */
+    NDJSON;
+
+    /**
+     * Returns the format with the given name, ignoring case.
+     *
+     * @throws IllegalArgumentException if there is no format with that name.
+     */
+    public static Format forName(String name) {
+      try {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException e) {
+        throw new IllegalArgumentException("Unknown result format: " + name, e);
+      }
+    }
+  }
+
   private final CrawlResult result;
+  private final Format format;
 
   /**
-   * Creates a new {@link CrawlResultWriter} that will write the given {@link CrawlResult}.
+   * Creates a new {@link CrawlResultWriter} that will write the given {@link CrawlResult} as
+   * {@link Format#JSON JSON}.
    */
   public CrawlResultWriter(CrawlResult result) {
+    this(result, Format.JSON);
+  }
+
+  /**
+   * Creates a new {@link CrawlResultWriter} that will write the given {@link CrawlResult} in the
+   * given {@link Format}.
+   */
+  public CrawlResultWriter(CrawlResult result, Format format) {
     this.result = Objects.requireNonNull(result);
+    this.format = Objects.requireNonNull(format);
   }
 
   /**
-   * Formats the {@link CrawlResult} as JSON and writes it to the given {@link Path}.
+   * Formats the {@link CrawlResult} and writes it to the given {@link Path}.
    *
-   * <p>If a file already exists at the path, the existing file should not be deleted; new data
-   * should be appended to it.
+   * <p>If the path ends with {@code ".gz"}, the output is gzip-compressed.
    *
    * @param path the file path where the crawl result data should be written.
    * @throws RuntimeException if an I/O error occurs while writing.
@@ -34,8 +103,8 @@ public final class CrawlResultWriter {
   public void write(Path path) {
     Objects.requireNonNull(path);
 
-    // Open a BufferedWriter and call the write method.
-    try (Writer writer = Files.newBufferedWriter(path)) {
+    try (OutputStream out = open(path);
+         Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
       write(writer);
     } catch (IOException e) {
       throw new RuntimeException("Error writing crawl result to file: " + path, e);
@@ -43,7 +112,9 @@ public final class CrawlResultWriter {
   }
 
   /**
-   * Formats the {@link CrawlResult} as JSON and writes it to the given {@link Writer}.
+   * Formats the {@link CrawlResult} and writes it to the given {@link Writer}.
+   *
+   * <p>The writer is flushed, but not closed.
    *
    * @param writer the destination where the crawl result data should be written.
    * @throws RuntimeException if an I/O error occurs during serialization.
@@ -51,13 +122,125 @@ public final class CrawlResultWriter {
   public void write(Writer writer) {
     Objects.requireNonNull(writer);
 
-    ObjectMapper objectMapper = new ObjectMapper(); // Create an ObjectMapper instance.
-    objectMapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET); // Prevents the writer from closing.
+    try (JsonGenerator generator = OBJECT_WRITER.createGenerator(writer)) {
+      if (format == Format.NDJSON) {
+        writeNdjson(generator);
+      } else {
+        writeJson(generator);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException("Error writing crawl result to writer", e);
+    }
+  }
+
+  private void writeJson(JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeObjectFieldStart("wordCounts");
+    for (Map.Entry<String, Integer> e : result.getWordCounts().entrySet()) {
+      generator.writeNumberField(e.getKey(), e.getValue());
+    }
+    generator.writeEndObject();
+    generator.writeNumberField("urlsVisited", result.getUrlsVisited());
+    writeErrorBound(generator);
+    if (!result.getPhraseCounts().isEmpty()) {
+      generator.writeObjectFieldStart("phraseCounts");
+      for (Map.Entry<String, Integer> e : result.getPhraseCounts().entrySet()) {
+        generator.writeNumberField(e.getKey(), e.getValue());
+      }
+      generator.writeEndObject();
+    }
+    if (!result.getTopPages().isEmpty()) {
+      generator.writeObjectFieldStart("topPages");
+      for (Map.Entry<String, Double> e : result.getTopPages().entrySet()) {
+        generator.writeNumberField(e.getKey(), e.getValue());
+      }
+      generator.writeEndObject();
+    }
+    writeStats(generator);
+    generator.writeEndObject();
+  }
+
+  private void writeNdjson(JsonGenerator generator) throws IOException {
+    // Each root-level object goes on its own line.
+    generator.setRootValueSeparator(NEWLINE);
+    generator.writeStartObject();
+    generator.writeNumberField("urlsVisited", result.getUrlsVisited());
+    writeErrorBound(generator);
+    generator.writeEndObject();
+    if (!result.getStats().isEmpty()) {
+      generator.writeStartObject();
+      writeStats(generator);
+      generator.writeEndObject();
+    }
+    for (Map.Entry<String, Integer> e : result.getWordCounts().entrySet()) {
+      generator.writeStartObject();
+      generator.writeStringField("word", e.getKey());
+      generator.writeNumberField("count", e.getValue());
+      generator.writeEndObject();
+    }
+    for (Map.Entry<String, Integer> e : result.getPhraseCounts().entrySet()) {
+      generator.writeStartObject();
+      generator.writeStringField("phrase", e.getKey());
+      generator.writeNumberField("count", e.getValue());
+      generator.writeEndObject();
+    }
+    for (Map.Entry<String, Double> e : result.getTopPages().entrySet()) {
+      generator.writeStartObject();
+      generator.writeStringField("page", e.getKey());
+      generator.writeNumberField("rank", e.getValue());
+      generator.writeEndObject();
+    }
+    generator.writeRaw('\n');
+  }
+
+  private void writeErrorBound(JsonGenerator generator) throws IOException {
+    if (result.getWordCountErrorBound() > 0) {
+      generator.writeNumberField("wordCountErrorBound", result.getWordCountErrorBound());
+    }
+  }
 
+  /**
+   * Writes the crawl statistics as a {@code "stats"} field, unless there are none.
+   */
+  private void writeStats(JsonGenerator generator) throws IOException {
+    CrawlStats stats = result.getStats();
+    if (stats.isEmpty()) {
+      return;
+    }
+    generator.writeObjectFieldStart("stats");
+    writeCounts(generator, "pagesByDepth", stats.getPagesByDepth());
+    writeCounts(generator, "pagesByHost", stats.getPagesByHost());
+    generator.writeNumberField("bytesFetched", stats.getBytesFetched());
+    writeCounts(generator, "statusCodes", stats.getStatusCodes());
+    generator.writeNumberField("parseFailures", stats.getParseFailures());
+    writeCounts(generator, "skipped", stats.getSkipped());
+    generator.writeArrayFieldStart("pagesPerSecond");
+    for (long pages : stats.getPagesPerSecond()) {
+      generator.writeNumber(pages);
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private static void writeCounts(JsonGenerator generator, String name, Map<?, Long> counts)
+      throws IOException {
+    generator.writeObjectFieldStart(name);
+    for (Map.Entry<?, Long> e : counts.entrySet()) {
+      generator.writeNumberField(String.valueOf(e.getKey()), e.getValue());
+    }
+    generator.writeEndObject();
+  }
+
+  private static OutputStream open(Path path) throws IOException {
+    OutputStream out = Files.newOutputStream(path);
+    if (!path.getFileName().toString().endsWith(".gz")) {
+      return out;
+    }
     try {
-      objectMapper.writeValue(writer, result); // Serialize the CrawlResult object to the writer.
+      return new GZIPOutputStream(out, 64 * 1024);
     } catch (IOException e) {
-      throw new RuntimeException("Error writing crawl result to writer", e);
+      out.close();
+      throw e;
     }
   }
 }
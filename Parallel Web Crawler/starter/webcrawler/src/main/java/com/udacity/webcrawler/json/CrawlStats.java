@@ -0,0 +1,202 @@
+package com.udacity.webcrawler.json;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Data class with statistics about how a web crawl went, to help explain why it found what it found
+ * without running it again.
+ *
+ * <p>All counts are of page fetches, including retries. Maps are unmodifiable and keep their keys
+ * in the order described by their getters.
+ */
+public final class CrawlStats {
+
+  private static final CrawlStats EMPTY = new Builder().build();
+
+  private final Map<Integer, Long> pagesByDepth;
+  private final Map<String, Long> pagesByHost;
+  private final long bytesFetched;
+  private final Map<Integer, Long> statusCodes;
+  private final long parseFailures;
+  private final Map<String, Long> skipped;
+  private final List<Long> pagesPerSecond;
+
+  private CrawlStats(
+      Map<Integer, Long> pagesByDepth,
+      Map<String, Long> pagesByHost,
+      long bytesFetched,
+      Map<Integer, Long> statusCodes,
+      long parseFailures,
+      Map<String, Long> skipped,
+      List<Long> pagesPerSecond) {
+    this.pagesByDepth = pagesByDepth;
+    this.pagesByHost = pagesByHost;
+    this.bytesFetched = bytesFetched;
+    this.statusCodes = statusCodes;
+    this.parseFailures = parseFailures;
+    this.skipped = skipped;
+    this.pagesPerSecond = pagesPerSecond;
+  }
+
+  /**
+   * Returns statistics of a crawl that collected none.
+   */
+  public static CrawlStats empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns whether no statistics were collected.
+   */
+  public boolean isEmpty() {
+    return pagesByDepth.isEmpty()
+        && pagesByHost.isEmpty()
+        && bytesFetched == 0
+        && statusCodes.isEmpty()
+        && parseFailures == 0
+        && skipped.isEmpty()
+        && pagesPerSecond.isEmpty();
+  }
+
+  /**
+   * Returns the number of pages crawled at each depth, in order of depth. The start pages are at
+   * depth zero, the pages they link to at depth one, and so on.
+   */
+  public Map<Integer, Long> getPagesByDepth() {
+    return pagesByDepth;
+  }
+
+  /**
+   * Returns the number of pages crawled from each host, from the most pages to the fewest. Local
+   * files have the empty string as their host.
+   */
+  public Map<String, Long> getPagesByHost() {
+    return pagesByHost;
+  }
+
+  /**
+   * Returns the total size of the pages crawled, in bytes, after decompression.
+   */
+  public long getBytesFetched() {
+    return bytesFetched;
+  }
+
+  /**
+   * Returns the number of responses with each HTTP status code, in order of status code. Pages
+   * that were not downloaded over HTTP are not counted.
+   */
+  public Map<Integer, Long> getStatusCodes() {
+    return statusCodes;
+  }
+
+  /**
+   * Returns the number of pages that could not be downloaded or parsed for a reason other than an
+   * HTTP error status, such as a timeout or an unsupported content type.
+   */
+  public long getParseFailures() {
+    return parseFailures;
+  }
+
+  /**
+   * Returns the number of times a link was not followed or a queued page was not crawled, by the
+   * reason it was skipped, in alphabetical order of reason. A page linked from several pages may
+   * be counted more than once.
+   */
+  public Map<String, Long> getSkipped() {
+    return skipped;
+  }
+
+  /**
+   * Returns the number of pages crawled in each second of the crawl, starting with the first.
+   */
+  public List<Long> getPagesPerSecond() {
+    return pagesPerSecond;
+  }
+
+  /**
+   * A builder class to create {@link CrawlStats} instances.
+   */
+  public static final class Builder {
+    private Map<Integer, Long> pagesByDepth = Map.of();
+    private Map<String, Long> pagesByHost = Map.of();
+    private long bytesFetched;
+    private Map<Integer, Long> statusCodes = Map.of();
+    private long parseFailures;
+    private Map<String, Long> skipped = Map.of();
+    private List<Long> pagesPerSecond = List.of();
+
+    /**
+     * Sets the pages per depth. See {@link #getPagesByDepth()}.
+     */
+    public Builder setPagesByDepth(Map<Integer, Long> pagesByDepth) {
+      this.pagesByDepth = Objects.requireNonNull(pagesByDepth);
+      return this;
+    }
+
+    /**
+     * Sets the pages per host. See {@link #getPagesByHost()}.
+     */
+    public Builder setPagesByHost(Map<String, Long> pagesByHost) {
+      this.pagesByHost = Objects.requireNonNull(pagesByHost);
+      return this;
+    }
+
+    /**
+     * Sets the number of bytes fetched. See {@link #getBytesFetched()}.
+     */
+    public Builder setBytesFetched(long bytesFetched) {
+      this.bytesFetched = bytesFetched;
+      return this;
+    }
+
+    /**
+     * Sets the responses per status code. See {@link #getStatusCodes()}.
+     */
+    public Builder setStatusCodes(Map<Integer, Long> statusCodes) {
+      this.statusCodes = Objects.requireNonNull(statusCodes);
+      return this;
+    }
+
+    /**
+     * Sets the number of parse failures. See {@link #getParseFailures()}.
+     */
+    public Builder setParseFailures(long parseFailures) {
+      this.parseFailures = parseFailures;
+      return this;
+    }
+
+    /**
+     * Sets the skipped pages per reason. See {@link #getSkipped()}.
+     */
+    public Builder setSkipped(Map<String, Long> skipped) {
+      this.skipped = Objects.requireNonNull(skipped);
+      return this;
+    }
+
+    /**
+     * Sets the pages crawled per second. See {@link #getPagesPerSecond()}.
+     */
+    public Builder setPagesPerSecond(List<Long> pagesPerSecond) {
+      this.pagesPerSecond = Objects.requireNonNull(pagesPerSecond);
+      return this;
+    }
+
+    /**
+     * Constructs a {@link CrawlStats} from this builder.
+     */
+    public CrawlStats build() {
+      return new CrawlStats(
+          Collections.unmodifiableMap(new LinkedHashMap<>(pagesByDepth)),
+          Collections.unmodifiableMap(new LinkedHashMap<>(pagesByHost)),
+          bytesFetched,
+          Collections.unmodifiableMap(new LinkedHashMap<>(statusCodes)),
+          parseFailures,
+          Collections.unmodifiableMap(new LinkedHashMap<>(skipped)),
+          List.copyOf(pagesPerSecond));
+    }
+  }
+}
@@ -2,6 +2,11 @@ package com.udacity.webcrawler.json;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.udacity.webcrawler.analysis.Analyzer;
+import com.udacity.webcrawler.graph.LinkGraphWriter;
+import com.udacity.webcrawler.graph.LinkRanking;
+import com.udacity.webcrawler.index.IndexWriter;
+import com.udacity.webcrawler.log.Level;
 
 import java.time.Duration;
 import java.util.LinkedHashSet;
@@ -27,6 +32,36 @@ public final class CrawlerConfiguration {
   private final int popularWordCount;
   private final String profileOutputPath;
   private final String resultPath;
+  private final String resultFormat;
+  private final List<String> warcInputs;
+  private final String warcOutputDirectory;
+  private final long warcMaxFileBytes;
+  private final int phraseLength;
+  private final int popularPhraseCount;
+  private final String wordCountMode;
+  private final int approximateWordCounters;
+  private final boolean skipNearDuplicates;
+  private final int nearDuplicateDistance;
+  private final boolean respectRobotsTxt;
+  private final String userAgent;
+  private final List<String> sitemaps;
+  private final int maxSitemapUrls;
+  private final boolean adaptiveConcurrency;
+  private final int maxConcurrentFetches;
+  private final int maxRetries;
+  private final int hostFailureThreshold;
+  private final String logLevel;
+  private final String logFile;
+  private final String linkGraphPath;
+  private final String linkGraphFormat;
+  private final int topPageCount;
+  private final String rankingAlgorithm;
+  private final String indexDirectory;
+  private final int indexSegmentPostings;
+  private final String recrawlStatePath;
+  private final double recrawlChangeThreshold;
+  private final int recrawlMaxAgeDays;
+  private final String analyzer;
 
   private CrawlerConfiguration(
       List<String> startPages,
@@ -38,7 +73,37 @@ public final class CrawlerConfiguration {
       Duration timeout,
       int popularWordCount,
       String profileOutputPath,
-      String resultPath) {
+      String resultPath,
+      String resultFormat,
+      List<String> warcInputs,
+      String warcOutputDirectory,
+      long warcMaxFileBytes,
+      int phraseLength,
+      int popularPhraseCount,
+      String wordCountMode,
+      int approximateWordCounters,
+      boolean skipNearDuplicates,
+      int nearDuplicateDistance,
+      boolean respectRobotsTxt,
+      String userAgent,
+      List<String> sitemaps,
+      int maxSitemapUrls,
+      boolean adaptiveConcurrency,
+      int maxConcurrentFetches,
+      int maxRetries,
+      int hostFailureThreshold,
+      String logLevel,
+      String logFile,
+      String linkGraphPath,
+      String linkGraphFormat,
+      int topPageCount,
+      String rankingAlgorithm,
+      String indexDirectory,
+      int indexSegmentPostings,
+      String recrawlStatePath,
+      double recrawlChangeThreshold,
+      int recrawlMaxAgeDays,
+      String analyzer) {
     this.startPages = startPages;
     this.ignoredUrls = ignoredUrls;
     this.ignoredWords = ignoredWords;
@@ -49,6 +114,36 @@ public final class CrawlerConfiguration {
     this.popularWordCount = popularWordCount;
     this.profileOutputPath = profileOutputPath;
     this.resultPath = resultPath;
+    this.resultFormat = resultFormat;
+    this.warcInputs = warcInputs;
+    this.warcOutputDirectory = warcOutputDirectory;
+    this.warcMaxFileBytes = warcMaxFileBytes;
+    this.phraseLength = phraseLength;
+    this.popularPhraseCount = popularPhraseCount;
+    this.wordCountMode = wordCountMode;
+    this.approximateWordCounters = approximateWordCounters;
+    this.skipNearDuplicates = skipNearDuplicates;
+    this.nearDuplicateDistance = nearDuplicateDistance;
+    this.respectRobotsTxt = respectRobotsTxt;
+    this.userAgent = userAgent;
+    this.sitemaps = sitemaps;
+    this.maxSitemapUrls = maxSitemapUrls;
+    this.adaptiveConcurrency = adaptiveConcurrency;
+    this.maxConcurrentFetches = maxConcurrentFetches;
+    this.maxRetries = maxRetries;
+    this.hostFailureThreshold = hostFailureThreshold;
+    this.logLevel = logLevel;
+    this.logFile = logFile;
+    this.linkGraphPath = linkGraphPath;
+    this.linkGraphFormat = linkGraphFormat;
+    this.topPageCount = topPageCount;
+    this.rankingAlgorithm = rankingAlgorithm;
+    this.indexDirectory = indexDirectory;
+    this.indexSegmentPostings = indexSegmentPostings;
+    this.recrawlStatePath = recrawlStatePath;
+    this.recrawlChangeThreshold = recrawlChangeThreshold;
+    this.recrawlMaxAgeDays = recrawlMaxAgeDays;
+    this.analyzer = analyzer;
   }
 
   /**
@@ -174,6 +269,261 @@ public final class CrawlerConfiguration {
     return resultPath;
   }
 
+  /**
+   * The format of the crawl result output: {@code "json"} (the default) or {@code "ndjson"}.
+   *
+   * <p>See {@link com.udacity.webcrawler.json.CrawlResultWriter.Format}.
+   */
+  public String getResultFormat() {
+    return resultFormat;
+  }
+
+  /**
+   * WARC archives that pages are read from instead of being fetched. This setting is optional.
+   *
+   * <p>Each entry is the path of a {@code .warc} or {@code .warc.gz} file, or of a CDX index
+   * written by {@link com.udacity.webcrawler.warc.WarcWriter}. A page whose URL is in one of the
+   * archives is parsed from its archived copy. Other pages are fetched as usual.
+   */
+  public List<String> getWarcInputs() {
+    return warcInputs;
+  }
+
+  /**
+   * Directory where fetched pages are archived as WARC files. This setting is optional.
+   *
+   * <p>If set, every remote page the crawler downloads is written to rotating {@code .warc.gz}
+   * files in this directory, together with a CDX index of their contents. If empty, pages are not
+   * archived.
+   */
+  public String getWarcOutputDirectory() {
+    return warcOutputDirectory;
+  }
+
+  /**
+   * The size, in bytes, after which the crawler starts a new WARC output file. Defaults to 1 GiB.
+   *
+   * <p>See {@link #getWarcOutputDirectory()}.
+   */
+  public long getWarcMaxFileBytes() {
+    return warcMaxFileBytes;
+  }
+
+  /**
+   * Returns the number of words in the phrases the crawler counts, such as 2 for bigrams or 3 for
+   * trigrams. Zero means phrases are not counted.
+   */
+  public int getPhraseLength() {
+    return phraseLength;
+  }
+
+  /**
+   * Returns the number of popular phrases to record in the output, if phrases are counted.
+   */
+  public int getPopularPhraseCount() {
+    return popularPhraseCount;
+  }
+
+  /**
+   * Returns how word counts are added up: {@code "exact"}, the default, counts every word exactly;
+   * {@code "approximate"} uses a fixed amount of memory however large the crawl, at the cost of
+   * counts that may be slightly too high.
+   */
+  public String getWordCountMode() {
+    return wordCountMode;
+  }
+
+  /**
+   * Returns the number of words the {@code "approximate"} word count mode keeps counters for. It
+   * should be a good deal larger than the number of popular words.
+   */
+  public int getApproximateWordCounters() {
+    return approximateWordCounters;
+  }
+
+  /**
+   * Returns whether pages that are near-duplicates of pages crawled earlier are skipped: their
+   * words are not counted and their links are not followed.
+   */
+  public boolean getSkipNearDuplicates() {
+    return skipNearDuplicates;
+  }
+
+  /**
+   * Returns the largest number of bits in which the fingerprints of two pages may differ for the
+   * pages to count as near-duplicates. Zero only matches pages with the same words.
+   */
+  public int getNearDuplicateDistance() {
+    return nearDuplicateDistance;
+  }
+
+  /**
+   * Returns whether the crawler follows the {@code robots.txt} files of the sites it crawls. Pages
+   * those files disallow are not fetched.
+   */
+  public boolean getRespectRobotsTxt() {
+    return respectRobotsTxt;
+  }
+
+  /**
+   * Returns the name the crawler goes by. It is sent with every request, and it picks the
+   * {@code robots.txt} rules that apply to the crawler.
+   */
+  public String getUserAgent() {
+    return userAgent;
+  }
+
+  /**
+   * Returns the URLs of sitemaps whose pages are added to the crawl as start pages. If
+   * {@link #getRespectRobotsTxt()} is set, the sitemaps listed in the {@code robots.txt} files of
+   * the start pages' hosts are read too.
+   */
+  public List<String> getSitemaps() {
+    return sitemaps;
+  }
+
+  /**
+   * Returns the largest number of pages to read from all sitemaps together.
+   */
+  public int getMaxSitemapUrls() {
+    return maxSitemapUrls;
+  }
+
+  /**
+   * Returns whether the parallel crawler adapts the number of pages it fetches at once to how
+   * quickly the sites being crawled respond, instead of fetching one page per thread.
+   */
+  public boolean getAdaptiveConcurrency() {
+    return adaptiveConcurrency;
+  }
+
+  /**
+   * Returns the largest number of pages the parallel crawler fetches at once when
+   * {@link #getAdaptiveConcurrency()} is set.
+   */
+  public int getMaxConcurrentFetches() {
+    return maxConcurrentFetches;
+  }
+
+  /**
+   * Returns the number of times the parallel crawler tries again to fetch a page whose fetch failed
+   * with a transient error, such as a timeout or an HTTP 503 status.
+   */
+  public int getMaxRetries() {
+    return maxRetries;
+  }
+
+  /**
+   * Returns the number of fetches from a host that must fail in a row before the parallel crawler
+   * stops fetching from that host for a while. Zero means that it never stops.
+   */
+  public int getHostFailureThreshold() {
+    return hostFailureThreshold;
+  }
+
+  /**
+   * Returns the lowest level of the messages that the crawler logs: {@code "DEBUG"},
+   * {@code "INFO"}, {@code "WARNING"} or {@code "ERROR"}.
+   */
+  public String getLogLevel() {
+    return logLevel;
+  }
+
+  /**
+   * Returns the path of the file that log messages are appended to. If empty, they are written to
+   * standard output.
+   */
+  public String getLogFile() {
+    return logFile;
+  }
+
+  /**
+   * Returns the path of the file that the hyperlink graph of the crawl is written to, or the empty
+   * string if the graph is not kept. The file is gzip-compressed if its name ends with
+   * {@code ".gz"}.
+   */
+  public String getLinkGraphPath() {
+    return linkGraphPath;
+  }
+
+  /**
+   * Returns the format of the link graph file: {@code "binary"} for compact delta-encoded
+   * adjacency lists, or {@code "tsv"} for a text edge list of URL pairs.
+   */
+  public String getLinkGraphFormat() {
+    return linkGraphFormat;
+  }
+
+  /**
+   * Returns the number of pages with the highest link-based rank to report, such as by
+   * PageRank. Zero means that pages are not ranked. Ranking keeps the crawl's link graph in memory,
+   * even if {@link #getLinkGraphPath()} is empty.
+   */
+  public int getTopPageCount() {
+    return topPageCount;
+  }
+
+  /**
+   * Returns the algorithm that ranks pages when {@link #getTopPageCount()} is positive:
+   * {@code "pagerank"}, or {@code "hits"} for the authority scores of HITS.
+   */
+  public String getRankingAlgorithm() {
+    return rankingAlgorithm;
+  }
+
+  /**
+   * Returns the directory that an inverted index of the crawled pages is written to, or the empty
+   * string if no index is built. An index that is already in the directory is replaced when the
+   * crawl finishes.
+   */
+  public String getIndexDirectory() {
+    return indexDirectory;
+  }
+
+  /**
+   * Returns the number of postings, one per distinct word of a page, that the index collects in
+   * memory before it writes them out as a new segment.
+   */
+  public int getIndexSegmentPostings() {
+    return indexSegmentPostings;
+  }
+
+  /**
+   * Returns the path of the file that remembers what earlier crawls found on each page, or the
+   * empty string if every crawl starts afresh. If it is set, pages that have probably not changed
+   * since the last crawl are skipped, and the pages from earlier crawls that are due are crawled
+   * as if they were start pages, the ones most likely to have changed first. The file is created
+   * if it does not exist, and updated at the end of the crawl.
+   */
+  public String getRecrawlStatePath() {
+    return recrawlStatePath;
+  }
+
+  /**
+   * Returns the estimated probability of a change since the last crawl, between 0 and 1, at which
+   * a page is crawled again.
+   */
+  public double getRecrawlChangeThreshold() {
+    return recrawlChangeThreshold;
+  }
+
+  /**
+   * Returns the largest number of days a page goes without being crawled again, however unlikely
+   * it is to have changed.
+   */
+  public int getRecrawlMaxAgeDays() {
+    return recrawlMaxAgeDays;
+  }
+
+  /**
+   * Returns the name of the analyzer that splits the text of pages into the words that are counted
+   * and indexed: "legacy" (the default), "standard", "english" or "porter". See
+   * {@link Analyzer#forName(String, List)}.
+   */
+  public String getAnalyzer() {
+    return analyzer;
+  }
+
   /**
    * A builder class to create {@link CrawlerConfiguration} instances.
    */
@@ -188,6 +538,36 @@ public final class CrawlerConfiguration {
     private int popularWordCount = 0;
     private String profileOutputPath = "";
     private String resultPath = "";
+    private String resultFormat = "json";
+    private final Set<String> warcInputs = new LinkedHashSet<>();
+    private String warcOutputDirectory = "";
+    private long warcMaxFileBytes = 1L << 30;
+    private int phraseLength = 0;
+    private int popularPhraseCount = 10;
+    private String wordCountMode = "exact";
+    private int approximateWordCounters = 1 << 16;
+    private boolean skipNearDuplicates = false;
+    private int nearDuplicateDistance = 3;
+    private boolean respectRobotsTxt = false;
+    private String userAgent = "udacity-webcrawler";
+    private final Set<String> sitemaps = new LinkedHashSet<>();
+    private int maxSitemapUrls = 50000;
+    private boolean adaptiveConcurrency = false;
+    private int maxConcurrentFetches = 64;
+    private int maxRetries = 2;
+    private int hostFailureThreshold = 5;
+    private String logLevel = "INFO";
+    private String logFile = "";
+    private String linkGraphPath = "";
+    private String linkGraphFormat = "binary";
+    private int topPageCount = 0;
+    private String rankingAlgorithm = "pagerank";
+    private String indexDirectory = "";
+    private int indexSegmentPostings = IndexWriter.DEFAULT_SEGMENT_POSTINGS;
+    private String recrawlStatePath = "";
+    private double recrawlChangeThreshold = 0.5;
+    private int recrawlMaxAgeDays = 30;
+    private String analyzer = "legacy";
 
     /**
      * Adds a start page URL.
@@ -314,6 +694,288 @@ public final class CrawlerConfiguration {
       return this;
     }
 
+    /**
+     * Sets the format of the crawl result output.
+     *
+     * <p>See {@link #getResultFormat()}.
+     */
+    @JsonProperty("resultFormat")
+    public Builder setResultFormat(String resultFormat) {
+      this.resultFormat = Objects.requireNonNull(resultFormat);
+      return this;
+    }
+
+    /**
+     * Adds a WARC archive or CDX index that pages are read from.
+     *
+     * <p>See {@link #getWarcInputs()}.
+     */
+    @JsonProperty("warcInputs")
+    public Builder addWarcInputs(String... warcInputs) {
+      for (String value : warcInputs) {
+        this.warcInputs.add(Objects.requireNonNull(value));
+      }
+      return this;
+    }
+
+    /**
+     * Sets the directory where fetched pages are archived.
+     *
+     * <p>See {@link #getWarcOutputDirectory()}.
+     */
+    @JsonProperty("warcOutputDirectory")
+    public Builder setWarcOutputDirectory(String warcOutputDirectory) {
+      this.warcOutputDirectory = Objects.requireNonNull(warcOutputDirectory);
+      return this;
+    }
+
+    /**
+     * Sets the size after which a new WARC output file is started.
+     *
+     * <p>See {@link #getWarcMaxFileBytes()}.
+     */
+    @JsonProperty("warcMaxFileBytes")
+    public Builder setWarcMaxFileBytes(long warcMaxFileBytes) {
+      this.warcMaxFileBytes = warcMaxFileBytes;
+      return this;
+    }
+
+    /**
+     * Sets the number of words in the phrases to count. See {@link #getPhraseLength()}.
+     */
+    @JsonProperty("phraseLength")
+    public Builder setPhraseLength(int phraseLength) {
+      this.phraseLength = phraseLength;
+      return this;
+    }
+
+    /**
+     * Sets the number of popular phrases to record. See {@link #getPopularPhraseCount()}.
+     */
+    @JsonProperty("popularPhraseCount")
+    public Builder setPopularPhraseCount(int popularPhraseCount) {
+      this.popularPhraseCount = popularPhraseCount;
+      return this;
+    }
+
+    /**
+     * Sets the word counting mode. See {@link #getWordCountMode()}.
+     */
+    @JsonProperty("wordCountMode")
+    public Builder setWordCountMode(String wordCountMode) {
+      this.wordCountMode = Objects.requireNonNull(wordCountMode);
+      return this;
+    }
+
+    /**
+     * Sets the number of approximate word counters. See {@link #getApproximateWordCounters()}.
+     */
+    @JsonProperty("approximateWordCounters")
+    public Builder setApproximateWordCounters(int approximateWordCounters) {
+      this.approximateWordCounters = approximateWordCounters;
+      return this;
+    }
+
+    /**
+     * Sets whether near-duplicate pages are skipped. See {@link #getSkipNearDuplicates()}.
+     */
+    @JsonProperty("skipNearDuplicates")
+    public Builder setSkipNearDuplicates(boolean skipNearDuplicates) {
+      this.skipNearDuplicates = skipNearDuplicates;
+      return this;
+    }
+
+    /**
+     * Sets the near-duplicate distance. See {@link #getNearDuplicateDistance()}.
+     */
+    @JsonProperty("nearDuplicateDistance")
+    public Builder setNearDuplicateDistance(int nearDuplicateDistance) {
+      this.nearDuplicateDistance = nearDuplicateDistance;
+      return this;
+    }
+
+    /**
+     * Sets whether {@code robots.txt} files are followed. See {@link #getRespectRobotsTxt()}.
+     */
+    @JsonProperty("respectRobotsTxt")
+    public Builder setRespectRobotsTxt(boolean respectRobotsTxt) {
+      this.respectRobotsTxt = respectRobotsTxt;
+      return this;
+    }
+
+    /**
+     * Sets the user agent. See {@link #getUserAgent()}.
+     */
+    @JsonProperty("userAgent")
+    public Builder setUserAgent(String userAgent) {
+      this.userAgent = Objects.requireNonNull(userAgent);
+      return this;
+    }
+
+    /**
+     * Adds sitemaps. See {@link #getSitemaps()}.
+     */
+    @JsonProperty("sitemaps")
+    public Builder addSitemaps(String... sitemaps) {
+      for (String value : sitemaps) {
+        this.sitemaps.add(Objects.requireNonNull(value));
+      }
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of sitemap pages. See {@link #getMaxSitemapUrls()}.
+     */
+    @JsonProperty("maxSitemapUrls")
+    public Builder setMaxSitemapUrls(int maxSitemapUrls) {
+      this.maxSitemapUrls = maxSitemapUrls;
+      return this;
+    }
+
+    /**
+     * Sets whether concurrency is adaptive. See {@link #getAdaptiveConcurrency()}.
+     */
+    @JsonProperty("adaptiveConcurrency")
+    public Builder setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+      this.adaptiveConcurrency = adaptiveConcurrency;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of concurrent fetches. See {@link #getMaxConcurrentFetches()}.
+     */
+    @JsonProperty("maxConcurrentFetches")
+    public Builder setMaxConcurrentFetches(int maxConcurrentFetches) {
+      this.maxConcurrentFetches = maxConcurrentFetches;
+      return this;
+    }
+
+    /**
+     * Sets the maximum number of retries. See {@link #getMaxRetries()}.
+     */
+    @JsonProperty("maxRetries")
+    public Builder setMaxRetries(int maxRetries) {
+      this.maxRetries = maxRetries;
+      return this;
+    }
+
+    /**
+     * Sets the host failure threshold. See {@link #getHostFailureThreshold()}.
+     */
+    @JsonProperty("hostFailureThreshold")
+    public Builder setHostFailureThreshold(int hostFailureThreshold) {
+      this.hostFailureThreshold = hostFailureThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the log level. See {@link #getLogLevel()}.
+     */
+    @JsonProperty("logLevel")
+    public Builder setLogLevel(String logLevel) {
+      this.logLevel = Objects.requireNonNull(logLevel);
+      return this;
+    }
+
+    /**
+     * Sets the log file path. See {@link #getLogFile()}.
+     */
+    @JsonProperty("logFile")
+    public Builder setLogFile(String logFile) {
+      this.logFile = Objects.requireNonNull(logFile);
+      return this;
+    }
+
+    /**
+     * Sets the link graph path. See {@link #getLinkGraphPath()}.
+     */
+    @JsonProperty("linkGraphPath")
+    public Builder setLinkGraphPath(String linkGraphPath) {
+      this.linkGraphPath = Objects.requireNonNull(linkGraphPath);
+      return this;
+    }
+
+    /**
+     * Sets the link graph format. See {@link #getLinkGraphFormat()}.
+     */
+    @JsonProperty("linkGraphFormat")
+    public Builder setLinkGraphFormat(String linkGraphFormat) {
+      this.linkGraphFormat = Objects.requireNonNull(linkGraphFormat);
+      return this;
+    }
+
+    /**
+     * Sets the number of top pages. See {@link #getTopPageCount()}.
+     */
+    @JsonProperty("topPageCount")
+    public Builder setTopPageCount(int topPageCount) {
+      this.topPageCount = topPageCount;
+      return this;
+    }
+
+    /**
+     * Sets the ranking algorithm. See {@link #getRankingAlgorithm()}.
+     */
+    @JsonProperty("rankingAlgorithm")
+    public Builder setRankingAlgorithm(String rankingAlgorithm) {
+      this.rankingAlgorithm = Objects.requireNonNull(rankingAlgorithm);
+      return this;
+    }
+
+    /**
+     * Sets the index directory. See {@link #getIndexDirectory()}.
+     */
+    @JsonProperty("indexDirectory")
+    public Builder setIndexDirectory(String indexDirectory) {
+      this.indexDirectory = Objects.requireNonNull(indexDirectory);
+      return this;
+    }
+
+    /**
+     * Sets the number of postings per index segment. See {@link #getIndexSegmentPostings()}.
+     */
+    @JsonProperty("indexSegmentPostings")
+    public Builder setIndexSegmentPostings(int indexSegmentPostings) {
+      this.indexSegmentPostings = indexSegmentPostings;
+      return this;
+    }
+
+    /**
+     * Sets the recrawl state path. See {@link #getRecrawlStatePath()}.
+     */
+    @JsonProperty("recrawlStatePath")
+    public Builder setRecrawlStatePath(String recrawlStatePath) {
+      this.recrawlStatePath = Objects.requireNonNull(recrawlStatePath);
+      return this;
+    }
+
+    /**
+     * Sets the recrawl change threshold. See {@link #getRecrawlChangeThreshold()}.
+     */
+    @JsonProperty("recrawlChangeThreshold")
+    public Builder setRecrawlChangeThreshold(double recrawlChangeThreshold) {
+      this.recrawlChangeThreshold = recrawlChangeThreshold;
+      return this;
+    }
+
+    /**
+     * Sets the recrawl maximum age. See {@link #getRecrawlMaxAgeDays()}.
+     */
+    @JsonProperty("recrawlMaxAgeDays")
+    public Builder setRecrawlMaxAgeDays(int recrawlMaxAgeDays) {
+      this.recrawlMaxAgeDays = recrawlMaxAgeDays;
+      return this;
+    }
+
+    /**
+     * Sets the analyzer. See {@link #getAnalyzer()}.
+     */
+    @JsonProperty("analyzer")
+    public Builder setAnalyzer(String analyzer) {
+      this.analyzer = Objects.requireNonNull(analyzer);
+      return this;
+    }
+
     /**
      * Constructs a {@link CrawlerConfiguration} from this builder.
      */
@@ -327,6 +989,56 @@ public final class CrawlerConfiguration {
       if (popularWordCount < 0) {
         throw new IllegalArgumentException("popularWordCount cannot be negative");
       }
+      if (warcMaxFileBytes <= 0) {
+        throw new IllegalArgumentException("warcMaxFileBytes must be positive");
+      }
+      if (phraseLength < 0 || phraseLength == 1) {
+        throw new IllegalArgumentException("phraseLength must be 0 or at least 2");
+      }
+      if (popularPhraseCount < 0) {
+        throw new IllegalArgumentException("popularPhraseCount cannot be negative");
+      }
+      if (!wordCountMode.equals("exact") && !wordCountMode.equals("approximate")) {
+        throw new IllegalArgumentException("Unknown word count mode: " + wordCountMode);
+      }
+      if (approximateWordCounters <= 0) {
+        throw new IllegalArgumentException("approximateWordCounters must be positive");
+      }
+      if (nearDuplicateDistance < 0 || nearDuplicateDistance > 15) {
+        throw new IllegalArgumentException("nearDuplicateDistance must be between 0 and 15");
+      }
+      if (userAgent.isBlank()) {
+        throw new IllegalArgumentException("userAgent cannot be blank");
+      }
+      if (maxSitemapUrls < 0) {
+        throw new IllegalArgumentException("maxSitemapUrls cannot be negative");
+      }
+      if (maxConcurrentFetches < 1) {
+        throw new IllegalArgumentException("maxConcurrentFetches must be positive");
+      }
+      if (maxRetries < 0) {
+        throw new IllegalArgumentException("maxRetries cannot be negative");
+      }
+      if (hostFailureThreshold < 0) {
+        throw new IllegalArgumentException("hostFailureThreshold cannot be negative");
+      }
+      Level.forName(logLevel);
+      if (topPageCount < 0) {
+        throw new IllegalArgumentException("topPageCount cannot be negative");
+      }
+      if (indexSegmentPostings <= 0) {
+        throw new IllegalArgumentException("indexSegmentPostings must be positive");
+      }
+      if (!(recrawlChangeThreshold >= 0 && recrawlChangeThreshold <= 1)) {
+        throw new IllegalArgumentException("recrawlChangeThreshold must be between 0 and 1");
+      }
+      if (recrawlMaxAgeDays < 0) {
+        throw new IllegalArgumentException("recrawlMaxAgeDays cannot be negative");
+      }
+      LinkGraphWriter.Format.forName(linkGraphFormat);
+      LinkRanking.forName(rankingAlgorithm);
+      CrawlResultWriter.Format.forName(resultFormat);
+      Analyzer.forName(analyzer, List.of());
 
       return new CrawlerConfiguration(
           startPages.stream().collect(Collectors.toUnmodifiableList()),
@@ -338,7 +1050,37 @@ public final class CrawlerConfiguration {
           Duration.ofSeconds(timeoutSeconds),
           popularWordCount,
           profileOutputPath,
-          resultPath);
+          resultPath,
+          resultFormat,
+          warcInputs.stream().collect(Collectors.toUnmodifiableList()),
+          warcOutputDirectory,
+          warcMaxFileBytes,
+          phraseLength,
+          popularPhraseCount,
+          wordCountMode,
+          approximateWordCounters,
+          skipNearDuplicates,
+          nearDuplicateDistance,
+          respectRobotsTxt,
+          userAgent,
+          sitemaps.stream().collect(Collectors.toUnmodifiableList()),
+          maxSitemapUrls,
+          adaptiveConcurrency,
+          maxConcurrentFetches,
+          maxRetries,
+          hostFailureThreshold,
+          logLevel,
+          logFile,
+          linkGraphPath,
+          linkGraphFormat,
+          topPageCount,
+          rankingAlgorithm,
+          indexDirectory,
+          indexSegmentPostings,
+          recrawlStatePath,
+          recrawlChangeThreshold,
+          recrawlMaxAgeDays,
+          analyzer);
     }
   }
 }
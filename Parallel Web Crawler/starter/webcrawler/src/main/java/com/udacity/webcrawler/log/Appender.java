@@ -0,0 +1,25 @@
+package com.udacity.webcrawler.log;
+
+/**
+ * Writes log events somewhere, such as to the console or to a file.
+ *
+ * <p>Appenders must not throw exceptions: a failure to log should never fail the crawl.
+ */
+public interface Appender extends AutoCloseable {
+
+  /**
+   * Writes the given event. It may be buffered until the next {@link #flush()}.
+   */
+  void append(LogEvent event);
+
+  /**
+   * Writes out all buffered events.
+   */
+  void flush();
+
+  /**
+   * Flushes this appender and releases its resources.
+   */
+  @Override
+  void close();
+}
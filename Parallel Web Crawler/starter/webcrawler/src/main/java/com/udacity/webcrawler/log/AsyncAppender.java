@@ -0,0 +1,167 @@
+package com.udacity.webcrawler.log;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link Appender} that hands events to a background thread through a lock-free ring buffer,
+ * so that the threads that log never wait for I/O, or for each other.
+ *
+ * <p>Logging threads claim a slot in the ring with a single compare-and-set, and store their event
+ * in it. The background thread takes events out in order, in batches, passes them to the
+ * delegate appender, and flushes the delegate once per batch. If the ring is full, new events are
+ * dropped rather than blocking the caller; the number of dropped events is logged once there is
+ * room again.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class AsyncAppender implements Appender {
+
+  private static final int MAX_BATCH = 1024;
+  private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final Appender delegate;
+  private final AtomicReferenceArray<LogEvent> slots;
+  private final int mask;
+  private final AtomicLong tail = new AtomicLong();
+  private final LongAdder dropped = new LongAdder();
+  private final Thread consumer;
+
+  /**
+   * The sequence number of the next event the background thread takes out of the ring.
+   */
+  private volatile long head;
+
+  /**
+   * Every event with a lower sequence number has been flushed by the delegate.
+   */
+  private volatile long flushed;
+
+  private volatile boolean sleeping;
+  private volatile boolean closed;
+
+  /**
+   * Creates an appender and starts its background thread.
+   *
+   * @param delegate the appender that events are passed on to. Only the background thread calls
+   *                 it, so it need not be thread-safe.
+   * @param capacity the number of events the ring holds, which must be a power of two.
+   */
+  public AsyncAppender(Appender delegate, int capacity) {
+    if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+      throw new IllegalArgumentException("capacity must be a power of two");
+    }
+    this.delegate = Objects.requireNonNull(delegate);
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.mask = capacity - 1;
+    this.consumer = new Thread(this::drain, "log-appender");
+    consumer.setDaemon(true);
+    consumer.start();
+  }
+
+  @Override
+  public void append(LogEvent event) {
+    Objects.requireNonNull(event);
+    if (closed) {
+      dropped.increment();
+      return;
+    }
+    while (true) {
+      long sequence = tail.get();
+      if (sequence - head >= slots.length()) {
+        dropped.increment();
+        return;
+      }
+      if (tail.compareAndSet(sequence, sequence + 1)) {
+        slots.set((int) (sequence & mask), event);
+        break;
+      }
+    }
+    if (sleeping) {
+      LockSupport.unpark(consumer);
+    }
+  }
+
+  /**
+   * Waits until every event appended so far has been written and flushed by the delegate, or until
+   * a few seconds have passed.
+   */
+  @Override
+  public void flush() {
+    long target = tail.get();
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (flushed < target && consumer.isAlive() && System.nanoTime() - deadline < 0) {
+      LockSupport.unpark(consumer);
+      LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+    }
+  }
+
+  /**
+   * Writes out the events that are still in the ring, stops the background thread, and closes the
+   * delegate.
+   */
+  @Override
+  public void close() {
+    closed = true;
+    LockSupport.unpark(consumer);
+    try {
+      consumer.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Returns the number of events that were dropped because the ring was full.
+   */
+  public long getDroppedCount() {
+    return dropped.sum();
+  }
+
+  private void drain() {
+    long reported = 0;
+    while (true) {
+      long sequence = head;
+      int count = 0;
+      LogEvent event;
+      while (count < MAX_BATCH && (event = slots.get((int) (sequence & mask))) != null) {
+        // Free the slot before moving the head past it, so that a producer never overwrites it.
+        slots.set((int) (sequence & mask), null);
+        head = ++sequence;
+        delegate.append(event);
+        count++;
+      }
+      if (count > 0) {
+        long totalDropped = dropped.sum();
+        if (totalDropped > reported) {
+          delegate.append(new LogEvent(Instant.now(), Level.WARNING, consumer.getName(),
+              "AsyncAppender", "Dropped " + (totalDropped - reported) + " log messages"));
+          reported = totalDropped;
+        }
+        delegate.flush();
+        flushed = sequence;
+        continue;
+      }
+      if (sequence != tail.get()) {
+        // A producer has claimed the next slot, but not filled it in yet.
+        Thread.onSpinWait();
+        continue;
+      }
+      flushed = sequence;
+      if (closed) {
+        delegate.close();
+        return;
+      }
+      sleeping = true;
+      if (head == tail.get() && !closed) {
+        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+      }
+      sleeping = false;
+    }
+  }
+}
@@ -0,0 +1,27 @@
+package com.udacity.webcrawler.log;
+
+import java.util.Locale;
+
+/**
+ * The severity of a log message. Messages below the configured level are discarded before they are
+ * formatted.
+ */
+public enum Level {
+  DEBUG,
+  INFO,
+  WARNING,
+  ERROR;
+
+  /**
+   * Returns the level with the given name, ignoring case.
+   *
+   * @throws IllegalArgumentException if there is no such level.
+   */
+  public static Level forName(String name) {
+    try {
+      return valueOf(name.strip().toUpperCase(Locale.ROOT));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Unknown log level: " + name, e);
+    }
+  }
+}
@@ -0,0 +1,145 @@
+package com.udacity.webcrawler.log;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Logs messages for one class of the crawler. Each class keeps its own instance:
+ *
+ * <pre>{@code
+ *   private static final Log LOG = Log.forClass(ParallelWebCrawler.class);
+ *   ...
+ *   LOG.info("Crawling URL: %s at depth %d", url, depth);
+ * }</pre>
+ *
+ * <p>Messages are {@link String#format(String, Object...) format strings}, which are only formatted
+ * if their level is enabled, so that disabled messages in hot paths cost next to nothing. A message
+ * without arguments is logged as it is.
+ *
+ * <p>All instances share one process-wide level and {@link Appender}, set by
+ * {@link #configure(Level, Appender)}. Until then, messages of level {@link Level#INFO} and above
+ * go to standard output through an {@link AsyncAppender}.
+ */
+public final class Log {
+
+  /**
+   * The number of events the default {@link AsyncAppender} holds.
+   */
+  public static final int DEFAULT_CAPACITY = 1 << 14;
+
+  private static volatile Level threshold = Level.INFO;
+  private static volatile Appender appender;
+  private static boolean shutdownHookAdded;
+
+  private final String name;
+
+  private Log(String name) {
+    this.name = Objects.requireNonNull(name);
+  }
+
+  /**
+   * Returns a log named after the given class.
+   */
+  public static Log forClass(Class<?> type) {
+    return new Log(type.getSimpleName());
+  }
+
+  /**
+   * Sets the level and appender of all logs. The previous appender is flushed and closed.
+   */
+  public static synchronized void configure(Level level, Appender newAppender) {
+    Objects.requireNonNull(level);
+    Objects.requireNonNull(newAppender);
+    Appender previous = appender;
+    appender = newAppender;
+    threshold = level;
+    if (previous != null) {
+      previous.close();
+    }
+    addShutdownHook();
+  }
+
+  /**
+   * Logs messages of the given level and above to the given file, or to standard output if the
+   * path is empty. Either way, messages are written by an {@link AsyncAppender}.
+   *
+   * @param level the name of a {@link Level}.
+   * @param file  the path of the file to append to, or the empty string.
+   */
+  public static void configure(String level, String file) throws IOException {
+    Appender target =
+        file.isEmpty() ? WriterAppender.toStream(System.out) : WriterAppender.toFile(Path.of(file));
+    configure(Level.forName(level), new AsyncAppender(target, DEFAULT_CAPACITY));
+  }
+
+  /**
+   * Waits until every message logged so far has been written out.
+   */
+  public static void flush() {
+    Appender current = appender;
+    if (current != null) {
+      current.flush();
+    }
+  }
+
+  /**
+   * Returns whether messages of the given level are logged.
+   */
+  public boolean isEnabled(Level level) {
+    return level.compareTo(threshold) >= 0;
+  }
+
+  public void debug(String format, Object... args) {
+    log(Level.DEBUG, format, args);
+  }
+
+  public void info(String format, Object... args) {
+    log(Level.INFO, format, args);
+  }
+
+  public void warning(String format, Object... args) {
+    log(Level.WARNING, format, args);
+  }
+
+  public void error(String format, Object... args) {
+    log(Level.ERROR, format, args);
+  }
+
+  /**
+   * Logs a message of the given level, if that level is enabled.
+   */
+  public void log(Level level, String format, Object... args) {
+    if (!isEnabled(level)) {
+      return;
+    }
+    String message = args.length == 0 ? format : String.format(format, args);
+    appender().append(
+        new LogEvent(Instant.now(), level, Thread.currentThread().getName(), name, message));
+  }
+
+  private static Appender appender() {
+    Appender current = appender;
+    if (current != null) {
+      return current;
+    }
+    synchronized (Log.class) {
+      if (appender == null) {
+        appender = new AsyncAppender(WriterAppender.toStream(System.out), DEFAULT_CAPACITY);
+        addShutdownHook();
+      }
+      return appender;
+    }
+  }
+
+  /**
+   * Makes sure that messages logged just before the process exits are not lost.
+   */
+  private static void addShutdownHook() {
+    if (!shutdownHookAdded) {
+      shutdownHookAdded = true;
+      Runtime.getRuntime().addShutdownHook(new Thread(Log::flush, "log-flush"));
+    }
+  }
+}
@@ -0,0 +1,76 @@
+package com.udacity.webcrawler.log;
+
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * One log message, with the context it was logged in.
+ */
+public final class LogEvent {
+  private final Instant time;
+  private final Level level;
+  private final String thread;
+  private final String logger;
+  private final String message;
+
+  /**
+   * Creates a log event.
+   *
+   * @param time    the time the message was logged.
+   * @param level   the severity of the message.
+   * @param thread  the name of the thread that logged the message.
+   * @param logger  the name of the {@link Log} that logged the message.
+   * @param message the formatted message.
+   */
+  public LogEvent(Instant time, Level level, String thread, String logger, String message) {
+    this.time = Objects.requireNonNull(time);
+    this.level = Objects.requireNonNull(level);
+    this.thread = Objects.requireNonNull(thread);
+    this.logger = Objects.requireNonNull(logger);
+    this.message = Objects.requireNonNull(message);
+  }
+
+  /**
+   * Returns the time the message was logged.
+   */
+  public Instant getTime() {
+    return time;
+  }
+
+  /**
+   * Returns the severity of the message.
+   */
+  public Level getLevel() {
+    return level;
+  }
+
+  /**
+   * Returns the name of the thread that logged the message.
+   */
+  public String getThread() {
+    return thread;
+  }
+
+  /**
+   * Returns the name of the {@link Log} that logged the message.
+   */
+  public String getLogger() {
+    return logger;
+  }
+
+  /**
+   * Returns the formatted message.
+   */
+  public String getMessage() {
+    return message;
+  }
+
+  /**
+   * Returns the event as one line of text, such as
+   * {@code 2022-06-01T12:00:00Z [INFO] main WebCrawlerMain: Crawl completed}.
+   */
+  @Override
+  public String toString() {
+    return time + " [" + level + "] " + thread + " " + logger + ": " + message;
+  }
+}
@@ -0,0 +1,90 @@
+package com.udacity.webcrawler.log;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * An {@link Appender} that writes one line per event to a {@link Writer}, and only flushes it when
+ * asked to. It is meant to run behind an {@link AsyncAppender}, which flushes once per batch.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class WriterAppender implements Appender {
+  private final Writer writer;
+  private final boolean closeWriter;
+  private boolean failed;
+
+  private WriterAppender(Writer writer, boolean closeWriter) {
+    this.writer = Objects.requireNonNull(writer);
+    this.closeWriter = closeWriter;
+  }
+
+  /**
+   * Returns an appender that writes to the given stream, such as {@link System#out}. Closing the
+   * appender does not close the stream.
+   */
+  public static WriterAppender toStream(PrintStream stream) {
+    return new WriterAppender(
+        new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8)), false);
+  }
+
+  /**
+   * Returns an appender that appends to the file at the given path, creating it if needed.
+   */
+  public static WriterAppender toFile(Path path) throws IOException {
+    return new WriterAppender(
+        Files.newBufferedWriter(
+            path,
+            StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND),
+        true);
+  }
+
+  @Override
+  public void append(LogEvent event) {
+    try {
+      writer.write(event.toString());
+      writer.write(System.lineSeparator());
+    } catch (IOException e) {
+      reportFailure(e);
+    }
+  }
+
+  @Override
+  public void flush() {
+    try {
+      writer.flush();
+    } catch (IOException e) {
+      reportFailure(e);
+    }
+  }
+
+  @Override
+  public void close() {
+    flush();
+    if (closeWriter) {
+      try {
+        writer.close();
+      } catch (IOException e) {
+        reportFailure(e);
+      }
+    }
+  }
+
+  private void reportFailure(IOException e) {
+    if (!failed) {
+      failed = true;
+      System.err.println("[ERROR] Could not write log: " + e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package com.udacity.webcrawler.main;
+
+import com.udacity.webcrawler.WebCrawler;
+import com.udacity.webcrawler.graph.LinkGraph;
+import com.udacity.webcrawler.graph.LinkGraphWriter;
+import com.udacity.webcrawler.index.IndexWriter;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlResultWriter;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.log.Log;
+import com.udacity.webcrawler.parser.PageSink;
+import com.udacity.webcrawler.parser.PageSource;
+import com.udacity.webcrawler.profiler.Profiler;
+import com.udacity.webcrawler.recrawl.RecrawlStore;
+
+import javax.inject.Inject;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Runs the crawl of one {@link CrawlerConfiguration}, and writes out everything the configuration
+ * asks for: the crawl result, the link graph, the index, the recrawl state and the profile data.
+ *
+ * <p>Both {@link WebCrawlerMain} and the crawl service get an instance from the injector of the
+ * crawl and run it through this class.
+ */
+public final class CrawlRunner {
+
+  private static final Log LOG = Log.forClass(CrawlRunner.class);
+
+  private final CrawlerConfiguration config;
+  private final WebCrawler crawler;
+  private final Profiler profiler;
+  private final Optional<IndexWriter> index;
+  private final Optional<RecrawlStore> recrawl;
+  private final Optional<PageSource> pageSource;
+  private final Optional<PageSink> pageSink;
+
+  @Inject
+  CrawlRunner(
+      CrawlerConfiguration config,
+      WebCrawler crawler,
+      Profiler profiler,
+      Optional<IndexWriter> index,
+      Optional<RecrawlStore> recrawl,
+      Optional<PageSource> pageSource,
+      Optional<PageSink> pageSink) {
+    this.config = Objects.requireNonNull(config);
+    this.crawler = Objects.requireNonNull(crawler);
+    this.profiler = Objects.requireNonNull(profiler);
+    this.index = Objects.requireNonNull(index);
+    this.recrawl = Objects.requireNonNull(recrawl);
+    this.pageSource = Objects.requireNonNull(pageSource);
+    this.pageSink = Objects.requireNonNull(pageSink);
+  }
+
+  /**
+   * Crawls the start pages of the configuration.
+   *
+   * <p>The index is committed and the archives the pages were read from and stored in are closed
+   * once the crawl is over, even if it failed. The recrawl state is only saved if it succeeded.
+   *
+   * @throws IOException if the index, an archive or the recrawl state could not be written.
+   */
+  public CrawlResult crawl() throws IOException {
+    CrawlResult result;
+    try {
+      result = crawler.crawl(config.getStartPages());
+    } catch (Throwable t) {
+      close(t);
+      throw t;
+    }
+    close(null);
+
+    // Remember what this crawl found for the next one, in recrawl mode.
+    if (recrawl.isPresent()) {
+      Path statePath = Path.of(config.getRecrawlStatePath());
+      recrawl.get().save(statePath);
+      LOG.info("Recrawl state of %d pages written to file: %s", recrawl.get().size(), statePath);
+    }
+    return result;
+  }
+
+  /**
+   * Writes the crawl result, the link graph and the profile data to the files the configuration
+   * names for them.
+   *
+   * @param standardOutput whether the crawl result and the profile data are written to standard
+   *                       output if the configuration names no file for them. If not, they are
+   *                       not written at all.
+   */
+  public void write(CrawlResult result, boolean standardOutput) throws IOException {
+    CrawlResultWriter resultWriter = new CrawlResultWriter(
+        result, CrawlResultWriter.Format.forName(config.getResultFormat()));
+
+    // Write the crawl results to a JSON file (or System.out if the file name is empty).
+    if (!config.getResultPath().isEmpty()) {
+      // If a file path is specified, write the crawl results to that file.
+      Path resultPath = Path.of(config.getResultPath());
+      resultWriter.write(resultPath);
+      LOG.debug("Crawl results written to file: %s", resultPath);
+    } else if (standardOutput) {
+      // If the path is empty, write the crawl results to standard output, after any log messages.
+      LOG.debug("Writing crawl results to standard output.");
+      Log.flush();
+      resultWriter.write(new OutputStreamWriter(System.out));
+    }
+
+    // Write the link graph, if the configuration asks for it. A graph that is only kept to rank
+    // the top pages is not written.
+    if (result.getLinkGraph().isPresent() && !config.getLinkGraphPath().isEmpty()) {
+      LinkGraph linkGraph = result.getLinkGraph().get();
+      Path graphPath = Path.of(config.getLinkGraphPath());
+      new LinkGraphWriter(linkGraph, LinkGraphWriter.Format.forName(config.getLinkGraphFormat()))
+          .write(graphPath);
+      LOG.info("Link graph with %d pages and %d links written to file: %s",
+          linkGraph.size(), linkGraph.edgeCount(), graphPath);
+    }
+
+    // Write the profile data to a text file (or System.out if the file name is empty).
+    if (!config.getProfileOutputPath().isEmpty()) {
+      // If a file path is specified, write the profiling data to that file.
+      Path profilePath = Path.of(config.getProfileOutputPath());
+      try (BufferedWriter fileWriter = Files.newBufferedWriter(profilePath)) {
+        LOG.debug("Writing profile data to file: %s", profilePath);
+        profiler.writeData(fileWriter);
+      }
+    } else if (standardOutput) {
+      // If the path is empty, write the profiling data to standard output.
+      LOG.debug("Writing profile data to standard output.");
+      Log.flush();
+      profiler.writeData(new OutputStreamWriter(System.out));
+      System.out.flush();  // Flush the stream to ensure all data is printed
+    }
+  }
+
+  /**
+   * Commits the index and closes the page archives, if the configuration asks for them. Errors are
+   * added to the given failure of the crawl if there is one, and thrown otherwise.
+   */
+  private void close(Throwable failure) throws IOException {
+    IOException error = null;
+    for (Optional<? extends Closeable> resource : List.of(index, pageSource, pageSink)) {
+      if (resource.isEmpty()) {
+        continue;
+      }
+      try {
+        resource.get().close();
+      } catch (IOException e) {
+        if (failure != null) {
+          failure.addSuppressed(e);
+        } else if (error == null) {
+          error = e;
+        } else {
+          error.addSuppressed(e);
+        }
+      }
+    }
+    if (error != null) {
+      throw error;
+    }
+  }
+}
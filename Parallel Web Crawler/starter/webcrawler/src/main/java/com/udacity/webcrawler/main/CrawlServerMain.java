@@ -0,0 +1,68 @@
+package com.udacity.webcrawler.main;
+
+import com.udacity.webcrawler.log.Log;
+import com.udacity.webcrawler.server.CrawlServer;
+import com.udacity.webcrawler.server.CrawlService;
+import com.udacity.webcrawler.server.JobDirectoryWatcher;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * The entry-point for a long-running crawl service. See {@link CrawlService}.
+ *
+ * <p>Crawls are submitted over local HTTP, from a watched directory, or both:
+ *
+ * <pre>
+ *   java -cp udacity-webcrawler-1.0.jar com.udacity.webcrawler.main.CrawlServerMain \
+ *       --port=8080 --watch=jobs --jobs=4 --parallelism=8
+ *   curl --data-binary @config.json http://localhost:8080/crawls
+ * </pre>
+ */
+public final class CrawlServerMain {
+
+  private static final Log LOG = Log.forClass(CrawlServerMain.class);
+
+  public static void main(String[] args) throws Exception {
+    int port = -1;
+    Path watchDirectory = null;
+    CrawlService.Builder builder = new CrawlService.Builder();
+    for (String arg : args) {
+      int equals = arg.indexOf('=');
+      if (!arg.startsWith("--") || equals < 0) {
+        System.out.println(
+            "Usage: CrawlServerMain [--port=N] [--watch=dir] [--jobs=N] [--parallelism=N]");
+        return;
+      }
+      String value = arg.substring(equals + 1);
+      switch (arg.substring(2, equals)) {
+        case "port" -> port = Integer.parseInt(value);
+        case "watch" -> watchDirectory = Path.of(value);
+        case "jobs" -> builder.setMaxConcurrentJobs(Integer.parseInt(value));
+        case "parallelism" -> builder.setParallelism(Integer.parseInt(value));
+        default -> throw new IllegalArgumentException("Unknown option: " + arg);
+      }
+    }
+    if (port < 0 && watchDirectory == null) {
+      port = 8080;
+    }
+
+    CrawlService service = builder.build();
+    if (port >= 0) {
+      CrawlServer server = CrawlServer.start(
+          service, new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+      LOG.info("Accepting crawls at http://localhost:%d/crawls", server.getAddress().getPort());
+    }
+    if (watchDirectory != null) {
+      JobDirectoryWatcher.start(service, watchDirectory);
+      LOG.info("Watching %s for crawler configurations", watchDirectory);
+    }
+    new CountDownLatch(1).await();  // Serve until the process is killed
+  }
+
+  private CrawlServerMain() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,101 @@
+package com.udacity.webcrawler.main;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.udacity.webcrawler.WebCrawlerModule;
+import com.udacity.webcrawler.distributed.CrawlNode;
+import com.udacity.webcrawler.json.ConfigurationLoader;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlResultWriter;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.log.Log;
+import com.udacity.webcrawler.parser.PageParserFactory;
+import com.udacity.webcrawler.profiler.Profiler;
+import com.udacity.webcrawler.profiler.ProfilerModule;
+
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The entry-point for one process of a distributed web crawl. See {@link CrawlNode}.
+ *
+ * <p>Every process is started with the same configuration file and the same comma-separated list
+ * of node addresses, plus its own index in that list. For example, to crawl with three processes on
+ * one machine:
+ *
+ * <pre>
+ *   java -cp udacity-webcrawler-1.0.jar com.udacity.webcrawler.main.DistributedCrawlerMain \
+ *       config.json 0 localhost:7000,localhost:7001,localhost:7002 &amp;
+ *   java -cp ... DistributedCrawlerMain config.json 1 localhost:7000,localhost:7001,localhost:7002 &amp;
+ *   java -cp ... DistributedCrawlerMain config.json 2 localhost:7000,localhost:7001,localhost:7002
+ * </pre>
+ *
+ * <p>Node 0 coordinates the crawl and writes the merged crawl result, exactly like
+ * {@link WebCrawlerMain}. Each node writes its own profile data, to the configured profile output
+ * path with {@code ".node<index>"} appended.
+ */
+public final class DistributedCrawlerMain {
+
+  public static void main(String[] args) throws Exception {
+    if (args.length != 3) {
+      System.out.println(
+          "Usage: DistributedCrawlerMain [config-file-path] [node-index] [host:port,host:port,...]");
+      return;
+    }
+
+    CrawlerConfiguration config = new ConfigurationLoader(Path.of(args[0])).load();
+    Log.configure(config.getLogLevel(), config.getLogFile());
+    int index = Integer.parseInt(args[1]);
+    List<InetSocketAddress> addresses = new ArrayList<>();
+    for (String address : args[2].split(",")) {
+      int colon = address.lastIndexOf(':');
+      addresses.add(new InetSocketAddress(
+          address.substring(0, colon).strip(), Integer.parseInt(address.substring(colon + 1))));
+    }
+
+    Injector injector = Guice.createInjector(new WebCrawlerModule(config), new ProfilerModule());
+    Profiler profiler = injector.getInstance(Profiler.class);
+    ServerSocket serverSocket = new ServerSocket();
+    serverSocket.bind(addresses.get(index));
+
+    try (CrawlNode node =
+             new CrawlNode(
+                 config,
+                 injector.getInstance(PageParserFactory.class),
+                 injector.getInstance(Clock.class),
+                 index,
+                 addresses,
+                 serverSocket)) {
+      node.start(config.getStartPages());
+      if (index == 0) {
+        CrawlResult result = node.awaitResult();
+        CrawlResultWriter resultWriter = new CrawlResultWriter(
+            result, CrawlResultWriter.Format.forName(config.getResultFormat()));
+        if (!config.getResultPath().isEmpty()) {
+          resultWriter.write(Path.of(config.getResultPath()));
+        } else {
+          Log.flush();
+          Writer writer = new OutputStreamWriter(System.out);
+          resultWriter.write(writer);
+          writer.flush();
+        }
+      } else {
+        node.awaitFinished();
+      }
+    }
+
+    if (!config.getProfileOutputPath().isEmpty()) {
+      profiler.writeData(Path.of(config.getProfileOutputPath() + ".node" + index));
+    }
+  }
+
+  private DistributedCrawlerMain() {
+    // Prevent instantiation
+  }
+}
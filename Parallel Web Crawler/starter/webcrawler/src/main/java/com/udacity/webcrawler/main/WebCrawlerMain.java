@@ -1,20 +1,13 @@
 package com.udacity.webcrawler.main;
 
 import com.google.inject.Guice;
-import com.udacity.webcrawler.WebCrawler;
 import com.udacity.webcrawler.WebCrawlerModule;
 import com.udacity.webcrawler.json.ConfigurationLoader;
 import com.udacity.webcrawler.json.CrawlResult;
-import com.udacity.webcrawler.json.CrawlResultWriter;
 import com.udacity.webcrawler.json.CrawlerConfiguration;
-import com.udacity.webcrawler.profiler.Profiler;
+import com.udacity.webcrawler.log.Log;
 import com.udacity.webcrawler.profiler.ProfilerModule;
 
-import javax.inject.Inject;
-import java.io.BufferedWriter;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
 
@@ -23,6 +16,8 @@ import java.util.Objects;
  */
 public final class WebCrawlerMain {
 
+  private static final Log LOG = Log.forClass(WebCrawlerMain.class);
+
   private final CrawlerConfiguration config;
 
   /**
@@ -34,12 +29,6 @@ public final class WebCrawlerMain {
     this.config = Objects.requireNonNull(config);
   }
 
-  @Inject
-  private WebCrawler crawler;
-
-  @Inject
-  private Profiler profiler;
-
   /**
    * Runs the web crawler with the specified configuration.
    *
@@ -47,38 +36,12 @@ public final class WebCrawlerMain {
    */
   private void run() throws Exception {
     // Use Guice for dependency injection.
-    Guice.createInjector(new WebCrawlerModule(config), new ProfilerModule()).injectMembers(this);
-
-    // Perform the web crawl.
-    CrawlResult result = crawler.crawl(config.getStartPages());
-    CrawlResultWriter resultWriter = new CrawlResultWriter(result);
+    CrawlRunner runner = Guice.createInjector(new WebCrawlerModule(config), new ProfilerModule())
+        .getInstance(CrawlRunner.class);
 
-    // Write the crawl results to a JSON file (or System.out if the file name is empty).
-    if (!config.getResultPath().isEmpty()) {
-      // If a file path is specified, write the crawl results to that file.
-      Path resultPath = Path.of(config.getResultPath());
-      resultWriter.write(resultPath);
-      System.out.println("[DEBUG] Crawl results written to file: " + resultPath);
-    } else {
-      // If the path is empty, write the crawl results to standard output.
-      System.out.println("[DEBUG] Writing crawl results to standard output.");
-      resultWriter.write(new OutputStreamWriter(System.out));
-    }
-
-    // Write the profile data to a text file (or System.out if the file name is empty).
-    if (!config.getProfileOutputPath().isEmpty()) {
-      // If a file path is specified, write the profiling data to that file.
-      Path profilePath = Path.of(config.getProfileOutputPath());
-      try (BufferedWriter fileWriter = Files.newBufferedWriter(profilePath)) {
-        System.out.println("[DEBUG] Writing profile data to file: " + profilePath);
-        profiler.writeData(fileWriter);
-      }
-    } else {
-      // If the path is empty, write the profiling data to standard output.
-      System.out.println("[DEBUG] Writing profile data to standard output.");
-      profiler.writeData(new OutputStreamWriter(System.out));
-      System.out.flush();  // Flush the stream to ensure all data is printed
-    }
+    // Perform the web crawl, and write out the results.
+    CrawlResult result = runner.crawl();
+    runner.write(result, true);
   }
 
   /**
@@ -95,7 +58,8 @@ public final class WebCrawlerMain {
 
     // Load the configuration file.
     CrawlerConfiguration config = new ConfigurationLoader(Path.of(args[0])).load();
-    System.out.println("[DEBUG] Loaded configuration from: " + args[0]);
+    Log.configure(config.getLogLevel(), config.getLogFile());
+    LOG.debug("Loaded configuration from: %s", args[0]);
     // Create an instance of WebCrawlerMain and run the crawler.
     new WebCrawlerMain(config).run();
   }
@@ -0,0 +1,209 @@
+package com.udacity.webcrawler.parser;
+
+import org.jsoup.HttpStatusException;
+import org.jsoup.UnsupportedMimeTypeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Downloads remote pages for {@link PageParserImpl}.
+ *
+ * <p>All pages are downloaded through one shared {@link HttpClient}, which keeps connections to
+ * each host open between requests and reuses them, negotiates HTTP/2 where the server supports it,
+ * and resumes TLS sessions instead of doing a full handshake for every page. Crawls that run in
+ * one process can share the client, and with it the open connections. Pages are requested with
+ * gzip or deflate compression.
+ *
+ * <p>This class is thread-safe.
+ */
+final class HttpPageFetcher {
+
+  /**
+   * The most bytes of a page that are read, after decompression. This is the limit Jsoup applies
+   * by default.
+   */
+  static final int MAX_BODY_BYTES = 2 * 1024 * 1024;
+
+  private static final Pattern CHARSET =
+      Pattern.compile("(?i)\\bcharset=\\s*\"?([^\\s;\"]+)");
+
+  private final HttpClient client;
+  private final Duration timeout;
+  private final String userAgent;
+
+  /**
+   * Creates a fetcher.
+   *
+   * @param timeout   the time allowed to connect, and then to receive the response headers. Zero
+   *                  means no limit.
+   * @param userAgent the value of the {@code User-Agent} header of every request.
+   */
+  HttpPageFetcher(Duration timeout, String userAgent) {
+    this(newClient(timeout), timeout, userAgent);
+  }
+
+  /**
+   * Creates a fetcher that downloads pages through the given client, which may be shared with
+   * other fetchers. The client should follow redirects.
+   *
+   * @param timeout   the time allowed to receive the response headers of each request. Zero means
+   *                  no limit.
+   * @param userAgent the value of the {@code User-Agent} header of every request.
+   */
+  HttpPageFetcher(HttpClient client, Duration timeout, String userAgent) {
+    this.client = Objects.requireNonNull(client);
+    this.timeout = Objects.requireNonNull(timeout);
+    this.userAgent = Objects.requireNonNull(userAgent);
+  }
+
+  private static HttpClient newClient(Duration timeout) {
+    HttpClient.Builder builder =
+        HttpClient.newBuilder().followRedirects(HttpClient.Redirect.NORMAL);
+    if (!timeout.isZero()) {
+      builder.connectTimeout(timeout);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Downloads the page at the given URL.
+   *
+   * @throws HttpStatusException          if the server answered with an error status.
+   * @throws UnsupportedMimeTypeException if the page is not HTML or XML.
+   */
+  Page fetch(String url) throws IOException {
+    HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+        .header("User-Agent", userAgent)
+        .header("Accept-Encoding", "gzip, deflate");
+    if (!timeout.isZero()) {
+      request.timeout(timeout);
+    }
+
+    HttpResponse<InputStream> response;
+    try {
+      response = client.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while fetching " + url);
+    }
+
+    try (InputStream body = decode(response)) {
+      String finalUrl = response.uri().toString();
+      int status = response.statusCode();
+      if (status >= 400) {
+        throw new HttpStatusException("HTTP error fetching URL", status, finalUrl);
+      }
+      String contentType = response.headers().firstValue("Content-Type").orElse(null);
+      if (contentType != null && !isMarkup(contentType)) {
+        throw new UnsupportedMimeTypeException(
+            "Unhandled content type", contentType, finalUrl);
+      }
+      return new Page(finalUrl, status, contentType, body.readNBytes(MAX_BODY_BYTES));
+    }
+  }
+
+  /**
+   * Returns the response body, decompressed as its {@code Content-Encoding} header says.
+   */
+  private static InputStream decode(HttpResponse<InputStream> response) throws IOException {
+    String encoding = response.headers().firstValue("Content-Encoding").orElse("identity");
+    switch (encoding.strip().toLowerCase(Locale.ROOT)) {
+      case "gzip":
+      case "x-gzip":
+        return new GZIPInputStream(response.body());
+      case "deflate":
+        return new InflaterInputStream(response.body());
+      default:
+        return response.body();
+    }
+  }
+
+  /**
+   * Returns whether the given content type is one that Jsoup can parse.
+   */
+  static boolean isMarkup(String contentType) {
+    String type = contentType.toLowerCase(Locale.ROOT);
+    return type.startsWith("text/")
+        || type.startsWith("application/xml")
+        || type.startsWith("application/xhtml+xml")
+        || type.contains("+xml");
+  }
+
+  /**
+   * Returns the character set named in the given {@code Content-Type} header value, or
+   * {@code null} if it names none or is {@code null}.
+   */
+  static String charsetOf(String contentType) {
+    if (contentType == null) {
+      return null;
+    }
+    Matcher matcher = CHARSET.matcher(contentType);
+    return matcher.find() ? matcher.group(1) : null;
+  }
+
+  /**
+   * A downloaded page.
+   */
+  static final class Page {
+    private final String url;
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    private Page(String url, int status, String contentType, byte[] body) {
+      this.url = url;
+      this.status = status;
+      this.contentType = contentType;
+      this.body = body;
+    }
+
+    /**
+     * Returns the URL the page was downloaded from, after redirects.
+     */
+    String getUrl() {
+      return url;
+    }
+
+    /**
+     * Returns the HTTP status code of the response.
+     */
+    int getStatus() {
+      return status;
+    }
+
+    /**
+     * Returns the value of the page's {@code Content-Type} header, or {@code null} if it had none.
+     */
+    String getContentType() {
+      return contentType;
+    }
+
+    /**
+     * Returns the decompressed body of the page.
+     */
+    byte[] getBody() {
+      return body;
+    }
+
+    /**
+     * Returns the character set named in the {@code Content-Type} header, or {@code null} if it
+     * names none, in which case the parser looks for one in the page itself.
+     */
+    String getCharset() {
+      return charsetOf(contentType);
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.udacity.webcrawler.parser;
+
+import org.jsoup.nodes.Document;
+import org.jsoup.parser.Parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads local HTML files for {@link PageParserImpl}.
+ *
+ * <p>Large files are memory-mapped. Pages are decoded a block at a time, straight from their
+ * buffer, as the parser reads them, so neither the bytes nor the characters of a whole page are
+ * copied on the heap. Small files are cheaper to read with a single
+ * {@link FileChannel#read(ByteBuffer)} than to map, so they are read into a heap buffer instead.
+ */
+final class LocalFileFetcher {
+
+  /**
+   * Files smaller than this are read instead of mapped.
+   */
+  static final int MAP_THRESHOLD = 64 * 1024;
+
+  /**
+   * The number of chars decoded at a time.
+   */
+  private static final int DECODE_CHARS = 8 * 1024;
+
+  /**
+   * Parses the given UTF-8 encoded HTML. The position of the given buffer is not changed.
+   */
+  static Document parse(ByteBuffer bytes, String baseUri) throws IOException {
+    ByteBuffer input = bytes.duplicate();
+    int start = input.position();
+    if (input.remaining() >= 3
+        && input.get(start) == (byte) 0xEF
+        && input.get(start + 1) == (byte) 0xBB
+        && input.get(start + 2) == (byte) 0xBF) {
+      input.position(start + 3);  // Skip the byte order mark
+    }
+    // Jsoup's parser needs a reader that supports mark() and reset().
+    return Parser.htmlParser().parseInput(
+        new BufferedReader(new DecodingReader(input), DECODE_CHARS), baseUri);
+  }
+
+  /**
+   * Returns the contents of the file at the given path, either mapped or read into memory.
+   */
+  static ByteBuffer read(Path path) throws IOException {
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      ByteBuffer bytes;
+      if (size < MAP_THRESHOLD) {
+        bytes = ByteBuffer.allocate((int) size);
+        while (bytes.hasRemaining() && channel.read(bytes) >= 0) {
+          // Keep reading until the buffer is full or the file ends.
+        }
+        bytes.flip();
+      } else if (size <= Integer.MAX_VALUE) {
+        bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      } else {
+        throw new IOException("File too large to parse: " + path);
+      }
+      return bytes;
+    }
+  }
+
+  private LocalFileFetcher() {
+    // This class cannot be instantiated
+  }
+
+  /**
+   * A {@link Reader} that decodes UTF-8 from a byte buffer, one block of chars at a time.
+   */
+  private static final class DecodingReader extends Reader {
+    private final ByteBuffer bytes;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+        .onMalformedInput(CodingErrorAction.REPLACE)  // Replace bad input, like Jsoup does
+        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final CharBuffer chars = CharBuffer.allocate(DECODE_CHARS).flip();
+    private boolean flushing;
+    private boolean decoded;
+
+    DecodingReader(ByteBuffer bytes) {
+      this.bytes = bytes;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) {
+      if (length == 0) {
+        return 0;
+      }
+      while (!chars.hasRemaining()) {
+        if (decoded) {
+          return -1;
+        }
+        decodeBlock();
+      }
+      int count = Math.min(length, chars.remaining());
+      chars.get(buffer, offset, count);
+      return count;
+    }
+
+    /**
+     * Decodes the next block of chars into the empty char buffer.
+     */
+    private void decodeBlock() {
+      chars.clear();
+      if (!flushing) {
+        CoderResult result = decoder.decode(bytes, chars, true);
+        flushing = result.isUnderflow();  // All the bytes have been decoded
+      }
+      if (flushing && decoder.flush(chars).isUnderflow()) {
+        decoded = true;
+      }
+      chars.flip();
+    }
+
+    @Override
+    public void close() {
+      // The buffer belongs to the caller.
+    }
+  }
+}
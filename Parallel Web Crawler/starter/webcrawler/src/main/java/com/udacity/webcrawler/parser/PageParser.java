@@ -1,6 +1,9 @@
 package com.udacity.webcrawler.parser;
 
+import com.udacity.webcrawler.analysis.Words;
 import com.udacity.webcrawler.profiler.Profiled;
+import com.udacity.webcrawler.sketch.Hashing;
+import com.udacity.webcrawler.sketch.SimHash;
 
 import java.util.Collections;
 import java.util.HashMap;
@@ -8,7 +11,10 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 /**
@@ -26,22 +32,112 @@ public interface PageParser {
    * A data class that represents the outcome of processing an HTML page.
    */
   final class Result {
-    private final Map<String, Integer> wordCounts;
+    private Map<String, Integer> wordCounts;
+    private final WordIdCounts wordIdCounts;
+    private final WordDictionary dictionary;
+    private final Map<String, Integer> phraseCounts;
     private final List<String> links;
+    private final Exception error;
+    private final long bytes;
+    private final int statusCode;
+    private Long fingerprint;
+    private Long contentHash;
 
-    private Result(Map<String, Integer> wordCounts, List<String> links) {
-      this.wordCounts = Objects.requireNonNull(wordCounts);
+    private Result(
+        Map<String, Integer> wordCounts,
+        WordIdCounts wordIdCounts,
+        WordDictionary dictionary,
+        Map<String, Integer> phraseCounts,
+        List<String> links,
+        Exception error,
+        long bytes,
+        int statusCode) {
+      this.wordCounts = wordCounts;
+      this.wordIdCounts = Objects.requireNonNull(wordIdCounts);
+      this.dictionary = dictionary;
+      this.phraseCounts = Objects.requireNonNull(phraseCounts);
       this.links = Objects.requireNonNull(links);
+      this.error = error;
+      this.bytes = bytes;
+      this.statusCode = statusCode;
     }
 
     /**
      * Returns an unmodifiable {@link Map} containing the words and word frequencies encountered
      * when parsing the web page.
+     *
+     * <p>If the words were counted by id, the map is decoded from {@link #getWordIdCounts()} the
+     * first time it is asked for.
      */
     public Map<String, Integer> getWordCounts() {
+      if (wordCounts == null) {
+        Map<String, Integer> decoded = new HashMap<>();
+        wordIdCounts.forEach((id, count) -> decoded.put(dictionary.wordOf(id), count));
+        wordCounts = Collections.unmodifiableMap(decoded);
+      }
       return wordCounts;
     }
 
+    /**
+     * Returns the word frequencies encountered when parsing the web page, keyed by their ids in
+     * the parser's {@link WordDictionary}. These are empty unless the parser has a dictionary.
+     *
+     * <p>The returned counts must not be modified.
+     */
+    public WordIdCounts getWordIdCounts() {
+      return wordIdCounts;
+    }
+
+    /**
+     * Returns a {@link SimHash} fingerprint of the words on the page, weighted by how often they
+     * occur. Pages with mostly the same words have fingerprints that differ in only a few bits.
+     * Pages without words have a fingerprint of zero.
+     *
+     * <p>The fingerprint is computed the first time it is asked for.
+     */
+    public long getFingerprint() {
+      if (fingerprint == null) {
+        SimHash simHash = new SimHash();
+        if (dictionary != null) {
+          wordIdCounts.forEach((id, count) -> simHash.add(dictionary.wordOf(id), count));
+        } else {
+          wordCounts.forEach(simHash::add);
+        }
+        fingerprint = simHash.fingerprint();
+      }
+      return fingerprint;
+    }
+
+    /**
+     * Returns an exact hash of the words on the page and how often they occur, after
+     * {@link Words#normalize(String) normalization}. Unlike the {@link #getFingerprint()
+     * fingerprint}, it tells apart pages that differ by a single word.
+     *
+     * <p>The hash is computed the first time it is asked for.
+     */
+    public long getContentHash() {
+      if (contentHash == null) {
+        SortedMap<String, Integer> normalized = new TreeMap<>();
+        getWordCounts().forEach((word, count) -> {
+          String normalizedWord = Words.normalize(word);
+          if (!normalizedWord.isEmpty()) {
+            normalized.merge(normalizedWord, count, Integer::sum);
+          }
+        });
+        contentHash = Hashing.hashCounts(normalized);
+      }
+      return contentHash;
+    }
+
+    /**
+     * Returns an unmodifiable {@link Map} containing the phrases and phrase frequencies encountered
+     * when parsing the web page. Phrases are runs of consecutive words within the same block of
+     * text, joined by single spaces. The map is empty unless phrase counting is enabled.
+     */
+    public Map<String, Integer> getPhraseCounts() {
+      return phraseCounts;
+    }
+
     /**
      * Returns an unmodifiable {@link List} of the hyperlinks encountered when parsing the web page.
      */
@@ -49,22 +145,79 @@ public interface PageParser {
       return links;
     }
 
+    /**
+     * Returns the exception that kept the page from being downloaded or parsed, if any. A page
+     * with an error has no words and no links.
+     */
+    public Optional<Exception> getError() {
+      return Optional.ofNullable(error);
+    }
+
+    /**
+     * Returns the size of the page in bytes, after decompression. Zero if the page could not be
+     * read.
+     */
+    public long getBytes() {
+      return bytes;
+    }
+
+    /**
+     * Returns the HTTP status code the page was served with, or zero if it was not served over
+     * HTTP, such as a local file or a WARC resource record.
+     */
+    public int getStatusCode() {
+      return statusCode;
+    }
+
     /**
      * A builder class for the parse {@link Result}. This builder keeps track of word counts and
      * hyperlinks encountered while parsing a web page.
      */
     static final class Builder {
+      private final WordDictionary dictionary;
       private final Map<String, Integer> wordCounts = new HashMap<>();
+      private final WordIdCounts wordIdCounts = new WordIdCounts();
+      private final Map<String, Integer> phraseCounts = new HashMap<>();
       private final Set<String> links = new HashSet<>();
+      private Exception error;
+      private long bytes;
+      private int statusCode;
+
+      /**
+       * Creates a builder that counts words by the words themselves.
+       */
+      Builder() {
+        this(null);
+      }
+
+      /**
+       * Creates a builder that counts words by their ids in the given dictionary, or by the words
+       * themselves if the dictionary is {@code null}.
+       */
+      Builder(WordDictionary dictionary) {
+        this.dictionary = dictionary;
+      }
 
       /**
        * Increments the frequency counter for the given word.
        */
       void addWord(String word) {
         Objects.requireNonNull(word);
+        if (dictionary != null) {
+          wordIdCounts.add(dictionary.idOf(word), 1);
+          return;
+        }
         wordCounts.compute(word, (k, v) -> (v == null) ? 1 : v + 1);
       }
 
+      /**
+       * Increments the frequency counter for the given phrase.
+       */
+      void addPhrase(String phrase) {
+        Objects.requireNonNull(phrase);
+        phraseCounts.merge(phrase, 1, Integer::sum);
+      }
+
       /**
        * Adds the given link, if it has not already been added.
        */
@@ -72,13 +225,43 @@ public interface PageParser {
         links.add(Objects.requireNonNull(link));
       }
 
+      /**
+       * Records that the page could not be downloaded or parsed.
+       */
+      Builder setError(Exception error) {
+        this.error = Objects.requireNonNull(error);
+        return this;
+      }
+
+      /**
+       * Sets the size of the page in bytes.
+       */
+      Builder setBytes(long bytes) {
+        this.bytes = bytes;
+        return this;
+      }
+
+      /**
+       * Sets the HTTP status code the page was served with.
+       */
+      Builder setStatusCode(int statusCode) {
+        this.statusCode = statusCode;
+        return this;
+      }
+
       /**
        * Constructs a {@link Result} from this builder.
        */
       Result build() {
         return new Result(
-            Collections.unmodifiableMap(wordCounts),
-            links.stream().collect(Collectors.toUnmodifiableList()));
+            dictionary == null ? Collections.unmodifiableMap(wordCounts) : null,
+            wordIdCounts,
+            dictionary,
+            Collections.unmodifiableMap(phraseCounts),
+            links.stream().collect(Collectors.toUnmodifiableList()),
+            error,
+            bytes,
+            statusCode);
       }
     }
   }
@@ -1,34 +1,45 @@
 package com.udacity.webcrawler.parser;
 
-import com.udacity.webcrawler.Timeout;
+import com.udacity.webcrawler.analysis.Analyzer;
 import com.udacity.webcrawler.profiler.Profiler;
 
 import javax.inject.Inject;
-import java.time.Duration;
-import java.util.List;
-import java.util.regex.Pattern;
+import java.util.Optional;
 
 /**
  * A {@link PageParserFactory} that wraps its returned instances using a {@link Profiler}.
  */
 final class PageParserFactoryImpl implements PageParserFactory {
   private final Profiler profiler;
-  private final List<Pattern> ignoredWords;
-  private final Duration timeout;
+  private final Analyzer analyzer;
+  private final HttpPageFetcher fetcher;
+  private final int phraseLength;
+  private final Optional<WordDictionary> dictionary;
+  private final Optional<PageSource> source;
+  private final Optional<PageSink> sink;
 
   @Inject
   PageParserFactoryImpl(
-      Profiler profiler, @IgnoredWords List<Pattern> ignoredWords, @Timeout Duration timeout) {
+      Profiler profiler,
+      Analyzer analyzer,
+      HttpPageFetcher fetcher,
+      @PhraseLength int phraseLength,
+      Optional<WordDictionary> dictionary,
+      Optional<PageSource> source,
+      Optional<PageSink> sink) {
     this.profiler = profiler;
-    this.ignoredWords = ignoredWords;
-    this.timeout = timeout;
+    this.analyzer = analyzer;
+    this.fetcher = fetcher;
+    this.phraseLength = phraseLength;
+    this.dictionary = dictionary;
+    this.source = source;
+    this.sink = sink;
   }
 
   @Override
   public PageParser get(String url) {
-    // Here, parse the page with the initial timeout (instead of just the time remaining), to make
-    // the download less likely to fail. Deadline enforcement should happen at a higher level.
-    PageParser delegate = new PageParserImpl(url, timeout, ignoredWords);
+    PageParser delegate = new PageParserImpl(
+        url, fetcher, analyzer, phraseLength, dictionary, source, sink);
     return profiler.wrap(PageParser.class, delegate);
   }
 }
@@ -1,6 +1,10 @@
 package com.udacity.webcrawler.parser;
 
+import com.udacity.webcrawler.analysis.Analyzer;
+import com.udacity.webcrawler.log.Log;
+import org.jsoup.HttpStatusException;
 import org.jsoup.Jsoup;
+import org.jsoup.UnsupportedMimeTypeException;
 import org.jsoup.nodes.Document;
 import org.jsoup.nodes.Element;
 import org.jsoup.nodes.Node;
@@ -8,17 +12,17 @@ import org.jsoup.nodes.TextNode;
 import org.jsoup.select.Evaluator.Tag;
 import org.jsoup.select.NodeVisitor;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.time.Duration;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 /**
@@ -27,22 +31,26 @@ import java.util.regex.Pattern;
  * <p>HTML parsing is done using the JSoup library. This class is a thin adapter around JSoup's API,
  * since JSoup does not know how to correctly resolve relative hyperlinks when parsing HTML from
  * local files.
+ *
+ * <p>Remote pages are downloaded by a shared {@link HttpPageFetcher}, so that parsers of pages on
+ * the same host reuse its connections.
  */
 final class PageParserImpl implements PageParser {
 
-  /**
-   * Matches whitespace characters.
-   */
-  private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+  private static final Log LOG = Log.forClass(PageParserImpl.class);
 
   /**
-   * Matches non-word characters.
+   * The user agent of parsers that are not given a {@link HttpPageFetcher}.
    */
-  private static final Pattern NON_WORD_CHARACTERS = Pattern.compile("\\W");
+  private static final String DEFAULT_USER_AGENT = "udacity-webcrawler";
 
   private final String uri;
-  private final Duration timeout;
-  private final List<Pattern> ignoredWords;
+  private final HttpPageFetcher fetcher;
+  private final Analyzer analyzer;
+  private final int phraseLength;
+  private final Optional<WordDictionary> dictionary;
+  private final Optional<PageSource> source;
+  private final Optional<PageSink> sink;
 
   /**
    * Constructs a page parser with the given parameters.
@@ -52,9 +60,38 @@ final class PageParserImpl implements PageParser {
    * @param ignoredWords patterns of which words should be ignored by the {@link #parse()} method.
    */
   PageParserImpl(String uri, Duration timeout, List<Pattern> ignoredWords) {
+    this(
+        uri,
+        new HttpPageFetcher(timeout, DEFAULT_USER_AGENT),
+        Analyzer.legacy(ignoredWords),
+        0,
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty());
+  }
+
+  /**
+   * Constructs a page parser that downloads remote pages with the given {@link HttpPageFetcher},
+   * splits their text into words with the given {@link Analyzer}, counts phrases of the given
+   * length, counts words by their ids in the given {@link WordDictionary}, reads the page from the
+   * given {@link PageSource} when it is stored there, and hands downloaded pages to the given
+   * {@link PageSink}. A phrase length of zero turns phrase counting off.
+   */
+  PageParserImpl(
+      String uri,
+      HttpPageFetcher fetcher,
+      Analyzer analyzer,
+      int phraseLength,
+      Optional<WordDictionary> dictionary,
+      Optional<PageSource> source,
+      Optional<PageSink> sink) {
     this.uri = Objects.requireNonNull(uri);
-    this.timeout = Objects.requireNonNull(timeout);
-    this.ignoredWords = Objects.requireNonNull(ignoredWords);
+    this.fetcher = Objects.requireNonNull(fetcher);
+    this.analyzer = Objects.requireNonNull(analyzer);
+    this.phraseLength = phraseLength;
+    this.dictionary = Objects.requireNonNull(dictionary);
+    this.source = Objects.requireNonNull(source);
+    this.sink = Objects.requireNonNull(sink);
   }
 
   @Override
@@ -67,28 +104,33 @@ final class PageParserImpl implements PageParser {
       return new Result.Builder().build();
     }
 
+    Result.Builder builder = new Result.Builder(dictionary.orElse(null));
     Document document;
     try {
-      document = parseDocument(parsedUri);
+      document = parseDocument(parsedUri, builder);
     } catch (Exception e) {
       // There are multiple exceptions that can be encountered due to invalid URIs or Mimetypes that
-      // Jsoup does not handle. There is not much we can do here.
-      return new Result.Builder().build();
+      // Jsoup does not handle. There is not much we can do here, other than to tell the crawler.
+      return new Result.Builder().setError(e).build();
     }
 
-    Result.Builder builder = new Result.Builder();
     // Do a single pass over the document to gather all hyperlinks and text.
     document.traverse(new NodeVisitor() {
       @Override
       public void head(Node node, int depth) {
         if (node instanceof TextNode) {
-          String text = ((TextNode) node).text().strip();
-          Arrays.stream(WHITESPACE.split(text))
-              .filter(s -> !s.isBlank())
-              .filter(s -> ignoredWords.stream().noneMatch(p -> p.matcher(s).matches()))
-              .map(s -> NON_WORD_CHARACTERS.matcher(s).replaceAll(""))
-              .map(String::toLowerCase)
-              .forEach(builder::addWord);
+          // Words are only collected when they are needed for phrases.
+          List<String> words = phraseLength > 1 ? new ArrayList<>() : null;
+          analyzer.analyze(((TextNode) node).text(), term -> {
+            String word = term.toString();
+            builder.addWord(word);
+            if (words != null) {
+              words.add(word);
+            }
+          });
+          if (words != null) {
+            addPhrases(words, builder);
+          }
           return;
         }
         if (!(node instanceof Element)) {
@@ -116,22 +158,83 @@ final class PageParserImpl implements PageParser {
     return builder.build();
   }
 
+  /**
+   * Adds every run of {@link #phraseLength} consecutive words to the builder. Words the analyzer
+   * dropped, such as ignored words, have already been left out of the list, so phrases span them;
+   * empty words break a phrase instead.
+   */
+  private void addPhrases(List<String> words, Result.Builder builder) {
+    int runStart = 0;
+    for (int i = 0; i < words.size(); i++) {
+      if (words.get(i).isEmpty()) {
+        runStart = i + 1;
+      } else if (i + 1 - runStart >= phraseLength) {
+        builder.addPhrase(String.join(" ", words.subList(i + 1 - phraseLength, i + 1)));
+      }
+    }
+  }
+
   /**
    * Returns a Jsoup {@link Document} representation of the file at the given {@link URI}, which may
-   * refer to a local document or a remote web page.
+   * refer to a local document or a remote web page. The size of the page, and its status code if it
+   * is downloaded, are recorded in the given builder.
    */
-  private Document parseDocument(URI uri) throws IOException {
+  private Document parseDocument(URI uri, Result.Builder builder) throws IOException {
+    if (source.isPresent()) {
+      Optional<PageSource.Page> stored = source.get().fetch(this.uri);
+      if (stored.isPresent()) {
+        return parseStored(stored.get(), uri, builder);
+      }
+    }
+
     if (!isLocalFile(uri)) {
-      return Jsoup.parse(uri.toURL(), (int) timeout.toMillis());
+      HttpPageFetcher.Page page = fetcher.fetch(this.uri);
+      builder.setBytes(page.getBody().length).setStatusCode(page.getStatus());
+      if (sink.isPresent()) {
+        try {
+          sink.get().write(this.uri, page.getStatus(), page.getContentType(), page.getBody());
+        } catch (IOException e) {
+          // The page can still be parsed, even though it could not be stored.
+          LOG.error("Could not store page %s: %s", this.uri, e.getMessage());
+        }
+      }
+      // Links are resolved against the URL the page was redirected to, as Jsoup would do.
+      return Jsoup.parse(
+          new ByteArrayInputStream(page.getBody()), page.getCharset(), page.getUrl());
     }
 
     // Unfortunately, Jsoup.parse() has a baseUri parameter that does not work with local
     // "file://" URIs. If we want the parser to support those URIs, which are very useful for
     // testing, the work-around is to pass in an empty baseUri and manually add the base back to
     // href attributes.
-    try (InputStream in = Files.newInputStream(Path.of(uri))) {
-      return Jsoup.parse(in, StandardCharsets.UTF_8.name(), "");
+    ByteBuffer bytes = LocalFileFetcher.read(Path.of(uri));
+    builder.setBytes(bytes.remaining());
+    return LocalFileFetcher.parse(bytes, "");
+  }
+
+  /**
+   * Returns a Jsoup {@link Document} representation of a page read from the {@link PageSource}.
+   * The page goes through the same checks, and is decoded with the same character set, as if it
+   * had just been downloaded.
+   */
+  private Document parseStored(PageSource.Page page, URI uri, Result.Builder builder)
+      throws IOException {
+    int status = page.getStatus();
+    // Pages stored without a status, such as WARC resource records, are taken as they are. Stored
+    // redirects are not followed.
+    if (status != -1 && (status < 200 || status >= 300)) {
+      throw new HttpStatusException("HTTP error in stored page", status, this.uri);
+    }
+    String contentType = page.getContentType();
+    if (contentType != null && !HttpPageFetcher.isMarkup(contentType)) {
+      throw new UnsupportedMimeTypeException("Unhandled content type", contentType, this.uri);
     }
+    builder.setBytes(page.getBody().length).setStatusCode(Math.max(status, 0));
+    // Local files get an empty base URI for the same reason as below.
+    return Jsoup.parse(
+        new ByteArrayInputStream(page.getBody()),
+        HttpPageFetcher.charsetOf(contentType),
+        isLocalFile(uri) ? "" : this.uri);
   }
 
   /**
@@ -0,0 +1,30 @@
+package com.udacity.webcrawler.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Receives every page the page parser downloads, for example to archive it.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface PageSink extends Closeable {
+
+  /**
+   * Stores the downloaded body of the page at the given URL.
+   *
+   * @param url         the URL the page was downloaded from.
+   * @param status      the HTTP status code the page was served with.
+   * @param contentType the value of the page's {@code Content-Type} header, or {@code null} if it
+   *                    had none.
+   * @param body        the raw bytes of the page.
+   */
+  void write(String url, int status, String contentType, byte[] body) throws IOException;
+
+  /**
+   * Releases the resources of this sink once the crawl is over. The default does nothing.
+   */
+  @Override
+  default void close() throws IOException {
+  }
+}
@@ -0,0 +1,73 @@
+package com.udacity.webcrawler.parser;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A store of previously downloaded pages, such as a WARC archive, that the page parser reads from
+ * instead of fetching the page again.
+ *
+ * <p>Implementations must be thread-safe.
+ */
+public interface PageSource extends Closeable {
+
+  /**
+   * Returns the stored page at the given URL, or an empty {@link Optional} if the page is not
+   * stored.
+   */
+  Optional<Page> fetch(String url) throws IOException;
+
+  /**
+   * Releases the resources of this source once the crawl is over. The default does nothing.
+   */
+  @Override
+  default void close() throws IOException {
+  }
+
+  /**
+   * A stored page, as it was served when it was downloaded.
+   */
+  final class Page {
+    private final int status;
+    private final String contentType;
+    private final byte[] body;
+
+    /**
+     * Creates a stored page.
+     *
+     * @param status      the HTTP status code the page was served with, or -1 if it was stored
+     *                    without one.
+     * @param contentType the value of the page's {@code Content-Type} header, or {@code null} if it
+     *                    had none.
+     * @param body        the body of the page, without any transfer or content coding.
+     */
+    public Page(int status, String contentType, byte[] body) {
+      this.status = status;
+      this.contentType = contentType;
+      this.body = Objects.requireNonNull(body);
+    }
+
+    /**
+     * Returns the HTTP status code the page was served with, or -1 if it was stored without one.
+     */
+    public int getStatus() {
+      return status;
+    }
+
+    /**
+     * Returns the value of the page's {@code Content-Type} header, or {@code null} if it had none.
+     */
+    public String getContentType() {
+      return contentType;
+    }
+
+    /**
+     * Returns the body of the page.
+     */
+    public byte[] getBody() {
+      return body;
+    }
+  }
+}
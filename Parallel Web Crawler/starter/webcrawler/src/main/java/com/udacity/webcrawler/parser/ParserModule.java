@@ -2,7 +2,12 @@ package com.udacity.webcrawler.parser;
 
 import com.google.inject.AbstractModule;
 import com.google.inject.Key;
+import com.google.inject.Provides;
+import com.google.inject.multibindings.OptionalBinder;
+import com.udacity.webcrawler.analysis.Analyzer;
 
+import javax.inject.Singleton;
+import java.net.http.HttpClient;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
@@ -11,24 +16,59 @@ import java.util.regex.Pattern;
 /**
  * Guice dependency injection module that installs a {@link PageParserFactory} that can be used to
  * create page parsers.
+ *
+ * <p>Requires a {@link HttpClient} to already be bound. Pages are downloaded through it.
  */
 public final class ParserModule extends AbstractModule {
   private final Duration timeout;
   private final List<Pattern> ignoredWords;
+  private final int phraseLength;
+  private final String userAgent;
+  private final String analyzer;
 
   /**
-   * Creates a {@link ParserModule} from the given timeout and ignored word patterns.
+   * Creates a {@link ParserModule} from the given timeout, ignored word patterns, phrase length,
+   * user agent and analyzer name.
    */
-  private ParserModule(Duration timeout, List<Pattern> ignoredWords) {
+  private ParserModule(
+      Duration timeout,
+      List<Pattern> ignoredWords,
+      int phraseLength,
+      String userAgent,
+      String analyzer) {
     this.timeout = timeout;
     this.ignoredWords = ignoredWords;
+    this.phraseLength = phraseLength;
+    this.userAgent = userAgent;
+    this.analyzer = analyzer;
   }
 
   @Override
   protected void configure() {
     bind(Key.get(Duration.class, ParseDeadline.class)).toInstance(timeout);
     bind(new Key<List<Pattern>>(IgnoredWords.class) {}).toInstance(ignoredWords);
+    bind(Key.get(Integer.class, PhraseLength.class)).toInstance(phraseLength);
     bind(PageParserFactory.class).to(PageParserFactoryImpl.class);
+
+    // None of these is bound by default. Other modules can set them with
+    // OptionalBinder#setBinding().
+    OptionalBinder.newOptionalBinder(binder(), WordDictionary.class);
+    OptionalBinder.newOptionalBinder(binder(), PageSource.class);
+    OptionalBinder.newOptionalBinder(binder(), PageSink.class);
+  }
+
+  @Provides
+  @Singleton
+  HttpPageFetcher provideHttpPageFetcher(HttpClient client) {
+    // Here, download each page with the initial timeout (instead of just the time remaining), to
+    // make the download less likely to fail. Deadline enforcement should happen at a higher level.
+    return new HttpPageFetcher(client, timeout, userAgent);
+  }
+
+  @Provides
+  @Singleton
+  Analyzer provideAnalyzer(@IgnoredWords List<Pattern> ignoredWords) {
+    return Analyzer.forName(analyzer, ignoredWords);
   }
 
   /**
@@ -37,6 +77,9 @@ public final class ParserModule extends AbstractModule {
   public static final class Builder {
     private Duration timeout;
     private List<Pattern> ignoredWords;
+    private int phraseLength;
+    private String userAgent = "udacity-webcrawler";
+    private String analyzer = "legacy";
 
     /**
      * Sets the timeout that will be used by the page parser.
@@ -54,11 +97,40 @@ public final class ParserModule extends AbstractModule {
       return this;
     }
 
+    /**
+     * Sets the number of words in the phrases the page parser counts. Zero, the default, turns
+     * phrase counting off.
+     */
+    public Builder setPhraseLength(int phraseLength) {
+      if (phraseLength < 0) {
+        throw new IllegalArgumentException("phraseLength cannot be negative");
+      }
+      this.phraseLength = phraseLength;
+      return this;
+    }
+
+    /**
+     * Sets the {@code User-Agent} header that the page parser sends with every request.
+     */
+    public Builder setUserAgent(String userAgent) {
+      this.userAgent = Objects.requireNonNull(userAgent);
+      return this;
+    }
+
+    /**
+     * Sets the name of the {@link Analyzer} that splits the text of pages into words. See
+     * {@link Analyzer#forName(String, List)}. The default is {@code legacy}.
+     */
+    public Builder setAnalyzer(String analyzer) {
+      this.analyzer = Objects.requireNonNull(analyzer);
+      return this;
+    }
+
     /**
      * Builds a {@link ParserModule} from this {@link Builder}.
      */
     public ParserModule build() {
-      return new ParserModule(timeout, ignoredWords);
+      return new ParserModule(timeout, ignoredWords, phraseLength, userAgent, analyzer);
     }
   }
 }
@@ -0,0 +1,17 @@
+package com.udacity.webcrawler.parser;
+
+import javax.inject.Qualifier;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * A binding annotation for the number of words in the phrases the HTML parser counts, or zero if
+ * phrases are not counted.
+ *
+ * <p>Like {@link IgnoredWords}, this annotation is only used inside the
+ * {@code com.udacity.webcrawler.parser} package.
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+@interface PhraseLength {
+}
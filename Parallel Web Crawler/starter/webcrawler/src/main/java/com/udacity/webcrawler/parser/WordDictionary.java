@@ -0,0 +1,89 @@
+package com.udacity.webcrawler.parser;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns each distinct word a small integer id, so that word counts can be kept in arrays and
+ * primitive maps instead of maps of strings.
+ *
+ * <p>Ids are handed out densely, starting at zero, in the order words are first seen. Only the
+ * first instance of each word is kept; later lookups of the same word return its id without
+ * storing anything.
+ *
+ * <p>This class is thread-safe. Looking up a word that already has an id takes no locks.
+ */
+public final class WordDictionary {
+
+  private static final int CHUNK_BITS = 12;
+  private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+  private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+  private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+  private final AtomicInteger nextId = new AtomicInteger();
+
+  /**
+   * The words by id, in chunks of {@link #CHUNK_SIZE}. Growing only copies the outer array.
+   */
+  private volatile String[][] words = new String[0][];
+
+  /**
+   * Returns the id of the given word, assigning it the next unused id if it does not have one.
+   */
+  public int idOf(String word) {
+    Integer id = ids.get(word);
+    if (id != null) {
+      return id;
+    }
+    return ids.computeIfAbsent(word, this::assign);
+  }
+
+  /**
+   * Returns the word with the given id.
+   *
+   * @throws IllegalArgumentException if the id has not been returned by {@link #idOf(String)}.
+   */
+  public String wordOf(int id) {
+    String[][] chunks = words;
+    if (id < 0 || id >= size() || (id >>> CHUNK_BITS) >= chunks.length) {
+      throw new IllegalArgumentException("Unknown word id: " + id);
+    }
+    return chunks[id >>> CHUNK_BITS][id & CHUNK_MASK];
+  }
+
+  /**
+   * Returns the number of ids handed out so far. All ids are smaller than this number.
+   */
+  public int size() {
+    return nextId.get();
+  }
+
+  /**
+   * Called by {@link ConcurrentHashMap#computeIfAbsent} at most once per word. The word is stored
+   * before the map publishes its id, so any thread that sees the id can also look up the word.
+   */
+  private Integer assign(String word) {
+    int id = nextId.getAndIncrement();
+    chunk(id >>> CHUNK_BITS)[id & CHUNK_MASK] = word;
+    return id;
+  }
+
+  private String[] chunk(int index) {
+    String[][] chunks = words;
+    if (index < chunks.length) {
+      return chunks[index];
+    }
+    synchronized (this) {
+      chunks = words;
+      if (index >= chunks.length) {
+        String[][] grown = new String[Math.max(index + 1, chunks.length * 2)][];
+        System.arraycopy(chunks, 0, grown, 0, chunks.length);
+        for (int i = chunks.length; i < grown.length; i++) {
+          grown[i] = new String[CHUNK_SIZE];
+        }
+        words = chunks = grown;
+      }
+      return chunks[index];
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package com.udacity.webcrawler.parser;
+
+import java.util.Arrays;
+
+/**
+ * Counts of word ids from a {@link WordDictionary}, in a hash map of primitive ints.
+ *
+ * <p>This is the per-page counterpart of a {@code Map<String, Integer>}, without the boxed
+ * integers and map entries. This class is not thread-safe.
+ */
+public final class WordIdCounts {
+
+  private static final int EMPTY = -1;
+
+  private int[] ids;
+  private int[] counts;
+  private int size;
+
+  /**
+   * Creates an empty map.
+   */
+  public WordIdCounts() {
+    this(16);
+  }
+
+  private WordIdCounts(int capacity) {
+    ids = new int[capacity];
+    counts = new int[capacity];
+    Arrays.fill(ids, EMPTY);
+  }
+
+  /**
+   * Adds the given count to the given id.
+   */
+  public void add(int id, int count) {
+    if (id < 0) {
+      throw new IllegalArgumentException("Word ids cannot be negative");
+    }
+    int slot = slot(id);
+    if (ids[slot] == EMPTY) {
+      ids[slot] = id;
+      size++;
+      if (size * 4 > ids.length * 3) {
+        grow();
+        slot = slot(id);
+      }
+    }
+    counts[slot] += count;
+  }
+
+  /**
+   * Returns the count of the given id, or zero if it has none.
+   */
+  public int get(int id) {
+    int slot = slot(id);
+    return ids[slot] == id ? counts[slot] : 0;
+  }
+
+  /**
+   * Returns the number of distinct ids.
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns whether there are no counts.
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Calls the given consumer with every id and its count, in no particular order.
+   */
+  public void forEach(Consumer consumer) {
+    for (int i = 0; i < ids.length; i++) {
+      if (ids[i] != EMPTY) {
+        consumer.accept(ids[i], counts[i]);
+      }
+    }
+  }
+
+  /**
+   * Returns the slot that holds the given id, or the empty slot where it belongs.
+   */
+  private int slot(int id) {
+    int mask = ids.length - 1;
+    int hash = id * 0x9E3779B9;
+    int slot = (hash ^ hash >>> 16) & mask;
+    while (ids[slot] != EMPTY && ids[slot] != id) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  private void grow() {
+    WordIdCounts grown = new WordIdCounts(ids.length * 2);
+    forEach(grown::add);
+    ids = grown.ids;
+    counts = grown.counts;
+  }
+
+  /**
+   * Receives the counts of a {@link WordIdCounts}.
+   */
+  @FunctionalInterface
+  public interface Consumer {
+    void accept(int id, int count);
+  }
+}
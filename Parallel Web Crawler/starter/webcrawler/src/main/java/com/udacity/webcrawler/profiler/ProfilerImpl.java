@@ -1,5 +1,7 @@
 package com.udacity.webcrawler.profiler;
 
+import com.udacity.webcrawler.log.Log;
+
 import javax.inject.Inject;
 import java.io.BufferedWriter;
 import java.io.IOException;
@@ -18,6 +20,8 @@ import java.lang.reflect.Proxy;
  */
 final class ProfilerImpl implements Profiler {
 
+  private static final Log LOG = Log.forClass(ProfilerImpl.class);
+
   private final Clock clock;
   private final ProfilingState state = new ProfilingState();
   private final ZonedDateTime startTime;
@@ -61,7 +65,7 @@ final class ProfilerImpl implements Profiler {
     try (BufferedWriter writer = Files.newBufferedWriter(path)) {
       writeData(writer);
     } catch (IOException e) {
-      System.err.println("[ERROR] Failed to write profiling data to file: " + e.getMessage());
+      LOG.error("Failed to write profiling data to file: %s", e.getMessage());
       throw new RuntimeException(e);
     }
   }
@@ -1,5 +1,8 @@
 package com.udacity.webcrawler.profiler;
 
+import com.udacity.webcrawler.log.Level;
+import com.udacity.webcrawler.log.Log;
+
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
@@ -14,6 +17,8 @@ import java.util.Objects;
  */
 final class ProfilingMethodInterceptor implements InvocationHandler {
 
+  private static final Log LOG = Log.forClass(ProfilingMethodInterceptor.class);
+
   private final Clock clock;  // Clock instance for tracking time.
   private final Object target;  // The object being proxied.
   private final ProfilingState profilingState;  // Holds profiling data.
@@ -50,10 +55,10 @@ final class ProfilingMethodInterceptor implements InvocationHandler {
       return method.invoke(target, args);
     } catch (InvocationTargetException e) {
       // Log and rethrow the original cause of the exception.
-      System.err.println("[ERROR] Exception in profiled method: " + e.getCause());
+      LOG.error("Exception in profiled method: %s", e.getCause());
       throw e.getCause();
     } catch (IllegalAccessException e) {
-      System.err.println("[ERROR] Illegal access when invoking method: " + method.getName());
+      LOG.error("Illegal access when invoking method: %s", method.getName());
       throw new RuntimeException(e);
     } finally {
       // Record the end time and calculate the elapsed time.
@@ -62,7 +67,10 @@ final class ProfilingMethodInterceptor implements InvocationHandler {
 
       // Record the method call details into ProfilingState.
       profilingState.record(target.getClass(), method, duration);
-      System.out.println("[DEBUG] Profiled method: " + method.getName() + " took " + duration.toMillis() + " ms.");
+      // Checked first, so that calls are not slowed down by arguments that are never logged.
+      if (LOG.isEnabled(Level.DEBUG)) {
+        LOG.debug("Profiled method: %s took %d ms.", method.getName(), duration.toMillis());
+      }
     }
   }
 }
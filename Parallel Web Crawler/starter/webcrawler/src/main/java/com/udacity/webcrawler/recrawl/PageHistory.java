@@ -0,0 +1,150 @@
+package com.udacity.webcrawler.recrawl;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * What earlier crawls learned about one page: when it was fetched, what its content was, and how
+ * often the content changed between fetches.
+ *
+ * <p>Pages are assumed to change at random, at a steady rate of their own (a Poisson process).
+ * The rate is estimated with the estimator of Cho and Garcia-Molina, which corrects for changes
+ * that were missed because a page changed more than once between two fetches:
+ *
+ * <pre>{@code
+ *   rate = -ln((n - x + 0.5) / (n + 0.5)) / (t / n)
+ * }</pre>
+ *
+ * <p>where {@code n} is the number of times the page was fetched again after its first fetch,
+ * {@code x} the number of those fetches that found changed content, and {@code t} the time between
+ * the first and the last fetch.
+ *
+ * <p>Instances are immutable.
+ */
+public final class PageHistory {
+
+  private final String url;
+  private final Instant firstFetch;
+  private final Instant lastFetch;
+  private final long contentHash;
+  private final int fetches;
+  private final int changes;
+  private final int depth;
+
+  PageHistory(
+      String url,
+      Instant firstFetch,
+      Instant lastFetch,
+      long contentHash,
+      int fetches,
+      int changes,
+      int depth) {
+    this.url = Objects.requireNonNull(url);
+    this.firstFetch = Objects.requireNonNull(firstFetch);
+    this.lastFetch = Objects.requireNonNull(lastFetch);
+    this.contentHash = contentHash;
+    this.fetches = fetches;
+    this.changes = changes;
+    this.depth = depth;
+  }
+
+  /**
+   * Returns the history of a page that was fetched for the first time.
+   */
+  static PageHistory first(String url, Instant time, long contentHash, int depth) {
+    return new PageHistory(url, time, time, contentHash, 1, 0, depth);
+  }
+
+  /**
+   * Returns this history with one more fetch at the given time, which found the given content.
+   */
+  PageHistory next(Instant time, long contentHash, int depth) {
+    if (time.isBefore(lastFetch)) {
+      return this;  // A late record of an older fetch adds nothing.
+    }
+    return new PageHistory(
+        url,
+        firstFetch,
+        time,
+        contentHash,
+        fetches + 1,
+        contentHash == this.contentHash ? changes : changes + 1,
+        depth);
+  }
+
+  /**
+   * Returns the URL of the page.
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Returns the time the page was first fetched.
+   */
+  public Instant getFirstFetch() {
+    return firstFetch;
+  }
+
+  /**
+   * Returns the time the page was last fetched.
+   */
+  public Instant getLastFetch() {
+    return lastFetch;
+  }
+
+  /**
+   * Returns the hash of the page's content at the last fetch.
+   */
+  public long getContentHash() {
+    return contentHash;
+  }
+
+  /**
+   * Returns the number of times the page was fetched.
+   */
+  public int getFetches() {
+    return fetches;
+  }
+
+  /**
+   * Returns the number of fetches that found different content than the fetch before.
+   */
+  public int getChanges() {
+    return changes;
+  }
+
+  /**
+   * Returns the remaining crawl depth the page was last crawled at.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Returns the estimated number of changes per second, or {@link Double#NaN} if the page has not
+   * been fetched at two different times yet.
+   */
+  public double getChangeRate() {
+    int n = fetches - 1;
+    double seconds = Duration.between(firstFetch, lastFetch).toMillis() / 1000.0;
+    if (n == 0 || seconds <= 0) {
+      return Double.NaN;
+    }
+    return Math.log((n + 0.5) / (n - changes + 0.5)) / (seconds / n);
+  }
+
+  /**
+   * Returns the probability that the page has changed since it was last fetched, as of the given
+   * time. It is 1 if the change rate is not known yet.
+   */
+  public double getChangeProbability(Instant now) {
+    double rate = getChangeRate();
+    if (Double.isNaN(rate)) {
+      return 1;
+    }
+    double seconds = Math.max(0, Duration.between(lastFetch, now).toMillis() / 1000.0);
+    return -Math.expm1(-rate * seconds);
+  }
+}
@@ -0,0 +1,200 @@
+package com.udacity.webcrawler.recrawl;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * The {@link PageHistory} of every page crawled so far, kept from one crawl to the next so that a
+ * recrawl can skip the pages that have probably not changed.
+ *
+ * <p>A page is due for a recrawl if it is not known yet, if the probability that it has changed
+ * since it was last fetched has reached a threshold, or if it has not been fetched for longer than
+ * a maximum age. The maximum age also covers pages that have never been seen to change, whose
+ * estimated change rate is zero.
+ *
+ * <p>The store is saved as a UTF-8 text file with a header line and one tab-separated line per
+ * page: the URL, the times of the first and the last fetch in milliseconds since the epoch, the
+ * content hash in hexadecimal, the numbers of fetches and changes, and the crawl depth.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class RecrawlStore {
+
+  private static final String HEADER =
+      "url\tfirstFetch\tlastFetch\tcontentHash\tfetches\tchanges\tdepth";
+
+  private final double changeThreshold;
+  private final Duration maxAge;
+  private final ConcurrentMap<String, PageHistory> pages = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an empty store.
+   *
+   * @param changeThreshold the probability of a change at which a page is due, between 0 and 1.
+   * @param maxAge          the longest time a page goes without being fetched again.
+   */
+  public RecrawlStore(double changeThreshold, Duration maxAge) {
+    if (!(changeThreshold >= 0 && changeThreshold <= 1)) {
+      throw new IllegalArgumentException("changeThreshold must be between 0 and 1");
+    }
+    if (maxAge.isNegative()) {
+      throw new IllegalArgumentException("maxAge cannot be negative");
+    }
+    this.changeThreshold = changeThreshold;
+    this.maxAge = maxAge;
+  }
+
+  /**
+   * Returns a store with the pages saved in the given file, or an empty store if the file does not
+   * exist yet.
+   *
+   * @throws IOException if the file cannot be read or is malformed.
+   */
+  public static RecrawlStore load(Path path, double changeThreshold, Duration maxAge)
+      throws IOException {
+    RecrawlStore store = new RecrawlStore(changeThreshold, maxAge);
+    if (!Files.exists(path)) {
+      return store;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      String line = reader.readLine();
+      if (!HEADER.equals(line)) {
+        throw new IOException("Not a recrawl state file: " + path);
+      }
+      int number = 1;
+      while ((line = reader.readLine()) != null) {
+        number++;
+        if (line.isEmpty()) {
+          continue;
+        }
+        PageHistory page = parse(line);
+        if (page == null) {
+          throw new IOException("Malformed line " + number + " in recrawl state file: " + path);
+        }
+        store.pages.put(page.getUrl(), page);
+      }
+    }
+    return store;
+  }
+
+  /**
+   * Saves the store to the given file. The file is replaced atomically, so that a crawl that is
+   * killed while saving leaves the previous state intact.
+   */
+  public void save(Path path) throws IOException {
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+    try (BufferedWriter writer = Files.newBufferedWriter(temporary, StandardCharsets.UTF_8)) {
+      writer.write(HEADER);
+      writer.write('\n');
+      for (PageHistory page : pages.values()) {
+        writer.write(String.join("\t",
+            page.getUrl(),
+            Long.toString(page.getFirstFetch().toEpochMilli()),
+            Long.toString(page.getLastFetch().toEpochMilli()),
+            Long.toHexString(page.getContentHash()),
+            Integer.toString(page.getFetches()),
+            Integer.toString(page.getChanges()),
+            Integer.toString(page.getDepth())));
+        writer.write('\n');
+      }
+    }
+    Files.move(temporary, path,
+        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * Returns the number of pages in the store.
+   */
+  public int size() {
+    return pages.size();
+  }
+
+  /**
+   * Returns the history of the page at the given URL, if it has been crawled before.
+   */
+  public Optional<PageHistory> get(String url) {
+    return Optional.ofNullable(pages.get(url));
+  }
+
+  /**
+   * Records that the page at the given URL was fetched at the given time.
+   *
+   * @param depth       the remaining crawl depth the page was crawled at.
+   * @param contentHash a hash of the page's content, which tells whether it has changed.
+   */
+  public void recordFetch(String url, int depth, long contentHash, Instant time) {
+    pages.merge(
+        url,
+        PageHistory.first(url, time, contentHash, depth),
+        (old, first) -> old.next(time, contentHash, depth));
+  }
+
+  /**
+   * Returns the probability that the page at the given URL has changed since it was last fetched,
+   * as of the given time. Pages that have not been crawled before have a probability of 1.
+   */
+  public double changeProbability(String url, Instant now) {
+    PageHistory page = pages.get(url);
+    return page == null ? 1 : page.getChangeProbability(now);
+  }
+
+  /**
+   * Returns whether the page at the given URL should be crawled at the given time. Pages fetched
+   * after that time are due, since a crawl that started then has fetched them itself, and skips
+   * the URLs it has already visited on its own.
+   */
+  public boolean isDue(String url, Instant now) {
+    PageHistory page = pages.get(url);
+    return page == null || isDue(page, now);
+  }
+
+  /**
+   * Returns the known pages that are due at the given time, the ones most likely to have changed
+   * first.
+   */
+  public List<PageHistory> duePages(Instant now) {
+    return pages.values().stream()
+        .filter(page -> isDue(page, now))
+        .sorted(Comparator.comparingDouble((PageHistory page) -> -page.getChangeProbability(now))
+            .thenComparing(PageHistory::getUrl))
+        .collect(Collectors.toList());
+  }
+
+  private boolean isDue(PageHistory page, Instant now) {
+    return page.getLastFetch().isAfter(now)
+        || page.getChangeProbability(now) >= changeThreshold
+        || Duration.between(page.getLastFetch(), now).compareTo(maxAge) >= 0;
+  }
+
+  private static PageHistory parse(String line) {
+    String[] fields = line.split("\t", -1);
+    if (fields.length != 7 || fields[0].isEmpty()) {
+      return null;
+    }
+    try {
+      return new PageHistory(
+          fields[0],
+          Instant.ofEpochMilli(Long.parseLong(fields[1])),
+          Instant.ofEpochMilli(Long.parseLong(fields[2])),
+          Long.parseUnsignedLong(fields[3], 16),
+          Integer.parseInt(fields[4]),
+          Integer.parseInt(fields[5]),
+          Integer.parseInt(fields[6]));
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+}
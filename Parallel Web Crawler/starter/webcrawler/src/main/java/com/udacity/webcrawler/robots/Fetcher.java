@@ -0,0 +1,86 @@
+package com.udacity.webcrawler.robots;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Downloads the files that tell the crawler about a site, such as {@code robots.txt} files and
+ * sitemaps.
+ */
+@FunctionalInterface
+public interface Fetcher {
+
+  /**
+   * Downloads the file at the given URL.
+   *
+   * @throws IOException if the file could not be downloaded at all. HTTP error statuses are not
+   *                     exceptions; they are returned in the {@link Response}.
+   */
+  Response fetch(String url) throws IOException;
+
+  /**
+   * Returns a fetcher that downloads files with {@link URLConnection}, so that it supports
+   * {@code file:} URLs as well as HTTP. Redirects are followed, and at most {@code maxBytes}
+   * bytes of each file are read.
+   */
+  static Fetcher forUrlConnection(String userAgent, Duration timeout, int maxBytes) {
+    Objects.requireNonNull(userAgent);
+    int timeoutMillis = (int) timeout.toMillis();
+    return url -> {
+      URLConnection connection = new URL(url).openConnection();
+      connection.setConnectTimeout(timeoutMillis);
+      connection.setReadTimeout(timeoutMillis);
+      connection.setRequestProperty("User-Agent", userAgent);
+      int status = 200;
+      if (connection instanceof HttpURLConnection) {
+        status = ((HttpURLConnection) connection).getResponseCode();
+        if (status >= 400) {
+          ((HttpURLConnection) connection).disconnect();
+          return new Response(status, new byte[0]);
+        }
+      }
+      try (InputStream in = connection.getInputStream()) {
+        return new Response(status, in.readNBytes(maxBytes));
+      } catch (FileNotFoundException e) {
+        return new Response(404, new byte[0]);
+      }
+    };
+  }
+
+  /**
+   * A downloaded file.
+   */
+  final class Response {
+    private final int status;
+    private final byte[] body;
+
+    /**
+     * Creates a response with the given HTTP status and body. Files that do not come from an HTTP
+     * server have a status of 200 if they were found, and 404 otherwise.
+     */
+    public Response(int status, byte[] body) {
+      this.status = status;
+      this.body = Objects.requireNonNull(body);
+    }
+
+    /**
+     * Returns the HTTP status of the response.
+     */
+    public int getStatus() {
+      return status;
+    }
+
+    /**
+     * Returns the body of the response.
+     */
+    public byte[] getBody() {
+      return body;
+    }
+  }
+}
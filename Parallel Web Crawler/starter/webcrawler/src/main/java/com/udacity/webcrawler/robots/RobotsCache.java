@@ -0,0 +1,156 @@
+package com.udacity.webcrawler.robots;
+
+import com.udacity.webcrawler.log.Log;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Downloads the {@code robots.txt} file of each host, and keeps its compiled rules for later
+ * pages of the host.
+ *
+ * <p>Following RFC 9309, a host without a {@code robots.txt} file (an HTTP 4xx status) may be
+ * crawled freely, and a host whose file cannot be read (a 5xx status, or no answer at all) may not
+ * be crawled. Rules are kept for at most a day, as RFC 9309 asks, and a file that could not be
+ * read is tried again after a few minutes, so that a host that was down for a moment is not shut
+ * out for a day. Only {@code http} and {@code https} URLs have rules; all other URLs, such as local
+ * files, are always allowed.
+ *
+ * <p>This class is thread-safe. When several threads ask about the same host at once, one of them
+ * downloads the file and the others wait for it.
+ */
+public final class RobotsCache {
+
+  private static final Log LOG = Log.forClass(RobotsCache.class);
+
+  /**
+   * How long the rules of a {@code robots.txt} file, or the lack of one, are kept.
+   */
+  static final Duration RULES_LIFETIME = Duration.ofHours(24);
+
+  /**
+   * How long a host whose {@code robots.txt} file could not be read stays disallowed.
+   */
+  static final Duration FAILURE_LIFETIME = Duration.ofMinutes(5);
+
+  private final String productToken;
+  private final Fetcher fetcher;
+  private final Clock clock;
+  private final Map<String, CompletableFuture<Entry>> rules = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a cache for the crawler with the given product token.
+   *
+   * @param productToken the name the crawler goes by in {@code User-agent} lines.
+   * @param fetcher      downloads the {@code robots.txt} files.
+   */
+  public RobotsCache(String productToken, Fetcher fetcher) {
+    this(productToken, fetcher, Clock.systemUTC());
+  }
+
+  /**
+   * Creates a cache for the crawler with the given product token, whose rules expire by the given
+   * clock.
+   *
+   * @param productToken the name the crawler goes by in {@code User-agent} lines.
+   * @param fetcher      downloads the {@code robots.txt} files.
+   * @param clock        the clock that cached rules expire by.
+   */
+  public RobotsCache(String productToken, Fetcher fetcher, Clock clock) {
+    this.productToken = Objects.requireNonNull(productToken);
+    this.fetcher = Objects.requireNonNull(fetcher);
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  /**
+   * Returns whether the crawler may fetch the given URL. Malformed URLs are not allowed.
+   */
+  public boolean isAllowed(String url) {
+    URI uri;
+    try {
+      uri = new URI(url);
+    } catch (URISyntaxException e) {
+      return false;
+    }
+    if (!isHttp(uri)) {
+      return true;
+    }
+    String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+    String query = uri.getRawQuery();
+    return getRules(uri).isAllowed(query == null ? path : path + "?" + query);
+  }
+
+  /**
+   * Returns the rules of the host of the given URL, downloading them if needed.
+   */
+  public RobotsRules getRules(URI uri) {
+    if (!isHttp(uri) || uri.getHost() == null) {
+      return RobotsRules.allowAll();
+    }
+    String origin = uri.getScheme().toLowerCase() + "://" + uri.getRawAuthority().toLowerCase();
+    while (true) {
+      CompletableFuture<Entry> future = rules.get(origin);
+      if (future != null) {
+        Entry entry = future.join();
+        if (clock.instant().isBefore(entry.expiresAt)) {
+          return entry.rules;
+        }
+      }
+      // The first thread to put in a new entry downloads the file, and the others wait for it.
+      CompletableFuture<Entry> created = new CompletableFuture<>();
+      boolean added = future == null
+          ? rules.putIfAbsent(origin, created) == null
+          : rules.replace(origin, future, created);
+      if (added) {
+        created.complete(download(origin + "/robots.txt"));
+        return created.join().rules;
+      }
+    }
+  }
+
+  private Entry download(String robotsUrl) {
+    Fetcher.Response response;
+    try {
+      response = fetcher.fetch(robotsUrl);
+    } catch (IOException | RuntimeException e) {
+      LOG.warning("Could not read %s: %s", robotsUrl, e.getMessage());
+      return new Entry(RobotsRules.disallowAll(), FAILURE_LIFETIME);
+    }
+    if (response.getStatus() >= 500) {
+      return new Entry(RobotsRules.disallowAll(), FAILURE_LIFETIME);
+    }
+    if (response.getStatus() >= 400) {
+      return new Entry(RobotsRules.allowAll(), RULES_LIFETIME);
+    }
+    return new Entry(
+        RobotsRules.parse(new String(response.getBody(), StandardCharsets.UTF_8), productToken),
+        RULES_LIFETIME);
+  }
+
+  private static boolean isHttp(URI uri) {
+    String scheme = uri.getScheme();
+    return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+  }
+
+  /**
+   * The cached rules of one host, and when they expire.
+   */
+  private final class Entry {
+    private final RobotsRules rules;
+    private final Instant expiresAt;
+
+    Entry(RobotsRules rules, Duration lifetime) {
+      this.rules = rules;
+      this.expiresAt = clock.instant().plus(lifetime);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.udacity.webcrawler.robots;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The {@link RobotsCache} of each user agent. Crawls that run in the same process and go by the
+ * same user agent share one cache, so each {@code robots.txt} file is downloaded once, not once
+ * per crawl. Cached rules expire as {@link RobotsCache} describes, so a service that runs for a
+ * long time still picks up changed files.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class RobotsCaches {
+
+  /**
+   * The most bytes of a {@code robots.txt} file that are read. RFC 9309 asks crawlers to read at
+   * least 500 KiB.
+   */
+  private static final int MAX_ROBOTS_BYTES = 512 * 1024;
+
+  private final Clock clock;
+  private final Map<String, RobotsCache> caches = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an empty set of caches, whose rules expire by the given clock.
+   */
+  public RobotsCaches(Clock clock) {
+    this.clock = Objects.requireNonNull(clock);
+  }
+
+  /**
+   * Returns the cache of the given user agent, creating it if needed. The files of a new cache are
+   * downloaded with the given timeout; a cache that already exists keeps the timeout it was
+   * created with.
+   */
+  public RobotsCache forUserAgent(String userAgent, Duration timeout) {
+    return caches.computeIfAbsent(
+        userAgent,
+        agent -> new RobotsCache(
+            agent, Fetcher.forUrlConnection(agent, timeout, MAX_ROBOTS_BYTES), clock));
+  }
+}
@@ -0,0 +1,201 @@
+package com.udacity.webcrawler.robots;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * The rules of one {@code robots.txt} file that apply to one crawler, compiled for fast matching.
+ *
+ * <p>Rules are parsed as described by RFC 9309. The crawler follows the groups whose
+ * {@code User-agent} line names its product token, or the {@code *} groups if there are none.
+ * Product tokens are compared whole and ignoring case, so a group for {@code crawler} is not one
+ * for {@code udacity-webcrawler}. Of
+ * all {@code Allow} and {@code Disallow} rules that match a path, the longest one wins, and
+ * {@code Allow} wins a tie. Rules may use {@code *} to match any characters and may end with
+ * {@code $} to match the end of the path.
+ */
+public final class RobotsRules {
+
+  private static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), List.of());
+  private static final RobotsRules DISALLOW_ALL =
+      new RobotsRules(List.of(new Rule("/", false)), List.of());
+
+  private final List<Rule> rules;
+  private final List<String> sitemaps;
+
+  private RobotsRules(List<Rule> rules, List<String> sitemaps) {
+    this.rules = rules;
+    this.sitemaps = sitemaps;
+  }
+
+  /**
+   * Returns rules that allow every path, as used for sites without a {@code robots.txt} file.
+   */
+  public static RobotsRules allowAll() {
+    return ALLOW_ALL;
+  }
+
+  /**
+   * Returns rules that disallow every path, as used for sites whose {@code robots.txt} file could
+   * not be read because of a server error.
+   */
+  public static RobotsRules disallowAll() {
+    return DISALLOW_ALL;
+  }
+
+  /**
+   * Parses the given {@code robots.txt} file for the crawler with the given product token, such
+   * as {@code "udacity-webcrawler"}. A full user agent, such as
+   * {@code "udacity-webcrawler/1.0 (+https://example.com/bot)"}, names the same product token.
+   */
+  public static RobotsRules parse(String content, String productToken) {
+    String agent = productTokenOf(productToken);
+    List<Rule> ownRules = new ArrayList<>();
+    List<Rule> defaultRules = new ArrayList<>();
+    List<String> sitemaps = new ArrayList<>();
+
+    // The groups that the current rules belong to.
+    boolean inOwnGroup = false;
+    boolean inDefaultGroup = false;
+    boolean groupHasRules = false;
+    // Whether any group names this crawler. Such groups replace the default groups, even if they
+    // have no rules.
+    boolean named = false;
+    for (String rawLine : content.split("\r\n|\r|\n")) {
+      int comment = rawLine.indexOf('#');
+      String line = (comment >= 0 ? rawLine.substring(0, comment) : rawLine).strip();
+      int colon = line.indexOf(':');
+      if (colon < 0) {
+        continue;
+      }
+      String key = line.substring(0, colon).strip().toLowerCase(Locale.ROOT);
+      String value = line.substring(colon + 1).strip();
+      switch (key) {
+        case "user-agent":
+          if (groupHasRules) {
+            // A user-agent line after rules starts a new group.
+            inOwnGroup = false;
+            inDefaultGroup = false;
+            groupHasRules = false;
+          }
+          boolean own = !agent.isEmpty() && agent.equals(productTokenOf(value));
+          inOwnGroup |= own;
+          inDefaultGroup |= value.equals("*");
+          named |= own;
+          break;
+        case "allow":
+        case "disallow":
+          groupHasRules = true;
+          if (value.isEmpty()) {
+            break;  // An empty rule matches nothing.
+          }
+          Rule rule = new Rule(value, key.equals("allow"));
+          if (inOwnGroup) {
+            ownRules.add(rule);
+          }
+          if (inDefaultGroup) {
+            defaultRules.add(rule);
+          }
+          break;
+        case "sitemap":
+          if (!value.isEmpty()) {
+            sitemaps.add(value);
+          }
+          break;
+        default:
+          // Other lines, such as crawl-delay, end no group and are ignored.
+          break;
+      }
+    }
+
+    return new RobotsRules(
+        Collections.unmodifiableList(named ? ownRules : defaultRules),
+        Collections.unmodifiableList(sitemaps));
+  }
+
+  /**
+   * Returns the product token at the start of the given user agent, in lower case. Following
+   * RFC 9309, product tokens are made of letters, underscores and hyphens.
+   */
+  private static String productTokenOf(String userAgent) {
+    int end = 0;
+    while (end < userAgent.length()) {
+      char c = userAgent.charAt(end);
+      if (!(c >= 'a' && c <= 'z') && !(c >= 'A' && c <= 'Z') && c != '_' && c != '-') {
+        break;
+      }
+      end++;
+    }
+    return userAgent.substring(0, end).toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Returns whether the crawler may fetch the given path, including its query string.
+   */
+  public boolean isAllowed(String pathAndQuery) {
+    if (pathAndQuery.equals("/robots.txt")) {
+      return true;
+    }
+    Rule best = null;
+    for (Rule rule : rules) {
+      if (rule.matches(pathAndQuery)
+          && (best == null
+              || rule.length > best.length
+              || (rule.length == best.length && rule.allow))) {
+        best = rule;
+      }
+    }
+    return best == null || best.allow;
+  }
+
+  /**
+   * Returns the sitemap URLs listed in the file.
+   */
+  public List<String> getSitemaps() {
+    return sitemaps;
+  }
+
+  /**
+   * One {@code Allow} or {@code Disallow} rule.
+   */
+  private static final class Rule {
+    final boolean allow;
+    final int length;
+    final String prefix;
+    final Pattern pattern;
+
+    Rule(String path, boolean allow) {
+      this.allow = allow;
+      this.length = path.length();
+      boolean plain = path.indexOf('*') < 0 && !path.endsWith("$");
+      // Most rules are plain path prefixes, which do not need a regular expression.
+      this.prefix = plain ? path : null;
+      this.pattern = plain ? null : compile(path);
+    }
+
+    boolean matches(String pathAndQuery) {
+      return prefix != null
+          ? pathAndQuery.startsWith(prefix)
+          : pattern.matcher(pathAndQuery).lookingAt();
+    }
+
+    private static Pattern compile(String path) {
+      boolean anchored = path.endsWith("$");
+      String body = anchored ? path.substring(0, path.length() - 1) : path;
+      StringBuilder regex = new StringBuilder();
+      for (String part : body.split("\\*", -1)) {
+        if (regex.length() > 0) {
+          regex.append(".*");
+        }
+        regex.append(Pattern.quote(part));
+      }
+      if (anchored) {
+        regex.append('$');
+      }
+      return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+  }
+}
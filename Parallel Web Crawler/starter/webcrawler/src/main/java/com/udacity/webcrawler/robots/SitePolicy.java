@@ -0,0 +1,91 @@
+package com.udacity.webcrawler.robots;
+
+import com.udacity.webcrawler.log.Log;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * What the sites being crawled ask of the crawler: which of their pages it may fetch, and which
+ * pages their sitemaps list.
+ */
+public final class SitePolicy {
+
+  private static final Log LOG = Log.forClass(SitePolicy.class);
+
+  private final Optional<RobotsCache> robots;
+  private final Fetcher fetcher;
+  private final List<String> sitemaps;
+  private final int maxSitemapUrls;
+
+  /**
+   * Creates a site policy.
+   *
+   * @param robots         the {@code robots.txt} rules to follow, or empty to fetch every page.
+   * @param fetcher        downloads sitemaps.
+   * @param sitemaps       sitemaps to read pages from, in addition to those listed in the
+   *                       {@code robots.txt} files of the start pages' hosts.
+   * @param maxSitemapUrls the largest number of pages to read from all sitemaps together.
+   */
+  public SitePolicy(
+      Optional<RobotsCache> robots, Fetcher fetcher, List<String> sitemaps, int maxSitemapUrls) {
+    this.robots = Objects.requireNonNull(robots);
+    this.fetcher = Objects.requireNonNull(fetcher);
+    this.sitemaps = List.copyOf(sitemaps);
+    this.maxSitemapUrls = maxSitemapUrls;
+  }
+
+  /**
+   * Returns a policy that allows every page and reads no sitemaps.
+   */
+  public static SitePolicy permissive() {
+    return new SitePolicy(
+        Optional.empty(), url -> new Fetcher.Response(404, new byte[0]), List.of(), 0);
+  }
+
+  /**
+   * Returns whether the crawler may fetch the given URL.
+   */
+  public boolean isAllowed(String url) {
+    return robots.map(r -> r.isAllowed(url)).orElse(true);
+  }
+
+  /**
+   * Returns the pages listed in the sitemaps of the crawl that the crawler may fetch.
+   *
+   * @param startPages the start pages of the crawl. If {@code robots.txt} files are followed, the
+   *                   sitemaps they list for the start pages' hosts are read too.
+   */
+  public List<String> discoverPages(List<String> startPages) {
+    if (maxSitemapUrls == 0) {
+      return List.of();
+    }
+    Set<String> sitemapUrls = new LinkedHashSet<>(sitemaps);
+    robots.ifPresent(cache -> {
+      for (String page : startPages) {
+        try {
+          sitemapUrls.addAll(cache.getRules(new URI(page)).getSitemaps());
+        } catch (URISyntaxException e) {
+          // The crawler will report the bad start page itself.
+        }
+      }
+    });
+    if (sitemapUrls.isEmpty()) {
+      return List.of();
+    }
+    List<String> pages = new ArrayList<>();
+    for (String page : Sitemaps.collect(new ArrayList<>(sitemapUrls), fetcher, maxSitemapUrls)) {
+      if (isAllowed(page)) {
+        pages.add(page);
+      }
+    }
+    LOG.info("Found %d pages in sitemaps", pages.size());
+    return pages;
+  }
+}
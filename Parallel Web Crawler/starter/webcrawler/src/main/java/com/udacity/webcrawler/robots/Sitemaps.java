@@ -0,0 +1,152 @@
+package com.udacity.webcrawler.robots;
+
+import com.udacity.webcrawler.log.Log;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.parser.Parser;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads the page URLs listed in sitemaps, as described at https://www.sitemaps.org.
+ *
+ * <p>A sitemap is either a {@code <urlset>} of pages or a {@code <sitemapindex>} of more sitemaps.
+ * Either kind may be compressed with gzip.
+ */
+public final class Sitemaps {
+
+  private static final Log LOG = Log.forClass(Sitemaps.class);
+
+  /**
+   * The largest size a sitemap may have once it is decompressed, as set by the sitemaps protocol.
+   */
+  static final int MAX_SITEMAP_BYTES = 50 * 1024 * 1024;
+
+  private Sitemaps() {
+    // This class only has static methods.
+  }
+
+  /**
+   * Parses one sitemap.
+   *
+   * @param content the sitemap, possibly compressed with gzip.
+   * @param baseUrl the URL the sitemap was downloaded from.
+   */
+  public static Sitemap parse(byte[] content, String baseUrl) throws IOException {
+    byte[] xml = isGzip(content) ? gunzip(content) : content;
+    Document document = Jsoup.parse(
+        new String(xml, StandardCharsets.UTF_8), baseUrl, Parser.xmlParser());
+    return new Sitemap(
+        locations(document, "urlset > url > loc"),
+        locations(document, "sitemapindex > sitemap > loc"));
+  }
+
+  /**
+   * Downloads the given sitemaps, and the sitemaps they list in turn, and returns the page URLs
+   * they contain.
+   *
+   * <p>Sitemaps that cannot be downloaded or parsed are skipped with a warning. Each sitemap is
+   * read at most once, so an index that lists itself does not cause a loop.
+   *
+   * @param sitemapUrls the sitemaps to start from.
+   * @param fetcher     downloads the sitemaps.
+   * @param maxUrls     the largest number of page URLs to return.
+   */
+  public static List<String> collect(List<String> sitemapUrls, Fetcher fetcher, int maxUrls) {
+    Objects.requireNonNull(fetcher);
+    Set<String> pages = new LinkedHashSet<>();
+    Set<String> visited = new HashSet<>();
+    Deque<String> queue = new ArrayDeque<>(sitemapUrls);
+    while (!queue.isEmpty() && pages.size() < maxUrls) {
+      String url = queue.poll();
+      if (!visited.add(url)) {
+        continue;
+      }
+      Sitemap sitemap;
+      try {
+        Fetcher.Response response = fetcher.fetch(url);
+        if (response.getStatus() >= 400) {
+          LOG.warning("Could not read sitemap %s: HTTP %d", url, response.getStatus());
+          continue;
+        }
+        sitemap = parse(response.getBody(), url);
+      } catch (IOException | RuntimeException e) {
+        LOG.warning("Could not read sitemap %s: %s", url, e.getMessage());
+        continue;
+      }
+      for (String page : sitemap.getPages()) {
+        if (pages.size() >= maxUrls) {
+          break;
+        }
+        pages.add(page);
+      }
+      queue.addAll(sitemap.getSitemaps());
+    }
+    return new ArrayList<>(pages);
+  }
+
+  private static List<String> locations(Document document, String query) {
+    List<String> result = new ArrayList<>();
+    for (Element loc : document.select(query)) {
+      String url = loc.text().strip();
+      if (!url.isEmpty()) {
+        result.add(url);
+      }
+    }
+    return result;
+  }
+
+  private static boolean isGzip(byte[] content) {
+    return content.length >= 2 && (content[0] & 0xff) == 0x1f && (content[1] & 0xff) == 0x8b;
+  }
+
+  private static byte[] gunzip(byte[] content) throws IOException {
+    try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))) {
+      byte[] xml = in.readNBytes(MAX_SITEMAP_BYTES);
+      if (in.read() >= 0) {
+        throw new IOException("Sitemap is larger than " + MAX_SITEMAP_BYTES + " bytes");
+      }
+      return xml;
+    }
+  }
+
+  /**
+   * The contents of one sitemap.
+   */
+  public static final class Sitemap {
+    private final List<String> pages;
+    private final List<String> sitemaps;
+
+    private Sitemap(List<String> pages, List<String> sitemaps) {
+      this.pages = pages;
+      this.sitemaps = sitemaps;
+    }
+
+    /**
+     * Returns the page URLs listed in a {@code <urlset>}.
+     */
+    public List<String> getPages() {
+      return pages;
+    }
+
+    /**
+     * Returns the sitemap URLs listed in a {@code <sitemapindex>}.
+     */
+    public List<String> getSitemaps() {
+      return sitemaps;
+    }
+  }
+}
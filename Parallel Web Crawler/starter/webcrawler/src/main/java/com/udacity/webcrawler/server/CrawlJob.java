@@ -0,0 +1,96 @@
+package com.udacity.webcrawler.server;
+
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * One crawl submitted to a {@link CrawlService}, and its outcome once it has run.
+ */
+public final class CrawlJob {
+
+  /**
+   * The lifecycle of a {@link CrawlJob}.
+   */
+  public enum State {
+    QUEUED,
+    RUNNING,
+    SUCCEEDED,
+    FAILED
+  }
+
+  private final String id;
+  private final CrawlerConfiguration config;
+  private final CompletableFuture<CrawlResult> result = new CompletableFuture<>();
+  private volatile State state = State.QUEUED;
+  private volatile String profile = "";
+
+  CrawlJob(String id, CrawlerConfiguration config) {
+    this.id = Objects.requireNonNull(id);
+    this.config = Objects.requireNonNull(config);
+  }
+
+  /**
+   * Returns the id the {@link CrawlService} assigned to this job.
+   */
+  public String getId() {
+    return id;
+  }
+
+  /**
+   * Returns the configuration this job crawls with.
+   */
+  public CrawlerConfiguration getConfig() {
+    return config;
+  }
+
+  /**
+   * Returns the current state of this job.
+   */
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Returns the profile data recorded while this job ran, or an empty string if it has not
+   * finished yet.
+   */
+  public String getProfile() {
+    return profile;
+  }
+
+  /**
+   * Returns a future that completes with the result of this job, or with the exception that made
+   * it fail.
+   */
+  public CompletableFuture<CrawlResult> getResult() {
+    return result;
+  }
+
+  /**
+   * Waits for this job to finish and returns its result.
+   *
+   * @throws ExecutionException if the crawl failed.
+   */
+  public CrawlResult await() throws InterruptedException, ExecutionException {
+    return result.get();
+  }
+
+  void started() {
+    state = State.RUNNING;
+  }
+
+  void succeeded(CrawlResult crawlResult, String profileData) {
+    profile = profileData;
+    state = State.SUCCEEDED;
+    result.complete(crawlResult);
+  }
+
+  void failed(Throwable error) {
+    state = State.FAILED;
+    result.completeExceptionally(error);
+  }
+}
@@ -0,0 +1,143 @@
+package com.udacity.webcrawler.server;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.udacity.webcrawler.json.ConfigurationLoader;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A local HTTP front end for a {@link CrawlService}.
+ *
+ * <ul>
+ *   <li>{@code POST /crawls} with a crawler configuration as the body queues a crawl, and answers
+ *   {@code 202 Accepted} with the id of the new job.</li>
+ *   <li>{@code GET /crawls/<id>} answers with the state of the job, and its crawl result and
+ *   profile data once it has finished.</li>
+ * </ul>
+ */
+public final class CrawlServer implements AutoCloseable {
+
+  private static final String PATH = "/crawls";
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private final CrawlService service;
+  private final HttpServer server;
+  private final ExecutorService executor;
+
+  private CrawlServer(CrawlService service, HttpServer server, ExecutorService executor) {
+    this.service = service;
+    this.server = server;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts serving the given {@link CrawlService} at the given address.
+   */
+  public static CrawlServer start(CrawlService service, InetSocketAddress address)
+      throws IOException {
+    HttpServer server = HttpServer.create(address, 0);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    CrawlServer crawlServer = new CrawlServer(Objects.requireNonNull(service), server, executor);
+    server.createContext(PATH, crawlServer::handle);
+    server.setExecutor(executor);
+    server.start();
+    return crawlServer;
+  }
+
+  /**
+   * Returns the address the server is listening on.
+   */
+  public InetSocketAddress getAddress() {
+    return server.getAddress();
+  }
+
+  /**
+   * Stops accepting requests. The underlying {@link CrawlService} is left running.
+   */
+  @Override
+  public void close() {
+    server.stop(0);
+    executor.shutdown();
+  }
+
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      String path = exchange.getRequestURI().getPath();
+      if (exchange.getRequestMethod().equals("POST") && path.equals(PATH)) {
+        submit(exchange);
+      } else if (exchange.getRequestMethod().equals("GET") && path.startsWith(PATH + "/")) {
+        Optional<CrawlJob> job = service.getJob(path.substring(PATH.length() + 1));
+        if (job.isPresent()) {
+          respond(exchange, 200, describe(job.get()));
+        } else {
+          respond(exchange, 404, Map.of("error", "Unknown job"));
+        }
+      } else {
+        respond(exchange, 404, Map.of("error", "Not found"));
+      }
+    }
+  }
+
+  private void submit(HttpExchange exchange) throws IOException {
+    CrawlerConfiguration config;
+    try (Reader reader =
+             new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8)) {
+      config = ConfigurationLoader.read(reader);
+    } catch (RuntimeException e) {
+      respond(exchange, 400, Map.of("error", String.valueOf(e.getMessage())));
+      return;
+    }
+
+    CrawlJob job;
+    try {
+      job = service.submit(config);
+    } catch (RejectedExecutionException e) {
+      respond(exchange, 503, Map.of("error", "Too many queued crawls"));
+      return;
+    }
+    exchange.getResponseHeaders().add("Location", PATH + "/" + job.getId());
+    respond(exchange, 202, describe(job));
+  }
+
+  private static Map<String, Object> describe(CrawlJob job) {
+    Map<String, Object> description = new LinkedHashMap<>();
+    description.put("id", job.getId());
+    description.put("state", job.getState());
+    if (job.getState() == CrawlJob.State.SUCCEEDED) {
+      CrawlResult result = job.getResult().join();
+      Map<String, Object> resultDescription = new LinkedHashMap<>();
+      resultDescription.put("wordCounts", result.getWordCounts());
+      resultDescription.put("urlsVisited", result.getUrlsVisited());
+      description.put("result", resultDescription);
+      description.put("profile", job.getProfile());
+    } else if (job.getState() == CrawlJob.State.FAILED) {
+      description.put("error", job.getResult().handle((r, e) -> String.valueOf(e)).join());
+    }
+    return description;
+  }
+
+  private static void respond(HttpExchange exchange, int status, Object body) throws IOException {
+    byte[] bytes = OBJECT_MAPPER.writeValueAsBytes(body);
+    exchange.getResponseHeaders().add("Content-Type", "application/json");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+}
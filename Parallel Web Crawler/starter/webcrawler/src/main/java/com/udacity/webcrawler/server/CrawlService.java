@@ -0,0 +1,222 @@
+package com.udacity.webcrawler.server;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.google.inject.Key;
+import com.udacity.webcrawler.CrawlPool;
+import com.udacity.webcrawler.CrawlResourcesModule;
+import com.udacity.webcrawler.WebCrawlerModule;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.main.CrawlRunner;
+import com.udacity.webcrawler.profiler.Profiler;
+import com.udacity.webcrawler.profiler.ProfilerModule;
+
+import java.io.StringWriter;
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs many crawls in one long-running process.
+ *
+ * <p>Every job gets its own child injector built from its {@link CrawlerConfiguration}, so its
+ * crawl result and its {@link Profiler} data are kept apart from every other job. The expensive
+ * parts live in the parent injector and are shared: all jobs crawl on one {@link ForkJoinPool},
+ * bound with {@link CrawlPool}, download pages through one HTTP client that keeps its connections
+ * open, and share the {@code robots.txt} rules of each user agent (see
+ * {@link CrawlResourcesModule}). The JVM stays warm between jobs.
+ *
+ * <p>At most {@link Builder#setMaxConcurrentJobs(int) maxConcurrentJobs} jobs run at the same
+ * time. Further jobs wait in a bounded queue, and {@link #submit(CrawlerConfiguration)} rejects
+ * jobs when that queue is full.
+ */
+public final class CrawlService implements AutoCloseable {
+
+  private final ForkJoinPool crawlPool;
+  private final ThreadPoolExecutor jobExecutor;
+  private final Injector sharedInjector;
+  private final int maxRetainedJobs;
+  private final Map<String, CrawlJob> jobs = new ConcurrentHashMap<>();
+  private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger finishedJobCount = new AtomicInteger();
+  private final AtomicLong nextJobId = new AtomicLong();
+
+  private CrawlService(
+      int parallelism,
+      int maxConcurrentJobs,
+      int maxQueuedJobs,
+      int maxRetainedJobs,
+      Clock clock) {
+    this.crawlPool = new ForkJoinPool(parallelism);
+    AtomicInteger threadCount = new AtomicInteger();
+    this.jobExecutor = new ThreadPoolExecutor(
+        maxConcurrentJobs,
+        maxConcurrentJobs,
+        0,
+        TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(maxQueuedJobs),
+        runnable -> {
+          Thread thread = new Thread(runnable, "crawl-job-" + threadCount.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+    this.maxRetainedJobs = maxRetainedJobs;
+    this.sharedInjector = Guice.createInjector(new AbstractModule() {
+      @Override
+      protected void configure() {
+        bind(Key.get(ForkJoinPool.class, CrawlPool.class)).toInstance(crawlPool);
+        install(new CrawlResourcesModule(clock));
+      }
+    });
+  }
+
+  /**
+   * Queues a crawl with the given configuration.
+   *
+   * @return the new job, which can be used to wait for the crawl result.
+   * @throws RejectedExecutionException if too many jobs are already waiting, or the service has
+   *                                    been closed.
+   */
+  public CrawlJob submit(CrawlerConfiguration config) {
+    CrawlJob job = new CrawlJob(Long.toString(nextJobId.incrementAndGet()), config);
+    jobs.put(job.getId(), job);
+    try {
+      jobExecutor.execute(() -> run(job));
+    } catch (RejectedExecutionException e) {
+      jobs.remove(job.getId());
+      throw e;
+    }
+    return job;
+  }
+
+  /**
+   * Returns the job with the given id, if it is still known to this service.
+   *
+   * <p>Only the most recent {@link Builder#setMaxRetainedJobs(int) maxRetainedJobs} finished jobs
+   * are remembered.
+   */
+  public Optional<CrawlJob> getJob(String id) {
+    return Optional.ofNullable(jobs.get(id));
+  }
+
+  /**
+   * Stops accepting jobs and waits for the running and queued jobs to finish.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    jobExecutor.shutdown();
+    jobExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+    crawlPool.shutdown();
+  }
+
+  private void run(CrawlJob job) {
+    job.started();
+    try {
+      CrawlerConfiguration config = job.getConfig();
+      Injector injector = sharedInjector.createChildInjector(
+          WebCrawlerModule.forChildInjector(config), new ProfilerModule());
+      CrawlRunner runner = injector.getInstance(CrawlRunner.class);
+
+      // The runner closes the job's index and page archives, even if the crawl fails.
+      CrawlResult result = runner.crawl();
+      runner.write(result, false);
+      StringWriter profile = new StringWriter();
+      injector.getInstance(Profiler.class).writeData(profile);
+      job.succeeded(result, profile.toString());
+    } catch (Exception e) {
+      job.failed(e);
+    } finally {
+      retire(job);
+    }
+  }
+
+  /**
+   * Forgets the oldest finished jobs, so that a service that runs forever does not keep every
+   * result it ever produced.
+   */
+  private void retire(CrawlJob job) {
+    finishedJobs.add(job.getId());
+    if (finishedJobCount.incrementAndGet() > maxRetainedJobs) {
+      String oldest = finishedJobs.poll();
+      if (oldest != null) {
+        jobs.remove(oldest);
+        finishedJobCount.decrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * A builder class to create {@link CrawlService} instances.
+   */
+  public static final class Builder {
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private int maxConcurrentJobs = 4;
+    private int maxQueuedJobs = 1000;
+    private int maxRetainedJobs = 1000;
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Sets the number of threads in the pool that all jobs crawl on.
+     */
+    public Builder setParallelism(int parallelism) {
+      this.parallelism = parallelism;
+      return this;
+    }
+
+    /**
+     * Sets the number of jobs that may run at the same time.
+     */
+    public Builder setMaxConcurrentJobs(int maxConcurrentJobs) {
+      this.maxConcurrentJobs = maxConcurrentJobs;
+      return this;
+    }
+
+    /**
+     * Sets the number of jobs that may wait for a free slot before new jobs are rejected.
+     */
+    public Builder setMaxQueuedJobs(int maxQueuedJobs) {
+      this.maxQueuedJobs = maxQueuedJobs;
+      return this;
+    }
+
+    /**
+     * Sets the number of finished jobs whose results are kept for {@link #getJob(String)}.
+     */
+    public Builder setMaxRetainedJobs(int maxRetainedJobs) {
+      this.maxRetainedJobs = maxRetainedJobs;
+      return this;
+    }
+
+    /**
+     * Sets the clock that the {@code robots.txt} rules shared by all jobs expire by.
+     */
+    public Builder setClock(Clock clock) {
+      this.clock = Objects.requireNonNull(clock);
+      return this;
+    }
+
+    /**
+     * Constructs a {@link CrawlService} from this builder.
+     */
+    public CrawlService build() {
+      if (parallelism < 1 || maxConcurrentJobs < 1 || maxQueuedJobs < 1 || maxRetainedJobs < 0) {
+        throw new IllegalArgumentException("Crawl service limits must be positive");
+      }
+      return new CrawlService(
+          parallelism, maxConcurrentJobs, maxQueuedJobs, maxRetainedJobs, clock);
+    }
+  }
+}
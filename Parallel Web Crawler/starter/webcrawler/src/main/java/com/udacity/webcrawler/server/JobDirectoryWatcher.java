@@ -0,0 +1,129 @@
+package com.udacity.webcrawler.server;
+
+import com.udacity.webcrawler.json.ConfigurationLoader;
+import com.udacity.webcrawler.json.CrawlResultWriter;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.log.Log;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Objects;
+
+/**
+ * Submits every crawler configuration file that appears in a directory to a {@link CrawlService}.
+ *
+ * <p>Configuration files must end in {@code ".json"}, and should be moved into the directory
+ * once they are complete rather than written in place. When the crawl of {@code "name.json"}
+ * finishes, its result is written to the configured result path, or to {@code "name.result.json"}
+ * in the watched directory if that path is empty. If the crawl fails, the error is written to
+ * {@code "name.error"} instead.
+ */
+public final class JobDirectoryWatcher implements AutoCloseable {
+
+  private static final Log LOG = Log.forClass(JobDirectoryWatcher.class);
+
+  private static final String CONFIG_SUFFIX = ".json";
+  private static final String RESULT_SUFFIX = ".result.json";
+
+  private final CrawlService service;
+  private final Path directory;
+  private final WatchService watchService;
+  private final Thread thread;
+
+  private JobDirectoryWatcher(CrawlService service, Path directory, WatchService watchService) {
+    this.service = service;
+    this.directory = directory;
+    this.watchService = watchService;
+    this.thread = new Thread(this::watch, "crawl-job-watcher");
+    this.thread.setDaemon(true);
+  }
+
+  /**
+   * Starts watching the given directory for new configuration files.
+   */
+  public static JobDirectoryWatcher start(CrawlService service, Path directory)
+      throws IOException {
+    WatchService watchService = directory.getFileSystem().newWatchService();
+    directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE);
+    JobDirectoryWatcher watcher =
+        new JobDirectoryWatcher(Objects.requireNonNull(service), directory, watchService);
+    watcher.thread.start();
+    return watcher;
+  }
+
+  /**
+   * Stops watching the directory. Crawls that were already submitted keep running.
+   */
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+  private void watch() {
+    try {
+      while (true) {
+        WatchKey key = watchService.take();
+        for (WatchEvent<?> event : key.pollEvents()) {
+          if (event.context() instanceof Path name) {
+            String fileName = name.toString();
+            if (fileName.endsWith(CONFIG_SUFFIX) && !fileName.endsWith(RESULT_SUFFIX)) {
+              submit(directory.resolve(name));
+            }
+          }
+        }
+        if (!key.reset()) {
+          return;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ClosedWatchServiceException e) {
+      // The watcher was closed.
+    }
+  }
+
+  private void submit(Path configPath) {
+    String fileName = configPath.getFileName().toString();
+    String baseName = fileName.substring(0, fileName.length() - CONFIG_SUFFIX.length());
+    Path errorPath = directory.resolve(baseName + ".error");
+    Path partialPath = directory.resolve(baseName + RESULT_SUFFIX + ".partial");
+    try {
+      CrawlerConfiguration config = new ConfigurationLoader(configPath).load();
+      Path resultPath = directory.resolve(baseName + RESULT_SUFFIX);
+      service.submit(config).getResult().whenComplete((result, error) -> {
+        try {
+          if (error != null) {
+            writeError(errorPath, error);
+          } else if (config.getResultPath().isEmpty()) {
+            // Write next to the final name first, so the result appears there complete.
+            new CrawlResultWriter(
+                result, CrawlResultWriter.Format.forName(config.getResultFormat()))
+                .write(partialPath);
+            Files.move(partialPath, resultPath, StandardCopyOption.ATOMIC_MOVE);
+          }
+        } catch (IOException | RuntimeException e) {
+          writeError(errorPath, e);
+        }
+      });
+    } catch (RuntimeException e) {
+      writeError(errorPath, e);
+    }
+  }
+
+  private static void writeError(Path path, Throwable error) {
+    try (Writer writer = Files.newBufferedWriter(path)) {
+      error.printStackTrace(new PrintWriter(writer));
+    } catch (IOException e) {
+      LOG.error("Could not write %s: %s", path, e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.udacity.webcrawler.sketch;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A Count-Min sketch: approximate counts of any number of distinct strings in a fixed amount of
+ * memory.
+ *
+ * <p>The sketch is a table of {@code depth} rows by {@code width} counters. Adding a string
+ * increments one counter per row, chosen by a different hash for each row; the estimated count of
+ * a string is the smallest of its counters. Estimates are never too low. With probability at
+ * least {@code 1 - e^-depth}, an estimate is too high by at most {@code e / width} times the total
+ * of all counts added so far (see {@link #getErrorBound()}).
+ *
+ * <p>This class is thread-safe. Counters are updated atomically, without locking.
+ */
+public final class CountMinSketch {
+
+  private final int width;
+  private final int depth;
+  private final AtomicLongArray counters;
+  private final LongAdder total = new LongAdder();
+
+  /**
+   * Creates a sketch with the given number of counters per row, and the given number of rows.
+   */
+  public CountMinSketch(int width, int depth) {
+    if (width < 1 || depth < 1) {
+      throw new IllegalArgumentException("Sketch width and depth must be positive");
+    }
+    this.width = width;
+    this.depth = depth;
+    this.counters = new AtomicLongArray(Math.multiplyExact(width, depth));
+  }
+
+  /**
+   * Creates a sketch whose estimates are too high by at most {@code epsilon} times the total
+   * count, with probability at least {@code 1 - delta}.
+   */
+  public static CountMinSketch withErrorBounds(double epsilon, double delta) {
+    if (!(epsilon > 0 && epsilon < 1 && delta > 0 && delta < 1)) {
+      throw new IllegalArgumentException("epsilon and delta must be between 0 and 1");
+    }
+    int width = (int) Math.ceil(Math.E / epsilon);
+    int depth = (int) Math.ceil(Math.log(1 / delta));
+    return new CountMinSketch(width, depth);
+  }
+
+  /**
+   * Adds the given count to the given string, and returns its new estimated count.
+   */
+  public long add(String item, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Counts cannot be negative");
+    }
+    total.add(count);
+    long hash = Hashing.hash64(item);
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, counters.addAndGet(index(hash, row), count));
+    }
+    return estimate;
+  }
+
+  /**
+   * Returns the estimated count of the given string.
+   */
+  public long estimate(String item) {
+    long hash = Hashing.hash64(item);
+    long estimate = Long.MAX_VALUE;
+    for (int row = 0; row < depth; row++) {
+      estimate = Math.min(estimate, counters.get(index(hash, row)));
+    }
+    return estimate;
+  }
+
+  /**
+   * Returns the total of all counts added to this sketch.
+   */
+  public long getTotal() {
+    return total.sum();
+  }
+
+  /**
+   * Returns how much too high an estimate can be, with the probability given by the depth of the
+   * sketch: {@code e / width} times the total count.
+   */
+  public long getErrorBound() {
+    return (long) Math.ceil(Math.E / width * getTotal());
+  }
+
+  /**
+   * Returns the number of counters per row.
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Returns the number of rows.
+   */
+  public int getDepth() {
+    return depth;
+  }
+
+  /**
+   * Picks the counter of the given row, using double hashing to derive one hash per row from a
+   * single 64-bit hash.
+   */
+  private int index(long hash, int row) {
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32) | 1;
+    int column = Math.floorMod(h1 + row * h2, width);
+    return row * width + column;
+  }
+}
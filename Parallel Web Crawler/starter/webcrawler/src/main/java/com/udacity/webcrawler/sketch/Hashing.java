@@ -0,0 +1,48 @@
+package com.udacity.webcrawler.sketch;
+
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * The string hash shared by the sketches in this package, and an exact hash of counted words
+ * built on it.
+ */
+public final class Hashing {
+
+  /**
+   * Returns a 64-bit FNV-1a hash of the string's characters, with a final mixing step so that
+   * every bit of the result depends on every character.
+   */
+  static long hash64(CharSequence item) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < item.length(); i++) {
+      hash ^= item.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    return mix(hash);
+  }
+
+  /**
+   * Returns a 64-bit hash of the given words and their counts. Unlike a {@link SimHash}
+   * fingerprint, it changes whenever a single word or count does, except for the odd collision.
+   */
+  public static long hashCounts(SortedMap<String, Integer> counts) {
+    long hash = 0xcbf29ce484222325L;
+    for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+      hash = mix(hash ^ hash64(entry.getKey()));
+      hash = mix(hash ^ entry.getValue());
+    }
+    return hash;
+  }
+
+  private static long mix(long hash) {
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+  private Hashing() {
+    // Prevent instantiation
+  }
+}
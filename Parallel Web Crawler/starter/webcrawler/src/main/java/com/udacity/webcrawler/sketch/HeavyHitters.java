@@ -0,0 +1,113 @@
+package com.udacity.webcrawler.sketch;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Finds the most frequent strings in a stream, in a fixed amount of memory.
+ *
+ * <p>All counts go into a {@link CountMinSketch}. Next to the sketch, a bounded set of candidates
+ * remembers the strings with the highest estimated counts seen so far. When the set is full, a new
+ * string only gets in if its estimate beats the lowest one in the set, which it then replaces.
+ * Since estimates only grow, a string that is frequent overall keeps coming back until it stays.
+ *
+ * <p>This class is thread-safe.
+ */
+public final class HeavyHitters {
+
+  private static final Comparator<Candidate> BY_ESTIMATE =
+      Comparator.<Candidate>comparingLong(c -> c.estimate).thenComparing(c -> c.item);
+
+  private final CountMinSketch sketch;
+  private final int capacity;
+  private final Map<String, Candidate> candidates = new HashMap<>();
+  private final TreeSet<Candidate> ranking = new TreeSet<>(BY_ESTIMATE);
+
+  /**
+   * Creates a heavy-hitters structure.
+   *
+   * @param sketch   the sketch that holds the approximate counts of all strings.
+   * @param capacity the largest number of candidates to keep track of. This should be a good deal
+   *                 larger than the number of top strings that will be asked for, so that strings
+   *                 whose counts are close to the cut-off are not pushed out too early.
+   */
+  public HeavyHitters(CountMinSketch sketch, int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.sketch = Objects.requireNonNull(sketch);
+    this.capacity = capacity;
+  }
+
+  /**
+   * Adds the given count to the given string.
+   */
+  public void add(String item, long count) {
+    long estimate = sketch.add(item, count);
+    offer(item, estimate);
+  }
+
+  /**
+   * Adds all the given counts.
+   */
+  public void addAll(Map<String, ? extends Number> counts) {
+    counts.forEach((item, count) -> add(item, count.longValue()));
+  }
+
+  /**
+   * Returns the current candidates and their estimated counts, ordered from the highest estimate
+   * to the lowest. Equal estimates are ordered alphabetically.
+   */
+  public synchronized Map<String, Long> getCandidates() {
+    Map<String, Long> result = new LinkedHashMap<>();
+    ranking.stream()
+        .sorted(Comparator.<Candidate>comparingLong(c -> -c.estimate).thenComparing(c -> c.item))
+        .forEach(c -> result.put(c.item, c.estimate));
+    return result;
+  }
+
+  /**
+   * Returns the sketch behind this structure.
+   */
+  public CountMinSketch getSketch() {
+    return sketch;
+  }
+
+  private synchronized void offer(String item, long estimate) {
+    Candidate candidate = candidates.get(item);
+    if (candidate != null) {
+      // Concurrent adds may report their estimates out of order; keep the highest one.
+      if (estimate > candidate.estimate) {
+        ranking.remove(candidate);
+        candidate.estimate = estimate;
+        ranking.add(candidate);
+      }
+      return;
+    }
+    if (candidates.size() >= capacity) {
+      Candidate lowest = ranking.first();
+      if (estimate <= lowest.estimate) {
+        return;
+      }
+      ranking.pollFirst();
+      candidates.remove(lowest.item);
+    }
+    candidate = new Candidate(item, estimate);
+    candidates.put(item, candidate);
+    ranking.add(candidate);
+  }
+
+  private static final class Candidate {
+    final String item;
+    long estimate;
+
+    Candidate(String item, long estimate) {
+      this.item = item;
+      this.estimate = estimate;
+    }
+  }
+}
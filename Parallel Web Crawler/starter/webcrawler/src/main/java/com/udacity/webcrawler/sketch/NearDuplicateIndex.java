@@ -0,0 +1,103 @@
+package com.udacity.webcrawler.sketch;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Finds {@link SimHash} fingerprints that are within a given Hamming distance of each other,
+ * without comparing every pair.
+ *
+ * <p>Each fingerprint is cut into {@code maxDistance + 1} bands of bits. Two fingerprints that
+ * differ in at most {@code maxDistance} bits cannot differ in every band, so they share at least
+ * one band exactly. The index keeps a bucket of fingerprints for every value of every band, and
+ * only compares a fingerprint with the fingerprints in its own buckets.
+ *
+ * <p>This class is thread-safe, and takes no locks beyond those of its concurrent buckets.
+ */
+public final class NearDuplicateIndex {
+
+  private final int maxDistance;
+  private final int[] bandStarts;
+  private final Map<Long, Queue<Entry>> buckets = new ConcurrentHashMap<>();
+  private final AtomicLong sequence = new AtomicLong();
+
+  /**
+   * Creates an index that treats fingerprints as near-duplicates if they differ in at most the
+   * given number of bits.
+   */
+  public NearDuplicateIndex(int maxDistance) {
+    if (maxDistance < 0 || maxDistance > 15) {
+      throw new IllegalArgumentException("maxDistance must be between 0 and 15");
+    }
+    this.maxDistance = maxDistance;
+    int bands = maxDistance + 1;
+    this.bandStarts = new int[bands + 1];
+    for (int band = 0; band <= bands; band++) {
+      bandStarts[band] = band * 64 / bands;
+    }
+  }
+
+  /**
+   * Adds the given fingerprint, and returns whether a near-duplicate of it was added earlier.
+   *
+   * <p>When two near-duplicates are added at the same time by different threads, exactly one of
+   * them is reported as the original. The fingerprint is added to its buckets first, and only then
+   * numbered, so any fingerprint with a lower number is already in the buckets by the time they are
+   * searched. Only fingerprints with lower numbers count.
+   */
+  public boolean addAndCheck(long fingerprint) {
+    Entry entry = new Entry(fingerprint);
+    long[] keys = new long[bandStarts.length - 1];
+    for (int band = 0; band < keys.length; band++) {
+      keys[band] = key(fingerprint, band);
+      buckets.computeIfAbsent(keys[band], k -> new ConcurrentLinkedQueue<>()).add(entry);
+    }
+    entry.sequence = sequence.getAndIncrement();
+    for (long key : keys) {
+      for (Entry other : buckets.get(key)) {
+        if (other != entry
+            && other.awaitSequence() < entry.sequence
+            && SimHash.distance(other.fingerprint, fingerprint) <= maxDistance) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Returns the bucket key of the given band of the fingerprint: the band number in the top bits,
+   * and the bits of the band below them.
+   */
+  private long key(long fingerprint, int band) {
+    int start = bandStarts[band];
+    int width = bandStarts[band + 1] - start;
+    long bits = width == 64 ? fingerprint : (fingerprint >>> start) & ((1L << width) - 1);
+    // With more than one band, no band is wider than 32 bits.
+    return ((long) band << 48) | bits;
+  }
+
+  private static final class Entry {
+    final long fingerprint;
+    volatile long sequence = -1;
+
+    Entry(long fingerprint) {
+      this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Returns the number of the entry, waiting for the thread that added it to assign one. That
+     * thread does so right after adding it to its buckets.
+     */
+    long awaitSequence() {
+      long value;
+      while ((value = sequence) < 0) {
+        Thread.onSpinWait();
+      }
+      return value;
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package com.udacity.webcrawler.sketch;
+
+/**
+ * Builds a 64-bit SimHash fingerprint of a document from its weighted features, such as its words
+ * and how often they occur.
+ *
+ * <p>Each feature votes on each bit of the fingerprint with its weight: for, if that bit of the
+ * feature's hash is set, and against otherwise. A bit of the fingerprint is set if the votes for
+ * it win. Documents with mostly the same features end up with fingerprints that differ in only a
+ * few bits, so near-duplicates can be found by {@link #distance(long, long) Hamming distance}.
+ *
+ * <p>This class is not thread-safe.
+ */
+public final class SimHash {
+
+  private final long[] votes = new long[64];
+
+  /**
+   * Adds a feature of the document with the given weight.
+   */
+  public void add(CharSequence feature, int weight) {
+    long hash = Hashing.hash64(feature);
+    for (int bit = 0; bit < 64; bit++) {
+      votes[bit] += ((hash >>> bit) & 1) != 0 ? weight : -weight;
+    }
+  }
+
+  /**
+   * Returns the fingerprint of the features added so far.
+   */
+  public long fingerprint() {
+    long fingerprint = 0;
+    for (int bit = 0; bit < 64; bit++) {
+      if (votes[bit] > 0) {
+        fingerprint |= 1L << bit;
+      }
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Returns the number of bits in which the given fingerprints differ.
+   */
+  public static int distance(long a, long b) {
+    return Long.bitCount(a ^ b);
+  }
+}
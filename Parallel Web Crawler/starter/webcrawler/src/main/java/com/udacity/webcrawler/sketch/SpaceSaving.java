@@ -0,0 +1,165 @@
+package com.udacity.webcrawler.sketch;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * The Space-Saving algorithm of Metwally, Agrawal and El Abbadi: keeps approximate counts of the
+ * most frequent strings in a stream, using a fixed number of counters.
+ *
+ * <p>Strings that already have a counter are counted exactly. When a new string arrives and all
+ * counters are taken, the counter with the lowest count is handed over to it, and the new string
+ * inherits that count as its possible error. Each counter therefore knows both an upper bound on
+ * its string's count ({@link Counter#getCount()}) and a lower bound
+ * ({@link Counter#getGuaranteedCount()}). Any string whose true count is more than the total
+ * divided by the number of counters is guaranteed to have a counter.
+ *
+ * <p>This class is thread-safe. Callers that add many counts at once should use
+ * {@link #addAll(Map)}, which takes the lock only once.
+ */
+public final class SpaceSaving {
+
+  private static final Comparator<Counter> BY_COUNT =
+      Comparator.<Counter>comparingLong(c -> c.count).thenComparing(c -> c.item);
+
+  private final int capacity;
+  private final Map<String, Counter> counters;
+  private final TreeSet<Counter> ranking = new TreeSet<>(BY_COUNT);
+  private long total;
+
+  /**
+   * Creates a Space-Saving structure with the given number of counters.
+   */
+  public SpaceSaving(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("capacity must be positive");
+    }
+    this.capacity = capacity;
+    this.counters = new HashMap<>(Math.min(capacity, 1 << 16));
+  }
+
+  /**
+   * Adds the given count to the given string.
+   */
+  public synchronized void add(String item, long count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("Counts cannot be negative");
+    }
+    total += count;
+    Counter counter = counters.get(item);
+    if (counter != null) {
+      ranking.remove(counter);
+      counter.count += count;
+      ranking.add(counter);
+      return;
+    }
+    if (counters.size() < capacity) {
+      counter = new Counter(item, count, 0);
+    } else {
+      Counter lowest = ranking.pollFirst();
+      counters.remove(lowest.item);
+      counter = new Counter(item, lowest.count + count, lowest.count);
+    }
+    counters.put(item, counter);
+    ranking.add(counter);
+  }
+
+  /**
+   * Adds all the given counts.
+   */
+  public synchronized void addAll(Map<String, ? extends Number> counts) {
+    counts.forEach((item, count) -> add(item, count.longValue()));
+  }
+
+  /**
+   * Returns the counter of the given string, or {@code null} if it has none.
+   */
+  public synchronized Counter get(String item) {
+    Counter counter = counters.get(item);
+    return counter == null ? null : counter.copy();
+  }
+
+  /**
+   * Returns a copy of all counters, ordered from the highest count to the lowest. Equal counts are
+   * ordered alphabetically.
+   */
+  public synchronized Map<String, Counter> getCounters() {
+    Map<String, Counter> result = new LinkedHashMap<>();
+    ranking.stream()
+        .sorted(Comparator.<Counter>comparingLong(c -> -c.count).thenComparing(c -> c.item))
+        .forEach(c -> result.put(c.item, c.copy()));
+    return result;
+  }
+
+  /**
+   * Returns the total of all counts added so far.
+   */
+  public synchronized long getTotal() {
+    return total;
+  }
+
+  /**
+   * Returns the largest possible error of any counter: the total count divided by the number of
+   * counters.
+   */
+  public synchronized long getErrorBound() {
+    return (total + capacity - 1) / capacity;
+  }
+
+  /**
+   * Returns the number of counters.
+   */
+  public int getCapacity() {
+    return capacity;
+  }
+
+  /**
+   * The counter of one string.
+   */
+  public static final class Counter {
+    private final String item;
+    private long count;
+    private final long error;
+
+    private Counter(String item, long count, long error) {
+      this.item = item;
+      this.count = count;
+      this.error = error;
+    }
+
+    private Counter copy() {
+      return new Counter(item, count, error);
+    }
+
+    /**
+     * Returns the string being counted.
+     */
+    public String getItem() {
+      return item;
+    }
+
+    /**
+     * Returns the estimated count of the string, which is never lower than its true count.
+     */
+    public long getCount() {
+      return count;
+    }
+
+    /**
+     * Returns how much higher the estimated count may be than the true count.
+     */
+    public long getError() {
+      return error;
+    }
+
+    /**
+     * Returns the count the string is guaranteed to have had, at least.
+     */
+    public long getGuaranteedCount() {
+      return count - error;
+    }
+  }
+}
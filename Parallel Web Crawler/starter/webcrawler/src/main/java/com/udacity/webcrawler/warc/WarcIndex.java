@@ -0,0 +1,147 @@
+package com.udacity.webcrawler.warc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A CDX-style index that maps URLs to the position of their records in WARC files.
+ *
+ * <p>Index files are text files with one record per line. The first line is a legend such as
+ * {@code " CDX a b m S V g"}, which names the space-separated fields of the lines that follow.
+ * Only the original URL ({@code a}), the record length ({@code S}), the record offset ({@code V})
+ * and the WARC file name ({@code g}) are used. File names are resolved against the directory of
+ * the index file.
+ */
+public final class WarcIndex {
+
+  /**
+   * The legend line of the indexes written by {@link WarcWriter}.
+   */
+  static final String HEADER = " CDX a b m S V g\n";
+
+  private final Map<String, Entry> entries;
+
+  private WarcIndex(Map<String, Entry> entries) {
+    this.entries = Collections.unmodifiableMap(entries);
+  }
+
+  /**
+   * Loads the CDX index file at the given path.
+   */
+  public static WarcIndex read(Path cdxFile) throws IOException {
+    Path directory = cdxFile.toAbsolutePath().getParent();
+    Map<String, Entry> entries = new LinkedHashMap<>();
+    try (BufferedReader reader = Files.newBufferedReader(cdxFile)) {
+      List<String> legend = Arrays.asList(HEADER.strip().split(" "));
+      String line;
+      while ((line = reader.readLine()) != null) {
+        if (line.startsWith(" CDX ")) {
+          legend = Arrays.asList(line.strip().split(" +"));
+          continue;
+        }
+        if (line.isBlank()) {
+          continue;
+        }
+        // The legend starts with "CDX", which has no field of its own.
+        String[] fields = line.split(" +");
+        String url = fields[legend.indexOf("a") - 1];
+        long length = Long.parseLong(fields[legend.indexOf("S") - 1]);
+        long offset = Long.parseLong(fields[legend.indexOf("V") - 1]);
+        Path file = directory.resolve(fields[legend.indexOf("g") - 1]);
+        entries.putIfAbsent(url, new Entry(url, file, offset, length));
+      }
+    } catch (RuntimeException e) {
+      throw new IOException("Malformed CDX index: " + cdxFile, e);
+    }
+    return new WarcIndex(entries);
+  }
+
+  /**
+   * Indexes the {@code "response"} and {@code "resource"} records of the given WARC file by
+   * reading it from start to end.
+   */
+  public static WarcIndex build(Path warcFile) throws IOException {
+    Path file = warcFile.toAbsolutePath();
+    Map<String, Entry> entries = new LinkedHashMap<>();
+    try (WarcReader reader = WarcReader.open(file)) {
+      WarcRecord record;
+      while ((record = reader.next()) != null) {
+        String type = record.getType();
+        String url = record.getTargetUri();
+        if (url != null && ("response".equals(type) || "resource".equals(type))) {
+          entries.putIfAbsent(
+              url, new Entry(url, file, record.getOffset(), record.getLength()));
+        }
+      }
+    }
+    return new WarcIndex(entries);
+  }
+
+  /**
+   * Returns the position of the record for the given URL, if the index has one.
+   */
+  public Optional<Entry> lookup(String url) {
+    return Optional.ofNullable(entries.get(url));
+  }
+
+  /**
+   * Returns all entries of this index, keyed by URL.
+   */
+  public Map<String, Entry> getEntries() {
+    return entries;
+  }
+
+  /**
+   * The position of one record in a WARC file.
+   */
+  public static final class Entry {
+    private final String url;
+    private final Path file;
+    private final long offset;
+    private final long length;
+
+    Entry(String url, Path file, long offset, long length) {
+      this.url = Objects.requireNonNull(url);
+      this.file = Objects.requireNonNull(file);
+      this.offset = offset;
+      this.length = length;
+    }
+
+    /**
+     * Returns the URL the record was captured from.
+     */
+    public String getUrl() {
+      return url;
+    }
+
+    /**
+     * Returns the WARC file that holds the record.
+     */
+    public Path getFile() {
+      return file;
+    }
+
+    /**
+     * Returns the position of the record in its file.
+     */
+    public long getOffset() {
+      return offset;
+    }
+
+    /**
+     * Returns the number of bytes the record takes up in its file.
+     */
+    public long getLength() {
+      return length;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.udacity.webcrawler.warc;
+
+import com.udacity.webcrawler.parser.PageSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link PageSource} that serves pages from WARC archives.
+ *
+ * <p>The archives are indexed up front, either from their CDX index files or by reading them once.
+ * After that, every page is read with a single positional read of its record, so any number of
+ * threads can read pages from the same archive at the same time.
+ *
+ * <p>Pages are returned as a client that downloaded them would see them: with the status and
+ * content type they were captured with, and with their transfer and content codings removed.
+ */
+public final class WarcPageSource implements PageSource {
+
+  /**
+   * The most bytes of a page that are returned, after decoding. This is the same limit that
+   * applies to downloaded pages.
+   */
+  private static final int MAX_BODY_BYTES = 2 * 1024 * 1024;
+
+  private final Map<String, WarcIndex.Entry> entries;
+  private final Map<Path, FileChannel> files = new ConcurrentHashMap<>();
+
+  private WarcPageSource(Map<String, WarcIndex.Entry> entries) {
+    this.entries = entries;
+  }
+
+  /**
+   * Opens the given archives. Paths ending in {@code ".cdx"} are loaded as index files; all other
+   * paths are indexed as WARC files. If several archives hold the same URL, the first one wins.
+   */
+  public static WarcPageSource open(List<Path> inputs) throws IOException {
+    Map<String, WarcIndex.Entry> entries = new HashMap<>();
+    for (Path input : inputs) {
+      WarcIndex index = input.getFileName().toString().endsWith(".cdx")
+          ? WarcIndex.read(input)
+          : WarcIndex.build(input);
+      index.getEntries().forEach(entries::putIfAbsent);
+    }
+    return new WarcPageSource(entries);
+  }
+
+  @Override
+  public Optional<Page> fetch(String url) throws IOException {
+    WarcIndex.Entry entry = entries.get(url);
+    if (entry == null) {
+      return Optional.empty();
+    }
+
+    FileChannel file;
+    try {
+      file = files.computeIfAbsent(entry.getFile(), path -> {
+        try {
+          return FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+          throw new UncheckedIOException(e);
+        }
+      });
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    ByteBuffer bytes = ByteBuffer.allocate(Math.toIntExact(entry.getLength()));
+    while (bytes.hasRemaining()) {
+      if (file.read(bytes, entry.getOffset() + bytes.position()) < 0) {
+        throw new EOFException("Truncated WARC record for " + url);
+      }
+    }
+
+    WarcReader reader = new WarcReader(
+        new ByteArrayInputStream(bytes.array()),
+        WarcReader.isCompressed(entry.getFile()),
+        entry.getOffset());
+    WarcRecord record = reader.next();
+    if (record == null) {
+      throw new IOException("Missing WARC record for " + url);
+    }
+    if (!record.isHttpMessage()) {
+      // A resource record holds the page itself, with the WARC content type.
+      return Optional.of(new Page(-1, record.getHeader("Content-Type"), record.getContent()));
+    }
+    return Optional.of(new Page(
+        record.getHttpStatus(),
+        record.getHttpContentType(),
+        record.getDecodedHttpBody(MAX_BODY_BYTES)));
+  }
+
+  @Override
+  public void close() throws IOException {
+    for (FileChannel file : files.values()) {
+      file.close();
+    }
+  }
+}
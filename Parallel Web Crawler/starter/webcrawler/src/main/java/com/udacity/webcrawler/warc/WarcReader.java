@@ -0,0 +1,303 @@
+package com.udacity.webcrawler.warc;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads the records of a WARC file one after the other.
+ *
+ * <p>Both plain WARC files and gzip-compressed ones are supported. Compressed files must hold one
+ * record per gzip member, as the WARC standard recommends. The reader keeps track of where each
+ * record starts in the file, so that the records can be indexed for random access.
+ */
+public final class WarcReader implements AutoCloseable {
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final PositionInputStream in;
+  private final boolean compressed;
+
+  /**
+   * Creates a reader for the records in the given stream.
+   *
+   * @param in          the stream to read.
+   * @param compressed  whether the stream holds gzip-compressed records.
+   * @param startOffset the position of the start of the stream in its file.
+   */
+  public WarcReader(InputStream in, boolean compressed, long startOffset) {
+    this.in = new PositionInputStream(in, startOffset);
+    this.compressed = compressed;
+  }
+
+  /**
+   * Creates a reader for the WARC file at the given path. Files whose name ends in {@code ".gz"}
+   * are read as compressed files.
+   */
+  public static WarcReader open(Path path) throws IOException {
+    return new WarcReader(Files.newInputStream(path), isCompressed(path), 0);
+  }
+
+  /**
+   * Returns whether the WARC file at the given path is compressed, judging by its name.
+   */
+  static boolean isCompressed(Path path) {
+    return path.getFileName().toString().endsWith(".gz");
+  }
+
+  /**
+   * Reads the next record, or returns {@code null} at the end of the file.
+   */
+  public WarcRecord next() throws IOException {
+    long offset = in.getPosition();
+    if (!compressed) {
+      Record record = readRecord(in);
+      if (record == null) {
+        return null;
+      }
+      return new WarcRecord(record.headers, record.content, offset, in.getPosition() - offset);
+    }
+
+    byte[] member = readGzipMember(in);
+    if (member == null) {
+      return null;
+    }
+    Record record = readRecord(new PositionInputStream(new ByteArrayInputStream(member), 0));
+    if (record == null) {
+      throw new IOException("Empty gzip member at offset " + offset);
+    }
+    return new WarcRecord(record.headers, record.content, offset, in.getPosition() - offset);
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /**
+   * Parses one uncompressed record, or returns {@code null} if the stream has ended.
+   */
+  private static Record readRecord(PositionInputStream in) throws IOException {
+    String version;
+    do {
+      version = readLine(in);
+      if (version == null) {
+        return null;
+      }
+    } while (version.isEmpty());  // Tolerate extra blank lines between records
+    if (!version.startsWith("WARC/")) {
+      throw new IOException("Not a WARC record: " + version);
+    }
+
+    Map<String, String> headers = new LinkedHashMap<>();
+    String line;
+    while ((line = readLine(in)) != null && !line.isEmpty()) {
+      int colon = line.indexOf(':');
+      if (colon > 0) {
+        headers.put(line.substring(0, colon).strip(), line.substring(colon + 1).strip());
+      }
+    }
+
+    String contentLength = null;
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      if (header.getKey().equalsIgnoreCase("Content-Length")) {
+        contentLength = header.getValue();
+      }
+    }
+    if (contentLength == null) {
+      throw new IOException("WARC record without Content-Length");
+    }
+    byte[] content = in.readNBytes(Integer.parseInt(contentLength));
+    if (content.length < Integer.parseInt(contentLength)) {
+      throw new EOFException("Truncated WARC record");
+    }
+
+    // Each record ends with two line breaks.
+    readLine(in);
+    readLine(in);
+    return new Record(headers, content);
+  }
+
+  /**
+   * Reads a line ending in LF or CRLF, without its line ending. Returns {@code null} if the stream
+   * has ended.
+   */
+  private static String readLine(PositionInputStream in) throws IOException {
+    ByteArrayOutputStream line = new ByteArrayOutputStream();
+    int b;
+    while ((b = in.read()) >= 0 && b != '\n') {
+      line.write(b);
+    }
+    if (b < 0 && line.size() == 0) {
+      return null;
+    }
+    byte[] bytes = line.toByteArray();
+    int length = bytes.length;
+    if (length > 0 && bytes[length - 1] == '\r') {
+      length--;
+    }
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Inflates one gzip member, or returns {@code null} if the stream has ended. Afterwards, the
+   * stream is positioned right after the member.
+   */
+  private static byte[] readGzipMember(PositionInputStream in) throws IOException {
+    long start = in.getPosition();
+    int id1 = in.read();
+    if (id1 < 0) {
+      return null;
+    }
+    if (id1 != 0x1f || in.read() != 0x8b || in.read() != 8) {
+      throw new IOException("Not a gzip member at offset " + start);
+    }
+    int flags = in.read();
+    skipFully(in, 6);  // Modification time, extra flags and operating system
+    if ((flags & 4) != 0) {
+      int extraLength = in.read() | (in.read() << 8);
+      skipFully(in, extraLength);
+    }
+    if ((flags & 8) != 0) {
+      skipZeroTerminated(in);  // File name
+    }
+    if ((flags & 16) != 0) {
+      skipZeroTerminated(in);  // Comment
+    }
+    if ((flags & 2) != 0) {
+      skipFully(in, 2);  // Header checksum
+    }
+
+    Inflater inflater = new Inflater(true);
+    CRC32 crc = new CRC32();
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try {
+      byte[] input = new byte[BUFFER_SIZE];
+      byte[] output = new byte[BUFFER_SIZE];
+      int inputLength = 0;
+      while (!inflater.finished()) {
+        if (inflater.needsInput()) {
+          inputLength = in.read(input);
+          if (inputLength < 0) {
+            throw new EOFException("Truncated gzip member at offset " + start);
+          }
+          inflater.setInput(input, 0, inputLength);
+        }
+        int inflated = inflater.inflate(output);
+        crc.update(output, 0, inflated);
+        out.write(output, 0, inflated);
+      }
+      // The inflater may have been given bytes past the end of the member; put them back.
+      int remaining = inflater.getRemaining();
+      in.unread(input, inputLength - remaining, remaining);
+    } catch (DataFormatException e) {
+      throw new IOException("Corrupt gzip member at offset " + start, e);
+    } finally {
+      inflater.end();
+    }
+
+    long expectedCrc = readIntLittleEndian(in) & 0xffffffffL;
+    readIntLittleEndian(in);  // Uncompressed size, modulo 2^32
+    if (expectedCrc != crc.getValue()) {
+      throw new IOException("Checksum mismatch in gzip member at offset " + start);
+    }
+    return out.toByteArray();
+  }
+
+  private static void skipFully(InputStream in, int count) throws IOException {
+    if (in.readNBytes(count).length < count) {
+      throw new EOFException("Truncated gzip header");
+    }
+  }
+
+  private static void skipZeroTerminated(InputStream in) throws IOException {
+    int b;
+    while ((b = in.read()) > 0) {
+      // Skip to the terminating zero byte.
+    }
+    if (b < 0) {
+      throw new EOFException("Truncated gzip header");
+    }
+  }
+
+  private static int readIntLittleEndian(InputStream in) throws IOException {
+    byte[] bytes = in.readNBytes(4);
+    if (bytes.length < 4) {
+      throw new EOFException("Truncated gzip trailer");
+    }
+    return (bytes[0] & 0xff) | (bytes[1] & 0xff) << 8 | (bytes[2] & 0xff) << 16
+        | (bytes[3] & 0xff) << 24;
+  }
+
+  /**
+   * The parsed parts of an uncompressed record.
+   */
+  private static final class Record {
+    final Map<String, String> headers;
+    final byte[] content;
+
+    Record(Map<String, String> headers, byte[] content) {
+      this.headers = headers;
+      this.content = content;
+    }
+  }
+
+  /**
+   * A {@link PushbackInputStream} that knows its position in the underlying file.
+   */
+  private static final class PositionInputStream extends PushbackInputStream {
+    private long position;
+
+    PositionInputStream(InputStream in, long position) {
+      super(new BufferedInputStream(in, BUFFER_SIZE), BUFFER_SIZE);
+      this.position = position;
+    }
+
+    long getPosition() {
+      return position;
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        position++;
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      int count = super.read(b, off, len);
+      if (count > 0) {
+        position += count;
+      }
+      return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      long skipped = super.skip(n);
+      position += skipped;
+      return skipped;
+    }
+
+    @Override
+    public void unread(byte[] b, int off, int len) throws IOException {
+      super.unread(b, off, len);
+      position -= len;
+    }
+  }
+}
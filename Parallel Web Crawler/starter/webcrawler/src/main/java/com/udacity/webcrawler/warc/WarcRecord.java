@@ -0,0 +1,262 @@
+package com.udacity.webcrawler.warc;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * One record of a WARC file: its named header fields, and its content block.
+ */
+public final class WarcRecord {
+
+  private final Map<String, String> headers;
+  private final byte[] content;
+  private final long offset;
+  private final long length;
+
+  WarcRecord(Map<String, String> headers, byte[] content, long offset, long length) {
+    Map<String, String> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    caseInsensitive.putAll(headers);
+    this.headers = Collections.unmodifiableMap(caseInsensitive);
+    this.content = Objects.requireNonNull(content);
+    this.offset = offset;
+    this.length = length;
+  }
+
+  /**
+   * Returns the value of the given header field, or {@code null} if the record does not have it.
+   * Field names are not case-sensitive.
+   */
+  public String getHeader(String name) {
+    return headers.get(name);
+  }
+
+  /**
+   * Returns all header fields of this record.
+   */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * Returns the record type, such as {@code "response"} or {@code "warcinfo"}.
+   */
+  public String getType() {
+    return getHeader("WARC-Type");
+  }
+
+  /**
+   * Returns the URL the record was captured from, or {@code null} if it has none.
+   */
+  public String getTargetUri() {
+    return getHeader("WARC-Target-URI");
+  }
+
+  /**
+   * Returns the content block of this record.
+   */
+  public byte[] getContent() {
+    return content;
+  }
+
+  /**
+   * Returns the position of this record in its file. For compressed files, this is the position of
+   * the gzip member that holds the record.
+   */
+  public long getOffset() {
+    return offset;
+  }
+
+  /**
+   * Returns the number of bytes this record takes up in its file, compressed or not.
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Returns the body of the captured HTTP response, without its status line and headers.
+   *
+   * <p>If the content block is not an HTTP message, for example in a {@code "resource"} record, the
+   * whole content block is returned.
+   */
+  public byte[] getHttpBody() {
+    int start = httpBodyStart();
+    if (start < 0) {
+      return content;
+    }
+    byte[] body = new byte[content.length - start];
+    System.arraycopy(content, start, body, 0, body.length);
+    return body;
+  }
+
+  /**
+   * Returns the body of the captured HTTP response like {@link #getHttpBody()}, but as a client
+   * that downloaded the page would see it: without its {@code chunked} transfer coding, and
+   * decompressed if its content coding is {@code gzip} or {@code deflate}.
+   *
+   * @param maxBytes the most bytes of the decoded body that are returned.
+   * @throws IOException if the body is not encoded the way its headers say.
+   */
+  public byte[] getDecodedHttpBody(int maxBytes) throws IOException {
+    byte[] body = getHttpBody();
+    String transferEncoding = getHttpHeader("Transfer-Encoding");
+    if (transferEncoding != null
+        && transferEncoding.toLowerCase(Locale.ROOT).contains("chunked")) {
+      body = dechunk(body);
+    }
+    try (InputStream in = decompress(new ByteArrayInputStream(body))) {
+      return in.readNBytes(maxBytes);
+    }
+  }
+
+  /**
+   * Returns whether the content block of this record is an HTTP message, with a status line and
+   * headers before the body.
+   */
+  public boolean isHttpMessage() {
+    return httpBodyStart() >= 0;
+  }
+
+  /**
+   * Returns the status code of the captured HTTP response, or -1 if the content block is not an
+   * HTTP message or its status line cannot be read.
+   */
+  public int getHttpStatus() {
+    int start = httpBodyStart();
+    if (start < 0) {
+      return -1;
+    }
+    String head = new String(content, 0, start, StandardCharsets.ISO_8859_1);
+    String[] statusLine = head.split("\r?\n", 2)[0].split(" ", 3);
+    if (statusLine.length < 2 || !statusLine[0].startsWith("HTTP/")) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(statusLine[1]);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  /**
+   * Returns the {@code Content-Type} of the captured HTTP response, or {@code null} if it has
+   * none.
+   */
+  public String getHttpContentType() {
+    return getHttpHeader("Content-Type");
+  }
+
+  /**
+   * Returns the value of the given header of the captured HTTP response, or {@code null} if it
+   * does not have it. Header names are not case-sensitive.
+   */
+  public String getHttpHeader(String name) {
+    int start = httpBodyStart();
+    if (start < 0) {
+      return null;
+    }
+    String head = new String(content, 0, start, StandardCharsets.ISO_8859_1);
+    for (String line : head.split("\r?\n")) {
+      int colon = line.indexOf(':');
+      if (colon > 0 && line.substring(0, colon).strip().equalsIgnoreCase(name)) {
+        return line.substring(colon + 1).strip();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the given stream, decompressed as the {@code Content-Encoding} of the captured HTTP
+   * response says.
+   */
+  private InputStream decompress(InputStream body) throws IOException {
+    String encoding = getHttpHeader("Content-Encoding");
+    switch (encoding == null ? "identity" : encoding.strip().toLowerCase(Locale.ROOT)) {
+      case "gzip":
+      case "x-gzip":
+        return new GZIPInputStream(body);
+      case "deflate":
+        return new InflaterInputStream(body);
+      default:
+        return body;
+    }
+  }
+
+  /**
+   * Removes the {@code chunked} transfer coding from the given body. Trailers are dropped. A body
+   * that was cut off in the middle of a chunk keeps the part of the chunk that was captured.
+   */
+  private static byte[] dechunk(byte[] body) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(body.length);
+    int position = 0;
+    while (position < body.length) {
+      int lineEnd = position;
+      while (lineEnd < body.length && body[lineEnd] != '\n') {
+        lineEnd++;
+      }
+      String sizeLine =
+          new String(body, position, lineEnd - position, StandardCharsets.ISO_8859_1);
+      int extension = sizeLine.indexOf(';');
+      if (extension >= 0) {
+        sizeLine = sizeLine.substring(0, extension);
+      }
+      int size;
+      try {
+        size = Integer.parseInt(sizeLine.strip(), 16);
+      } catch (NumberFormatException e) {
+        throw new IOException("Invalid chunk size: " + sizeLine.strip());
+      }
+      if (size < 0) {
+        throw new IOException("Invalid chunk size: " + sizeLine.strip());
+      }
+      if (size == 0) {
+        break;  // The last chunk
+      }
+      position = Math.min(lineEnd + 1, body.length);
+      int length = Math.min(size, body.length - position);
+      out.write(body, position, length);
+      position += length;
+      // Skip the line break that ends the chunk.
+      if (position < body.length && body[position] == '\r') {
+        position++;
+      }
+      if (position < body.length && body[position] == '\n') {
+        position++;
+      }
+    }
+    return out.toByteArray();
+  }
+
+  /**
+   * Returns the position of the HTTP body in the content block, or -1 if the content block is not
+   * an HTTP message.
+   */
+  private int httpBodyStart() {
+    String contentType = getHeader("Content-Type");
+    if (contentType == null || !contentType.startsWith("application/http")) {
+      return -1;
+    }
+    for (int i = 0; i + 1 < content.length; i++) {
+      if (content[i] != '\n') {
+        continue;
+      }
+      if (content[i + 1] == '\n') {
+        return i + 2;
+      }
+      if (content[i + 1] == '\r' && i + 2 < content.length && content[i + 2] == '\n') {
+        return i + 3;
+      }
+    }
+    return content.length;
+  }
+}
@@ -0,0 +1,194 @@
+package com.udacity.webcrawler.warc;
+
+import com.udacity.webcrawler.parser.PageSink;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Archives downloaded pages as {@code "response"} records in rotating, gzip-compressed WARC files.
+ *
+ * <p>Files are named {@code "<prefix>-00000.warc.gz"}, {@code "<prefix>-00001.warc.gz"} and so on.
+ * A new file is started once the current one has reached the configured size. Every record is also
+ * listed in the CDX index {@code "<prefix>.cdx"}, which {@link WarcIndex#read(Path)} can load to
+ * find records without scanning the archive.
+ *
+ * <p>Every record and index line is written out in full before
+ * {@link #write(String, int, String, byte[])} returns, so the files are complete even if the
+ * writer is never closed.
+ */
+public final class WarcWriter implements PageSink {
+
+  private static final DateTimeFormatter CDX_DATE =
+      DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
+  private final Path directory;
+  private final String prefix;
+  private final long maxFileBytes;
+  private final Clock clock;
+  private final FileChannel index;
+  private FileChannel file;
+  private String fileName;
+  private int fileNumber;
+
+  /**
+   * Creates a writer that archives pages in the given directory.
+   *
+   * @param directory    the directory for the WARC files and their index. It is created if needed.
+   * @param prefix       the common prefix of the file names.
+   * @param maxFileBytes the size after which a new WARC file is started.
+   * @param clock        the clock that record dates are taken from.
+   */
+  public WarcWriter(Path directory, String prefix, long maxFileBytes, Clock clock)
+      throws IOException {
+    this.directory = Files.createDirectories(directory);
+    this.prefix = Objects.requireNonNull(prefix);
+    this.maxFileBytes = maxFileBytes;
+    this.clock = Objects.requireNonNull(clock);
+    Path indexPath = directory.resolve(prefix + ".cdx");
+    boolean newIndex = Files.notExists(indexPath);
+    this.index = FileChannel.open(
+        indexPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    if (newIndex) {
+      writeFully(index, ByteBuffer.wrap(WarcIndex.HEADER.getBytes(StandardCharsets.UTF_8)));
+    }
+  }
+
+  @Override
+  public synchronized void write(String url, int status, String contentType, byte[] body)
+      throws IOException {
+    Instant date = clock.instant().truncatedTo(ChronoUnit.SECONDS);
+    String type = contentType == null ? "application/octet-stream" : contentType;
+    byte[] httpHead = ("HTTP/1.1 " + status + " " + reasonPhrase(status) + "\r\n"
+        + "Content-Type: " + type + "\r\n"
+        + "Content-Length: " + body.length + "\r\n"
+        + "\r\n").getBytes(StandardCharsets.UTF_8);
+    byte[] record = compress(
+        "WARC-Type: response\r\n"
+            + "WARC-Target-URI: " + url + "\r\n"
+            + "WARC-Date: " + date + "\r\n"
+            + "WARC-Record-ID: <urn:uuid:" + UUID.randomUUID() + ">\r\n"
+            + "Content-Type: application/http; msgtype=response\r\n",
+        httpHead,
+        body);
+
+    if (file == null || (file.size() > 0 && file.size() + record.length > maxFileBytes)) {
+      rotate(date);
+    }
+    long offset = file.size();
+    writeFully(file, ByteBuffer.wrap(record));
+
+    String mimeType = type.split(";", 2)[0].strip();
+    String line = String.join(" ",
+        url,
+        CDX_DATE.format(date),
+        mimeType.isEmpty() ? "-" : mimeType,
+        Long.toString(record.length),
+        Long.toString(offset),
+        fileName) + "\n";
+    writeFully(index, ByteBuffer.wrap(line.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (file != null) {
+      file.close();
+    }
+    index.close();
+  }
+
+  /**
+   * Closes the current WARC file, if any, and starts the next unused one with a
+   * {@code "warcinfo"} record.
+   */
+  private void rotate(Instant date) throws IOException {
+    if (file != null) {
+      file.close();
+    }
+    while (true) {
+      fileName = String.format("%s-%05d.warc.gz", prefix, fileNumber++);
+      try {
+        file = FileChannel.open(
+            directory.resolve(fileName), StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        break;
+      } catch (FileAlreadyExistsException e) {
+        // Left over from an earlier crawl; try the next number.
+      }
+    }
+    byte[] fields = ("software: udacity-webcrawler\r\n"
+        + "format: WARC File Format 1.0\r\n").getBytes(StandardCharsets.UTF_8);
+    writeFully(file, ByteBuffer.wrap(compress(
+        "WARC-Type: warcinfo\r\n"
+            + "WARC-Date: " + date + "\r\n"
+            + "WARC-Filename: " + fileName + "\r\n"
+            + "WARC-Record-ID: <urn:uuid:" + UUID.randomUUID() + ">\r\n"
+            + "Content-Type: application/warc-fields\r\n",
+        fields)));
+  }
+
+  /**
+   * Returns the reason phrase of the given status code, or an empty string for less common codes.
+   * HTTP/1.1 allows an empty reason phrase, and readers go by the code alone.
+   */
+  private static String reasonPhrase(int status) {
+    switch (status) {
+      case 200:
+        return "OK";
+      case 203:
+        return "Non-Authoritative Information";
+      case 204:
+        return "No Content";
+      case 206:
+        return "Partial Content";
+      case 301:
+        return "Moved Permanently";
+      case 302:
+        return "Found";
+      case 304:
+        return "Not Modified";
+      default:
+        return "";
+    }
+  }
+
+  /**
+   * Returns a gzip member that holds one record with the given header fields and content block.
+   */
+  private static byte[] compress(String headers, byte[]... content) throws IOException {
+    int contentLength = 0;
+    for (byte[] part : content) {
+      contentLength += part.length;
+    }
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(contentLength / 2 + 256);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(("WARC/1.0\r\n" + headers + "Content-Length: " + contentLength + "\r\n\r\n")
+          .getBytes(StandardCharsets.UTF_8));
+      for (byte[] part : content) {
+        gzip.write(part);
+      }
+      gzip.write("\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+    }
+    return bytes.toByteArray();
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
@@ -0,0 +1,103 @@
+package com.udacity.webcrawler;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class AdaptiveConcurrencyLimitTest {
+  private final AtomicLong nanoTime = new AtomicLong();
+  private final AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 6, nanoTime::get);
+
+  private void fetch(long latency, boolean failed) throws Exception {
+    AdaptiveConcurrencyLimit.Permit permit = limit.acquire(0);
+    nanoTime.addAndGet(latency);
+    permit.release(failed);
+  }
+
+  private List<AdaptiveConcurrencyLimit.Permit> hold(int count) throws Exception {
+    List<AdaptiveConcurrencyLimit.Permit> permits = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      permits.add(limit.acquire(0));
+    }
+    return permits;
+  }
+
+  @Test
+  public void waitsForPermits() throws Exception {
+    assertThat(hold(4)).doesNotContain(null);
+    assertThat(limit.acquire(1_000)).isNull();
+  }
+
+  @Test
+  public void growsOnlyWhenTheLimitIsUsed() throws Exception {
+    // One fetch at a time does not use half of the limit.
+    for (int i = 0; i < 10; i++) {
+      fetch(100, false);
+    }
+    assertThat(limit.getLimit()).isEqualTo(4);
+
+    hold(3);
+    for (int i = 0; i < 10; i++) {
+      fetch(100, false);
+    }
+    assertThat(limit.getLimit()).isEqualTo(6);
+  }
+
+  @Test
+  public void growsByAboutOneForEachRoundOfFetches() throws Exception {
+    AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 100, nanoTime::get);
+    for (int i = 0; i < 9; i++) {
+      limit.acquire(0);
+    }
+
+    // Every fetch raises the limit by a tenth, so ten of them raise it by one, not by ten.
+    for (int i = 0; i < 11; i++) {
+      AdaptiveConcurrencyLimit.Permit permit = limit.acquire(0);
+      nanoTime.addAndGet(100);
+      permit.release(false);
+    }
+    assertThat(limit.getLimit()).isEqualTo(11);
+  }
+
+  @Test
+  public void shrinksOnFailures() throws Exception {
+    hold(3);
+    for (int i = 0; i < 10; i++) {
+      fetch(100, false);
+    }
+    assertThat(limit.getLimit()).isEqualTo(6);
+
+    fetch(100, true);
+    fetch(100, true);
+    assertThat(limit.getLimit()).isEqualTo(4);
+  }
+
+  @Test
+  public void shrinksOnceForFetchesThatWereInFlightTogether() throws Exception {
+    List<AdaptiveConcurrencyLimit.Permit> permits = hold(2);
+    nanoTime.addAndGet(100);
+    permits.forEach(permit -> permit.release(true));
+
+    assertThat(limit.getLimit()).isEqualTo(3);
+  }
+
+  @Test
+  public void shrinksWhenLatencyRises() throws Exception {
+    List<AdaptiveConcurrencyLimit.Permit> others = hold(3);
+    for (int i = 0; i < 10; i++) {
+      fetch(100, false);
+    }
+    assertThat(limit.getLimit()).isEqualTo(6);
+
+    // The fetches that were held all along are slow too.
+    others.forEach(permit -> permit.release(false));
+    for (int i = 0; i < 10; i++) {
+      fetch(10_000, false);
+    }
+    assertThat(limit.getLimit()).isLessThan(6);
+  }
+}
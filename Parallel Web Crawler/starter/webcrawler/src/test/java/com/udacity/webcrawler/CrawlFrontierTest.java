@@ -0,0 +1,163 @@
+package com.udacity.webcrawler;
+
+import com.udacity.webcrawler.profiler.FakeClock;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class CrawlFrontierTest {
+  private final FakeClock clock = new FakeClock();
+  private final CrawlFrontier frontier =
+      new CrawlFrontier(clock, clock.instant().plusSeconds(10), LinkScorer.inboundLinks(), false);
+
+  @Test
+  public void shallowPagesFirst() throws Exception {
+    frontier.offer("http://example.com/deep", 1);
+    frontier.offer("http://example.com/shallow", 3);
+    frontier.offer("http://example.com/middle", 2);
+
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://example.com/shallow");
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://example.com/middle");
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://example.com/deep");
+  }
+
+  @Test
+  public void lessCrawledHostsFirst() throws Exception {
+    frontier.offer("http://a.com/1", 2);
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://a.com/1");
+    frontier.done();
+
+    frontier.offer("http://a.com/2", 2);
+    frontier.offer("http://b.com/1", 2);
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://b.com/1");
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://a.com/2");
+  }
+
+  @Test
+  public void hostsTakeTurnsWhenOfferedTogether() throws Exception {
+    for (int i = 1; i <= 3; i++) {
+      frontier.offer("http://a.com/" + i, 2);
+    }
+    for (int i = 1; i <= 3; i++) {
+      frontier.offer("http://b.com/" + i, 2);
+    }
+
+    List<String> urls = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      urls.add(frontier.poll().getUrl());
+    }
+    assertThat(urls)
+        .containsExactly(
+            "http://a.com/1", "http://b.com/1",
+            "http://a.com/2", "http://b.com/2",
+            "http://a.com/3", "http://b.com/3")
+        .inOrder();
+  }
+
+  @Test
+  public void moreInboundLinksFirst() throws Exception {
+    frontier.offer("http://example.com/once", 2);
+    frontier.offer("http://example.com/twice", 2);
+    frontier.offer("http://example.com/twice", 2);
+
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://example.com/twice");
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://example.com/once");
+  }
+
+  @Test
+  public void higherScoresFirstInARecrawl() throws Exception {
+    CrawlFrontier recrawl = new CrawlFrontier(clock, clock.instant().plusSeconds(10),
+        (url, inboundLinks) -> url.endsWith("changing") ? 0.9 : 0.1, true);
+    recrawl.offer("http://example.com/stable", 3);
+    recrawl.offer("http://example.com/changing", 1);
+    recrawl.offer("http://example.com/other", 2);
+
+    assertThat(recrawl.poll().getUrl()).isEqualTo("http://example.com/changing");
+    assertThat(recrawl.poll().getUrl()).isEqualTo("http://example.com/stable");
+    assertThat(recrawl.poll().getUrl()).isEqualTo("http://example.com/other");
+  }
+
+  @Test
+  public void urlsAreHandedOutOnce() throws Exception {
+    frontier.offer("http://example.com/", 2);
+    frontier.offer("http://example.com/", 1);
+    assertThat(frontier.poll().getDepth()).isEqualTo(2);
+    frontier.done();
+
+    frontier.offer("http://example.com/", 2);
+    assertThat(frontier.poll()).isNull();
+    assertThat(frontier.getVisitedCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void urlsAreQueuedOnce() throws Exception {
+    frontier.offer("http://example.com/a", 1);
+    frontier.offer("http://example.com/b", 2);
+    frontier.offer("http://example.com/a", 3);
+    frontier.offer("http://example.com/a", 2);
+    assertThat(frontier.getQueuedCount()).isEqualTo(2);
+
+    // The entry of a URL keeps the greatest depth it was offered with.
+    CrawlFrontier.Entry first = frontier.poll();
+    assertThat(first.getUrl()).isEqualTo("http://example.com/a");
+    assertThat(first.getDepth()).isEqualTo(3);
+    assertThat(frontier.poll().getUrl()).isEqualTo("http://example.com/b");
+    assertThat(frontier.getQueuedCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void waitingWorkersLetOtherTasksRun() throws Exception {
+    ForkJoinPool pool = new ForkJoinPool(1);
+    try {
+      frontier.offer("http://example.com/", 2);
+      assertThat(frontier.poll()).isNotNull();
+
+      // The only thread of the pool waits for a page, but the pool can still run other tasks.
+      Future<CrawlFrontier.Entry> waiting = pool.submit(frontier::poll);
+      assertThat(pool.submit(() -> "ran").get(10, TimeUnit.SECONDS)).isEqualTo("ran");
+
+      frontier.offer("http://example.com/next", 1);
+      assertThat(waiting.get(10, TimeUnit.SECONDS).getUrl()).isEqualTo("http://example.com/next");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void exhaustedWhenNothingIsInProgress() throws Exception {
+    frontier.offer("http://example.com/", 2);
+    assertThat(frontier.poll()).isNotNull();
+    frontier.done();
+    assertThat(frontier.poll()).isNull();
+  }
+
+  @Test
+  public void nothingAfterDeadline() throws Exception {
+    frontier.offer("http://example.com/", 2);
+    clock.tick(Duration.ofSeconds(11));
+    assertThat(frontier.poll()).isNull();
+  }
+
+  @Test
+  public void retriesComeBackWhenDue() throws Exception {
+    frontier.offer("http://example.com/", 2);
+    CrawlFrontier.Entry first = frontier.poll();
+    frontier.retry(first, clock.instant().plusSeconds(1));
+    frontier.done();
+    clock.tick(Duration.ofSeconds(2));
+
+    CrawlFrontier.Entry second = frontier.poll();
+    assertThat(second.getUrl()).isEqualTo("http://example.com/");
+    assertThat(second.getAttempt()).isEqualTo(1);
+    frontier.done();
+    assertThat(frontier.poll()).isNull();
+    assertThat(frontier.getVisitedCount()).isEqualTo(1);
+  }
+}
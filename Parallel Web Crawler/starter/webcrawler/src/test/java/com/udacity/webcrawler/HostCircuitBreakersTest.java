@@ -0,0 +1,115 @@
+package com.udacity.webcrawler;
+
+import com.udacity.webcrawler.profiler.FakeClock;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.file.NoSuchFileException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class HostCircuitBreakersTest {
+  private final FakeClock clock = new FakeClock();
+  private final HostCircuitBreakers breakers =
+      new HostCircuitBreakers(clock, 3, Duration.ofSeconds(30));
+
+  @Test
+  public void opensAfterFailuresInARow() {
+    for (int i = 0; i < 2; i++) {
+      assertThat(breakers.tryAcquire("a.com")).isTrue();
+      breakers.recordFailure("a.com");
+    }
+    breakers.recordSuccess("a.com");
+    for (int i = 0; i < 3; i++) {
+      assertThat(breakers.tryAcquire("a.com")).isTrue();
+      breakers.recordFailure("a.com");
+    }
+
+    assertThat(breakers.tryAcquire("a.com")).isFalse();
+    assertThat(breakers.tryAcquire("b.com")).isTrue();
+    assertThat(breakers.getRetryTime("a.com")).isEqualTo(clock.instant().plusSeconds(30));
+  }
+
+  @Test
+  public void letsOneTrialThroughAfterThePause() {
+    for (int i = 0; i < 3; i++) {
+      breakers.recordFailure("a.com");
+    }
+    clock.tick(Duration.ofSeconds(31));
+
+    assertThat(breakers.tryAcquire("a.com")).isTrue();
+    assertThat(breakers.tryAcquire("a.com")).isFalse();
+
+    // A failed trial pauses the host again.
+    breakers.recordFailure("a.com");
+    assertThat(breakers.tryAcquire("a.com")).isFalse();
+    assertThat(breakers.getFailedTrials("a.com")).isEqualTo(1);
+
+    // A successful trial closes the breaker.
+    clock.tick(Duration.ofSeconds(31));
+    assertThat(breakers.tryAcquire("a.com")).isTrue();
+    breakers.recordSuccess("a.com");
+    assertThat(breakers.tryAcquire("a.com")).isTrue();
+    assertThat(breakers.tryAcquire("a.com")).isTrue();
+    assertThat(breakers.getFailedTrials("a.com")).isEqualTo(0);
+  }
+
+  @Test
+  public void pagesOfARecoveringHostWaitForTheTrial() throws Exception {
+    CrawlFrontier frontier = new CrawlFrontier(
+        clock, clock.instant().plus(Duration.ofHours(1)), LinkScorer.inboundLinks(), false);
+    for (int i = 0; i < 5; i++) {
+      frontier.offer("http://a.com/" + i, 1);
+    }
+    for (int i = 0; i < 3; i++) {
+      breakers.recordFailure("a.com");
+    }
+    clock.tick(Duration.ofSeconds(31));
+
+    // The first page is the trial fetch. The others come up while it is running, and are put off
+    // until later, without using up a retry.
+    Set<String> crawled = new HashSet<>();
+    crawled.add(frontier.poll().getUrl());
+    assertThat(breakers.tryAcquire("a.com")).isTrue();
+    for (int i = 0; i < 4; i++) {
+      CrawlFrontier.Entry entry = frontier.poll();
+      assertThat(breakers.tryAcquire("a.com")).isFalse();
+      assertThat(breakers.getRetryTime("a.com")).isGreaterThan(clock.instant());
+      frontier.defer(entry, breakers.getRetryTime("a.com"));
+      frontier.done();
+    }
+    breakers.recordSuccess("a.com");
+    frontier.done();
+
+    // The trial succeeded, so every other page is fetched on its first attempt.
+    clock.tick(Duration.ofSeconds(31));
+    for (int i = 0; i < 4; i++) {
+      CrawlFrontier.Entry entry = frontier.poll();
+      assertThat(entry.getAttempt()).isEqualTo(0);
+      assertThat(breakers.tryAcquire("a.com")).isTrue();
+      crawled.add(entry.getUrl());
+      frontier.done();
+    }
+    assertThat(frontier.poll()).isNull();
+    assertThat(crawled).hasSize(5);
+    assertThat(frontier.getVisitedCount()).isEqualTo(5);
+  }
+
+  @Test
+  public void classifiesErrors() {
+    assertThat(FetchErrorKind.classify(new SocketTimeoutException()))
+        .isEqualTo(FetchErrorKind.TRANSIENT);
+    assertThat(FetchErrorKind.classify(new UnknownHostException()))
+        .isEqualTo(FetchErrorKind.UNREACHABLE);
+    assertThat(FetchErrorKind.classify(new NoSuchFileException("missing.html")))
+        .isEqualTo(FetchErrorKind.PERMANENT);
+    assertThat(FetchErrorKind.classify(new IllegalArgumentException()))
+        .isEqualTo(FetchErrorKind.PERMANENT);
+    assertThat(FetchErrorKind.classifyStatus(503)).isEqualTo(FetchErrorKind.TRANSIENT);
+    assertThat(FetchErrorKind.classifyStatus(404)).isEqualTo(FetchErrorKind.PERMANENT);
+  }
+}
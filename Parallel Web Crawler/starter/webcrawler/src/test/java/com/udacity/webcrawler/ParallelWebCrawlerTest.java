@@ -1,10 +1,20 @@
 package com.udacity.webcrawler;
 
 import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlStats;
 import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.recrawl.PageHistory;
+import com.udacity.webcrawler.recrawl.RecrawlStore;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.inject.Inject;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
 
 import static com.google.common.truth.Truth.assertThat;
 
@@ -19,4 +29,107 @@ public final class ParallelWebCrawlerTest {
         .injectMembers(this);
     assertThat(parallelWebCrawler.getMaxParallelism()).isGreaterThan(1);
   }
+
+  @Test
+  public void collectsCrawlStats(@TempDir Path directory) throws Exception {
+    String start = "<p>start</p><a href=\"a.html\">a</a> <a href=\"missing.html\">missing</a>"
+        + " <a href=\"skip-me.html\">skipped</a>";
+    String a = "<p>a</p><a href=\"start.html\">back</a>";
+    Files.writeString(directory.resolve("start.html"), start);
+    Files.writeString(directory.resolve("a.html"), a);
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setMaxDepth(2)
+            .setPopularWordCount(3)
+            .addIgnoredUrls(".*skip-me.*")
+            .addStartPages(directory.resolve("start.html").toUri().toString())
+            .build();
+    Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+        .injectMembers(this);
+
+    CrawlResult result = parallelWebCrawler.crawl(config.getStartPages());
+
+    CrawlStats stats = result.getStats();
+    assertThat(stats.getPagesByDepth()).containsExactly(0, 1L, 1, 2L).inOrder();
+    assertThat(stats.getPagesByHost()).containsExactly("", 3L);
+    assertThat(stats.getBytesFetched()).isEqualTo(start.length() + a.length());
+    assertThat(stats.getStatusCodes()).isEmpty();
+    // The missing page could not be read.
+    assertThat(stats.getParseFailures()).isEqualTo(1);
+    assertThat(stats.getSkipped()).containsExactly("ignoredUrl", 1L, "maxDepth", 1L).inOrder();
+    assertThat(stats.getPagesPerSecond().stream().mapToLong(Long::longValue).sum()).isEqualTo(3);
+  }
+
+  @Test
+  public void skipsUnchangedPagesInARecrawl(@TempDir Path directory) throws Exception {
+    Files.writeString(directory.resolve("start.html"), "<a href=\"stable.html\">stable</a>");
+    Files.writeString(directory.resolve("stable.html"), "<p>stable</p>");
+    Files.writeString(directory.resolve("news.html"), "<p>news</p>");
+    String start = directory.resolve("start.html").toUri().toString();
+    String stable = directory.resolve("stable.html").toUri().toString();
+    String news = directory.resolve("news.html").toUri().toString();
+    // Earlier crawls fetched every page five times over the last ten days. The news page changed
+    // every time, the others never did.
+    long now = System.currentTimeMillis();
+    long tenDaysAgo = now - Duration.ofDays(10).toMillis();
+    long dayAgo = now - Duration.ofDays(1).toMillis();
+    Path state = directory.resolve("recrawl.tsv");
+    Files.writeString(state,
+        "url\tfirstFetch\tlastFetch\tcontentHash\tfetches\tchanges\tdepth\n"
+            + start + "\t" + tenDaysAgo + "\t" + dayAgo + "\t1\t5\t0\t3\n"
+            + stable + "\t" + tenDaysAgo + "\t" + dayAgo + "\t2\t5\t0\t2\n"
+            + news + "\t" + tenDaysAgo + "\t" + dayAgo + "\t3\t5\t4\t2\n");
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setMaxDepth(3)
+            .setPopularWordCount(3)
+            .setRecrawlStatePath(state.toString())
+            .addStartPages(start)
+            .build();
+    Injector injector =
+        Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule());
+    injector.injectMembers(this);
+
+    CrawlResult result = parallelWebCrawler.crawl(config.getStartPages());
+
+    // Only the news page was due. Since the start page was skipped, its links were not followed.
+    assertThat(result.getUrlsVisited()).isEqualTo(1);
+    assertThat(result.getWordCounts()).containsExactly("news", 1);
+    assertThat(result.getStats().getSkipped()).containsExactly("unchanged", 1L);
+    RecrawlStore store = injector.getInstance(RecrawlStore.class);
+    assertThat(store.get(news).orElseThrow().getFetches()).isEqualTo(6);
+    assertThat(store.get(stable).orElseThrow().getFetches()).isEqualTo(5);
+  }
+
+  @Test
+  public void oneWordEditCountsAsAChange(@TempDir Path directory) throws Exception {
+    // Enough words that changing one of them barely moves the page's SimHash fingerprint.
+    String text = "the quick brown fox jumps over the lazy dog ".repeat(20);
+    Path page = directory.resolve("page.html");
+    Path other = directory.resolve("other.html");
+    Files.writeString(page, "<p>" + text + "cat</p><a href=\"other.html\">other</a>");
+    Files.writeString(other, "<p>" + text + "</p>");
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setMaxDepth(2)
+            .setPopularWordCount(3)
+            .setRecrawlStatePath(directory.resolve("recrawl.tsv").toString())
+            .addStartPages(page.toUri().toString())
+            .build();
+    Injector injector =
+        Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule());
+    injector.injectMembers(this);
+
+    parallelWebCrawler.crawl(config.getStartPages());
+    Files.writeString(page, "<p>" + text + "hat</p><a href=\"other.html\">other</a>");
+    parallelWebCrawler.crawl(config.getStartPages());
+
+    RecrawlStore store = injector.getInstance(RecrawlStore.class);
+    PageHistory edited = store.get(page.toUri().toString()).orElseThrow();
+    assertThat(edited.getFetches()).isEqualTo(2);
+    assertThat(edited.getChanges()).isEqualTo(1);
+    PageHistory unchanged = store.get(other.toUri().toString()).orElseThrow();
+    assertThat(unchanged.getFetches()).isEqualTo(2);
+    assertThat(unchanged.getChanges()).isEqualTo(0);
+  }
 }
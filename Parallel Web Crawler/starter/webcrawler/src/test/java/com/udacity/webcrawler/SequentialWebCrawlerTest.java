@@ -1,10 +1,16 @@
 package com.udacity.webcrawler;
 
 import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlStats;
 import com.udacity.webcrawler.json.CrawlerConfiguration;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import javax.inject.Inject;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import static com.google.common.truth.Truth.assertThat;
 
@@ -19,4 +25,62 @@ public final class SequentialWebCrawlerTest {
         .injectMembers(this);
     assertThat(sequentialWebCrawler.getMaxParallelism()).isEqualTo(1);
   }
+
+  @Test
+  public void collectsCrawlStats(@TempDir Path directory) throws Exception {
+    String start = "<p>start</p><a href=\"a.html\">a</a> <a href=\"missing.html\">missing</a>"
+        + " <a href=\"skip-me.html\">skipped</a>";
+    String a = "<p>a</p><a href=\"start.html\">back</a>";
+    Files.writeString(directory.resolve("start.html"), start);
+    Files.writeString(directory.resolve("a.html"), a);
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setMaxDepth(2)
+            .setPopularWordCount(3)
+            .addIgnoredUrls(".*skip-me.*")
+            .addStartPages(directory.resolve("start.html").toUri().toString())
+            .build();
+    Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+        .injectMembers(this);
+
+    CrawlResult result = sequentialWebCrawler.crawl(config.getStartPages());
+
+    // The statistics are the same as those of the parallel crawler.
+    CrawlStats stats = result.getStats();
+    assertThat(stats.getPagesByDepth()).containsExactly(0, 1L, 1, 2L).inOrder();
+    assertThat(stats.getPagesByHost()).containsExactly("", 3L);
+    assertThat(stats.getBytesFetched()).isEqualTo(start.length() + a.length());
+    assertThat(stats.getParseFailures()).isEqualTo(1);
+    assertThat(stats.getSkipped()).containsExactly("ignoredUrl", 1L, "maxDepth", 1L).inOrder();
+  }
+
+  @Test
+  public void normalizesWordsLikeTheParallelCrawler(@TempDir Path directory) throws Exception {
+    Files.writeString(
+        directory.resolve("start.html"), "<p>Déjà vu, R2-D2! Déjà vu... 2024 2024 2024</p>");
+    CrawlResult sequential = crawl(directory, SequentialWebCrawler.class);
+    CrawlResult parallel = crawl(directory, ParallelWebCrawler.class);
+
+    // The analyzer keeps "r2", "d2" and "2024", and normalizing them drops their digits.
+    assertThat(sequential.getWordCounts()).containsExactly("déjà", 2, "vu", 2, "d", 1, "r", 1);
+    assertThat(sequential.getWordCounts()).containsExactlyEntriesIn(parallel.getWordCounts());
+    assertThat(sequential.getPhraseCounts()).isNotEmpty();
+    assertThat(sequential.getPhraseCounts()).containsExactlyEntriesIn(parallel.getPhraseCounts());
+  }
+
+  private static CrawlResult crawl(Path directory, Class<? extends WebCrawler> implementation) {
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(implementation.getName())
+            .setMaxDepth(1)
+            .setPopularWordCount(10)
+            .setAnalyzer("standard")
+            .setPhraseLength(2)
+            .setPopularPhraseCount(10)
+            .addStartPages(directory.resolve("start.html").toUri().toString())
+            .build();
+    Injector injector =
+        Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule());
+    return injector.getInstance(WebCrawler.class).crawl(config.getStartPages());
+  }
 }
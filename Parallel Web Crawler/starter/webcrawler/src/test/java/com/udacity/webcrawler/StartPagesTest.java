@@ -0,0 +1,39 @@
+package com.udacity.webcrawler;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class StartPagesTest {
+
+  @Test
+  public void expandsLocalDirectoriesIntoHtmlFiles(@TempDir Path root) throws Exception {
+    Path index = Files.writeString(root.resolve("index.html"), "<p>index</p>");
+    Files.writeString(root.resolve("notes.txt"), "not a page");
+    Path nested = Files.createDirectories(root.resolve("a").resolve("b"));
+    Path page = Files.writeString(nested.resolve("page.htm"), "<p>page</p>");
+
+    ForkJoinPool pool = new ForkJoinPool(2);
+    try {
+      List<String> expanded = StartPages.expand(
+          List.of("http://example.com/", root.toUri().toString(), index.toUri().toString()),
+          pool);
+
+      assertThat(expanded)
+          .containsExactly(
+              "http://example.com/",
+              page.toUri().toString(),
+              index.toUri().toString(),
+              index.toUri().toString())
+          .inOrder();
+    } finally {
+      pool.shutdown();
+    }
+  }
+}
@@ -1,13 +1,20 @@
 package com.udacity.webcrawler;
 
 import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.udacity.webcrawler.graph.LinkGraph;
+import com.udacity.webcrawler.index.IndexReader;
+import com.udacity.webcrawler.index.IndexWriter;
 import com.udacity.webcrawler.json.CrawlResult;
 import com.udacity.webcrawler.json.CrawlerConfiguration;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import javax.inject.Inject;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
@@ -154,6 +161,201 @@ public final class WebCrawlerTest {
         .inOrder();
   }
 
+  @ParameterizedTest
+  @MethodSource("provideTestParameters")
+  public void approximateWordCounts(Class<?> crawlerClass) {
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(crawlerClass.getName())
+            .setMaxDepth(10)
+            .setPopularWordCount(3)
+            .setWordCountMode("approximate")
+            .setApproximateWordCounters(64)
+            .addStartPages(Paths.get(DATA_DIR, "test-page.html").toUri().toString())
+            .build();
+    Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+        .injectMembers(this);
+
+    CrawlResult result = crawler.crawl(config.getStartPages());
+
+    // The test pages have fewer distinct words than there are counters, so the counts are exact.
+    assertThat(result.getUrlsVisited()).isEqualTo(3);
+    assertThat(result.getWordCounts().entrySet())
+        .containsExactly(
+            Map.entry("the", 4),
+            Map.entry("jumped", 2),
+            Map.entry("brown", 2))
+        .inOrder();
+    assertThat(result.getWordCountErrorBound()).isEqualTo(0);
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideTestParameters")
+  public void recordsLinkGraph(Class<?> crawlerClass, @TempDir Path directory) throws Exception {
+    Files.writeString(directory.resolve("start.html"),
+        "<a href=\"a.html\">a</a> <a href=\"b.html\">b</a>");
+    Files.writeString(directory.resolve("a.html"), "<a href=\"b.html\">b</a>");
+    Files.writeString(directory.resolve("b.html"), "<p>no links</p>");
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(crawlerClass.getName())
+            .setMaxDepth(10)
+            .setLinkGraphPath(directory.resolve("graph.bin").toString())
+            .addStartPages(directory.resolve("start.html").toUri().toString())
+            .build();
+    Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+        .injectMembers(this);
+
+    LinkGraph graph = crawler.crawl(config.getStartPages()).getLinkGraph().orElseThrow();
+
+    int start = graph.idOf(directory.resolve("start.html").toUri().toString());
+    int a = graph.idOf(directory.resolve("a.html").toUri().toString());
+    int b = graph.idOf(directory.resolve("b.html").toUri().toString());
+    assertThat(graph.size()).isEqualTo(3);
+    assertThat(graph.linksOf(start)).asList().containsExactly(a, b);
+    assertThat(graph.linksOf(a)).asList().containsExactly(b);
+    assertThat(graph.isCrawled(b)).isTrue();
+    assertThat(graph.edgeCount()).isEqualTo(3);
+
+    // Crawling again with the same injector records the pages in a new graph.
+    LinkGraph again = crawler.crawl(config.getStartPages()).getLinkGraph().orElseThrow();
+    assertThat(again).isNotSameInstanceAs(graph);
+    assertThat(again.edgeCount()).isEqualTo(3);
+    assertThat(graph.edgeCount()).isEqualTo(3);
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideTestParameters")
+  public void indexesPages(Class<?> crawlerClass, @TempDir Path directory) throws Exception {
+    Files.writeString(directory.resolve("start.html"),
+        "<p>apple banana</p> <a href=\"fruit.html\">fruit</a>");
+    Files.writeString(directory.resolve("fruit.html"), "<p>banana banana cherry</p>");
+    Path indexDirectory = directory.resolve("index");
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(crawlerClass.getName())
+            .setMaxDepth(10)
+            .setIndexDirectory(indexDirectory.toString())
+            .addStartPages(directory.resolve("start.html").toUri().toString())
+            .build();
+    Injector injector =
+        Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule());
+    injector.injectMembers(this);
+
+    crawler.crawl(config.getStartPages());
+    injector.getInstance(IndexWriter.class).close();
+
+    IndexReader reader = IndexReader.open(indexDirectory);
+    assertThat(reader.documentCount()).isEqualTo(2);
+    assertThat(reader.search("banana", 10).keySet())
+        .containsExactly(
+            directory.resolve("fruit.html").toUri().toString(),
+            directory.resolve("start.html").toUri().toString())
+        .inOrder();
+    assertThat(reader.search("cherry", 10).keySet())
+        .containsExactly(directory.resolve("fruit.html").toUri().toString());
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideTestParameters")
+  public void ranksTopPages(Class<?> crawlerClass, @TempDir Path directory) throws Exception {
+    Files.writeString(directory.resolve("start.html"),
+        "<a href=\"a.html\">a</a> <a href=\"b.html\">b</a>");
+    Files.writeString(directory.resolve("a.html"), "<a href=\"b.html\">b</a>");
+    Files.writeString(directory.resolve("b.html"), "<p>no links</p>");
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(crawlerClass.getName())
+            .setMaxDepth(10)
+            .setTopPageCount(2)
+            .addStartPages(directory.resolve("start.html").toUri().toString())
+            .build();
+    Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+        .injectMembers(this);
+
+    CrawlResult result = crawler.crawl(config.getStartPages());
+
+    // The page that every other page links to ranks highest.
+    assertThat(result.getTopPages().keySet())
+        .containsExactly(
+            directory.resolve("b.html").toUri().toString(),
+            directory.resolve("a.html").toUri().toString())
+        .inOrder();
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideTestParameters")
+  public void skipsNearDuplicates(Class<?> crawlerClass, @TempDir Path directory)
+      throws Exception {
+    String mirrored = "<p>apple banana cherry date elderberry fig grape honeydew kiwi lemon</p>";
+    Files.writeString(directory.resolve("start.html"),
+        "<p>start</p><a href=\"a.html\">a</a> <a href=\"mirror.html\">mirror</a>");
+    Files.writeString(directory.resolve("a.html"), mirrored);
+    Files.writeString(directory.resolve("mirror.html"), mirrored);
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(crawlerClass.getName())
+            .setMaxDepth(10)
+            .setPopularWordCount(3)
+            .setSkipNearDuplicates(true)
+            .addStartPages(directory.resolve("start.html").toUri().toString())
+            .build();
+    Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+        .injectMembers(this);
+
+    CrawlResult result = crawler.crawl(config.getStartPages());
+
+    // Both copies are visited, but only one of them is counted.
+    assertThat(result.getUrlsVisited()).isEqualTo(3);
+    assertThat(result.getWordCounts()).containsEntry("elderberry", 1);
+    assertThat(result.getWordCounts()).containsEntry("honeydew", 1);
+  }
+
+  @Test
+  public void adaptiveConcurrencyCrawlsTheSamePages() {
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(ParallelWebCrawler.class.getName())
+            .setMaxDepth(10)
+            .setPopularWordCount(3)
+            .setAdaptiveConcurrency(true)
+            .setMaxConcurrentFetches(16)
+            .addStartPages(Paths.get(DATA_DIR, "test-page.html").toUri().toString())
+            .build();
+    Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+        .injectMembers(this);
+
+    CrawlResult result = crawler.crawl(config.getStartPages());
+
+    assertThat(result.getUrlsVisited()).isEqualTo(3);
+    assertThat(result.getWordCounts()).containsEntry("the", 4);
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideTestParameters")
+  public void crawlsSitemapPages(Class<?> crawlerClass, @TempDir Path directory)
+      throws Exception {
+    Files.writeString(directory.resolve("start.html"), "<p>start</p>");
+    Files.writeString(directory.resolve("listed.html"), "<p>listed</p>");
+    Files.writeString(directory.resolve("sitemap.xml"), "<urlset><url><loc>"
+        + directory.resolve("listed.html").toUri() + "</loc></url></urlset>");
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setImplementationOverride(crawlerClass.getName())
+            .setMaxDepth(1)
+            .setPopularWordCount(3)
+            .addStartPages(directory.resolve("start.html").toUri().toString())
+            .addSitemaps(directory.resolve("sitemap.xml").toUri().toString())
+            .build();
+    Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+        .injectMembers(this);
+
+    CrawlResult result = crawler.crawl(config.getStartPages());
+
+    assertThat(result.getUrlsVisited()).isEqualTo(2);
+    assertThat(result.getWordCounts()).containsEntry("listed", 1);
+  }
+
   @ParameterizedTest
   @MethodSource("provideTestParameters")
   public void respectsIgnoredUrls(Class<?> crawlerClass) {
@@ -4,6 +4,9 @@ import org.junit.jupiter.api.Test;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import static com.google.common.truth.Truth.assertWithMessage;
 
@@ -82,4 +85,32 @@ public final class WordCountsTest {
             Map.entry("quick", 1),
             Map.entry("fox", 1))
         .inOrder();  }
+
+  @Test
+  public void testParallelMatchesSequential() {
+    Random random = new Random(7);
+    Map<String, Integer> unsortedCounts = new ConcurrentHashMap<>();
+    for (int i = 0; i < WordCounts.PARALLEL_THRESHOLD * 4; i++) {
+      // Few distinct counts, so most of the ranking comes down to the tie-breakers.
+      unsortedCounts.put(Integer.toString(random.nextInt(1 << 30), 36), random.nextInt(20));
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (int popularWordCount : new int[] {1, 10, 1000}) {
+        Map<String, Integer> expected = WordCounts.sort(unsortedCounts, popularWordCount);
+
+        assertWithMessage("Parallel ranking on a pool returned different words")
+            .that(WordCounts.sort(unsortedCounts, popularWordCount, pool).entrySet())
+            .containsExactlyElementsIn(expected.entrySet())
+            .inOrder();
+        assertWithMessage("Parallel stream ranking returned different words")
+            .that(WordCounts.sortParallel(unsortedCounts, popularWordCount).entrySet())
+            .containsExactlyElementsIn(expected.entrySet())
+            .inOrder();
+      }
+    } finally {
+      pool.shutdown();
+    }
+  }
 }
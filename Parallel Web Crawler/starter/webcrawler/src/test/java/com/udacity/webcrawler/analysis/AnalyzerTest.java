@@ -0,0 +1,128 @@
+package com.udacity.webcrawler.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class AnalyzerTest {
+
+  @Test
+  public void legacyAnalyzerKeepsOldWords() {
+    Analyzer analyzer = Analyzer.legacy(List.of(Pattern.compile("^...$")));
+
+    // Ignored words are matched before punctuation is stripped, and punctuation leaves an empty
+    // word behind.
+    assertThat(analyzer.terms("  The quick, -- café fox!  "))
+        .containsExactly("quick", "", "caf", "fox")
+        .inOrder();
+  }
+
+  @Test
+  public void standardAnalyzerSplitsUnicodeText() {
+    Analyzer analyzer = Analyzer.forName("standard", List.of());
+
+    assertThat(analyzer.terms("Ça va? Déjà-vu, don't STOP… 2024 año"))
+        .containsExactly("ça", "va", "déjà", "vu", "dont", "stop", "2024", "año")
+        .inOrder();
+  }
+
+  @Test
+  public void composesCombiningMarks() {
+    Analyzer analyzer = Analyzer.forName("standard", List.of());
+
+    // The first word is spelled with a combining acute accent, the second with a precomposed E.
+    assertThat(analyzer.terms("cafe\u0301 CAF\u00c9"))
+        .containsExactly("caf\u00e9", "caf\u00e9");
+  }
+
+  @Test
+  public void foldsCase() {
+    Analyzer analyzer = Analyzer.forName("standard", List.of());
+
+    // The final sigma folds to the same letter as the capital one.
+    assertThat(analyzer.terms("ΟΔΟΣ οδος"))
+        .containsExactly("οδοσ", "οδοσ");
+  }
+
+  @Test
+  public void splitsIdeographs() {
+    Analyzer analyzer = Analyzer.forName("standard", List.of());
+
+    assertThat(analyzer.terms("東京 tower"))
+        .containsExactly("東", "京", "tower")
+        .inOrder();
+  }
+
+  @Test
+  public void dropsLongWords() {
+    Analyzer analyzer = Analyzer.forName("standard", List.of());
+
+    assertThat(analyzer.terms("a" + "b".repeat(300) + " c")).containsExactly("c");
+  }
+
+  @Test
+  public void matchesIgnoredWordsAfterFoldingCase() {
+    Analyzer analyzer = Analyzer.forName("standard", List.of(Pattern.compile("cat")));
+
+    assertThat(analyzer.terms("Cat dog CAT")).containsExactly("dog");
+  }
+
+  @Test
+  public void englishAnalyzerDropsStopWords() {
+    Analyzer analyzer = Analyzer.forName("english", List.of());
+
+    assertThat(analyzer.terms("The cat is on THE mat")).containsExactly("cat", "mat").inOrder();
+  }
+
+  @Test
+  public void porterAnalyzerStemsWords() {
+    Analyzer analyzer = Analyzer.forName("PORTER", List.of());
+    Map<String, String> stems = Map.ofEntries(
+        Map.entry("caresses", "caress"),
+        Map.entry("ponies", "poni"),
+        Map.entry("ties", "ti"),
+        Map.entry("cats", "cat"),
+        Map.entry("feed", "feed"),
+        Map.entry("agreed", "agre"),
+        Map.entry("plastered", "plaster"),
+        Map.entry("motoring", "motor"),
+        Map.entry("sing", "sing"),
+        Map.entry("conflated", "conflat"),
+        Map.entry("troubled", "troubl"),
+        Map.entry("sized", "size"),
+        Map.entry("hopping", "hop"),
+        Map.entry("falling", "fall"),
+        Map.entry("filing", "file"),
+        Map.entry("happy", "happi"),
+        Map.entry("relational", "relat"),
+        Map.entry("conditional", "condit"),
+        Map.entry("generalization", "gener"),
+        Map.entry("electrical", "electr"),
+        Map.entry("adjustment", "adjust"),
+        Map.entry("Connections", "connect"),
+        Map.entry("cafés", "cafés"));
+
+    stems.forEach((word, stem) -> assertThat(analyzer.terms(word)).containsExactly(stem));
+  }
+
+  @Test
+  public void rejectsUnknownAnalyzers() {
+    assertThrows(IllegalArgumentException.class, () -> Analyzer.forName("klingon", List.of()));
+  }
+
+  @Test
+  public void normalizesWords() {
+    String word = "quick";
+
+    assertThat(Words.normalize(word)).isSameInstanceAs(word);
+    assertThat(Words.normalize(" Café! ")).isEqualTo("café");
+    assertThat(Words.normalize("R2-D2")).isEqualTo("rd");
+    assertThat(Words.normalizePhrase("Déjà vu!")).isEqualTo("déjà vu");
+    assertThat(Words.normalizePhrase("vu 2024")).isNull();
+  }
+}
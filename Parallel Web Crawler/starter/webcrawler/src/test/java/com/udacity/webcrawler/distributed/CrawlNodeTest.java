@@ -0,0 +1,200 @@
+package com.udacity.webcrawler.distributed;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import com.udacity.webcrawler.NoOpProfilerModule;
+import com.udacity.webcrawler.WebCrawlerModule;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.parser.PageParserFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class CrawlNodeTest {
+
+  private static final String DATA_DIR = System.getProperty("testDataDir");
+
+  @Test
+  public void nodesCrawlTheirPartitionsAndMergeResults() throws Exception {
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setMaxDepth(10)
+            .setPopularWordCount(3)
+            .setParallelism(2)
+            .addStartPages(Paths.get(DATA_DIR, "test-page.html").toUri().toString())
+            .addStartPages(Paths.get(DATA_DIR, "link-1.html").toUri().toString())
+            .addStartPages(Paths.get(DATA_DIR, "infinite-loop.html").toUri().toString())
+            .build();
+    Injector injector =
+        Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule());
+
+    List<ServerSocket> serverSockets = new ArrayList<>();
+    List<InetSocketAddress> addresses = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      ServerSocket serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+      serverSockets.add(serverSocket);
+      addresses.add((InetSocketAddress) serverSocket.getLocalSocketAddress());
+    }
+    List<CrawlNode> nodes = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      nodes.add(new CrawlNode(
+          config,
+          injector.getInstance(PageParserFactory.class),
+          Clock.systemUTC(),
+          i,
+          addresses,
+          serverSockets.get(i)));
+    }
+
+    for (int i = nodes.size() - 1; i >= 0; i--) {
+      nodes.get(i).start(config.getStartPages());
+    }
+    CrawlResult result = nodes.get(0).awaitResult();
+    for (CrawlNode node : nodes) {
+      node.awaitFinished();
+    }
+
+    // Same as the single-process crawl of the same start pages.
+    assertThat(result.getUrlsVisited()).isEqualTo(5);
+    assertThat(result.getWordCounts().entrySet())
+        .containsExactly(
+            Map.entry("the", 8),
+            Map.entry("jumped", 4),
+            Map.entry("brown", 4))
+        .inOrder();
+  }
+
+  @Test
+  public void forwardsUrlsLongerThan64KiB(@TempDir Path directory) throws Exception {
+    HostPartitioner partitioner = new HostPartitioner(2);
+    // A start page that node 0 owns, linking to a page that node 1 owns. The linked page does not
+    // exist, but node 1 still visits it.
+    Path start = pageOwnedBy(partitioner, 0, directory, "start");
+    String href = "a".repeat(70_000);
+    while (partitioner.partitionOf(directory.resolve(href).toUri().toString()) != 1) {
+      href += "a";
+    }
+    Files.writeString(start, "<a href=\"" + href + "\">long</a>");
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setMaxDepth(2)
+            .addStartPages(start.toUri().toString())
+            .build();
+
+    List<ServerSocket> serverSockets = serverSockets(2);
+    List<CrawlNode> nodes = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      nodes.add(newNode(config, i, serverSockets));
+      nodes.get(i).start(config.getStartPages());
+    }
+    CrawlResult result = nodes.get(0).awaitResult();
+    nodes.get(1).awaitFinished();
+
+    assertThat(result.getUrlsVisited()).isEqualTo(2);
+  }
+
+  @Test
+  public void abortsWhenAUrlCannotBeForwarded(@TempDir Path directory) throws Exception {
+    HostPartitioner partitioner = new HostPartitioner(2);
+    Path start = pageOwnedBy(partitioner, 0, directory, "start");
+    StringBuilder links = new StringBuilder();
+    for (int i = 0; i < 10; i++) {
+      links.append("<a href=\"")
+          .append(pageOwnedBy(partitioner, 1, directory, "page" + i).getFileName())
+          .append("\">page</a>");
+    }
+    Files.writeString(start, links);
+    CrawlerConfiguration config =
+        new CrawlerConfiguration.Builder()
+            .setMaxDepth(2)
+            .addStartPages(start.toUri().toString())
+            .build();
+
+    // Node 1 answers status requests, but drops the connection once it is sent a URL.
+    List<ServerSocket> serverSockets = serverSockets(2);
+    Thread brokenNode = new Thread(() -> {
+      try (Socket socket = serverSockets.get(1).accept()) {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        DataOutputStream out =
+            new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        while (in.readByte() == Protocol.STATUS) {
+          out.writeBoolean(true);
+          out.writeLong(0);
+          out.writeLong(0);
+          out.writeBoolean(false);
+          out.flush();
+        }
+        // Reset the connection, so that the next write to it fails.
+        socket.setSoLinger(true, 0);
+      } catch (IOException e) {
+        // The test fails below if the node does not abort.
+      }
+    });
+    brokenNode.setDaemon(true);
+    brokenNode.start();
+
+    try (CrawlNode node = newNode(config, 0, serverSockets)) {
+      node.start(config.getStartPages());
+      assertThrows(IOException.class, node::awaitResult);
+    }
+  }
+
+  /**
+   * Returns a file in the given directory, named after the given prefix, whose URL belongs to the
+   * given partition.
+   */
+  private static Path pageOwnedBy(
+      HostPartitioner partitioner, int partition, Path directory, String prefix) {
+    for (int i = 0; ; i++) {
+      Path page = directory.resolve(prefix + i + ".html");
+      if (partitioner.partitionOf(page.toUri().toString()) == partition) {
+        return page;
+      }
+    }
+  }
+
+  private static List<ServerSocket> serverSockets(int count) throws IOException {
+    List<ServerSocket> serverSockets = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      serverSockets.add(new ServerSocket(0, 50, InetAddress.getLoopbackAddress()));
+    }
+    return serverSockets;
+  }
+
+  private static CrawlNode newNode(
+      CrawlerConfiguration config, int index, List<ServerSocket> serverSockets) {
+    List<InetSocketAddress> addresses = new ArrayList<>();
+    for (ServerSocket serverSocket : serverSockets) {
+      addresses.add((InetSocketAddress) serverSocket.getLocalSocketAddress());
+    }
+    Injector injector =
+        Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule());
+    return new CrawlNode(
+        config,
+        injector.getInstance(PageParserFactory.class),
+        Clock.systemUTC(),
+        index,
+        addresses,
+        serverSockets.get(index));
+  }
+}
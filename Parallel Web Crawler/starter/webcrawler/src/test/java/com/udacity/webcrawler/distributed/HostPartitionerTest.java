@@ -0,0 +1,34 @@
+package com.udacity.webcrawler.distributed;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HostPartitionerTest {
+
+  @Test
+  public void sameHostSamePartition() {
+    HostPartitioner partitioner = new HostPartitioner(7);
+    int partition = partitioner.partitionOf("https://example.com/a");
+    assertThat(partitioner.partitionOf("https://example.com/b/c?d=e")).isEqualTo(partition);
+    assertThat(partitioner.partitionOf("http://EXAMPLE.com:8080/")).isEqualTo(partition);
+  }
+
+  @Test
+  public void partitionsAreInRange() {
+    HostPartitioner partitioner = new HostPartitioner(3);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(partitioner.partitionOf("https://host" + i + ".example.com/")).isIn(
+          List.of(0, 1, 2));
+    }
+    assertThat(partitioner.partitionOf("not a url")).isIn(List.of(0, 1, 2));
+  }
+
+  @Test
+  public void invalidPartitionCount() {
+    assertThrows(IllegalArgumentException.class, () -> new HostPartitioner(0));
+  }
+}
@@ -0,0 +1,44 @@
+package com.udacity.webcrawler.distributed;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class ProtocolTest {
+
+  @Test
+  public void stringsRoundTrip() throws Exception {
+    String url = "https://example.com/" + "päge/".repeat(20_000);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    Protocol.writeString(new DataOutputStream(bytes), url);
+
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+    assertThat(Protocol.readString(in)).isEqualTo(url);
+  }
+
+  @Test
+  public void corruptLengthsAreRejected() throws Exception {
+    for (int length : new int[] {-1, Protocol.MAX_STRING_BYTES + 1, Integer.MAX_VALUE}) {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      new DataOutputStream(bytes).writeInt(length);
+
+      DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+      assertThrows(IOException.class, () -> Protocol.readString(in));
+    }
+  }
+
+  @Test
+  public void oversizedStringsAreNotWritten() {
+    String huge = "x".repeat(Protocol.MAX_STRING_BYTES + 1);
+    assertThrows(
+        IOException.class,
+        () -> Protocol.writeString(new DataOutputStream(new ByteArrayOutputStream()), huge));
+  }
+}
@@ -0,0 +1,87 @@
+package com.udacity.webcrawler.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class LinkGraphTest {
+
+  @Test
+  public void encodesSortedIds() {
+    int[] ids = {0, 1, 2, 127, 128, 300, 16_384, 1_000_000, Integer.MAX_VALUE};
+    byte[] encoded = AdjacencyCodec.encode(ids);
+    assertThat(AdjacencyCodec.decode(encoded)).isEqualTo(ids);
+    assertThat(AdjacencyCodec.count(encoded)).isEqualTo(ids.length);
+
+    // Nearby ids take one byte each.
+    assertThat(AdjacencyCodec.encode(new int[] {1000, 1001, 1005, 1010})).hasLength(2 + 3);
+  }
+
+  @Test
+  public void recordsLinksById() {
+    LinkGraph graph = new LinkGraph();
+    graph.addPage("http://a/", List.of("http://b/", "http://c/", "http://b/", "http://a/"));
+    graph.addPage("http://b/", List.of("http://c/"));
+
+    int a = graph.idOf("http://a/");
+    int b = graph.idOf("http://b/");
+    int c = graph.idOf("http://c/");
+    assertThat(graph.size()).isEqualTo(3);
+    assertThat(graph.linksOf(a)).asList().containsExactly(a, b, c).inOrder();
+    assertThat(graph.linksOf(b)).asList().containsExactly(c);
+    assertThat(graph.linksOf(c)).isEmpty();
+    assertThat(graph.outDegree(a)).isEqualTo(3);
+    assertThat(graph.isCrawled(b)).isTrue();
+    assertThat(graph.isCrawled(c)).isFalse();
+    assertThat(graph.edgeCount()).isEqualTo(4);
+
+    // Recording a page again replaces its links.
+    graph.addPage("http://b/", List.of());
+    assertThat(graph.linksOf(b)).isEmpty();
+    assertThat(graph.isCrawled(b)).isTrue();
+    assertThat(graph.edgeCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void readsBackBinaryFiles(@TempDir Path directory) throws Exception {
+    LinkGraph graph = new LinkGraph();
+    for (int i = 0; i < 5000; i++) {
+      graph.addPage("http://example.com/" + i,
+          List.of("http://example.com/" + (i + 1), "http://example.com/" + (i * 7 % 5000)));
+    }
+
+    for (String name : List.of("graph.bin", "graph.bin.gz")) {
+      Path path = directory.resolve(name);
+      new LinkGraphWriter(graph, LinkGraphWriter.Format.BINARY).write(path);
+      LinkGraph read = LinkGraphReader.read(path);
+
+      assertThat(read.size()).isEqualTo(graph.size());
+      assertThat(read.edgeCount()).isEqualTo(graph.edgeCount());
+      for (int id = 0; id < graph.size(); id++) {
+        assertThat(read.urlOf(id)).isEqualTo(graph.urlOf(id));
+        assertThat(read.isCrawled(id)).isEqualTo(graph.isCrawled(id));
+        assertThat(read.linksOf(id)).isEqualTo(graph.linksOf(id));
+      }
+    }
+  }
+
+  @Test
+  public void writesEdgeLists() throws Exception {
+    LinkGraph graph = new LinkGraph();
+    graph.addPage("http://a/", List.of("http://b/", "http://c/"));
+    graph.addPage("http://c/", List.of("http://a/"));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new LinkGraphWriter(graph, LinkGraphWriter.Format.TSV).write(out);
+    assertThat(out.toString(StandardCharsets.UTF_8).lines().collect(Collectors.toList()))
+        .containsExactly("http://a/\thttp://b/", "http://a/\thttp://c/", "http://c/\thttp://a/")
+        .inOrder();
+  }
+}
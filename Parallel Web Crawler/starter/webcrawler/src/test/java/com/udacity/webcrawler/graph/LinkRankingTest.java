@@ -0,0 +1,122 @@
+package com.udacity.webcrawler.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class LinkRankingTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(4);
+
+  /**
+   * Returns a random graph that is larger than one chunk, with some pages that have no links.
+   */
+  private static LinkGraph randomGraph() {
+    Random random = new Random(42);
+    LinkGraph graph = new LinkGraph();
+    int size = CsrGraph.CHUNK_SIZE * 2 + 100;
+    for (int i = 0; i < size; i++) {
+      graph.idOf("page" + i);
+    }
+    for (int i = 0; i < size; i++) {
+      if (i % 10 == 0) {
+        continue;  // No links
+      }
+      List<String> links = new ArrayList<>();
+      for (int j = random.nextInt(8); j >= 0; j--) {
+        // Skew the links towards low ids, so that some pages are much more popular than others.
+        int target = (int) (size * Math.pow(random.nextDouble(), 3));
+        links.add("page" + target);
+      }
+      graph.addPage("page" + i, links);
+    }
+    return graph;
+  }
+
+  /**
+   * The textbook PageRank iteration, one node at a time.
+   */
+  private static double[] referencePageRank(LinkGraph graph) {
+    int n = graph.size();
+    double[] rank = new double[n];
+    Arrays.fill(rank, 1.0 / n);
+    for (int iteration = 0; iteration < 200; iteration++) {
+      double[] next = new double[n];
+      double dangling = 0;
+      for (int u = 0; u < n; u++) {
+        int[] links = graph.linksOf(u);
+        if (links.length == 0) {
+          dangling += rank[u];
+        }
+        for (int v : links) {
+          next[v] += LinkRanking.DAMPING * rank[u] / links.length;
+        }
+      }
+      for (int v = 0; v < n; v++) {
+        next[v] += (1 - LinkRanking.DAMPING) / n + LinkRanking.DAMPING * dangling / n;
+      }
+      rank = next;
+    }
+    return rank;
+  }
+
+  @Test
+  public void pageRankMatchesTheSequentialDefinition() {
+    LinkGraph graph = randomGraph();
+    double[] expected = referencePageRank(graph);
+    double[] actual = LinkRanking.PAGERANK.scores(graph, pool);
+
+    assertThat(actual.length).isEqualTo(expected.length);
+    assertThat(Arrays.stream(actual).sum()).isWithin(1e-9).of(1.0);
+    for (int i = 0; i < expected.length; i++) {
+      assertThat(actual[i]).isWithin(1e-9).of(expected[i]);
+    }
+  }
+
+  @Test
+  public void pageRankOfACycleIsUniform() {
+    LinkGraph graph = new LinkGraph();
+    graph.addPage("a", List.of("b"));
+    graph.addPage("b", List.of("c"));
+    graph.addPage("c", List.of("a"));
+    assertThat(LinkRanking.PAGERANK.scores(graph, pool))
+        .usingTolerance(1e-9)
+        .containsExactly(1.0 / 3, 1.0 / 3, 1.0 / 3);
+  }
+
+  @Test
+  public void hitsFindsHubsAndAuthorities() {
+    LinkGraph graph = new LinkGraph();
+    graph.addPage("hub1", List.of("authority1", "authority2"));
+    graph.addPage("hub2", List.of("authority1"));
+    graph.addPage("hub3", List.of("authority1"));
+
+    double[] authorities = LinkRanking.HITS.scores(graph, pool);
+    double norm = Math.sqrt(Arrays.stream(authorities).map(a -> a * a).sum());
+    assertThat(norm).isWithin(1e-9).of(1.0);
+    assertThat(authorities[graph.idOf("authority1")])
+        .isGreaterThan(authorities[graph.idOf("authority2")]);
+    assertThat(authorities[graph.idOf("authority2")]).isGreaterThan(0.0);
+    assertThat(authorities[graph.idOf("hub1")]).isEqualTo(0.0);
+  }
+
+  @Test
+  public void reportsTopPagesInOrder() {
+    LinkGraph graph = new LinkGraph();
+    graph.addPage("a", List.of("popular", "known"));
+    graph.addPage("b", List.of("popular", "known"));
+    graph.addPage("c", List.of("popular"));
+
+    assertThat(LinkRanking.PAGERANK.topPages(graph, 2, pool).keySet())
+        .containsExactly("popular", "known")
+        .inOrder();
+    assertThat(LinkRanking.PAGERANK.topPages(graph, 0, pool)).isEmpty();
+    assertThat(LinkRanking.PAGERANK.topPages(new LinkGraph(), 3, pool)).isEmpty();
+  }
+}
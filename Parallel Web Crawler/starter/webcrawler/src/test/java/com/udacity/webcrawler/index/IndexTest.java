@@ -0,0 +1,168 @@
+package com.udacity.webcrawler.index;
+
+import com.udacity.webcrawler.analysis.Analyzer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class IndexTest {
+
+  @TempDir
+  public Path directory;
+
+  @Test
+  public void findsDocumentsByTfIdf() throws Exception {
+    try (IndexWriter writer = new IndexWriter(directory, IndexWriter.DEFAULT_SEGMENT_POSTINGS)) {
+      writer.add("http://a/", Map.of("Cats", 3, "dogs", 1));
+      writer.add("http://b/", Map.of("cats", 1, "dogs", 1));
+      writer.add("http://c/", Map.of("dogs", 2, "birds", 1));
+      writer.add("http://d/", Map.of("42", 5));
+    }
+
+    IndexReader reader = IndexReader.open(directory);
+    assertThat(reader.documentCount()).isEqualTo(4);
+    assertThat(reader.documentFrequency("CATS")).isEqualTo(2);
+    assertThat(reader.documentFrequency("fish")).isEqualTo(0);
+
+    // "birds" is rarer than "cats", so one occurrence of it counts for more, but not for as much
+    // as three occurrences of "cats".
+    double cats = Math.log1p(4.0 / 2);
+    double dogs = Math.log1p(4.0 / 3);
+    double birds = Math.log1p(4.0 / 1);
+    Map<String, Double> results = reader.search("cats Birds!", 10);
+    assertThat(results.keySet()).containsExactly("http://a/", "http://c/", "http://b/").inOrder();
+    assertThat(results.get("http://a/")).isWithin(1e-9).of((1 + Math.log(3)) * cats);
+    assertThat(results.get("http://b/")).isWithin(1e-9).of(cats);
+    assertThat(results.get("http://c/")).isWithin(1e-9).of(birds);
+
+    assertThat(reader.search("dogs", 2).keySet())
+        .containsExactly("http://c/", "http://a/")
+        .inOrder();
+    assertThat(reader.search("dogs", 2).get("http://c/"))
+        .isWithin(1e-9).of((1 + Math.log(2)) * dogs);
+    assertThat(reader.search("fish", 10)).isEmpty();
+    assertThat(reader.search("  ", 10)).isEmpty();
+    assertThat(reader.search("cats", 0)).isEmpty();
+  }
+
+  @Test
+  public void searchesAcrossSegments() throws Exception {
+    List<String> urls = new ArrayList<>();
+    // Two postings per document, so that every few documents start a new segment.
+    try (IndexWriter writer = new IndexWriter(directory, 7)) {
+      for (int i = 0; i < 100; i++) {
+        String url = "http://example.com/" + i;
+        urls.add(url);
+        writer.add(url, Map.of("common", 1, i % 10 == 0 ? "tens" : "other", i + 1));
+      }
+    }
+    assertThat(Files.readAllLines(directory.resolve(IndexWriter.SEGMENTS_FILE)).size())
+        .isGreaterThan(10);
+
+    IndexReader reader = IndexReader.open(directory);
+    assertThat(reader.documentCount()).isEqualTo(100);
+    assertThat(reader.documentFrequency("common")).isEqualTo(100);
+    assertThat(reader.documentFrequency("tens")).isEqualTo(10);
+    assertThat(reader.search("tens", 3).keySet())
+        .containsExactly(urls.get(90), urls.get(80), urls.get(70))
+        .inOrder();
+    // Every document has the same score for "common", so they are ordered by URL.
+    assertThat(reader.search("common", 100).keySet())
+        .containsExactlyElementsIn(urls.stream().sorted().collect(Collectors.toList()))
+        .inOrder();
+  }
+
+  @Test
+  public void searchesWithAnAnalyzer() throws Exception {
+    try (IndexWriter writer = new IndexWriter(directory, IndexWriter.DEFAULT_SEGMENT_POSTINGS)) {
+      writer.add("http://a/", Map.of("run", 2, "dog", 1));
+      writer.add("http://b/", Map.of("café", 1));
+    }
+
+    IndexReader reader = IndexReader.open(directory);
+    Analyzer porter = Analyzer.forName("porter", List.of());
+    assertThat(reader.search("the running dogs", porter, 10).keySet()).containsExactly("http://a/");
+    assertThat(reader.search("running", 10)).isEmpty();
+    // Letters outside a to z are indexed, and found in any case.
+    assertThat(reader.search("CAFÉ", 10).keySet()).containsExactly("http://b/");
+  }
+
+  @Test
+  public void acceptsDocumentsFromManyThreads() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try (IndexWriter writer = new IndexWriter(directory, 50)) {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 4; t++) {
+        int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 500; i++) {
+            String term = "thread" + "abcd".charAt(thread);
+            writer.add("http://t" + thread + "/" + i, Map.of("word", 1, term, 1));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdown();
+    }
+
+    IndexReader reader = IndexReader.open(directory);
+    assertThat(reader.documentCount()).isEqualTo(2000);
+    assertThat(reader.documentFrequency("word")).isEqualTo(2000);
+    assertThat(reader.documentFrequency("threadc")).isEqualTo(500);
+    assertThat(reader.search("threadc", 1000).keySet()).hasSize(500);
+  }
+
+  @Test
+  public void replacesThePreviousIndex() throws Exception {
+    try (IndexWriter writer = new IndexWriter(directory, 1)) {
+      writer.add("http://old/", Map.of("old", 1));
+      writer.add("http://older/", Map.of("old", 1));
+    }
+    IndexReader oldReader = IndexReader.open(directory);
+
+    try (IndexWriter writer = new IndexWriter(directory, 1)) {
+      writer.add("http://new/", Map.of("new", 1));
+      assertThrows(IllegalStateException.class, () -> {
+        writer.close();
+        writer.add("http://late/", Map.of("new", 1));
+      });
+    }
+
+    IndexReader reader = IndexReader.open(directory);
+    assertThat(reader.documentCount()).isEqualTo(1);
+    assertThat(reader.search("old", 10)).isEmpty();
+    assertThat(reader.search("new", 10).keySet()).containsExactly("http://new/");
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files.map(file -> file.getFileName().toString()).collect(Collectors.toList()))
+          .containsExactly("segments", "_2.doc", "_2.tdx", "_2.pst");
+    }
+    // A reader keeps seeing the index it opened.
+    assertThat(oldReader.search("old", 10)).hasSize(2);
+  }
+
+  @Test
+  public void rejectsOtherFiles() throws Exception {
+    Files.writeString(directory.resolve("segments"), "_0\n");
+    Files.writeString(directory.resolve("_0.doc"), "not an index");
+    Files.writeString(directory.resolve("_0.tdx"), "not an index");
+    Files.writeString(directory.resolve("_0.pst"), "not an index");
+    assertThrows(IOException.class, () -> IndexReader.open(directory));
+  }
+}
@@ -24,7 +24,8 @@ public final class ConfigurationLoaderTest {
         "\"timeoutSeconds\": 10, " +
         "\"popularWordCount\": 5, " +
         "\"profileOutputPath\": \"profileOutput.txt\", " +
-        "\"resultPath\": \"resultPath.json\" " +
+        "\"resultPath\": \"resultPath.json\", " +
+        "\"resultFormat\": \"ndjson\" " +
         " }";
 
     Reader reader = new StringReader(json);
@@ -48,6 +49,7 @@ public final class ConfigurationLoaderTest {
     assertThat(config.getPopularWordCount()).isEqualTo(5);
     assertThat(config.getProfileOutputPath()).isEqualTo("profileOutput.txt");
     assertThat(config.getResultPath()).isEqualTo("resultPath.json");
+    assertThat(config.getResultFormat()).isEqualTo("ndjson");
   }
 
   @Test
@@ -77,5 +79,6 @@ public final class ConfigurationLoaderTest {
     assertThat(config.getPopularWordCount()).isEqualTo(5);
     assertThat(config.getProfileOutputPath()).isEmpty();
     assertThat(config.getResultPath()).isEmpty();
+    assertThat(config.getResultFormat()).isEqualTo("json");
   }
 }
\ No newline at end of file
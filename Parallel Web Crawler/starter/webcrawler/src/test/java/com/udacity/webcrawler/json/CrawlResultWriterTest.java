@@ -2,10 +2,18 @@ package com.udacity.webcrawler.json;
 
 import com.udacity.webcrawler.testing.CloseableStringWriter;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPInputStream;
 
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth.assertWithMessage;
@@ -46,4 +54,162 @@ public final class CrawlResultWriterTest {
 
     assertThat(written).matches(expected);
   }
+
+  @Test
+  public void testNdjsonFormatting() throws Exception {
+    Map<String, Integer> counts = new LinkedHashMap<>();
+    counts.put("foo", 12);
+    counts.put("bar", 1);
+    CrawlResult result =
+        new CrawlResult.Builder()
+            .setUrlsVisited(17)
+            .setWordCounts(counts)
+            .build();
+
+    CrawlResultWriter resultWriter =
+        new CrawlResultWriter(result, CrawlResultWriter.Format.NDJSON);
+    CloseableStringWriter stringWriter = new CloseableStringWriter();
+    resultWriter.write(stringWriter);
+    assertThat(stringWriter.isClosed()).isFalse();
+
+    assertThat(stringWriter.toString().lines().collect(Collectors.toList()))
+        .containsExactly(
+            "{\"urlsVisited\":17}",
+            "{\"word\":\"foo\",\"count\":12}",
+            "{\"word\":\"bar\",\"count\":1}")
+        .inOrder();
+  }
+
+  @Test
+  public void testPhraseCounts() throws Exception {
+    Map<String, Integer> phrases = new LinkedHashMap<>();
+    phrases.put("quick fox", 3);
+    phrases.put("lazy dog", 2);
+    CrawlResult result =
+        new CrawlResult.Builder()
+            .setUrlsVisited(2)
+            .setWordCounts(Map.of("fox", 4))
+            .setPhraseCounts(phrases)
+            .build();
+
+    CloseableStringWriter json = new CloseableStringWriter();
+    new CrawlResultWriter(result).write(json);
+    assertThat(json.toString()).isEqualTo(
+        "{\"wordCounts\":{\"fox\":4},\"urlsVisited\":2,"
+            + "\"phraseCounts\":{\"quick fox\":3,\"lazy dog\":2}}");
+
+    CloseableStringWriter ndjson = new CloseableStringWriter();
+    new CrawlResultWriter(result, CrawlResultWriter.Format.NDJSON).write(ndjson);
+    assertThat(ndjson.toString().lines().collect(Collectors.toList()))
+        .containsExactly(
+            "{\"urlsVisited\":2}",
+            "{\"word\":\"fox\",\"count\":4}",
+            "{\"phrase\":\"quick fox\",\"count\":3}",
+            "{\"phrase\":\"lazy dog\",\"count\":2}")
+        .inOrder();
+  }
+
+  @Test
+  public void testWordCountErrorBound() throws Exception {
+    CrawlResult result =
+        new CrawlResult.Builder()
+            .setUrlsVisited(5)
+            .setWordCounts(Map.of("foo", 40))
+            .setWordCountErrorBound(3)
+            .build();
+
+    CloseableStringWriter json = new CloseableStringWriter();
+    new CrawlResultWriter(result).write(json);
+    assertThat(json.toString())
+        .isEqualTo("{\"wordCounts\":{\"foo\":40},\"urlsVisited\":5,\"wordCountErrorBound\":3}");
+
+    CloseableStringWriter ndjson = new CloseableStringWriter();
+    new CrawlResultWriter(result, CrawlResultWriter.Format.NDJSON).write(ndjson);
+    assertThat(ndjson.toString().lines().findFirst().orElseThrow())
+        .isEqualTo("{\"urlsVisited\":5,\"wordCountErrorBound\":3}");
+  }
+
+  @Test
+  public void testTopPages() throws Exception {
+    Map<String, Double> pages = new LinkedHashMap<>();
+    pages.put("http://a/", 0.5);
+    pages.put("http://b/", 0.25);
+    CrawlResult result =
+        new CrawlResult.Builder()
+            .setUrlsVisited(2)
+            .setWordCounts(Map.of("foo", 2))
+            .setTopPages(pages)
+            .build();
+
+    CloseableStringWriter json = new CloseableStringWriter();
+    new CrawlResultWriter(result).write(json);
+    assertThat(json.toString()).isEqualTo("{\"wordCounts\":{\"foo\":2},\"urlsVisited\":2,"
+        + "\"topPages\":{\"http://a/\":0.5,\"http://b/\":0.25}}");
+
+    CloseableStringWriter ndjson = new CloseableStringWriter();
+    new CrawlResultWriter(result, CrawlResultWriter.Format.NDJSON).write(ndjson);
+    assertThat(ndjson.toString().lines().collect(Collectors.toList()))
+        .containsExactly(
+            "{\"urlsVisited\":2}",
+            "{\"word\":\"foo\",\"count\":2}",
+            "{\"page\":\"http://a/\",\"rank\":0.5}",
+            "{\"page\":\"http://b/\",\"rank\":0.25}")
+        .inOrder();
+  }
+
+  @Test
+  public void testStats() throws Exception {
+    CrawlStats stats =
+        new CrawlStats.Builder()
+            .setPagesByDepth(Map.of(0, 1L))
+            .setPagesByHost(Map.of("example.com", 1L))
+            .setBytesFetched(120)
+            .setStatusCodes(Map.of(200, 1L))
+            .setSkipped(Map.of("maxDepth", 4L))
+            .setPagesPerSecond(List.of(1L))
+            .build();
+    CrawlResult result =
+        new CrawlResult.Builder()
+            .setUrlsVisited(1)
+            .setWordCounts(Map.of("foo", 2))
+            .setStats(stats)
+            .build();
+
+    String expectedStats = "\"stats\":{\"pagesByDepth\":{\"0\":1},"
+        + "\"pagesByHost\":{\"example.com\":1},\"bytesFetched\":120,"
+        + "\"statusCodes\":{\"200\":1},\"parseFailures\":0,\"skipped\":{\"maxDepth\":4},"
+        + "\"pagesPerSecond\":[1]}";
+
+    CloseableStringWriter json = new CloseableStringWriter();
+    new CrawlResultWriter(result).write(json);
+    assertThat(json.toString())
+        .isEqualTo("{\"wordCounts\":{\"foo\":2},\"urlsVisited\":1," + expectedStats + "}");
+
+    CloseableStringWriter ndjson = new CloseableStringWriter();
+    new CrawlResultWriter(result, CrawlResultWriter.Format.NDJSON).write(ndjson);
+    assertThat(ndjson.toString().lines().collect(Collectors.toList()))
+        .containsExactly(
+            "{\"urlsVisited\":1}",
+            "{" + expectedStats + "}",
+            "{\"word\":\"foo\",\"count\":2}")
+        .inOrder();
+  }
+
+  @Test
+  public void testGzipFile(@TempDir Path tempDir) throws Exception {
+    CrawlResult result =
+        new CrawlResult.Builder()
+            .setUrlsVisited(3)
+            .setWordCounts(Map.of("foo", 2))
+            .build();
+
+    Path path = tempDir.resolve("result.json.gz");
+    new CrawlResultWriter(result).write(path);
+
+    String written;
+    try (InputStream in = new GZIPInputStream(Files.newInputStream(path))) {
+      written = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+    assertThat(written).isEqualTo("{\"wordCounts\":{\"foo\":2},\"urlsVisited\":3}");
+  }
 }
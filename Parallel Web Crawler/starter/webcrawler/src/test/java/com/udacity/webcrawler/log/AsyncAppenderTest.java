@@ -0,0 +1,151 @@
+package com.udacity.webcrawler.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class AsyncAppenderTest {
+
+  /**
+   * Collects the messages it is given. Appending can be held up until {@link #release} is opened.
+   */
+  private static final class CollectingAppender implements Appender {
+    final List<String> messages = Collections.synchronizedList(new ArrayList<>());
+    final CountDownLatch entered = new CountDownLatch(1);
+    final CountDownLatch release;
+    volatile int flushes;
+    volatile boolean closed;
+
+    CollectingAppender() {
+      this(new CountDownLatch(0));
+    }
+
+    CollectingAppender(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void append(LogEvent event) {
+      entered.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      messages.add(event.getMessage());
+    }
+
+    @Override
+    public void flush() {
+      flushes++;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+  }
+
+  private static LogEvent event(String message) {
+    return new LogEvent(Instant.EPOCH, Level.INFO, "main", "test", message);
+  }
+
+  @Test
+  public void writesEventsInOrder() {
+    CollectingAppender delegate = new CollectingAppender();
+    AsyncAppender appender = new AsyncAppender(delegate, 128);
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      appender.append(event("message " + i));
+      expected.add("message " + i);
+    }
+    appender.flush();
+    assertThat(delegate.messages).containsExactlyElementsIn(expected).inOrder();
+    assertThat(delegate.flushes).isAtLeast(1);
+    assertThat(appender.getDroppedCount()).isEqualTo(0);
+
+    appender.close();
+    assertThat(delegate.closed).isTrue();
+  }
+
+  @Test
+  public void dropsEventsWhenFull() throws Exception {
+    CountDownLatch release = new CountDownLatch(1);
+    CollectingAppender delegate = new CollectingAppender(release);
+    AsyncAppender appender = new AsyncAppender(delegate, 4);
+
+    // The background thread takes the first event and waits in the delegate, so that the ring
+    // fills up behind it.
+    appender.append(event("first"));
+    delegate.entered.await();
+    for (int i = 0; i < 7; i++) {
+      appender.append(event("queued " + i));
+    }
+    assertThat(appender.getDroppedCount()).isEqualTo(3);
+
+    release.countDown();
+    appender.flush();
+    assertThat(delegate.messages)
+        .containsExactly(
+            "first", "queued 0", "queued 1", "queued 2", "queued 3", "Dropped 3 log messages")
+        .inOrder();
+    appender.close();
+  }
+
+  @Test
+  public void acceptsEventsFromManyThreads() throws Exception {
+    CollectingAppender delegate = new CollectingAppender();
+    AsyncAppender appender = new AsyncAppender(delegate, 1 << 16);
+    List<Thread> threads = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      String name = "thread " + t;
+      threads.add(new Thread(() -> {
+        for (int i = 0; i < 1000; i++) {
+          appender.append(event(name + " " + i));
+        }
+      }));
+    }
+    threads.forEach(Thread::start);
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    appender.close();
+
+    assertThat(delegate.messages).hasSize(4000);
+    // Each thread's events stay in the order that thread appended them.
+    for (int t = 0; t < 4; t++) {
+      String prefix = "thread " + t + " ";
+      List<Integer> numbers = delegate.messages.stream()
+          .filter(m -> m.startsWith(prefix))
+          .map(m -> Integer.parseInt(m.substring(prefix.length())))
+          .collect(Collectors.toList());
+      assertThat(numbers).isInOrder();
+      assertThat(numbers).hasSize(1000);
+    }
+  }
+
+  @Test
+  public void filtersByLevel() {
+    CollectingAppender delegate = new CollectingAppender();
+    Log.configure(Level.WARNING, delegate);
+    try {
+      Log log = Log.forClass(AsyncAppenderTest.class);
+      log.info("not logged %d", 1);
+      log.warning("logged %d", 2);
+      log.error("logged without arguments %d");
+      assertThat(log.isEnabled(Level.DEBUG)).isFalse();
+      assertThat(delegate.messages)
+          .containsExactly("logged 2", "logged without arguments %d")
+          .inOrder();
+    } finally {
+      Log.configure(Level.INFO, new AsyncAppender(WriterAppender.toStream(System.out), 1024));
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package com.udacity.webcrawler.main;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class WebCrawlerMainTest {
+
+  @Test
+  public void ranksTopPagesWithoutWritingTheLinkGraph(@TempDir Path directory) throws Exception {
+    Files.writeString(directory.resolve("start.html"), "<a href=\"a.html\">a</a>");
+    Files.writeString(directory.resolve("a.html"), "<p>no links</p>");
+    Path config = directory.resolve("config.json");
+    Files.writeString(config, "{"
+        + "\"startPages\": [\"" + directory.resolve("start.html").toUri() + "\"], "
+        + "\"maxDepth\": 3, "
+        + "\"topPageCount\": 3, "
+        + "\"resultPath\": \"" + json(directory.resolve("result.json")) + "\", "
+        + "\"profileOutputPath\": \"" + json(directory.resolve("profile.txt")) + "\""
+        + "}");
+
+    WebCrawlerMain.main(new String[]{config.toString()});
+
+    assertThat(Files.readString(directory.resolve("result.json"))).contains("\"topPages\"");
+    assertThat(Files.exists(directory.resolve("profile.txt"))).isTrue();
+  }
+
+  private static String json(Path path) {
+    return path.toString().replace("\\", "\\\\");
+  }
+}
@@ -0,0 +1,107 @@
+package com.udacity.webcrawler.parser;
+
+import com.sun.net.httpserver.HttpServer;
+import com.udacity.webcrawler.analysis.Analyzer;
+import org.jsoup.HttpStatusException;
+import org.jsoup.UnsupportedMimeTypeException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPOutputStream;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class HttpPageFetcherTest {
+  private static final String PAGE = "<p>The quick brown fox</p><a href=\"next.html\">next</a>";
+
+  private final Set<String> userAgents = ConcurrentHashMap.newKeySet();
+  private HttpServer server;
+  private String baseUrl;
+
+  @BeforeEach
+  public void startServer() throws IOException {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/page.html", exchange -> {
+      userAgents.add(exchange.getRequestHeaders().getFirst("User-Agent"));
+      ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+      try (OutputStream gzip = new GZIPOutputStream(compressed)) {
+        gzip.write(PAGE.getBytes(StandardCharsets.UTF_8));
+      }
+      exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+      exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+      exchange.sendResponseHeaders(200, compressed.size());
+      try (OutputStream body = exchange.getResponseBody()) {
+        compressed.writeTo(body);
+      }
+    });
+    server.createContext("/image.png", exchange -> {
+      exchange.getResponseHeaders().add("Content-Type", "image/png");
+      exchange.sendResponseHeaders(200, -1);
+      exchange.close();
+    });
+    server.createContext("/missing.html", exchange -> {
+      exchange.sendResponseHeaders(404, -1);
+      exchange.close();
+    });
+    server.start();
+    baseUrl = "http://localhost:" + server.getAddress().getPort();
+  }
+
+  @AfterEach
+  public void stopServer() {
+    server.stop(0);
+  }
+
+  @Test
+  public void decompressesPages() throws IOException {
+    HttpPageFetcher fetcher = new HttpPageFetcher(Duration.ofSeconds(5), "test-agent");
+
+    HttpPageFetcher.Page page = fetcher.fetch(baseUrl + "/page.html");
+
+    assertThat(new String(page.getBody(), StandardCharsets.UTF_8)).isEqualTo(PAGE);
+    assertThat(page.getCharset()).isEqualTo("utf-8");
+    assertThat(userAgents).containsExactly("test-agent");
+  }
+
+  @Test
+  public void parsesRemotePages() {
+    HttpPageFetcher fetcher = new HttpPageFetcher(Duration.ofSeconds(5), "test-agent");
+    PageParserImpl parser = new PageParserImpl(
+        baseUrl + "/page.html",
+        fetcher,
+        Analyzer.legacy(List.of()),
+        0,
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty());
+
+    PageParser.Result result = parser.parse();
+
+    assertThat(result.getWordCounts()).containsEntry("quick", 1);
+    assertThat(result.getLinks()).containsExactly(baseUrl + "/next.html");
+  }
+
+  @Test
+  public void rejectsErrorsAndOtherContent() {
+    HttpPageFetcher fetcher = new HttpPageFetcher(Duration.ofSeconds(5), "test-agent");
+
+    HttpStatusException error =
+        assertThrows(HttpStatusException.class, () -> fetcher.fetch(baseUrl + "/missing.html"));
+    assertThat(error.getStatusCode()).isEqualTo(404);
+    assertThrows(
+        UnsupportedMimeTypeException.class, () -> fetcher.fetch(baseUrl + "/image.png"));
+  }
+}
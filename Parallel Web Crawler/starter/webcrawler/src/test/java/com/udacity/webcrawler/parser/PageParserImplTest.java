@@ -1,10 +1,15 @@
 package com.udacity.webcrawler.parser;
 
+import com.udacity.webcrawler.analysis.Analyzer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 import java.util.regex.Pattern;
 
 import static com.google.common.truth.Truth.assertThat;
@@ -45,4 +50,78 @@ public final class PageParserImplTest {
     assertThat(result.getWordCounts()).containsEntry("over", 1);
     assertThat(result.getWordCounts()).containsEntry("lazy", 1);
   }
-}
\ No newline at end of file
+
+  @Test
+  public void parsingWithPhrases() {
+    PageParser.Result result = new PageParserImpl(
+        testPage,
+        new HttpPageFetcher(Duration.ZERO, "test"),
+        Analyzer.legacy(List.of()),
+        3,
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty())
+        .parse();
+
+    // The link text is a separate block of text, so no phrase runs into it.
+    assertThat(result.getPhraseCounts()).containsExactly(
+        "the quick brown", 1,
+        "quick brown fox", 1,
+        "brown fox jumped", 1,
+        "fox jumped over", 1,
+        "jumped over the", 1,
+        "over the lazy", 1,
+        "the lazy dog", 1);
+    assertThat(result.getWordCounts()).containsEntry("the", 2);
+  }
+
+  @Test
+  public void parsingWithoutPhrases() {
+    PageParser.Result result = new PageParserImpl(testPage, Duration.ZERO, List.of()).parse();
+
+    assertThat(result.getPhraseCounts()).isEmpty();
+  }
+
+  @Test
+  public void parsingLargeMappedFile(@TempDir Path directory) throws Exception {
+    // Large enough to be memory-mapped, and starting with a UTF-8 byte order mark.
+    StringBuilder html = new StringBuilder("\uFEFF<html><body><a href=\"next.html\">next</a>");
+    while (html.length() <= LocalFileFetcher.MAP_THRESHOLD) {
+      html.append("<p>caf\u00e9 quick</p>");
+    }
+    html.append("</body></html>");
+    Path page = directory.resolve("large.html");
+    Files.writeString(page, html);
+
+    PageParser.Result result =
+        new PageParserImpl(page.toUri().toString(), Duration.ZERO, List.of()).parse();
+
+    assertThat(result.getLinks())
+        .containsExactly(directory.resolve("next.html").toUri().toString());
+    assertThat(result.getWordCounts().keySet()).containsExactly("next", "caf", "quick");
+    assertThat(result.getWordCounts().get("quick")).isGreaterThan(1000);
+  }
+
+  @Test
+  public void parsingWithAnalyzer(@TempDir Path directory) throws Exception {
+    Path page = directory.resolve("analyzed.html");
+    Files.writeString(page, "<html><body><p>The Cafés were running, naïve dogs!</p>"
+        + "</body></html>");
+
+    PageParser.Result result = new PageParserImpl(
+        page.toUri().toString(),
+        new HttpPageFetcher(Duration.ZERO, "test"),
+        Analyzer.forName("porter", List.of()),
+        2,
+        Optional.empty(),
+        Optional.empty(),
+        Optional.empty())
+        .parse();
+
+    assertThat(result.getWordCounts().keySet())
+        .containsExactly("cafés", "were", "run", "naïve", "dog");
+    // Punctuation does not break a phrase, and phrases span the stop words that were left out.
+    assertThat(result.getPhraseCounts().keySet())
+        .containsExactly("cafés were", "were run", "run naïve", "naïve dog");
+  }
+}
@@ -0,0 +1,65 @@
+package com.udacity.webcrawler.parser;
+
+import com.udacity.webcrawler.analysis.Analyzer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class WordDictionaryTest {
+
+  private static final String DATA_DIR = System.getProperty("testDataDir");
+
+  @Test
+  public void idsAreDenseAndStable() {
+    WordDictionary dictionary = new WordDictionary();
+
+    assertThat(dictionary.idOf("the")).isEqualTo(0);
+    assertThat(dictionary.idOf("fox")).isEqualTo(1);
+    assertThat(dictionary.idOf(new String("the"))).isEqualTo(0);
+    assertThat(dictionary.size()).isEqualTo(2);
+    assertThat(dictionary.wordOf(1)).isEqualTo("fox");
+  }
+
+  @Test
+  public void concurrentLookupsAgreeOnIds() {
+    WordDictionary dictionary = new WordDictionary();
+    Set<Integer> ids = ConcurrentHashMap.newKeySet();
+    IntStream.range(0, 200_000)
+        .parallel()
+        .forEach(i -> ids.add(dictionary.idOf("w" + i % 10_000)));
+
+    assertThat(dictionary.size()).isEqualTo(10_000);
+    assertThat(ids).hasSize(10_000);
+    for (int i = 0; i < 10_000; i++) {
+      assertThat(dictionary.idOf(dictionary.wordOf(i))).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void parserCountsWordsById() {
+    WordDictionary dictionary = new WordDictionary();
+    String testPage = Paths.get(DATA_DIR, "test-page.html").toUri().toString();
+    PageParser.Result result = new PageParserImpl(
+        testPage,
+        new HttpPageFetcher(Duration.ZERO, "test"),
+        Analyzer.legacy(List.of()),
+        0,
+        Optional.of(dictionary),
+        Optional.empty(),
+        Optional.empty()).parse();
+
+    WordIdCounts ids = result.getWordIdCounts();
+    assertThat(ids.size()).isEqualTo(9);
+    assertThat(ids.get(dictionary.idOf("the"))).isEqualTo(2);
+    assertThat(result.getWordCounts()).containsEntry("the", 2);
+    assertThat(result.getWordCounts()).containsEntry("fox", 1);
+  }
+}
@@ -0,0 +1,30 @@
+package com.udacity.webcrawler.parser;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class WordIdCountsTest {
+
+  @Test
+  public void countsSurviveGrowing() {
+    WordIdCounts counts = new WordIdCounts();
+    for (int round = 0; round < 3; round++) {
+      for (int id = 0; id < 5000; id += 7) {
+        counts.add(id, id % 5 + 1);
+      }
+    }
+
+    assertThat(counts.size()).isEqualTo(715);
+    assertThat(counts.get(14)).isEqualTo(15);
+    assertThat(counts.get(15)).isEqualTo(0);
+
+    Map<Integer, Integer> all = new HashMap<>();
+    counts.forEach(all::put);
+    assertThat(all).hasSize(715);
+    assertThat(all).containsEntry(4991, 6);
+  }
+}
@@ -0,0 +1,118 @@
+package com.udacity.webcrawler.recrawl;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.stream.Collectors;
+
+import static com.google.common.truth.Truth.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public final class RecrawlStoreTest {
+
+  private static final Instant START = Instant.parse("2024-01-01T00:00:00Z");
+  private static final Duration DAY = Duration.ofDays(1);
+
+  private final RecrawlStore store = new RecrawlStore(0.5, Duration.ofDays(30));
+
+  /**
+   * Records a fetch of the given page on each of the given days. The content changes on the days
+   * where {@code changed} is true.
+   */
+  private void fetchDaily(String url, boolean... changed) {
+    long hash = 0;
+    store.recordFetch(url, 2, hash, START);
+    for (int day = 0; day < changed.length; day++) {
+      if (changed[day]) {
+        hash++;
+      }
+      store.recordFetch(url, 2, hash, START.plus(DAY.multipliedBy(day + 1)));
+    }
+  }
+
+  @Test
+  public void estimatesChangeRates() {
+    fetchDaily("http://daily/", true, true, true, true);
+    fetchDaily("http://sometimes/", true, false, false, true);
+    fetchDaily("http://never/", false, false, false, false);
+
+    PageHistory daily = store.get("http://daily/").orElseThrow();
+    assertThat(daily.getFetches()).isEqualTo(5);
+    assertThat(daily.getChanges()).isEqualTo(4);
+    assertThat(daily.getLastFetch()).isEqualTo(START.plus(DAY.multipliedBy(4)));
+    double perDay = DAY.getSeconds();
+    // -ln((n - x + 0.5) / (n + 0.5)) / (t / n) with n = 4 fetches after the first, over 4 days.
+    assertThat(daily.getChangeRate() * perDay).isWithin(1e-9).of(-Math.log(0.5 / 4.5));
+    assertThat(store.get("http://sometimes/").orElseThrow().getChangeRate() * perDay)
+        .isWithin(1e-9).of(-Math.log(2.5 / 4.5));
+    assertThat(store.get("http://never/").orElseThrow().getChangeRate()).isEqualTo(0.0);
+
+    // A page that was fetched only once has no rate yet.
+    store.recordFetch("http://once/", 2, 0, START);
+    assertThat(store.get("http://once/").orElseThrow().getChangeRate()).isNaN();
+    assertThat(store.changeProbability("http://once/", START.plus(DAY))).isEqualTo(1.0);
+    assertThat(store.changeProbability("http://unknown/", START)).isEqualTo(1.0);
+  }
+
+  @Test
+  public void schedulesPagesThatProbablyChanged() {
+    fetchDaily("http://daily/", true, true, true, true);
+    fetchDaily("http://sometimes/", true, false, false, true);
+    fetchDaily("http://never/", false, false, false, false);
+    Instant nextDay = START.plus(DAY.multipliedBy(5));
+
+    assertThat(store.isDue("http://daily/", nextDay)).isTrue();
+    assertThat(store.isDue("http://sometimes/", nextDay)).isFalse();
+    assertThat(store.isDue("http://never/", nextDay)).isFalse();
+    assertThat(store.isDue("http://unknown/", nextDay)).isTrue();
+    // Pages fetched after the given time were fetched by the crawl that asks.
+    assertThat(store.isDue("http://never/", START)).isTrue();
+
+    // Pages that change less often become due later, and stable pages at the maximum age.
+    Instant later = START.plus(DAY.multipliedBy(10));
+    assertThat(store.duePages(later).stream().map(PageHistory::getUrl).collect(Collectors.toList()))
+        .containsExactly("http://daily/", "http://sometimes/")
+        .inOrder();
+    Instant muchLater = START.plus(DAY.multipliedBy(34));
+    assertThat(store.duePages(muchLater)).hasSize(3);
+  }
+
+  @Test
+  public void savesAndLoads(@TempDir Path directory) throws Exception {
+    Path path = directory.resolve("recrawl.tsv");
+    assertThat(RecrawlStore.load(path, 0.5, Duration.ofDays(30)).size()).isEqualTo(0);
+
+    fetchDaily("http://a/é", true, false);
+    store.recordFetch("http://b/", 1, -1L, START);
+    store.save(path);
+    RecrawlStore loaded = RecrawlStore.load(path, 0.5, Duration.ofDays(30));
+
+    assertThat(loaded.size()).isEqualTo(2);
+    PageHistory a = loaded.get("http://a/é").orElseThrow();
+    assertThat(a.getFirstFetch()).isEqualTo(START);
+    assertThat(a.getLastFetch()).isEqualTo(START.plus(DAY.multipliedBy(2)));
+    assertThat(a.getFetches()).isEqualTo(3);
+    assertThat(a.getChanges()).isEqualTo(1);
+    assertThat(a.getDepth()).isEqualTo(2);
+    PageHistory b = loaded.get("http://b/").orElseThrow();
+    assertThat(b.getContentHash()).isEqualTo(-1L);
+    assertThat(b.getDepth()).isEqualTo(1);
+    assertThat(Files.exists(directory.resolve("recrawl.tsv.tmp"))).isFalse();
+  }
+
+  @Test
+  public void rejectsMalformedFiles(@TempDir Path directory) throws Exception {
+    Path path = directory.resolve("recrawl.tsv");
+    Files.writeString(path, "not a recrawl state file\n");
+    assertThrows(IOException.class, () -> RecrawlStore.load(path, 0.5, Duration.ofDays(30)));
+
+    Files.writeString(path,
+        "url\tfirstFetch\tlastFetch\tcontentHash\tfetches\tchanges\tdepth\nhttp://a/\t1\t2\n");
+    assertThrows(IOException.class, () -> RecrawlStore.load(path, 0.5, Duration.ofDays(30)));
+  }
+}
@@ -0,0 +1,91 @@
+package com.udacity.webcrawler.robots;
+
+import com.udacity.webcrawler.profiler.FakeClock;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class RobotsCacheTest {
+
+  @Test
+  public void fetchesEachHostOnce() {
+    Map<String, AtomicInteger> fetches = new ConcurrentHashMap<>();
+    Fetcher fetcher = url -> {
+      fetches.computeIfAbsent(url, u -> new AtomicInteger()).incrementAndGet();
+      return new Fetcher.Response(
+          200, "User-agent: *\nDisallow: /private".getBytes(StandardCharsets.UTF_8));
+    };
+    RobotsCache cache = new RobotsCache("udacity-webcrawler", fetcher);
+
+    IntStream.range(0, 1000).parallel().forEach(i -> {
+      String host = "https://host" + (i % 4) + ".example.com";
+      assertThat(cache.isAllowed(host + "/page" + i)).isTrue();
+      assertThat(cache.isAllowed(host + "/private/page" + i)).isFalse();
+    });
+
+    assertThat(fetches).hasSize(4);
+    fetches.values().forEach(count -> assertThat(count.get()).isEqualTo(1));
+    assertThat(fetches).containsKey("https://host0.example.com/robots.txt");
+  }
+
+  @Test
+  public void missingFilesAllowAndServerErrorsDisallow() {
+    RobotsCache cache = new RobotsCache("udacity-webcrawler", url -> {
+      if (url.contains("missing")) {
+        return new Fetcher.Response(404, new byte[0]);
+      }
+      if (url.contains("broken")) {
+        return new Fetcher.Response(503, new byte[0]);
+      }
+      throw new IOException("Connection refused");
+    });
+
+    assertThat(cache.isAllowed("http://missing.example.com/page")).isTrue();
+    assertThat(cache.isAllowed("http://broken.example.com/page")).isFalse();
+    assertThat(cache.isAllowed("http://unreachable.example.com/page")).isFalse();
+  }
+
+  @Test
+  public void rulesExpireAfterADayAndFailuresAfterMinutes() {
+    FakeClock clock = new FakeClock();
+    AtomicInteger fetches = new AtomicInteger();
+    RobotsCache cache = new RobotsCache("udacity-webcrawler", url -> {
+      if (url.contains("down") && fetches.incrementAndGet() == 1) {
+        return new Fetcher.Response(503, new byte[0]);
+      }
+      return new Fetcher.Response(
+          200, "User-agent: *\nDisallow: /private".getBytes(StandardCharsets.UTF_8));
+    }, clock);
+
+    assertThat(cache.isAllowed("http://down.example.com/page")).isFalse();
+    clock.tick(RobotsCache.FAILURE_LIFETIME.minusSeconds(1));
+    assertThat(cache.isAllowed("http://down.example.com/page")).isFalse();
+    clock.tick(Duration.ofSeconds(1));
+    assertThat(cache.isAllowed("http://down.example.com/page")).isTrue();
+    assertThat(fetches.get()).isEqualTo(2);
+
+    clock.tick(RobotsCache.RULES_LIFETIME.minusSeconds(1));
+    assertThat(cache.isAllowed("http://down.example.com/private")).isFalse();
+    assertThat(fetches.get()).isEqualTo(2);
+    clock.tick(Duration.ofSeconds(1));
+    assertThat(cache.isAllowed("http://down.example.com/private")).isFalse();
+    assertThat(fetches.get()).isEqualTo(3);
+  }
+
+  @Test
+  public void localFilesAreAlwaysAllowed() {
+    RobotsCache cache = new RobotsCache("udacity-webcrawler", url -> {
+      throw new AssertionError("Should not fetch " + url);
+    });
+
+    assertThat(cache.isAllowed("file:///tmp/page.html")).isTrue();
+  }
+}
@@ -0,0 +1,86 @@
+package com.udacity.webcrawler.robots;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class RobotsRulesTest {
+
+  private static final String ROBOTS_TXT = String.join("\n",
+      "# Everyone else stays out of /private.",
+      "User-agent: *",
+      "Disallow: /private",
+      "",
+      "User-agent: other-bot",
+      "User-agent: udacity-webcrawler",
+      "Disallow: /",
+      "Allow: /public",
+      "Allow: /*.html$",
+      "Disallow: /public/secret",
+      "",
+      "Sitemap: https://example.com/sitemap.xml");
+
+  @Test
+  public void namedGroupReplacesDefaultGroup() {
+    RobotsRules rules = RobotsRules.parse(ROBOTS_TXT, "udacity-webcrawler");
+
+    assertThat(rules.isAllowed("/private")).isFalse();
+    assertThat(rules.isAllowed("/anything")).isFalse();
+    assertThat(rules.isAllowed("/robots.txt")).isTrue();
+
+    RobotsRules defaultRules = RobotsRules.parse(ROBOTS_TXT, "someone-else");
+    assertThat(defaultRules.isAllowed("/private/page")).isFalse();
+    assertThat(defaultRules.isAllowed("/anything")).isTrue();
+  }
+
+  @Test
+  public void productTokensMustMatchWhole() {
+    String robotsTxt = String.join("\n",
+        "User-agent: *",
+        "Disallow: /private",
+        "",
+        "User-agent: crawler",
+        "Disallow: /");
+
+    // The crawler group does not name udacity-webcrawler, so the default group applies.
+    RobotsRules rules = RobotsRules.parse(robotsTxt, "udacity-webcrawler");
+    assertThat(rules.isAllowed("/page")).isTrue();
+    assertThat(rules.isAllowed("/private")).isFalse();
+
+    // Case and versions do not matter, on either side.
+    RobotsRules versioned = RobotsRules.parse(
+        "User-agent: Udacity-WebCrawler/1.0\nDisallow: /", "udacity-webcrawler/2.0 (+bot info)");
+    assertThat(versioned.isAllowed("/page")).isFalse();
+  }
+
+  @Test
+  public void longestMatchWins() {
+    RobotsRules rules = RobotsRules.parse(ROBOTS_TXT, "udacity-webcrawler");
+
+    assertThat(rules.isAllowed("/public/page")).isTrue();
+    assertThat(rules.isAllowed("/public/secret/page")).isFalse();
+  }
+
+  @Test
+  public void wildcardsAndEndAnchors() {
+    RobotsRules rules = RobotsRules.parse(ROBOTS_TXT, "udacity-webcrawler");
+
+    assertThat(rules.isAllowed("/docs/page.html")).isTrue();
+    assertThat(rules.isAllowed("/docs/page.html?print=1")).isFalse();
+  }
+
+  @Test
+  public void allowWinsTies() {
+    RobotsRules rules =
+        RobotsRules.parse("User-agent: *\nDisallow: /page\nAllow: /page", "udacity-webcrawler");
+
+    assertThat(rules.isAllowed("/page")).isTrue();
+  }
+
+  @Test
+  public void readsSitemaps() {
+    RobotsRules rules = RobotsRules.parse(ROBOTS_TXT, "udacity-webcrawler");
+
+    assertThat(rules.getSitemaps()).containsExactly("https://example.com/sitemap.xml");
+  }
+}
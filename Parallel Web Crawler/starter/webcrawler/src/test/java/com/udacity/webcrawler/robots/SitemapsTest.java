@@ -0,0 +1,67 @@
+package com.udacity.webcrawler.robots;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class SitemapsTest {
+
+  private static String urlset(String... pages) {
+    StringBuilder xml = new StringBuilder(
+        "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<urlset xmlns=\"http://www.sitemaps.org/schemas/sitemap/0.9\">\n");
+    for (String page : pages) {
+      xml.append("  <url><loc>").append(page).append("</loc><priority>0.5</priority></url>\n");
+    }
+    return xml.append("</urlset>\n").toString();
+  }
+
+  @Test
+  public void parsesUrlsets() throws IOException {
+    Sitemaps.Sitemap sitemap = Sitemaps.parse(
+        urlset("https://example.com/a", "https://example.com/b?x=1&amp;y=2")
+            .getBytes(StandardCharsets.UTF_8),
+        "https://example.com/sitemap.xml");
+
+    assertThat(sitemap.getPages())
+        .containsExactly("https://example.com/a", "https://example.com/b?x=1&y=2")
+        .inOrder();
+    assertThat(sitemap.getSitemaps()).isEmpty();
+  }
+
+  @Test
+  public void followsGzippedIndexes(@TempDir Path directory) throws IOException {
+    Path first = directory.resolve("first.xml.gz");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(first))) {
+      out.write(urlset("https://example.com/a", "https://example.com/b")
+          .getBytes(StandardCharsets.UTF_8));
+    }
+    Path second = directory.resolve("second.xml");
+    Files.writeString(second, urlset("https://example.com/b", "https://example.com/c"));
+    Path index = directory.resolve("index.xml");
+    Files.writeString(index, "<sitemapindex>"
+        + "<sitemap><loc>" + first.toUri() + "</loc></sitemap>"
+        + "<sitemap><loc>" + second.toUri() + "</loc></sitemap>"
+        + "<sitemap><loc>" + index.toUri() + "</loc></sitemap>"
+        + "<sitemap><loc>" + directory.resolve("missing.xml").toUri() + "</loc></sitemap>"
+        + "</sitemapindex>");
+    Fetcher fetcher = Fetcher.forUrlConnection("test", Duration.ofSeconds(5), 1 << 20);
+
+    List<String> pages = Sitemaps.collect(List.of(index.toUri().toString()), fetcher, 10);
+
+    assertThat(pages)
+        .containsExactly("https://example.com/a", "https://example.com/b", "https://example.com/c")
+        .inOrder();
+    assertThat(Sitemaps.collect(List.of(index.toUri().toString()), fetcher, 2)).hasSize(2);
+  }
+}
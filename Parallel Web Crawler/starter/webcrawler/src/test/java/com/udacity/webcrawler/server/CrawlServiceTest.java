@@ -0,0 +1,210 @@
+package com.udacity.webcrawler.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.udacity.webcrawler.index.IndexReader;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.profiler.FakeClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class CrawlServiceTest {
+
+  private static final String DATA_DIR = System.getProperty("testDataDir");
+
+  private static CrawlerConfiguration.Builder config() {
+    return new CrawlerConfiguration.Builder()
+        .setImplementationOverride("com.udacity.webcrawler.ParallelWebCrawler")
+        .setMaxDepth(10)
+        .setPopularWordCount(3)
+        .setParallelism(2)
+        .addStartPages(Paths.get(DATA_DIR, "test-page.html").toUri().toString())
+        .addStartPages(Paths.get(DATA_DIR, "link-1.html").toUri().toString())
+        .addStartPages(Paths.get(DATA_DIR, "infinite-loop.html").toUri().toString());
+  }
+
+  @Test
+  public void concurrentJobsShareThePoolButNotTheirResults() throws Exception {
+    try (CrawlService service =
+             new CrawlService.Builder().setParallelism(2).setMaxConcurrentJobs(3).build()) {
+      List<CrawlJob> jobs = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        jobs.add(service.submit(config().build()));
+      }
+
+      for (CrawlJob job : jobs) {
+        CrawlResult result = job.await();
+        assertThat(job.getState()).isEqualTo(CrawlJob.State.SUCCEEDED);
+        assertThat(result.getUrlsVisited()).isEqualTo(5);
+        assertThat(result.getWordCounts().entrySet())
+            .containsExactly(
+                Map.entry("the", 8),
+                Map.entry("jumped", 4),
+                Map.entry("brown", 4))
+            .inOrder();
+        // Each job has its own profiler, which only saw its own crawl.
+        assertThat(job.getProfile()).contains("WebCrawler#crawl");
+        assertThat(job.getProfile().split("WebCrawler#crawl", -1)).hasLength(2);
+      }
+    }
+  }
+
+  @Test
+  public void jobsWriteTheirConfiguredFiles(@TempDir Path directory) throws Exception {
+    try (CrawlService service = new CrawlService.Builder().setMaxConcurrentJobs(2).build()) {
+      List<CrawlJob> jobs = new ArrayList<>();
+      for (int i = 0; i < 2; i++) {
+        jobs.add(service.submit(config()
+            .setLinkGraphPath(directory.resolve("graph" + i + ".tsv").toString())
+            .setLinkGraphFormat("tsv")
+            .setIndexDirectory(directory.resolve("index" + i).toString())
+            .build()));
+      }
+
+      for (int i = 0; i < 2; i++) {
+        jobs.get(i).await();
+        assertThat(jobs.get(i).getState()).isEqualTo(CrawlJob.State.SUCCEEDED);
+        // Each job writes its own graph, and commits its own index.
+        assertThat(Files.readAllLines(directory.resolve("graph" + i + ".tsv"))).isNotEmpty();
+        assertThat(IndexReader.open(directory.resolve("index" + i)).documentCount())
+            .isGreaterThan(0);
+      }
+    }
+  }
+
+  @Test
+  public void laterJobsCrawlAHostWhoseRobotsFileRecovered() throws Exception {
+    AtomicInteger robotsRequests = new AtomicInteger();
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/robots.txt", exchange -> {
+      // The host is down for the first job, and back up for the second.
+      if (robotsRequests.incrementAndGet() == 1) {
+        exchange.sendResponseHeaders(503, -1);
+        exchange.close();
+        return;
+      }
+      send(exchange, "text/plain", "User-agent: *\nAllow: /\n");
+    });
+    server.createContext("/page.html", exchange ->
+        send(exchange, "text/html; charset=utf-8", "<p>recovered words</p>"));
+    server.start();
+    FakeClock clock = new FakeClock();
+    CrawlerConfiguration config = new CrawlerConfiguration.Builder()
+        .setImplementationOverride("com.udacity.webcrawler.ParallelWebCrawler")
+        .setMaxDepth(1)
+        .setPopularWordCount(2)
+        .setRespectRobotsTxt(true)
+        .addStartPages("http://localhost:" + server.getAddress().getPort() + "/page.html")
+        .build();
+    try (CrawlService service = new CrawlService.Builder().setClock(clock).build()) {
+      CrawlJob first = service.submit(config);
+      assertThat(first.await().getUrlsVisited()).isEqualTo(0);
+
+      clock.tick(Duration.ofMinutes(10));
+      CrawlJob second = service.submit(config);
+      CrawlResult result = second.await();
+      assertThat(result.getUrlsVisited()).isEqualTo(1);
+      assertThat(result.getWordCounts()).containsKey("recovered");
+      assertThat(robotsRequests.get()).isEqualTo(2);
+    } finally {
+      server.stop(0);
+    }
+  }
+
+  private static void send(HttpExchange exchange, String contentType, String body)
+      throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().add("Content-Type", contentType);
+    exchange.sendResponseHeaders(200, bytes.length);
+    try (OutputStream out = exchange.getResponseBody()) {
+      out.write(bytes);
+    }
+  }
+
+  @Test
+  public void failedJobReportsError() throws Exception {
+    try (CrawlService service = new CrawlService.Builder().build()) {
+      CrawlJob job = service.submit(
+          config().setImplementationOverride("com.udacity.webcrawler.NoSuchCrawler").build());
+
+      assertThat(job.getResult().handle((result, error) -> error).get()).isNotNull();
+      assertThat(job.getState()).isEqualTo(CrawlJob.State.FAILED);
+    }
+  }
+
+  @Test
+  public void httpServerAcceptsAndReportsJobs() throws Exception {
+    String body = "{\"startPages\": [\""
+        + Paths.get(DATA_DIR, "test-page.html").toUri()
+        + "\"], \"maxDepth\": 1, \"popularWordCount\": 1}";
+
+    try (CrawlService service = new CrawlService.Builder().build();
+         CrawlServer server = CrawlServer.start(
+             service, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+      HttpClient client = HttpClient.newHttpClient();
+      URI base = URI.create("http://localhost:" + server.getAddress().getPort() + "/crawls");
+
+      HttpResponse<String> submitted = client.send(
+          HttpRequest.newBuilder(base).POST(HttpRequest.BodyPublishers.ofString(body)).build(),
+          HttpResponse.BodyHandlers.ofString());
+      assertThat(submitted.statusCode()).isEqualTo(202);
+      String location = submitted.headers().firstValue("Location").orElseThrow();
+
+      service.getJob(location.substring(location.lastIndexOf('/') + 1)).orElseThrow().await();
+      HttpResponse<String> status = client.send(
+          HttpRequest.newBuilder(base.resolve(location)).GET().build(),
+          HttpResponse.BodyHandlers.ofString());
+      assertThat(status.statusCode()).isEqualTo(200);
+      assertThat(status.body()).contains("\"state\":\"SUCCEEDED\"");
+      assertThat(status.body()).contains("\"urlsVisited\":1");
+
+      HttpResponse<String> unknown = client.send(
+          HttpRequest.newBuilder(base.resolve("/crawls/none")).GET().build(),
+          HttpResponse.BodyHandlers.ofString());
+      assertThat(unknown.statusCode()).isEqualTo(404);
+    }
+  }
+
+  @Test
+  public void watcherCrawlsConfigurationsMovedIntoTheDirectory(@TempDir Path directory)
+      throws Exception {
+    String body = "{\"startPages\": [\""
+        + Paths.get(DATA_DIR, "test-page.html").toUri()
+        + "\"], \"maxDepth\": 1, \"popularWordCount\": 1}";
+    Path staging = Files.createTempFile("crawl", ".tmp");
+    Files.writeString(staging, body);
+
+    try (CrawlService service = new CrawlService.Builder().build();
+         JobDirectoryWatcher watcher = JobDirectoryWatcher.start(service, directory)) {
+      Files.move(staging, directory.resolve("job.json"));
+
+      Path resultPath = directory.resolve("job.result.json");
+      for (int i = 0; i < 300 && !Files.exists(resultPath); i++) {
+        Thread.sleep(100);
+      }
+      assertThat(Files.readString(resultPath)).contains("\"urlsVisited\":1");
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.udacity.webcrawler.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class CountMinSketchTest {
+
+  @Test
+  public void estimatesAreNeverTooLowAndWithinTheErrorBound() {
+    CountMinSketch sketch = CountMinSketch.withErrorBounds(0.001, 0.01);
+    for (int i = 0; i < 10_000; i++) {
+      sketch.add("item" + i, 1 + i % 7);
+    }
+
+    assertThat(sketch.getTotal()).isEqualTo(
+        IntStream.range(0, 10_000).mapToLong(i -> 1 + i % 7).sum());
+    long bound = sketch.getErrorBound();
+    for (int i = 0; i < 10_000; i++) {
+      long estimate = sketch.estimate("item" + i);
+      assertThat(estimate).isAtLeast(1 + i % 7);
+      assertThat(estimate).isAtMost(1 + i % 7 + bound);
+    }
+    assertThat(sketch.estimate("never added")).isAtMost(bound);
+  }
+
+  @Test
+  public void concurrentAddsAreNotLost() {
+    CountMinSketch sketch = new CountMinSketch(1024, 4);
+    IntStream.range(0, 100_000).parallel().forEach(i -> sketch.add("word" + i % 10, 1));
+
+    for (int i = 0; i < 10; i++) {
+      assertThat(sketch.estimate("word" + i)).isAtLeast(10_000L);
+    }
+    assertThat(sketch.getTotal()).isEqualTo(100_000L);
+  }
+}
@@ -0,0 +1,42 @@
+package com.udacity.webcrawler.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class HeavyHittersTest {
+
+  @Test
+  public void frequentItemsSurviveALongTailOfRareOnes() {
+    HeavyHitters heavyHitters = new HeavyHitters(new CountMinSketch(1 << 12, 4), 16);
+    for (int round = 0; round < 100; round++) {
+      heavyHitters.add("the quick", 5);
+      heavyHitters.add("lazy dog", 3);
+      heavyHitters.add("brown fox", 1);
+      // Many more distinct phrases than the structure has room for.
+      for (int i = 0; i < 50; i++) {
+        heavyHitters.add("rare " + round + " " + i, 1);
+      }
+    }
+
+    Map<String, Long> candidates = heavyHitters.getCandidates();
+    assertThat(candidates.size()).isAtMost(16);
+    assertThat(List.copyOf(candidates.keySet()).subList(0, 3))
+        .containsExactly("the quick", "lazy dog", "brown fox")
+        .inOrder();
+    assertThat(candidates.get("the quick")).isAtLeast(500L);
+  }
+
+  @Test
+  public void candidatesWithEqualEstimatesAreOrderedAlphabetically() {
+    HeavyHitters heavyHitters = new HeavyHitters(new CountMinSketch(1 << 12, 4), 8);
+    heavyHitters.addAll(Map.of("b", 2, "a", 2, "c", 1));
+
+    assertThat(heavyHitters.getCandidates())
+        .containsExactly("a", 2L, "b", 2L, "c", 1L)
+        .inOrder();
+  }
+}
@@ -0,0 +1,39 @@
+package com.udacity.webcrawler.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class NearDuplicateIndexTest {
+
+  @Test
+  public void findsFingerprintsWithinTheDistance() {
+    NearDuplicateIndex index = new NearDuplicateIndex(3);
+    long original = 0x0123_4567_89ab_cdefL;
+
+    assertThat(index.addAndCheck(original)).isFalse();
+    // Three bits apart, spread over three different bands.
+    assertThat(index.addAndCheck(original ^ (1L | 1L << 20 | 1L << 40))).isTrue();
+    // Four bits apart, one in each band.
+    assertThat(index.addAndCheck(~original)).isFalse();
+    assertThat(index.addAndCheck(original ^ (1L << 5 | 1L << 21 | 1L << 37 | 1L << 53)))
+        .isFalse();
+  }
+
+  @Test
+  public void exactlyOneOfConcurrentDuplicatesIsTheOriginal() {
+    for (int distance : new int[] {0, 3, 7}) {
+      NearDuplicateIndex index = new NearDuplicateIndex(distance);
+      AtomicInteger originals = new AtomicInteger();
+      IntStream.range(0, 1000).parallel().forEach(i -> {
+        if (!index.addAndCheck(42L)) {
+          originals.incrementAndGet();
+        }
+      });
+      assertThat(originals.get()).isEqualTo(1);
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.udacity.webcrawler.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class SimHashTest {
+
+  private static long fingerprint(String text) {
+    SimHash simHash = new SimHash();
+    for (String word : text.split(" ")) {
+      simHash.add(word, 1);
+    }
+    return simHash.fingerprint();
+  }
+
+  @Test
+  public void similarDocumentsHaveCloseFingerprints() {
+    String template = "home about contact products services blog careers press privacy terms "
+        + "login signup search help faq support news events partners investors ";
+    long original = fingerprint(template + "the quick brown fox jumped over the lazy dog");
+    long mirror = fingerprint(template + "the quick brown fox jumped over the lazy cat");
+    long different = fingerprint("lorem ipsum dolor sit amet consectetur adipiscing elit sed do "
+        + "eiusmod tempor incididunt ut labore et dolore magna aliqua");
+
+    assertThat(SimHash.distance(original, original)).isEqualTo(0);
+    assertThat(SimHash.distance(original, mirror)).isAtMost(8);
+    assertThat(SimHash.distance(original, different)).isGreaterThan(16);
+  }
+}
@@ -0,0 +1,48 @@
+package com.udacity.webcrawler.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class SpaceSavingTest {
+
+  @Test
+  public void countsAreExactWhileThereIsRoom() {
+    SpaceSaving spaceSaving = new SpaceSaving(4);
+    spaceSaving.addAll(Map.of("a", 3, "b", 1));
+    spaceSaving.add("a", 2);
+
+    assertThat(spaceSaving.get("a").getCount()).isEqualTo(5);
+    assertThat(spaceSaving.get("a").getError()).isEqualTo(0);
+    assertThat(spaceSaving.get("c")).isNull();
+    assertThat(spaceSaving.getTotal()).isEqualTo(6);
+  }
+
+  @Test
+  public void frequentItemsKeepTheirCountersWithinBounds() {
+    SpaceSaving spaceSaving = new SpaceSaving(10);
+    for (int i = 0; i < 1000; i++) {
+      spaceSaving.add("frequent", 3);
+      spaceSaving.add("common", 2);
+      spaceSaving.add("rare" + i, 1);
+    }
+
+    Map<String, SpaceSaving.Counter> counters = spaceSaving.getCounters();
+    assertThat(counters).hasSize(10);
+    assertThat(List.copyOf(counters.keySet()).subList(0, 2))
+        .containsExactly("frequent", "common")
+        .inOrder();
+    SpaceSaving.Counter frequent = counters.get("frequent");
+    assertThat(frequent.getGuaranteedCount()).isAtMost(3000L);
+    assertThat(frequent.getCount()).isAtLeast(3000L);
+    assertThat(frequent.getError()).isAtMost(spaceSaving.getErrorBound());
+
+    // A rare item that took over a counter inherits that counter's count as its error.
+    counters.values().stream()
+        .filter(c -> c.getItem().startsWith("rare"))
+        .forEach(c -> assertThat(c.getGuaranteedCount()).isAtMost(1L));
+  }
+}
@@ -0,0 +1,164 @@
+package com.udacity.webcrawler.warc;
+
+import com.google.inject.Guice;
+import com.udacity.webcrawler.NoOpProfilerModule;
+import com.udacity.webcrawler.WebCrawler;
+import com.udacity.webcrawler.WebCrawlerModule;
+import com.udacity.webcrawler.json.CrawlResult;
+import com.udacity.webcrawler.json.CrawlerConfiguration;
+import com.udacity.webcrawler.profiler.FakeClock;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+import java.util.List;
+import java.util.Map;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class WarcPageSourceTest {
+
+  @Test
+  public void crawlReplaysArchivedPages(@TempDir Path directory) throws Exception {
+    // The archived host does not exist, so the pages can only come from the archive.
+    try (WarcWriter writer = new WarcWriter(directory, "crawl", 1 << 20, new FakeClock())) {
+      writer.write(
+          "http://archive.invalid/a.html",
+          200,
+          "text/html",
+          "<p>archived words</p><a href=\"b.html\">more</a>".getBytes(StandardCharsets.UTF_8));
+      writer.write(
+          "http://archive.invalid/b.html",
+          200,
+          "text/html",
+          "<p>archived pages</p>".getBytes(StandardCharsets.UTF_8));
+    }
+
+    for (String implementation : List.of(
+        "com.udacity.webcrawler.SequentialWebCrawler",
+        "com.udacity.webcrawler.ParallelWebCrawler")) {
+      CrawlerConfiguration config = new CrawlerConfiguration.Builder()
+          .setImplementationOverride(implementation)
+          .setMaxDepth(3)
+          .setPopularWordCount(2)
+          .addStartPages("http://archive.invalid/a.html")
+          .addWarcInputs(directory.resolve("crawl.cdx").toString())
+          .build();
+      WebCrawler crawler = Guice.createInjector(
+              new WebCrawlerModule(config), new NoOpProfilerModule())
+          .getInstance(WebCrawler.class);
+
+      CrawlResult result = crawler.crawl(config.getStartPages());
+
+      assertThat(result.getUrlsVisited()).isEqualTo(2);
+      assertThat(result.getWordCounts().entrySet())
+          .containsExactly(Map.entry("archived", 2), Map.entry("pages", 1))
+          .inOrder();
+    }
+  }
+
+  @Test
+  public void crawlReplaysPagesAsTheyWereServed(@TempDir Path directory) throws Exception {
+    // A Latin-1 page, compressed and then sent in chunks, as other crawlers often archive them.
+    ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+    try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+      gzip.write("<p>café crème</p><a href=\"gone.html\">gone</a>"
+          .getBytes(StandardCharsets.ISO_8859_1));
+    }
+    byte[] compressed = gzipped.toByteArray();
+    ByteArrayOutputStream chunked = new ByteArrayOutputStream();
+    int half = compressed.length / 2;
+    chunked.write((Integer.toHexString(half) + "\r\n").getBytes(StandardCharsets.US_ASCII));
+    chunked.write(compressed, 0, half);
+    chunked.write(("\r\n" + Integer.toHexString(compressed.length - half) + ";ext=1\r\n")
+        .getBytes(StandardCharsets.US_ASCII));
+    chunked.write(compressed, half, compressed.length - half);
+    chunked.write("\r\n0\r\n\r\n".getBytes(StandardCharsets.US_ASCII));
+
+    ByteArrayOutputStream warc = new ByteArrayOutputStream();
+    writeResponse(warc, "http://archive.invalid/a.html",
+        "HTTP/1.1 200 OK\r\n"
+            + "Content-Type: text/html; charset=ISO-8859-1\r\n"
+            + "Content-Encoding: gzip\r\n"
+            + "Transfer-Encoding: chunked\r\n",
+        chunked.toByteArray());
+    writeResponse(warc, "http://archive.invalid/gone.html",
+        "HTTP/1.1 404 Not Found\r\nContent-Type: text/html\r\n",
+        "<p>missing page</p>".getBytes(StandardCharsets.UTF_8));
+    Path file = Files.write(directory.resolve("other.warc"), warc.toByteArray());
+
+    CrawlerConfiguration config = new CrawlerConfiguration.Builder()
+        .setImplementationOverride("com.udacity.webcrawler.ParallelWebCrawler")
+        .setMaxDepth(2)
+        .setPopularWordCount(5)
+        .setAnalyzer("standard")
+        .addStartPages("http://archive.invalid/a.html")
+        .addWarcInputs(file.toString())
+        .build();
+    CrawlResult result = Guice.createInjector(
+            new WebCrawlerModule(config), new NoOpProfilerModule())
+        .getInstance(WebCrawler.class)
+        .crawl(config.getStartPages());
+
+    // The 404 page is reported as a failed fetch, as it would be if it were downloaded.
+    assertThat(result.getWordCounts())
+        .containsExactly("café", 1, "crème", 1, "gone", 1);
+    assertThat(result.getStats().getStatusCodes()).containsExactly(200, 1L, 404, 1L);
+  }
+
+  private static void writeResponse(
+      ByteArrayOutputStream warc, String url, String httpHead, byte[] body) throws IOException {
+    byte[] head = (httpHead + "\r\n").getBytes(StandardCharsets.ISO_8859_1);
+    warc.write(("WARC/1.0\r\n"
+        + "WARC-Type: response\r\n"
+        + "WARC-Target-URI: " + url + "\r\n"
+        + "Content-Type: application/http; msgtype=response\r\n"
+        + "Content-Length: " + (head.length + body.length) + "\r\n"
+        + "\r\n").getBytes(StandardCharsets.ISO_8859_1));
+    warc.write(head);
+    warc.write(body);
+    warc.write("\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+  }
+
+  @Test
+  public void crawlArchivesFetchedPages(@TempDir Path directory) throws Exception {
+    byte[] page = "<p>served words</p>".getBytes(StandardCharsets.UTF_8);
+    HttpServer server =
+        HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", exchange -> {
+      exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+      exchange.sendResponseHeaders(200, page.length);
+      try (OutputStream out = exchange.getResponseBody()) {
+        out.write(page);
+      }
+    });
+    server.start();
+    String url = "http://localhost:" + server.getAddress().getPort() + "/page.html";
+    try {
+      CrawlerConfiguration config = new CrawlerConfiguration.Builder()
+          .setMaxDepth(1)
+          .setPopularWordCount(1)
+          .addStartPages(url)
+          .setWarcOutputDirectory(directory.toString())
+          .build();
+      Guice.createInjector(new WebCrawlerModule(config), new NoOpProfilerModule())
+          .getInstance(WebCrawler.class)
+          .crawl(config.getStartPages());
+    } finally {
+      server.stop(0);
+    }
+
+    try (WarcPageSource source = WarcPageSource.open(List.of(directory.resolve("crawl.cdx")))) {
+      assertThat(source.fetch(url).orElseThrow().getBody()).isEqualTo(page);
+    }
+  }
+}
@@ -0,0 +1,115 @@
+package com.udacity.webcrawler.warc;
+
+import com.udacity.webcrawler.parser.PageSource;
+import com.udacity.webcrawler.profiler.FakeClock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.google.common.truth.Truth.assertThat;
+
+public final class WarcWriterTest {
+
+  @Test
+  public void writtenRecordsCanBeReadBackAndIndexed(@TempDir Path directory) throws Exception {
+    try (WarcWriter writer = new WarcWriter(directory, "test", 600, new FakeClock())) {
+      for (int i = 0; i < 5; i++) {
+        writer.write(
+            "http://example.com/" + i,
+            i == 2 ? 203 : 200,
+            "text/html; charset=utf-8",
+            ("<p>page " + i + "</p>").getBytes(StandardCharsets.UTF_8));
+      }
+    }
+
+    // The small size limit forces the writer to start new files.
+    List<Path> files;
+    try (Stream<Path> list = Files.list(directory)) {
+      files = list.filter(p -> p.toString().endsWith(".warc.gz"))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+    assertThat(files.size()).isGreaterThan(1);
+
+    List<String> urls = new ArrayList<>();
+    for (Path file : files) {
+      try (WarcReader reader = WarcReader.open(file)) {
+        assertThat(reader.next().getType()).isEqualTo("warcinfo");
+        WarcRecord record;
+        while ((record = reader.next()) != null) {
+          assertThat(record.getType()).isEqualTo("response");
+          assertThat(record.getHttpContentType()).isEqualTo("text/html; charset=utf-8");
+          // Every record keeps the status the page was served with.
+          assertThat(record.getHttpStatus())
+              .isEqualTo(record.getTargetUri().endsWith("/2") ? 203 : 200);
+          urls.add(record.getTargetUri());
+        }
+      }
+    }
+    assertThat(urls)
+        .containsExactly(
+            "http://example.com/0",
+            "http://example.com/1",
+            "http://example.com/2",
+            "http://example.com/3",
+            "http://example.com/4")
+        .inOrder();
+
+    // The index written alongside the files agrees with indexing the files directly.
+    WarcIndex index = WarcIndex.read(directory.resolve("test.cdx"));
+    assertThat(index.getEntries().keySet()).containsExactlyElementsIn(urls);
+    for (Path file : files) {
+      for (WarcIndex.Entry built : WarcIndex.build(file).getEntries().values()) {
+        WarcIndex.Entry read = index.lookup(built.getUrl()).orElseThrow();
+        assertThat(read.getFile().toString()).isEqualTo(built.getFile().toString());
+        assertThat(read.getOffset()).isEqualTo(built.getOffset());
+        assertThat(read.getLength()).isEqualTo(built.getLength());
+      }
+    }
+
+    try (WarcPageSource source = WarcPageSource.open(List.of(directory.resolve("test.cdx")))) {
+      PageSource.Page page = source.fetch("http://example.com/3").orElseThrow();
+      assertThat(new String(page.getBody(), StandardCharsets.UTF_8)).isEqualTo("<p>page 3</p>");
+      assertThat(page.getStatus()).isEqualTo(200);
+      assertThat(source.fetch("http://example.com/missing").isPresent()).isFalse();
+    }
+  }
+
+  @Test
+  public void uncompressedFilesAreIndexedByScanning(@TempDir Path directory) throws Exception {
+    String first = "<p>first</p>";
+    String second = "hello";
+    String warc = "WARC/1.0\r\n"
+        + "WARC-Type: response\r\n"
+        + "WARC-Target-URI: http://example.com/first\r\n"
+        + "Content-Type: application/http; msgtype=response\r\n"
+        + "Content-Length: " + (19 + first.length()) + "\r\n"
+        + "\r\n"
+        + "HTTP/1.1 200 OK\r\n\r\n" + first + "\r\n\r\n"
+        + "WARC/1.0\r\n"
+        + "WARC-Type: resource\r\n"
+        + "WARC-Target-URI: http://example.com/second\r\n"
+        + "Content-Type: text/plain\r\n"
+        + "Content-Length: " + second.length() + "\r\n"
+        + "\r\n"
+        + second + "\r\n\r\n";
+    Path file = Files.writeString(directory.resolve("plain.warc"), warc);
+
+    try (WarcPageSource source = WarcPageSource.open(List.of(file))) {
+      PageSource.Page firstPage = source.fetch("http://example.com/first").orElseThrow();
+      assertThat(new String(firstPage.getBody(), StandardCharsets.UTF_8)).isEqualTo(first);
+      assertThat(firstPage.getStatus()).isEqualTo(200);
+      PageSource.Page secondPage = source.fetch("http://example.com/second").orElseThrow();
+      assertThat(new String(secondPage.getBody(), StandardCharsets.UTF_8)).isEqualTo(second);
+      assertThat(secondPage.getStatus()).isEqualTo(-1);
+      assertThat(secondPage.getContentType()).isEqualTo("text/plain");
+    }
+  }
+}